@@ -0,0 +1,48 @@
+package com.navigator.app.benchmarks;
+
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Floyd-Warshall. Cubic in the vertex count, so it is measured on smaller graphs than the other algorithms.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AllPairsShortestPathBenchmark {
+    @Param({"ERDOS_RENYI", "ROAD_GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+    public GraphModel model;
+    @Param({"8", "100"})
+    public double averageDegree;
+    @Param({"100", "300"})
+    public int size;
+
+    private final GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+    private Graph graph;
+
+    @Setup
+    public void setUp() throws IOException {
+        graph = GraphGenerator.builder()
+                .model(model)
+                .numVertices(size)
+                .averageDegree(averageDegree)
+                .connected(true)
+                .build()
+                .graph();
+    }
+
+    @Benchmark
+    public ArrayList<ArrayList<Integer>> floydWarshall() throws IOException {
+        return graphAlgorithms.GetShortestPathsBetweenAllVertices(graph);
+    }
+}
@@ -0,0 +1,32 @@
+package com.navigator.app.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suite with the GC profiler attached and writes the results as JSON.
+ * <p>
+ * Every benchmark reports throughput and sampled latency (p50/p90/p99/p99.9/max); the GC profiler adds the
+ * allocation rate ({@code gc.alloc.rate.norm} bytes per operation) and GC counts.
+ * <p>
+ * Usage: {@code BenchmarkRunner [include-regex] [result-file]}, defaults {@code .*} and {@code jmh-result.json}.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        String resultFile = args.length > 1 ? args[1] : "jmh-result.json";
+
+        Options options = new OptionsBuilder()
+                .include(BenchmarkRunner.class.getPackageName() + "\\." + include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,57 @@
+package com.navigator.app.benchmarks;
+
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating capacity-test graphs straight to a shared graph file and to DOT, on one thread and on all cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphGenerationBenchmark {
+    @Param({"ERDOS_RENYI", "ROAD_GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+    public GraphModel model;
+    @Param({"1000000"})
+    public int size;
+    @Param({"1", "0"})
+    public int numThreads;
+
+    private GraphGenerator generator;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        generator = GraphGenerator.builder()
+                .model(model)
+                .numVertices(size)
+                .connected(true)
+                .numThreads(numThreads > 0 ? numThreads : Runtime.getRuntime().availableProcessors())
+                .build();
+        file = Files.createTempFile("generatedGraph", ".bin");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void writeSnapshot() throws IOException {
+        generator.writeSnapshot(file);
+    }
+
+    @Benchmark
+    public void writeDot() throws IOException {
+        generator.writeDot(file);
+    }
+}
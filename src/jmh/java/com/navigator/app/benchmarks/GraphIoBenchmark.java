@@ -0,0 +1,66 @@
+package com.navigator.app.benchmarks;
+
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a graph from its adjacency-matrix file and exporting it to DOT.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphIoBenchmark {
+    @Param({"ERDOS_RENYI", "ROAD_GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+    public GraphModel model;
+    @Param({"8", "100"})
+    public double averageDegree;
+    @Param({"100", "1000", "2000"})
+    public int size;
+
+    private Path matrixFile;
+    private Path dotFile;
+    private Graph graph;
+
+    @Setup
+    public void setUp() throws IOException {
+        matrixFile = Files.createTempFile("benchmarkGraph", ".txt");
+        GraphGenerator.builder()
+                .model(model)
+                .numVertices(size)
+                .averageDegree(averageDegree)
+                .connected(true)
+                .build()
+                .writeMatrix(matrixFile);
+        dotFile = Files.createTempFile("benchmarkGraph", ".dot");
+        graph = new Graph();
+        graph.loadGraphFromFile(matrixFile.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(matrixFile);
+        Files.deleteIfExists(dotFile);
+    }
+
+    @Benchmark
+    public Graph loadGraphFromFile() throws IOException {
+        Graph loaded = new Graph();
+        loaded.loadGraphFromFile(matrixFile.toString());
+        return loaded;
+    }
+
+    @Benchmark
+    public void exportGraphToDot() throws IOException {
+        graph.exportGraphToDot(dotFile.toString());
+    }
+}
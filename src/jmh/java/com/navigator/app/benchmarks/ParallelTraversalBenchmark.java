@@ -0,0 +1,45 @@
+package com.navigator.app.benchmarks;
+
+import com.navigator.app.models.traversal.BfsResult;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph_algorithms.ParallelBreadthFirstSearch;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direction-optimizing parallel BFS over sparse CSR graphs too large for an adjacency matrix.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelTraversalBenchmark {
+    @Param({"ERDOS_RENYI", "ROAD_GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+    public GraphModel model;
+    @Param({"10000", "50000"})
+    public int size;
+
+    private ParallelBreadthFirstSearch search;
+
+    @Setup
+    public void setUp() throws IOException {
+        CompactGraph graph = GraphGenerator.builder()
+                .model(model)
+                .numVertices(size)
+                .connected(true)
+                .build()
+                .compactGraph();
+        search = new ParallelBreadthFirstSearch(graph);
+    }
+
+    @Benchmark
+    public BfsResult parallelBreadthFirstSearch() throws IOException {
+        return search.search(0);
+    }
+}
@@ -0,0 +1,72 @@
+package com.navigator.app.benchmarks;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.traversal.BfsResult;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.VertexPermutation;
+import com.navigator.app.s21_graph_algorithms.DijkstraSearch;
+import com.navigator.app.s21_graph_algorithms.ParallelBreadthFirstSearch;
+import com.navigator.app.s21_graph_algorithms.VertexOrdering;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traversal speed before and after reordering vertices for cache locality.
+ * <p>
+ * The generated graphs join consecutive vertices into a path and number grids row by row, which is already local,
+ * so every graph is first shuffled to mimic the arbitrary ids of an input file; {@code SHUFFLED} is the baseline,
+ * and the speedup of a strategy is its score relative to the {@code SHUFFLED} score for the same model and size.
+ * Searches start from the same original vertex in every ordering.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReorderingBenchmark {
+    @Param({"ERDOS_RENYI", "ROAD_GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+    public GraphModel model;
+    @Param({"200000", "1000000"})
+    public int size;
+    @Param({"SHUFFLED", "BREADTH_FIRST", "REVERSE_CUTHILL_MCKEE", "RECURSIVE_BISECTION"})
+    public String ordering;
+
+    private DijkstraSearch dijkstra;
+    private ParallelBreadthFirstSearch breadthFirst;
+    private int source;
+
+    @Setup
+    public void setUp() throws IOException {
+        VertexPermutation shuffle = VertexPermutation.random(size, 7);
+        CompactGraph graph = shuffle.apply(GraphGenerator.builder()
+                .model(model)
+                .numVertices(size)
+                .connected(true)
+                .build()
+                .compactGraph());
+        source = shuffle.toNew(0);
+        if (!ordering.equals("SHUFFLED")) {
+            VertexPermutation reorder = VertexOrdering.compute(graph, VertexOrdering.Strategy.valueOf(ordering));
+            graph = reorder.apply(graph);
+            source = reorder.toNew(source);
+        }
+        dijkstra = new DijkstraSearch(graph);
+        breadthFirst = new ParallelBreadthFirstSearch(graph);
+    }
+
+    @Benchmark
+    public int dijkstra() throws IOException {
+        dijkstra.search(source, CancellationToken.none());
+        return dijkstra.getSettledCount();
+    }
+
+    @Benchmark
+    public BfsResult parallelBreadthFirstSearch() throws IOException {
+        return breadthFirst.search(source);
+    }
+}
@@ -0,0 +1,70 @@
+package com.navigator.app.benchmarks;
+
+import com.navigator.app.models.shortestPath.DistanceTable;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-pair Dijkstra between the first and the last vertex, a batch of 1000 pairs drawn from 10 sources,
+ * and a 10 x 100 distance table.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortestPathBenchmark {
+    @Param({"ERDOS_RENYI", "ROAD_GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+    public GraphModel model;
+    @Param({"8", "100"})
+    public double averageDegree;
+    @Param({"100", "1000", "2000"})
+    public int size;
+
+    private final GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+    private Graph graph;
+    private int[] sources;
+    private int[] targets;
+
+    @Setup
+    public void setUp() throws IOException {
+        graph = GraphGenerator.builder()
+                .model(model)
+                .numVertices(size)
+                .averageDegree(averageDegree)
+                .connected(true)
+                .build()
+                .graph();
+        Random random = new Random(42);
+        sources = new int[1000];
+        targets = new int[1000];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = random.nextInt(10);
+            targets[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public int dijkstra() throws IOException {
+        return graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, size - 1);
+    }
+
+    @Benchmark
+    public int[] batchDijkstra() throws IOException {
+        return graphAlgorithms.GetShortestPathsBetweenVertexPairs(graph, sources, targets);
+    }
+
+    @Benchmark
+    public DistanceTable distanceTable() throws IOException {
+        return graphAlgorithms.GetDistanceTable(graph, Arrays.copyOf(sources, 10), Arrays.copyOf(targets, 100));
+    }
+}
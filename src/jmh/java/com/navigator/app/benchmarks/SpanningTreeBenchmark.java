@@ -0,0 +1,48 @@
+package com.navigator.app.benchmarks;
+
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prim's minimum spanning tree.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpanningTreeBenchmark {
+    @Param({"ERDOS_RENYI", "ROAD_GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+    public GraphModel model;
+    @Param({"8", "100"})
+    public double averageDegree;
+    @Param({"100", "1000", "2000"})
+    public int size;
+
+    private final GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+    private Graph graph;
+
+    @Setup
+    public void setUp() throws IOException {
+        graph = GraphGenerator.builder()
+                .model(model)
+                .numVertices(size)
+                .averageDegree(averageDegree)
+                .connected(true)
+                .build()
+                .graph();
+    }
+
+    @Benchmark
+    public ArrayList<ArrayList<Integer>> prim() throws IOException {
+        return graphAlgorithms.GetLeastSpanningTree(graph);
+    }
+}
@@ -0,0 +1,67 @@
+package com.navigator.app.benchmarks;
+
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_algorithms.BitsetTraversal;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Depth-first and breadth-first search over adjacency-matrix graphs, through {@link GraphAlgorithms}
+ * and through the reusable {@link BitsetTraversal} engine.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TraversalBenchmark {
+    @Param({"ERDOS_RENYI", "ROAD_GRID", "RANDOM_GEOMETRIC", "POWER_LAW"})
+    public GraphModel model;
+    @Param({"8", "100"})
+    public double averageDegree;
+    @Param({"100", "1000", "2000"})
+    public int size;
+
+    private final GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+    private Graph graph;
+    private BitsetTraversal bitsetTraversal;
+
+    @Setup
+    public void setUp() throws IOException {
+        graph = GraphGenerator.builder()
+                .model(model)
+                .numVertices(size)
+                .averageDegree(averageDegree)
+                .connected(true)
+                .build()
+                .graph();
+        bitsetTraversal = new BitsetTraversal(graph);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> depthFirstSearch() throws IOException {
+        return graphAlgorithms.DepthFirstSearch(graph, 0);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> breadthFirstSearch() throws IOException {
+        return graphAlgorithms.BreadthFirstSearch(graph, 0);
+    }
+
+    @Benchmark
+    public int[] bitsetDepthFirstSearch() throws IOException {
+        return bitsetTraversal.depthFirstSearch(0);
+    }
+
+    @Benchmark
+    public int[] bitsetBreadthFirstSearch() throws IOException {
+        return bitsetTraversal.breadthFirstSearch(0);
+    }
+}
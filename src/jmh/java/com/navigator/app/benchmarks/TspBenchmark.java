@@ -0,0 +1,51 @@
+package com.navigator.app.benchmarks;
+
+import com.navigator.app.models.antAlgorithm.AntColonyOptimization;
+import com.navigator.app.models.antAlgorithm.TsmResult;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ant Colony Optimization with default parameters, single colony and island mode.
+ * <p>
+ * The ants do not skip missing edges, so the instances are complete geometric graphs: random points with
+ * Euclidean weights between every pair.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TspBenchmark {
+    @Param({"100", "200"})
+    public int size;
+    @Param({"1", "4"})
+    public int numColonies;
+
+    private Graph graph;
+
+    @Setup
+    public void setUp() throws IOException {
+        graph = GraphGenerator.builder()
+                .model(GraphModel.RANDOM_GEOMETRIC)
+                .numVertices(size)
+                .averageDegree(size - 1)
+                .build()
+                .graph();
+    }
+
+    @Benchmark
+    public TsmResult antColonyOptimization() throws IOException {
+        return AntColonyOptimization.builder()
+                .graph(graph)
+                .numColonies(numColonies)
+                .build()
+                .findOptimalTour();
+    }
+}
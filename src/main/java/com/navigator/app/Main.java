@@ -1,19 +1,172 @@
 package com.navigator.app;
 
+import com.navigator.app.interfaceApp.BatchQueryRunner;
 import com.navigator.app.interfaceApp.ConsoleInterface;
+import com.navigator.app.interfaceApp.HttpQueryServer;
+import com.navigator.app.models.antAlgorithm.TspRegressionHarness;
+import com.navigator.app.models.antAlgorithm.TspRegressionReport;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph.GraphHolder;
+import com.navigator.app.s21_graph.GraphReader;
+import com.navigator.app.s21_graph.GraphSnapshot;
+import com.navigator.app.s21_graph.SharedGraphFile;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class Main {
-    private static final ConsoleInterface consoleInterface = new ConsoleInterface();
+    private static final int DEFAULT_PORT = 8080;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
 
+    /**
+     * Runs the console menu, or one of the headless modes:
+     * <ul>
+     * <li>{@code --persistent-cache} runs the console menu with its results also kept in a file next to the graph
+     * file.</li>
+     * <li>{@code --serve <graph file> [port]} serves queries over HTTP; each graph file then read from standard
+     * input is loaded and swapped in while the queries in flight finish on the previous graph.</li>
+     * <li>{@code --batch <graph file> <query file> [output file]} answers a query file, writing to standard
+     * output if no output file is given.</li>
+     * <li>{@code --publish <graph file> <shared file>} writes the graph to a {@link SharedGraphFile}.</li>
+     * <li>{@code --generate <model> <vertices> <average degree> <seed> <matrix|snapshot|dot> <output file>} writes
+     * a connected synthetic graph of a {@link GraphModel}.</li>
+     * <li>{@code --tsp-regression <report file> [baseline report] [TSPLIB directory]} runs the
+     * {@link TspRegressionHarness} on the stored TSPLIB instances, read from the classpath unless a directory is
+     * given, and the generated ones and writes the report; exits with status 1 if a check fails.</li>
+     * </ul>
+     * A shared file given as graph file is attached read-only instead of being loaded, so worker processes on one
+     * host share a single copy of the graph.
+     */
     public static void main(String[] args) {
         try {
-            consoleInterface.run();
-        } catch (IOException e) {
+            if (args.length > 0 && args[0].equals("--serve")) {
+                serve(args);
+            } else if (args.length > 0 && args[0].equals("--batch")) {
+                batch(args);
+            } else if (args.length > 0 && args[0].equals("--publish")) {
+                publish(args);
+            } else if (args.length > 0 && args[0].equals("--generate")) {
+                generate(args);
+            } else if (args.length > 0 && args[0].equals("--tsp-regression")) {
+                tspRegression(args);
+            } else if (args.length > 0 && args[0].equals("--persistent-cache")) {
+                new ConsoleInterface(true).run();
+            } else {
+                new ConsoleInterface().run();
+            }
+        } catch (IOException | IllegalArgumentException e) {
             e.printStackTrace();
         }
     }
+
+    private static void serve(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IOException("Usage: --serve <graph file> [port]");
+        }
+        GraphHolder graphHolder = new GraphHolder(GraphSnapshot.load(args[1]));
+        if (graphHolder.current().getNumVertices() == 0) {
+            throw new IOException("Graph is empty");
+        }
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PORT;
+
+        HttpQueryServer server = new HttpQueryServer(graphHolder, new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.out.println("Serving on port " + server.getPort());
+
+        BufferedReader reloads = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String filename;
+        while ((filename = reloads.readLine()) != null) {
+            if (filename.isBlank()) continue;
+            try {
+                graphHolder.reload(filename.trim());
+                System.out.println("Reloaded " + filename.trim());
+            } catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+
+    private static void batch(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IOException("Usage: --batch <graph file> <query file> [output file]");
+        }
+        Graph graph = loadGraph(args[1]);
+        BatchQueryRunner runner = new BatchQueryRunner(graph, Runtime.getRuntime().availableProcessors());
+
+        try (BufferedReader queries = new BufferedReader(new FileReader(args[2], StandardCharsets.UTF_8));
+             Writer output = new BufferedWriter(args.length > 3
+                     ? new FileWriter(args[3], StandardCharsets.UTF_8)
+                     : new OutputStreamWriter(System.out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE)) {
+            runner.run(queries, output);
+        }
+    }
+
+    private static void publish(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IOException("Usage: --publish <graph file> <shared file>");
+        }
+        SharedGraphFile.publish(GraphReader.read(args[1]), Paths.get(args[2]));
+    }
+
+    private static void generate(String[] args) throws IOException {
+        if (args.length < 7) {
+            throw new IOException("Usage: --generate <model> <vertices> <average degree> <seed> "
+                    + "<matrix|snapshot|dot> <output file>");
+        }
+        GraphGenerator generator = GraphGenerator.builder()
+                .model(GraphModel.valueOf(args[1]))
+                .numVertices(Integer.parseInt(args[2]))
+                .averageDegree(Double.parseDouble(args[3]))
+                .seed(Long.parseLong(args[4]))
+                .connected(true)
+                .build();
+        Path output = Paths.get(args[6]);
+        if (args[5].equals("matrix")) generator.writeMatrix(output);
+        else if (args[5].equals("snapshot")) generator.writeSnapshot(output);
+        else if (args[5].equals("dot")) generator.writeDot(output);
+        else throw new IOException("Incorrect data");
+    }
+
+    private static void tspRegression(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IOException("Usage: --tsp-regression <report file> [baseline report] [TSPLIB directory]");
+        }
+        TspRegressionReport report = TspRegressionHarness.builder()
+                .instances(args.length > 3
+                        ? TspRegressionHarness.defaultInstances(Paths.get(args[3]))
+                        : TspRegressionHarness.defaultInstances())
+                .baseline(args.length > 2 ? TspRegressionReport.readInstances(Paths.get(args[2])) : null)
+                .build()
+                .run();
+        report.write(Paths.get(args[1]));
+        for (String failure : report.getFailures()) {
+            System.err.println(failure);
+        }
+        if (!report.isPassed()) System.exit(1);
+    }
+
+    private static Graph loadGraph(String filename) throws IOException {
+        Path file = Paths.get(filename);
+        if (SharedGraphFile.isSharedGraphFile(file)) {
+            return SharedGraphFile.attach(file);
+        }
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(filename);
+        return graph;
+    }
 }
 
 //src/test/resources/testFiles/testGraph.txt
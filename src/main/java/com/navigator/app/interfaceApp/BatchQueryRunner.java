@@ -0,0 +1,183 @@
+package com.navigator.app.interfaceApp;
+
+import com.navigator.app.models.antAlgorithm.AntColonyOptimization;
+import com.navigator.app.models.antAlgorithm.TsmResult;
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import com.navigator.app.s21_graph_algorithms.ResultCache;
+import com.navigator.app.s21_graph_algorithms.ShortestPathTreeCache;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless runner answering a file of queries against a loaded graph, one query per line:
+ * <ul>
+ * <li>{@code sp A B}: shortest distance, or {@code unreachable}.</li>
+ * <li>{@code path A B}: vertices of a shortest path, or {@code unreachable}.</li>
+ * <li>{@code dfs S}, {@code bfs S}: traversal order.</li>
+ * <li>{@code apsp}, {@code mst}: all-pairs distances or minimum spanning tree, rows separated by {@code ;}.</li>
+ * <li>{@code tsp [ITERATIONS]}: tour length followed by the tour; the number of iterations must be positive.</li>
+ * </ul>
+ * Blank lines and lines starting with {@code #} are skipped. Every other line produces exactly one output line,
+ * {@code query<TAB>result} or {@code query<TAB>error: message}, in input order. Queries are read as a stream
+ * and pipelined across a worker pool; at most a fixed window of them is in flight, so memory stays bounded
+ * however long the file is.
+ */
+public class BatchQueryRunner {
+    private static final int WINDOW_PER_WORKER = 8;
+    private static final long SHORTEST_PATH_CACHE_BYTES = 64L << 20;
+
+    private final Graph graph;
+    private final int workers;
+    private final GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+    private final ResultCache resultCache;
+    private final ShortestPathTreeCache shortestPathCache;
+
+    /**
+     * @param graph   The loaded graph to query.
+     * @param workers Number of worker threads.
+     */
+    public BatchQueryRunner(@NotNull Graph graph, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Number of workers must be positive");
+        }
+        this.graph = graph;
+        this.workers = workers;
+        this.resultCache = new ResultCache(graph, graphAlgorithms);
+        this.shortestPathCache = new ShortestPathTreeCache(graph, SHORTEST_PATH_CACHE_BYTES);
+    }
+
+    /**
+     * Answers every query read from the input and writes the results in input order.
+     *
+     * @param queries The queries, one per line.
+     * @param output  Where the results go; flushed, not closed, at the end.
+     * @return Number of queries answered, including failed ones.
+     * @throws IOException If reading the queries or writing the results fails.
+     */
+    public int run(@NotNull BufferedReader queries, @NotNull Writer output) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        ArrayDeque<Future<String>> inFlight = new ArrayDeque<>();
+        int window = workers * WINDOW_PER_WORKER;
+        int count = 0;
+        try {
+            String line;
+            while ((line = queries.readLine()) != null) {
+                String query = line.trim();
+                if (query.isEmpty() || query.startsWith("#")) continue;
+                if (inFlight.size() == window) {
+                    writeResult(inFlight.poll(), output);
+                }
+                inFlight.add(executor.submit(() -> query + "\t" + answer(query)));
+                count++;
+            }
+            while (!inFlight.isEmpty()) {
+                writeResult(inFlight.poll(), output);
+            }
+            output.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+        return count;
+    }
+
+    private void writeResult(Future<String> result, Writer output) throws IOException {
+        try {
+            output.write(result.get());
+            output.write('\n');
+        } catch (ExecutionException e) {
+            throw new IOException("Query failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        }
+    }
+
+    private String answer(String query) {
+        String[] parts = query.split("\\s+");
+        try {
+            switch (parts[0]) {
+                case "sp":
+                    checkArguments(parts, 2, 2);
+                    int distance = shortestPathCache.distance(parse(parts[1]), parse(parts[2]), CancellationToken.none());
+                    return distance == Integer.MAX_VALUE ? "unreachable" : String.valueOf(distance);
+                case "path":
+                    checkArguments(parts, 2, 2);
+                    List<Integer> path = shortestPathCache.path(parse(parts[1]), parse(parts[2]), CancellationToken.none());
+                    return path.isEmpty() ? "unreachable" : join(path);
+                case "dfs":
+                    checkArguments(parts, 1, 1);
+                    return join(graphAlgorithms.DepthFirstSearch(graph, parse(parts[1])));
+                case "bfs":
+                    checkArguments(parts, 1, 1);
+                    return join(graphAlgorithms.BreadthFirstSearch(graph, parse(parts[1])));
+                case "apsp":
+                    checkArguments(parts, 0, 0);
+                    return joinRows(resultCache.getShortestPathsBetweenAllVertices(CancellationToken.none()));
+                case "mst":
+                    checkArguments(parts, 0, 0);
+                    return joinRows(resultCache.getLeastSpanningTree(CancellationToken.none()));
+                case "tsp":
+                    checkArguments(parts, 0, 1);
+                    int iterations = parts.length > 1 ? parse(parts[1]) : 100;
+                    if (iterations < 1) throw new IOException("Incorrect data");
+                    TsmResult tour = AntColonyOptimization.builder()
+                            .graph(graph)
+                            .maxIterations(iterations)
+                            .build()
+                            .findOptimalTour();
+                    return tour.getDistance() + " " + join(tour.getVertices());
+                default:
+                    throw new IOException("Unknown query");
+            }
+        } catch (IOException e) {
+            return "error: " + e.getMessage();
+        } catch (RuntimeException e) {
+            // a bug in one query must not abort the rest of the batch
+            return "error: Internal error";
+        }
+    }
+
+    private static void checkArguments(String[] parts, int min, int max) throws IOException {
+        if (parts.length - 1 < min || parts.length - 1 > max) {
+            throw new IOException("Incorrect data");
+        }
+    }
+
+    private static int parse(String value) throws IOException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Incorrect data");
+        }
+    }
+
+    private static String join(List<Integer> values) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) result.append(' ');
+            result.append(values.get(i));
+        }
+        return result.toString();
+    }
+
+    private static String joinRows(ArrayList<ArrayList<Integer>> matrix) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < matrix.size(); i++) {
+            if (i > 0) result.append(';');
+            result.append(join(matrix.get(i)));
+        }
+        return result.toString();
+    }
+}
@@ -2,8 +2,11 @@ package com.navigator.app.interfaceApp;
 
 import com.navigator.app.models.interfaceModels.Menu;
 import com.navigator.app.models.antAlgorithm.TsmResult;
-import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.s21_graph.GraphHolder;
+import com.navigator.app.s21_graph.GraphSnapshot;
 import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import com.navigator.app.s21_graph_algorithms.ResultCache;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
@@ -12,11 +15,32 @@ import java.util.ArrayList;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
 
-
+/**
+ * Interactive menu over the graphs swapped in by a {@link GraphHolder}: a graph is loaded before the next prompt,
+ * so menu output never interleaves, and every query runs on the snapshot that was current when it started.
+ * Results of the whole-graph queries are kept in memory, or also in a file next to the graph file when the
+ * interface is created with persistent results.
+ */
 public class ConsoleInterface {
-    private final Graph graph = new Graph();
+    private final GraphHolder graphHolder = new GraphHolder();
     private final GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+    private final Scanner scanner = new Scanner(System.in);
+    private final boolean persistentResults;
     private Menu userInput = Menu.INVALID_OPERATION;
+    private GraphSnapshot cachedGraph;
+    private ResultCache resultCache;
+
+    public ConsoleInterface() {
+        this(false);
+    }
+
+    /**
+     * @param persistentResults Whether to keep the results of whole-graph queries in a file next to the graph file,
+     *                          so they survive a restart.
+     */
+    public ConsoleInterface(boolean persistentResults) {
+        this.persistentResults = persistentResults;
+    }
 
     public void run() throws IOException {
         while (userInput != Menu.EXIT) {
@@ -46,11 +70,10 @@ public class ConsoleInterface {
     }
 
     private void readInput() throws IOException {
-        Scanner scanner = new Scanner(System.in);
         int userInputInt;
         try {
-            userInputInt = scanner.nextInt();
-        } catch (NoSuchElementException | IllegalStateException e) {
+            userInputInt = Integer.parseInt(scanner.nextLine().trim());
+        } catch (NoSuchElementException | IllegalStateException | NumberFormatException e) {
             throw new IOException("Incorrect data");
         }
 
@@ -82,20 +105,18 @@ public class ConsoleInterface {
     }
 
     private void LoadGraph() throws IOException, NoSuchElementException {
-        Scanner scanner = new Scanner(System.in);
         System.out.println("Input the path");
         String path = scanner.nextLine();
 
-        graph.loadGraphFromFile(path);
+        graphHolder.reload(path);
         customPrint("Successful read!", Color.BLUE);
     }
 
     private void ExportGraph() throws IOException, NoSuchElementException {
-        Scanner scanner = new Scanner(System.in);
         customPrint("Path+Name?", Color.YELLOW);
         String path = scanner.nextLine();
 
-        graph.exportGraphToDot(path);
+        graphHolder.current().exportGraphToDot(path);
         customPrint("Successful write!", Color.BLUE);
     }
 
@@ -103,7 +124,7 @@ public class ConsoleInterface {
         while (true) {
             try {
                 int num = getNumberAndSendMessage();
-                ArrayList<Integer> res = graphAlgorithms.DepthFirstSearch(graph, num);
+                ArrayList<Integer> res = graphAlgorithms.DepthFirstSearch(graphHolder.current(), num);
                 printArray(res);
             } catch (NumberFormatException e) {
                 customPrint("Input number or 'Exit'", Color.RED);
@@ -117,7 +138,7 @@ public class ConsoleInterface {
         while (true) {
             try {
                 int num = getNumberAndSendMessage();
-                ArrayList<Integer> res = graphAlgorithms.BreadthFirstSearch(graph, num);
+                ArrayList<Integer> res = graphAlgorithms.BreadthFirstSearch(graphHolder.current(), num);
                 printArray(res);
             } catch (NumberFormatException e) {
                 customPrint("Input number or 'Exit'", Color.RED);
@@ -129,7 +150,6 @@ public class ConsoleInterface {
 
 
     private void ShortestPath() throws IOException {
-        Scanner scanner = new Scanner(System.in);
         while (true) {
             try {
                 customPrint("Input first and second vertexes [x y] or 'Exit'", Color.YELLOW);
@@ -141,7 +161,7 @@ public class ConsoleInterface {
                 }
                 int x = Integer.parseInt(parts[0]);
                 int y = Integer.parseInt(parts[1]);
-                int res = graphAlgorithms.GetShortestPathBetweenVertices(graph, x, y);
+                int res = graphAlgorithms.GetShortestPathBetweenVertices(graphHolder.current(), x, y);
                 customPrint(String.valueOf(res), Color.WHITE);
             } catch (NumberFormatException e) {
                 customPrint("Input correct numbers or 'Exit'", Color.RED);
@@ -150,27 +170,38 @@ public class ConsoleInterface {
     }
 
     private void AllPairsShortestPath() throws IOException {
-        ArrayList<ArrayList<Integer>> shortestPaths = graphAlgorithms.GetShortestPathsBetweenAllVertices(graph);
+        ArrayList<ArrayList<Integer>> shortestPaths = resultCache().getShortestPathsBetweenAllVertices(CancellationToken.none());
 
         System.out.println("Shortest Paths Between All Pairs of Vertices:");
         printMatrix(shortestPaths);
     }
 
     private void MinimumSpanningTree() throws IOException {
-        ArrayList<ArrayList<Integer>> minSpanningTree = graphAlgorithms.GetLeastSpanningTree(graph);
+        ArrayList<ArrayList<Integer>> minSpanningTree = resultCache().getLeastSpanningTree(CancellationToken.none());
         System.out.println("Minimum Spanning Tree:");
         printMatrix(minSpanningTree);
     }
 
     private void TravelingSalesman() throws IOException {
-        TsmResult tsmResult = graphAlgorithms.SolveTravelingSalesmanProblem(graph);
+        TsmResult tsmResult = graphAlgorithms.SolveTravelingSalesmanProblem(graphHolder.current());
 
         System.out.println("Optimal Tour: " + tsmResult.getVertices());
         System.out.println("Tour Length: " + tsmResult.getDistance());
     }
 
+    /**
+     * @return The result cache of the current snapshot, replaced together with the snapshot.
+     */
+    private ResultCache resultCache() {
+        GraphSnapshot graph = graphHolder.current();
+        if (graph != cachedGraph) {
+            cachedGraph = graph;
+            resultCache = new ResultCache(graph, graphAlgorithms, persistentResults);
+        }
+        return resultCache;
+    }
+
     private int getNumberAndSendMessage() throws NumberFormatException, UnsupportedOperationException {
-        Scanner scanner = new Scanner(System.in);
         customPrint("Input starting vertex or 'Exit'", Color.YELLOW);
         String input;
         if ((input = scanner.nextLine()).equals("Exit")) throw new UnsupportedOperationException();
@@ -179,17 +210,20 @@ public class ConsoleInterface {
 
     private void printArray(@NotNull ArrayList<Integer> res) throws IOException {
         if (res.isEmpty()) throw new IOException("Fail search");
-        res.forEach(System.out::print);
-        System.out.println();
+        StringBuilder line = new StringBuilder();
+        res.forEach(line::append);
+        System.out.println(line);
     }
 
     private void printMatrix(@NotNull ArrayList<ArrayList<Integer>> adjacencyMatrix) {
+        StringBuilder text = new StringBuilder();
         for (ArrayList<Integer> matrix : adjacencyMatrix) {
             for (Integer integer : matrix) {
-                System.out.print(integer + " ");
+                text.append(integer).append(' ');
             }
-            System.out.println();
+            text.append(System.lineSeparator());
         }
+        System.out.print(text);
     }
 
     private void customPrint(String message, Color color) {
@@ -0,0 +1,394 @@
+package com.navigator.app.interfaceApp;
+
+import com.navigator.app.models.antAlgorithm.AntColonyOptimization;
+import com.navigator.app.models.antAlgorithm.TsmResult;
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.cancellation.OperationCancelledException;
+import com.navigator.app.models.shortestPath.ShortestPathTree;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph.GraphHolder;
+import com.navigator.app.s21_graph_algorithms.BatchShortestPaths;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import com.navigator.app.s21_graph_algorithms.ResultCache;
+import com.navigator.app.s21_graph_algorithms.ShortestPathTreeCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded HTTP front end answering route queries over a loaded graph, which must not change while serving, or
+ * over the current snapshot of a {@link GraphHolder}, which can be reloaded while serving: each query runs on the
+ * snapshot that was current when it arrived, and the caches are rebuilt for every new snapshot.
+ * <p>
+ * Endpoints, all {@code GET}, all answering JSON:
+ * <ul>
+ * <li>{@code /shortest-path?from=A&to=B}: distance and vertices of a shortest path.</li>
+ * <li>{@code /distances?sources=A,B&targets=C,D}: distances of the aligned (source, target) pairs.</li>
+ * <li>{@code /mst}: total weight and edges of the minimum spanning tree.</li>
+ * <li>{@code /tsp?iterations=N&colonies=N}: the best tour found by the ant colony algorithm. Both must be
+ * positive; colonies are capped at one per core, as each runs on its own thread.</li>
+ * </ul>
+ * Every endpoint accepts {@code timeoutMs}. Each request is handled on its own virtual thread, which hands the
+ * computation to a pool of one platform thread per core: virtual threads are not preempted, so CPU-bound queries
+ * on them could starve the threads doing network I/O. HTTP gives no
+ * notice when a client goes away, so a query still running after {@link #HEARTBEAT_MILLIS} commits a streamed
+ * {@code 200} response and writes a space, which JSON ignores, every heartbeat; the first failed write cancels
+ * the query. Errors found after that point are reported in the body only.
+ */
+public class HttpQueryServer implements AutoCloseable {
+    private static final long HEARTBEAT_MILLIS = 250;
+    private static final long SHORTEST_PATH_CACHE_BYTES = 64L << 20;
+    private static final int MAX_COLONIES = Runtime.getRuntime().availableProcessors();
+
+    private final GraphHolder graphHolder;
+    private volatile Served served;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService computeExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "query-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private final GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+    private final Set<CancellationToken> activeQueries = ConcurrentHashMap.newKeySet();
+    private final AtomicLong cancelledQueries = new AtomicLong();
+
+    /**
+     * Binds the server; call {@link #start()} to begin serving.
+     *
+     * @param graph   The loaded graph to query.
+     * @param address The address to listen on; port 0 picks a free port.
+     * @throws IOException If the graph is empty or the address cannot be bound.
+     */
+    public HttpQueryServer(@NotNull Graph graph, @NotNull InetSocketAddress address) throws IOException {
+        if (graph.getNumVertices() == 0) {
+            throw new IOException("Graph is empty");
+        }
+        this.graphHolder = null;
+        this.served = new Served(graph);
+        this.server = createServer(address);
+    }
+
+    /**
+     * Binds the server over a reloadable graph; call {@link #start()} to begin serving.
+     *
+     * @param graphHolder The holder of the graph to query; queries fail while its graph is empty.
+     * @param address     The address to listen on; port 0 picks a free port.
+     * @throws IOException If the address cannot be bound.
+     */
+    public HttpQueryServer(@NotNull GraphHolder graphHolder, @NotNull InetSocketAddress address) throws IOException {
+        this.graphHolder = graphHolder;
+        this.served = new Served(graphHolder.current());
+        this.server = createServer(address);
+    }
+
+    private HttpServer createServer(InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/shortest-path", exchange -> handle(exchange, this::shortestPath));
+        server.createContext("/distances", exchange -> handle(exchange, this::distances));
+        server.createContext("/mst", exchange -> handle(exchange, this::minimumSpanningTree));
+        server.createContext("/tsp", exchange -> handle(exchange, this::travelingSalesman));
+        return server;
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return The port the server listens on.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return Number of queries cancelled because their client disconnected.
+     */
+    public long getCancelledQueries() {
+        return cancelledQueries.get();
+    }
+
+    /**
+     * Stops accepting requests and cancels the queries still running.
+     */
+    @Override
+    public void close() {
+        activeQueries.forEach(CancellationToken::cancel);
+        server.stop(0);
+        executor.shutdownNow();
+        computeExecutor.shutdownNow();
+    }
+
+    /**
+     * @return The graph and caches for a query arriving now.
+     */
+    private Served served() {
+        Served current = served;
+        if (graphHolder == null || current.graph == graphHolder.current()) return current;
+        synchronized (this) {
+            if (served.graph != graphHolder.current()) {
+                served = new Served(graphHolder.current());
+            }
+            return served;
+        }
+    }
+
+    private String shortestPath(Served served, Map<String, String> parameters,
+                                CancellationToken token) throws IOException {
+        int from = intParameter(parameters, "from", null);
+        int to = intParameter(parameters, "to", null);
+        ShortestPathTree tree = served.shortestPathCache.tree(from, to, token);
+        return "{\"from\":" + from + ",\"to\":" + to + ",\"distance\":" + distanceJson(tree.distance(to))
+                + ",\"path\":" + listJson(tree.path(to)) + "}";
+    }
+
+    private String distances(Served served, Map<String, String> parameters,
+                             CancellationToken token) throws IOException {
+        int[] sources = intListParameter(parameters, "sources");
+        int[] targets = intListParameter(parameters, "targets");
+        int[] distances = served.batchShortestPaths().distances(sources, targets, token);
+        StringBuilder json = new StringBuilder("{\"distances\":[");
+        for (int i = 0; i < distances.length; i++) {
+            if (i > 0) json.append(',');
+            json.append(distanceJson(distances[i]));
+        }
+        return json.append("]}").toString();
+    }
+
+    private String minimumSpanningTree(Served served, Map<String, String> parameters,
+                                       CancellationToken token) throws IOException {
+        ArrayList<ArrayList<Integer>> tree = served.resultCache.getLeastSpanningTree(token);
+        long totalWeight = 0;
+        StringBuilder edges = new StringBuilder();
+        for (int i = 0; i < tree.size(); i++) {
+            for (int j = i + 1; j < tree.size(); j++) {
+                int weight = tree.get(i).get(j);
+                if (weight == 0) continue;
+                totalWeight += weight;
+                if (edges.length() > 0) edges.append(',');
+                edges.append('[').append(i).append(',').append(j).append(',').append(weight).append(']');
+            }
+        }
+        return "{\"totalWeight\":" + totalWeight + ",\"edges\":[" + edges + "]}";
+    }
+
+    private String travelingSalesman(Served served, Map<String, String> parameters,
+                                     CancellationToken token) throws IOException {
+        int iterations = intParameter(parameters, "iterations", 100);
+        int colonies = intParameter(parameters, "colonies", 1);
+        if (iterations < 1 || colonies < 1) {
+            throw new IOException("Incorrect data");
+        }
+        TsmResult result = AntColonyOptimization.builder()
+                .graph(served.graph)
+                .maxIterations(iterations)
+                .numColonies(Math.min(colonies, MAX_COLONIES))
+                .cancellationToken(token)
+                .build()
+                .findOptimalTour();
+        return "{\"distance\":" + result.getDistance() + ",\"tour\":" + listJson(result.getVertices()) + "}";
+    }
+
+    private void handle(HttpExchange exchange, Query query) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, errorJson("Method not allowed"));
+                return;
+            }
+            Map<String, String> parameters;
+            CancellationToken token;
+            try {
+                parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+                int timeout = intParameter(parameters, "timeoutMs", 0);
+                token = timeout > 0 ? CancellationToken.withTimeout(Duration.ofMillis(timeout)) : CancellationToken.none();
+            } catch (IOException e) {
+                send(exchange, 400, errorJson(e.getMessage()));
+                return;
+            }
+            run(exchange, query, parameters, token);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void run(HttpExchange exchange, Query query, Map<String, String> parameters,
+                     CancellationToken token) throws IOException {
+        activeQueries.add(token);
+        Served served = served();
+        Future<String> result = computeExecutor.submit(() -> query.run(served, parameters, token));
+        try {
+            try {
+                send(exchange, 200, result.get(HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS));
+                return;
+            } catch (TimeoutException e) {
+                // still running: commit the response and watch the connection
+            } catch (ExecutionException e) {
+                send(exchange, statusOf(e.getCause()), errorJson(messageOf(e.getCause())));
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream body = exchange.getResponseBody();
+            String json = null;
+            while (json == null) {
+                try {
+                    json = result.get(HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    try {
+                        body.write(' ');
+                        body.flush();
+                    } catch (IOException disconnected) {
+                        token.cancel();
+                        cancelledQueries.incrementAndGet();
+                        return;
+                    }
+                } catch (ExecutionException e) {
+                    json = errorJson(messageOf(e.getCause()));
+                }
+            }
+            body.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            token.cancel();
+            Thread.currentThread().interrupt();
+        } finally {
+            activeQueries.remove(token);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static int statusOf(Throwable error) {
+        if (error instanceof OperationCancelledException) return 503;
+        if (error instanceof IOException) return 400;
+        return 500;
+    }
+
+    private static String messageOf(Throwable error) {
+        return error instanceof IOException ? error.getMessage() : "Internal error";
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return parameters;
+        try {
+            for (String pair : rawQuery.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator < 0) throw new IOException("Incorrect data");
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Incorrect data");
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> parameters, String name, Integer defaultValue) throws IOException {
+        String value = parameters.get(name);
+        if (value == null) {
+            if (defaultValue == null) throw new IOException("Missing parameter " + name);
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Incorrect data");
+        }
+    }
+
+    private static int[] intListParameter(Map<String, String> parameters, String name) throws IOException {
+        String value = parameters.get(name);
+        if (value == null) throw new IOException("Missing parameter " + name);
+        if (value.isEmpty()) return new int[0];
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                result[i] = Integer.parseInt(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Incorrect data");
+        }
+        return result;
+    }
+
+    private static String distanceJson(int distance) {
+        return distance == Integer.MAX_VALUE ? "null" : String.valueOf(distance);
+    }
+
+    private static String listJson(List<Integer> values) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) json.append(',');
+            json.append(values.get(i));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String errorJson(String message) {
+        String escaped = message == null ? "" : message.replace("\\", "\\\\").replace("\"", "\\\"");
+        return "{\"error\":\"" + escaped + "\"}";
+    }
+
+    /**
+     * A graph being served with the caches built for it.
+     */
+    private final class Served {
+        private final Graph graph;
+        private final ShortestPathTreeCache shortestPathCache;
+        private final ResultCache resultCache;
+        private BatchShortestPaths batchShortestPaths;
+
+        private Served(Graph graph) {
+            this.graph = graph;
+            this.shortestPathCache = new ShortestPathTreeCache(graph, SHORTEST_PATH_CACHE_BYTES);
+            this.resultCache = new ResultCache(graph, graphAlgorithms);
+        }
+
+        /**
+         * @return The batch searcher over the CSR form of the graph, built by the first batch query.
+         * @throws IOException If the graph is empty.
+         */
+        private synchronized BatchShortestPaths batchShortestPaths() throws IOException {
+            if (batchShortestPaths == null) {
+                batchShortestPaths = new BatchShortestPaths(CompactGraph.fromGraph(graph));
+            }
+            return batchShortestPaths;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        String run(Served served, Map<String, String> parameters, CancellationToken token) throws IOException;
+    }
+}
@@ -1,6 +1,5 @@
 package com.navigator.app.models.antAlgorithm;
 
-import com.navigator.app.s21_graph.Graph;
 import lombok.Getter;
 
 import java.io.IOException;
@@ -10,45 +9,62 @@ import java.util.Random;
 
 /**
  * Represents an Ant used in Ant Colony Optimization (ACO) for the Traveling Salesman Problem (TSP).
+ * <p>
+ * With candidate lists, the ant chooses among the unvisited candidates of its location and only falls back
+ * to the most attractive of all unvisited locations once every candidate has been visited, so a step costs
+ * {@code O(k)} instead of {@code O(n)} most of the time.
+ * <p>
+ * A distance of 0 between two distinct locations means there is no edge. The ant never walks such a pair: if it
+ * reaches a location without an edge to any unvisited one, or cannot return to its start, its tour fails. If every
+ * edge to an unvisited location is so unattractive that the weights underflow to zero, the ant takes the nearest
+ * one instead.
  */
 class Ant {
-    private final Graph graph;          // Graph object
+    private final DistanceProvider distances; // Distances between vertices
     @Getter
     private final int numVertices;      // Number of vertices in the graph
-    private final double[][] pheromones; // Pheromone matrix
+    private final PheromoneTrails pheromones; // Pheromone levels
+    private final CandidateLists candidates; // Nearest neighbours to prefer, or null
     private final boolean[] visited;    // Keeps track of visited vertices
     @Getter
     private final List<Integer> tour;   // Ant's tour route
     private final Random random;        // Random number generator
     private final double alpha;         // Influence of pheromone
     private final double beta;          // Influence of heuristic information
+    private final double[] candidateWeights; // Scratch space for candidate selection
 
     /**
      * Constructs an Ant object.
      *
-     * @param graph      The graph on which the ant will operate.
-     * @param pheromones The pheromone matrix of the graph.
+     * @param distances  The distances between the vertices the ant will visit.
+     * @param pheromones The pheromone levels of the graph.
+     * @param candidates The candidate lists to choose from first, or null to consider every vertex.
      * @param alpha      Alpha parameter for pheromone influence.
      * @param beta       Beta parameter for heuristic influence.
+     * @param random     The random number generator, seeded for reproducible tours.
      */
-    public Ant(Graph graph, double[][] pheromones, double alpha, double beta) {
-        this.graph = graph;
-        this.numVertices = graph.getNumVertices();
+    public Ant(DistanceProvider distances, PheromoneTrails pheromones, CandidateLists candidates,
+               double alpha, double beta, Random random) {
+        this.distances = distances;
+        this.numVertices = distances.size();
         this.pheromones = pheromones;
+        this.candidates = candidates;
         this.visited = new boolean[numVertices];
         this.tour = new ArrayList<>();
-        this.random = new Random();
+        this.random = random;
         this.alpha = alpha;
         this.beta = beta;
+        this.candidateWeights = candidates == null ? null : new double[candidates.getK()];
     }
 
     /**
      * Constructs a solution (tour) for the TSP using the ACO approach.
      *
-     * @throws IOException If graph loading fails.
+     * @return Whether the tour is complete; false if the ant got stuck where no edge leads on.
+     * @throws IOException If there are no vertices to visit.
      */
-    public void constructSolution() throws IOException {
-        checkGraph(graph);
+    public boolean constructSolution() throws IOException {
+        checkGraph();
 
         int startVertex = random.nextInt(numVertices);
         tour.clear();
@@ -57,21 +73,40 @@ class Ant {
 
         while (tour.size() < numVertices) {
             int nextVertex = selectNextVertex();
+            if (nextVertex < 0) return false;
             tour.add(nextVertex);
             visited[nextVertex] = true;
         }
 
+        if (numVertices > 1 && distances.distance(tour.get(tour.size() - 1), startVertex) == 0) return false;
         tour.add(startVertex);
+        return true;
     }
 
-    private int selectNextVertex() throws IOException {
+    /**
+     * @return The next vertex, or -1 if there is no edge to an unvisited vertex.
+     */
+    private int selectNextVertex() {
         int currentVertex = tour.get(tour.size() - 1);
+        int next;
+        if (candidates != null) {
+            next = selectCandidate(currentVertex);
+            if (next < 0) next = selectMostAttractive(currentVertex);
+        } else {
+            next = selectByProbability(currentVertex);
+        }
+        return next >= 0 ? next : selectNearest(currentVertex);
+    }
+
+    private int selectByProbability(int currentVertex) {
         double[] probabilities = calculateProbabilities(currentVertex);
         double r = random.nextDouble();
         double cumulativeProbability = 0.0;
+        int last = -1;
 
         for (int vertex = 0; vertex < numVertices; vertex++) {
-            if (!visited[vertex]) {
+            if (!visited[vertex] && probabilities[vertex] > 0.0) {
+                last = vertex;
                 cumulativeProbability += probabilities[vertex];
                 if (r <= cumulativeProbability) {
                     return vertex;
@@ -79,13 +114,74 @@ class Ant {
             }
         }
 
+        return last;   // rounding left r above the sum, or -1 if every weight is zero
+    }
+
+    private int selectCandidate(int currentVertex) {
+        int count = candidates.count(currentVertex);
+        double[] weights = candidateWeights;
+        double total = 0.0;
+        for (int i = 0; i < count; i++) {
+            int vertex = candidates.candidate(currentVertex, i);
+            if (visited[vertex]) {
+                weights[i] = 0.0;
+                continue;
+            }
+            double level = pheromones instanceof CandidatePheromoneTrails trails
+                    ? trails.getCandidate(currentVertex, i)
+                    : pheromones.get(currentVertex, vertex);
+            weights[i] = attractiveness(level, distances.distance(currentVertex, vertex));
+            total += weights[i];
+        }
+        if (total == 0.0) return -1;
+
+        double r = random.nextDouble() * total;
+        double cumulative = 0.0;
+        int last = -1;
+        for (int i = 0; i < count; i++) {
+            if (weights[i] == 0.0) continue;
+            last = i;
+            cumulative += weights[i];
+            if (r <= cumulative) break;
+        }
+        return candidates.candidate(currentVertex, last);
+    }
+
+    private int selectMostAttractive(int currentVertex) {
+        int best = -1;
+        double bestValue = 0.0;
         for (int vertex = 0; vertex < numVertices; vertex++) {
-            if (!visited[vertex]) {
-                return vertex;
+            if (visited[vertex]) continue;
+            double distance = distances.distance(currentVertex, vertex);
+            double value = attractiveness(pheromones.get(currentVertex, vertex), distance);
+            if (value > bestValue) {
+                best = vertex;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return The nearest unvisited vertex with an edge from the current one, or -1 at a dead end.
+     */
+    private int selectNearest(int currentVertex) {
+        int nearest = -1;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            if (visited[vertex]) continue;
+            double distance = distances.distance(currentVertex, vertex);
+            if (distance != 0 && distance < nearestDistance) {
+                nearest = vertex;
+                nearestDistance = distance;
             }
         }
+        return nearest;
+    }
 
-        throw new IOException("No unvisited vertices to select");
+    private double attractiveness(double pheromone, double distance) {
+        if (distance == 0) return 0.0;   // no edge, not an infinitely close location
+        return Math.pow(pheromone, alpha) * Math.pow(1.0 / distance, beta);
     }
 
     private double[] calculateProbabilities(int currentVertex) {
@@ -94,13 +190,13 @@ class Ant {
 
         for (int vertex = 0; vertex < numVertices; vertex++) {
             if (!visited[vertex]) {
-                double pheromone = Math.pow(pheromones[currentVertex][vertex], alpha);
-                double heuristic = Math.pow(1.0 / graph.getAdjacencyMatrix().get(currentVertex).get(vertex), beta);
-                probabilities[vertex] = pheromone * heuristic;
+                probabilities[vertex] = attractiveness(pheromones.get(currentVertex, vertex),
+                        distances.distance(currentVertex, vertex));
                 total += probabilities[vertex];
             }
         }
 
+        if (total == 0.0) return probabilities;   // no edge to an unvisited vertex
         for (int vertex = 0; vertex < numVertices; vertex++) {
             if (!visited[vertex]) {
                 probabilities[vertex] /= total;
@@ -120,16 +216,13 @@ class Ant {
         for (int i = 0; i < tour.size() - 1; i++) {
             int from = tour.get(i);
             int to = tour.get(i + 1);
-            tourLength += graph.getAdjacencyMatrix().get(from).get(to);
+            tourLength += distances.distance(from, to);
         }
         return tourLength;
     }
 
-    private void checkGraph(Graph graph) throws IOException {
-        if (graph == null) {
-            throw new IOException("Graph is null");
-        }
-        if (graph.getAdjacencyMatrix() == null || graph.getAdjacencyMatrix().isEmpty()) {
+    private void checkGraph() throws IOException {
+        if (numVertices == 0) {
             throw new IOException("Graph is empty");
         }
     }
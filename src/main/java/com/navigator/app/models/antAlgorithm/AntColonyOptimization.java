@@ -1,32 +1,61 @@
 package com.navigator.app.models.antAlgorithm;
 
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.metrics.AcoIterationEvent;
+import com.navigator.app.models.metrics.Metrics;
 import com.navigator.app.s21_graph.Graph;
 import lombok.Builder;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Implements Ant Colony Optimization (ACO) algorithm to solve the Traveling Salesman Problem (TSP).
- * Uses a graph represented by an adjacency matrix for computation.
+ * Works either on a graph represented by an adjacency matrix or directly on a {@link DistanceProvider},
+ * such as a distance table computed for a subset of a large graph.
+ * <p>
+ * With more than one colony the algorithm runs in island mode: every colony has its own pheromone matrix
+ * and parameters and runs on its own thread. Every {@code migrationInterval} iterations a colony posts its
+ * best tour to the lock-free mailbox of the next colony in a ring and adopts the tour waiting in its own.
  * <p>
  * Default values:
  * <ul>
+ * <li>graph: The graph whose vertices are visited. Ignored if distances are set.</li>
+ * <li>distances: The distances between the locations to visit. Default is none, in which case the graph is used.</li>
  * <li>numAnts: Number of ants used in the algorithm. Default is 10.</li>
  * <li>maxIterations: Maximum number of iterations for the algorithm. Default is 100.</li>
  * <li>evaporationRate: Pheromone evaporation rate used in the algorithm. Default is 0.5.</li>
  * <li>alpha: Alpha parameter for pheromone influence. Default is 1.0.</li>
  * <li>beta: Beta parameter for heuristic influence. Default is 2.0.</li>
+ * <li>cancellationToken: Stops the search early, returning the best tour found so far. Default never cancels.</li>
+ * <li>progressListener: Notified whenever the best tour improves. Default is none.</li>
+ * <li>numColonies: Number of colonies, each run on its own thread. Default is 1.</li>
+ * <li>migrationInterval: Iterations between best-tour exchanges of neighbouring colonies. Default is 10.</li>
+ * <li>colonyParameters: Per-colony parameters, colony {@code i} uses entry {@code i % size}.
+ * Default is none, in which case every colony uses numAnts, evaporationRate, alpha and beta.</li>
+ * <li>candidateListSize: Number of nearest neighbours ants choose from first; pheromones are then kept on
+ * candidate edges only, so memory is {@code O(n * k)} instead of {@code O(n^2)}. Default is 0, in which case
+ * ants consider every location.</li>
+ * <li>seed: Seed of the ants' random choices; colony {@code i} uses a seed derived from it. With one colony, equal
+ * seeds give equal tours. Island mode stays nondeterministic, since migrations depend on thread timing.
+ * Default is none, in which case every run differs.</li>
  * </ul>
+ * For large Euclidean instances, pass a {@link CoordinateDistanceProvider} as distances together with a
+ * candidate list size of 10 to 20: no distance matrix is ever built.
  */
 @Builder
 public class AntColonyOptimization {
     private final Graph graph;
-    private double[][] pheromones;
-    private List<Ant> ants;
-    private Ant bestAnt;
+    private final DistanceProvider distances;
 
     @Builder.Default
     private final int numAnts = 10;
@@ -38,95 +67,199 @@ public class AntColonyOptimization {
     private final double alpha = 1.0;
     @Builder.Default
     private final double beta = 2.0;
+    @Builder.Default
+    private final CancellationToken cancellationToken = CancellationToken.none();
+    private final TsmProgressListener progressListener;
+    @Builder.Default
+    private final int numColonies = 1;
+    @Builder.Default
+    private final int migrationInterval = 10;
+    private final List<ColonyParameters> colonyParameters;
+    @Builder.Default
+    private final int candidateListSize = 0;
+    private final Long seed;
 
     /**
      * Finds the optimal tour using the Ant Colony Optimization (ACO) algorithm.
+     * <p>
+     * If the cancellation token fires, the search stops after the ant currently building its tour
+     * and the best tour found so far is returned.
      *
      * @return TsmResult representing the optimal route and distance.
-     * @throws IOException If graph loading fails.
+     * @throws IOException If graph loading fails, the parameters are invalid, the search was cancelled before
+     *                     any tour was built, or no ant completed a tour.
      */
     public TsmResult findOptimalTour() throws IOException {
-        checkGraph(graph);
-        initializePheromones();
+        DistanceProvider tspDistances = resolveDistances();
+        checkParameters();
+        CandidateLists candidates = resolveCandidates(tspDistances);
 
-        for (int iter = 0; iter < maxIterations; iter++) {
-            createAnts();
-            simulateAnts();
-            updatePheromones();
-
-            Ant currentBestAnt = findBestAnt();
-            if (bestAnt == null || currentBestAnt.getTourLength() < bestAnt.getTourLength()) {
-                bestAnt = currentBestAnt;
+        long start = Metrics.startTimer();
+        AtomicReference<TsmResult> globalBest = new AtomicReference<>();
+        try {
+            if (numColonies == 1) {
+                Colony colony = new Colony(tspDistances, parametersFor(0), candidates, randomFor(0));
+                runColony(0, colony, null, globalBest, new AtomicBoolean());
+            } else {
+                runIslands(tspDistances, candidates, globalBest);
             }
+        } finally {
+            Metrics.stopTimer("AntColonyOptimization.findOptimalTour", start);
         }
 
-        List<Integer> bestTour = bestAnt.getTour();
-        double bestTourLength = bestAnt.getTourLength();
+        if (globalBest.get() == null) {
+            cancellationToken.throwIfCancelled();
+            throw new IOException("Incorrect data");
+        }
+        return globalBest.get();
+    }
 
-        return new TsmResult(bestTour, bestTourLength);
+    private void runIslands(DistanceProvider tspDistances, CandidateLists candidates,
+                            AtomicReference<TsmResult> globalBest) throws IOException {
+        AtomicReferenceArray<TsmResult> mailboxes = new AtomicReferenceArray<>(numColonies);
+        AtomicBoolean failed = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(numColonies);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < numColonies; i++) {
+                int index = i;
+                Colony colony = new Colony(tspDistances, parametersFor(index), candidates, randomFor(index));
+                futures.add(executor.submit(() -> {
+                    runColony(index, colony, mailboxes, globalBest, failed);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            failed.set(true);
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Colony failed", e.getCause());
+        } catch (InterruptedException e) {
+            failed.set(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        } finally {
+            executor.shutdown();
+        }
     }
 
-    private void initializePheromones() {
-        int numVertices = graph.getNumVertices();
-        pheromones = new double[numVertices][numVertices];
+    private void runColony(int index, Colony colony, AtomicReferenceArray<TsmResult> mailboxes,
+                           AtomicReference<TsmResult> globalBest, AtomicBoolean failed) throws IOException {
+        for (int iter = 0; iter < maxIterations && !cancellationToken.isCancelled() && !failed.get(); iter++) {
+            TsmResult previousBest = colony.getBest();
+            AcoIterationEvent event = new AcoIterationEvent();
+            event.begin();
+            int completedAnts;
+            try {
+                completedAnts = colony.runIteration(cancellationToken);
+            } catch (IOException e) {
+                failed.set(true);
+                throw e;
+            }
+            if (completedAnts == 0) continue;   // cancelled, or every ant got stuck
 
-        IntStream.range(0, numVertices).forEach(i ->
-                IntStream.range(0, numVertices).forEach(j ->
-                        pheromones[i][j] = 1.0));
-    }
+            Metrics.increment("aco.iterations");
+            event.end();
+            if (event.shouldCommit()) {
+                event.setColony(index);
+                event.setIteration(iter);
+                event.setAnts(completedAnts);
+                event.setBestLength(colony.getBest().getDistance());
+                event.setPheromoneSpread(colony.pheromoneSpread());
+                event.commit();
+            }
 
-    private void createAnts() {
-        ants = new ArrayList<>();
-        for (int i = 0; i < numAnts; i++) {
-            ants.add(new Ant(graph, pheromones, alpha, beta));
+            if (mailboxes != null && (iter + 1) % migrationInterval == 0) {
+                mailboxes.accumulateAndGet((index + 1) % numColonies, colony.getBest(), AntColonyOptimization::shorter);
+                TsmResult migrant = mailboxes.getAndSet(index, null);
+                if (migrant != null) {
+                    colony.acceptMigrant(migrant);
+                }
+            }
+
+            if (colony.getBest() != previousBest) {
+                publishBest(iter, colony.getBest(), globalBest);
+            }
         }
     }
 
-    private void simulateAnts() throws IOException {
-        for (Ant ant : ants) {
-            ant.constructSolution();
+    private void publishBest(int iteration, TsmResult candidate, AtomicReference<TsmResult> globalBest) {
+        synchronized (globalBest) {
+            TsmResult current = globalBest.get();
+            if (current != null && current.getDistance() <= candidate.getDistance()) return;
+            globalBest.set(candidate);
+            Metrics.recordAcoBest(iteration, candidate.getDistance());
+            if (progressListener != null) {
+                progressListener.onImprovement(iteration, candidate);
+            }
         }
     }
 
-    private void updatePheromones() {
-        evaporatePheromones();
+    private static TsmResult shorter(TsmResult current, TsmResult offered) {
+        return current == null || offered.getDistance() < current.getDistance() ? offered : current;
+    }
 
-        for (Ant ant : ants) {
-            List<Integer> tour = ant.getTour();
-            double tourLength = ant.getTourLength();
+    private Random randomFor(int colony) {
+        return seed == null ? new Random() : new Random(seed + 0x9E3779B97F4A7C15L * colony);
+    }
 
-            for (int i = 0; i < tour.size() - 1; i++) {
-                int from = tour.get(i);
-                int to = tour.get(i + 1);
-                pheromones[from][to] += 1.0 / tourLength;
-                pheromones[to][from] += 1.0 / tourLength;
-            }
+    private ColonyParameters parametersFor(int colony) {
+        if (colonyParameters != null && !colonyParameters.isEmpty()) {
+            return colonyParameters.get(colony % colonyParameters.size());
         }
+        return ColonyParameters.builder()
+                .numAnts(numAnts)
+                .evaporationRate(evaporationRate)
+                .alpha(alpha)
+                .beta(beta)
+                .build();
     }
 
-    private void evaporatePheromones() {
-        for (int i = 0; i < graph.getNumVertices(); i++) {
-            for (int j = 0; j < graph.getNumVertices(); j++) {
-                pheromones[i][j] *= (1.0 - evaporationRate);
+    private CandidateLists resolveCandidates(DistanceProvider tspDistances) throws IOException {
+        if (candidateListSize < 0) {
+            throw new IOException("Candidate list size must not be negative");
+        }
+        if (candidateListSize == 0 || tspDistances.size() < 2) return null;
+        return tspDistances instanceof CoordinateDistanceProvider coordinates
+                ? CandidateLists.nearest(coordinates, candidateListSize)
+                : CandidateLists.nearest(tspDistances, candidateListSize);
+    }
+
+    private void checkParameters() throws IOException {
+        if (maxIterations < 1) {
+            throw new IOException("Number of iterations must be positive");
+        }
+        if (numColonies < 1) {
+            throw new IOException("Number of colonies must be positive");
+        }
+        if (migrationInterval < 1) {
+            throw new IOException("Migration interval must be positive");
+        }
+        for (int i = 0; i < numColonies; i++) {
+            if (parametersFor(i).getNumAnts() < 1) {
+                throw new IOException("Number of ants must be positive");
             }
         }
     }
 
-    private Ant findBestAnt() {
-        Ant best = ants.get(0);
-        for (Ant ant : ants) {
-            if (ant.getTourLength() < best.getTourLength()) {
-                best = ant;
+    private DistanceProvider resolveDistances() throws IOException {
+        if (distances != null) {
+            if (distances.size() == 0) {
+                throw new IOException("Graph is empty");
             }
+            return distances;
         }
-        return best;
+        checkGraph(graph);
+        return MatrixDistanceProvider.fromGraph(graph);
     }
 
     private void checkGraph(Graph graph) throws IOException {
         if (graph == null) {
             throw new IOException("Graph is null");
         }
-        if (graph.getAdjacencyMatrix() == null || graph.getAdjacencyMatrix().isEmpty()) {
+        if (graph.getNumVertices() == 0) {
             throw new IOException("Graph is empty");
         }
     }
@@ -0,0 +1,282 @@
+package com.navigator.app.models.antAlgorithm;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * The {@code k} nearest connected neighbours of every location, nearest first, in one flat {@code int[]}.
+ * <p>
+ * Ants restricted to candidate lists look at {@code k} locations per step instead of all of them, and the
+ * pheromones only need to be kept on candidate edges, so a colony needs {@code O(n * k)} memory.
+ */
+public class CandidateLists {
+    private final int size;
+    private final int k;
+    private final int[] candidates;
+    private final int[] counts;
+
+    private CandidateLists(int size, int k, int[] candidates, int[] counts) {
+        this.size = size;
+        this.k = k;
+        this.candidates = candidates;
+        this.counts = counts;
+    }
+
+    /**
+     * Finds the nearest neighbours by scanning every pair, {@code O(n^2 log k)} time; works for any distances.
+     * Locations at distance zero are not connected and never become candidates.
+     *
+     * @param distances The distances between the locations.
+     * @param k         Candidates per location.
+     * @return The candidate lists.
+     */
+    public static CandidateLists nearest(@NotNull DistanceProvider distances, int k) {
+        int size = distances.size();
+        int width = checkWidth(size, k);
+        int[] candidates = new int[size * width];
+        int[] counts = new int[size];
+        NearestQueue queue = new NearestQueue(width);
+
+        for (int from = 0; from < size; from++) {
+            queue.clear();
+            for (int to = 0; to < size; to++) {
+                double distance = distances.distance(from, to);
+                if (to != from && distance != 0) queue.offer(to, distance);
+            }
+            counts[from] = queue.drainTo(candidates, from * width);
+        }
+        return new CandidateLists(size, width, candidates, counts);
+    }
+
+    /**
+     * Finds the nearest neighbours of points in the plane with a uniform grid of about two points per cell,
+     * searching rings of cells around each point until no closer point can remain; close to {@code O(n * k)}
+     * time for evenly spread points instead of {@code O(n^2)}.
+     *
+     * @param distances Coordinates of the locations.
+     * @param k         Candidates per location.
+     * @return The candidate lists.
+     */
+    public static CandidateLists nearest(@NotNull CoordinateDistanceProvider distances, int k) {
+        int size = distances.size();
+        int width = checkWidth(size, k);
+        SpatialGrid grid = new SpatialGrid(distances);
+        int[] candidates = new int[size * width];
+        int[] counts = new int[size];
+        NearestQueue queue = new NearestQueue(width);
+
+        for (int from = 0; from < size; from++) {
+            queue.clear();
+            grid.nearest(from, queue);
+            counts[from] = queue.drainTo(candidates, from * width);
+        }
+        return new CandidateLists(size, width, candidates, counts);
+    }
+
+    private static int checkWidth(int size, int k) {
+        if (k < 1) throw new IllegalArgumentException("Number of candidates must be positive");
+        return Math.max(1, Math.min(k, size - 1));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The maximum number of candidates per location.
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * @return Number of candidates of the location, {@code k} unless it has fewer connected neighbours.
+     */
+    public int count(int location) {
+        return counts[location];
+    }
+
+    /**
+     * @return The {@code index}-th nearest candidate of the location.
+     */
+    public int candidate(int location, int index) {
+        return candidates[location * k + index];
+    }
+
+    /**
+     * @return The position of {@code to} in the candidate list of {@code from}, or -1 if it is not a candidate.
+     */
+    public int indexOf(int from, int to) {
+        int base = from * k;
+        for (int i = 0; i < counts[from]; i++) {
+            if (candidates[base + i] == to) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Bounded max-heap keeping the {@code k} nearest offered locations.
+     */
+    static class NearestQueue {
+        private final int[] locations;
+        private final double[] distances;
+        private int size;
+
+        NearestQueue(int capacity) {
+            locations = new int[capacity];
+            distances = new double[capacity];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isFull() {
+            return size == locations.length;
+        }
+
+        /**
+         * @return The largest kept distance, the bound a new location has to beat once the queue is full.
+         */
+        double worst() {
+            return distances[0];
+        }
+
+        void offer(int location, double distance) {
+            if (size < locations.length) {
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (distances[parent] >= distance) break;
+                    locations[child] = locations[parent];
+                    distances[child] = distances[parent];
+                    child = parent;
+                }
+                locations[child] = location;
+                distances[child] = distance;
+            } else if (distance < distances[0]) {
+                siftDown(location, distance, size);
+            }
+        }
+
+        private void siftDown(int location, double distance, int heapSize) {
+            int parent = 0;
+            while (true) {
+                int child = 2 * parent + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && distances[child + 1] > distances[child]) child++;
+                if (distances[child] <= distance) break;
+                locations[parent] = locations[child];
+                distances[parent] = distances[child];
+                parent = child;
+            }
+            locations[parent] = location;
+            distances[parent] = distance;
+        }
+
+        /**
+         * Writes the kept locations nearest first and empties the queue.
+         *
+         * @return The number of locations written.
+         */
+        int drainTo(int[] target, int offset) {
+            int count = size;
+            for (int last = count - 1; last >= 0; last--) {
+                target[offset + last] = locations[0];
+                int movedLocation = locations[last];
+                double movedDistance = distances[last];
+                siftDown(movedLocation, movedDistance, last);
+            }
+            size = 0;
+            return count;
+        }
+    }
+
+    /**
+     * Buckets points into square cells, sorted by cell, for ring-by-ring nearest neighbour searches.
+     */
+    private static class SpatialGrid {
+        private final CoordinateDistanceProvider points;
+        private final double minX;
+        private final double minY;
+        private final double cellSize;
+        private final int columns;
+        private final int rows;
+        private final int[] cellStart;
+        private final int[] sorted;
+
+        SpatialGrid(CoordinateDistanceProvider points) {
+            this.points = points;
+            int size = points.size();
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                minX = Math.min(minX, points.getX(i));
+                maxX = Math.max(maxX, points.getX(i));
+                minY = Math.min(minY, points.getY(i));
+                maxY = Math.max(maxY, points.getY(i));
+            }
+            double width = Math.max(maxX - minX, 1e-9);
+            double height = Math.max(maxY - minY, 1e-9);
+            double cellSize = Math.sqrt(width * height * 2 / size);
+            if (!(cellSize > 0)) cellSize = Math.max(width, height);
+            this.minX = minX;
+            this.minY = minY;
+            this.columns = (int) Math.min(1 << 15, width / cellSize + 1);
+            this.rows = (int) Math.min(1 << 15, height / cellSize + 1);
+            this.cellSize = Math.max(cellSize, Math.max(width / columns, height / rows));
+
+            cellStart = new int[columns * rows + 1];
+            int[] cellOf = new int[size];
+            for (int i = 0; i < size; i++) {
+                cellOf[i] = column(points.getX(i)) + row(points.getY(i)) * columns;
+                cellStart[cellOf[i] + 1]++;
+            }
+            for (int cell = 0; cell < columns * rows; cell++) {
+                cellStart[cell + 1] += cellStart[cell];
+            }
+            int[] position = Arrays.copyOf(cellStart, columns * rows);
+            sorted = new int[size];
+            for (int i = 0; i < size; i++) {
+                sorted[position[cellOf[i]]++] = i;
+            }
+        }
+
+        private int column(double x) {
+            return Math.min(columns - 1, (int) ((x - minX) / cellSize));
+        }
+
+        private int row(double y) {
+            return Math.min(rows - 1, (int) ((y - minY) / cellSize));
+        }
+
+        /**
+         * Offers points ring by ring around the cell of {@code from}; every point outside ring {@code r} is at
+         * least {@code r * cellSize} away, so the search stops once the queue is full and beats that bound.
+         */
+        void nearest(int from, NearestQueue queue) {
+            int centerColumn = column(points.getX(from));
+            int centerRow = row(points.getY(from));
+            int maxRing = Math.max(columns, rows);
+            for (int ring = 0; ring <= maxRing; ring++) {
+                if (queue.isFull() && queue.worst() <= ring * cellSize - cellSize) break;
+                for (int r = centerRow - ring; r <= centerRow + ring; r++) {
+                    if (r < 0 || r >= rows) continue;
+                    boolean edgeRow = r == centerRow - ring || r == centerRow + ring;
+                    int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                    for (int c = centerColumn - ring; c <= centerColumn + ring; c += step) {
+                        if (c < 0 || c >= columns) continue;
+                        int cell = c + r * columns;
+                        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                            int to = sorted[i];
+                            if (to == from) continue;
+                            double distance = points.distance(from, to);
+                            if (distance != 0) queue.offer(to, distance);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
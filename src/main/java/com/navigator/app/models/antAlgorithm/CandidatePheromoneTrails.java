@@ -0,0 +1,65 @@
+package com.navigator.app.models.antAlgorithm;
+
+import java.util.Arrays;
+
+/**
+ * Pheromone levels kept only on candidate edges, {@code n * k} doubles.
+ * <p>
+ * All other edges share one background level that evaporates like the rest but never receives deposits,
+ * so ants leaving their candidate lists see them as the least reinforced choice. It settles at the colony's
+ * minimum level instead of decaying to zero.
+ */
+class CandidatePheromoneTrails implements PheromoneTrails {
+    private final CandidateLists candidates;
+    private final double[] levels;
+    private double background = 1.0;
+
+    CandidatePheromoneTrails(CandidateLists candidates) {
+        this.candidates = candidates;
+        this.levels = new double[candidates.size() * candidates.getK()];
+        Arrays.fill(levels, 1.0);
+    }
+
+    @Override
+    public double get(int from, int to) {
+        int index = candidates.indexOf(from, to);
+        return index < 0 ? background : levels[from * candidates.getK() + index];
+    }
+
+    /**
+     * @return The level of the {@code index}-th candidate edge of {@code from}, without searching the list.
+     */
+    double getCandidate(int from, int index) {
+        return levels[from * candidates.getK() + index];
+    }
+
+    @Override
+    public void evaporate(double rate, double minLevel) {
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = Math.max(levels[i] * (1.0 - rate), minLevel);
+        }
+        background = Math.max(background * (1.0 - rate), minLevel);
+    }
+
+    @Override
+    public void deposit(int from, int to, double amount) {
+        int index = candidates.indexOf(from, to);
+        if (index >= 0) {
+            levels[from * candidates.getK() + index] += amount;
+        }
+    }
+
+    @Override
+    public double spread() {
+        double min = background;
+        double max = background;
+        for (int from = 0; from < candidates.size(); from++) {
+            for (int i = 0; i < candidates.count(from); i++) {
+                double level = getCandidate(from, i);
+                min = Math.min(min, level);
+                max = Math.max(max, level);
+            }
+        }
+        return max == 0 ? 1 : max / min;
+    }
+}
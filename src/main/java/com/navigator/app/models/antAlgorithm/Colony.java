@@ -0,0 +1,143 @@
+package com.navigator.app.models.antAlgorithm;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A single ant colony with its own pheromone trails and parameters.
+ * With candidate lists, the trails are kept on candidate edges only and the ants prefer candidates.
+ * Not thread-safe: each colony is driven by exactly one thread.
+ * <p>
+ * Every ant gets its own generator seeded from the colony's, so a seeded colony builds the same tours every run.
+ * <p>
+ * As in the MAX-MIN Ant System, no level evaporates below {@code tau_min = tau_max / (2n)}, where
+ * {@code tau_max = 1 / (rho * L)} for the shortest tour {@code L} found so far. Unreinforced edges thus keep a
+ * chance of being chosen, and their levels never underflow to zero however long the colony runs.
+ */
+class Colony {
+    private final DistanceProvider distances;
+    private final ColonyParameters parameters;
+    private final CandidateLists candidates;
+    private final PheromoneTrails pheromones;
+    private final Random random;
+    private List<Ant> ants;
+    @Getter
+    private TsmResult best;
+
+    /**
+     * @param candidates Candidate lists shared by all colonies, or null to let ants consider every location.
+     * @param random     Seeds the generators of the ants.
+     */
+    Colony(DistanceProvider distances, ColonyParameters parameters, CandidateLists candidates, Random random) {
+        this.distances = distances;
+        this.parameters = parameters;
+        this.candidates = candidates;
+        this.random = random;
+        this.pheromones = candidates == null
+                ? new DensePheromoneTrails(distances.size())
+                : new CandidatePheromoneTrails(candidates);
+    }
+
+    /**
+     * Lets every ant build a tour, updates the pheromones and remembers the best tour.
+     * Ants that have not started when the token fires are skipped, and ants that got stuck without an edge to an
+     * unvisited location are discarded, so neither deposits pheromones.
+     *
+     * @param token The cancellation token polled once per ant.
+     * @return The number of ants that completed their tour.
+     * @throws IOException If there are no locations.
+     */
+    int runIteration(CancellationToken token) throws IOException {
+        createAnts();
+        ants = simulateAnts(token);
+        int completedAnts = ants.size();
+        if (completedAnts == 0) return 0;
+
+        Ant currentBestAnt = findBestAnt();
+        double currentBestLength = currentBestAnt.getTourLength();
+        updatePheromones(best == null ? currentBestLength : Math.min(best.getDistance(), currentBestLength));
+        if (best == null || currentBestLength < best.getDistance()) {
+            best = new TsmResult(new ArrayList<>(currentBestAnt.getTour()), currentBestLength);
+        }
+        return completedAnts;
+    }
+
+    /**
+     * Adopts a tour received from another colony if it is shorter than the local best,
+     * reinforcing its edges so the local ants start exploring around it.
+     *
+     * @param migrant The tour sent by another colony.
+     */
+    void acceptMigrant(TsmResult migrant) {
+        if (best != null && migrant.getDistance() >= best.getDistance()) return;
+        best = migrant;
+        depositPheromones(migrant.getVertices(), migrant.getDistance());
+    }
+
+    /**
+     * @return The largest pheromone level divided by the smallest, over all edges between distinct vertices;
+     * 1 right after initialization.
+     */
+    double pheromoneSpread() {
+        return pheromones.spread();
+    }
+
+    private void createAnts() {
+        ants = new ArrayList<>();
+        for (int i = 0; i < parameters.getNumAnts(); i++) {
+            ants.add(new Ant(distances, pheromones, candidates, parameters.getAlpha(), parameters.getBeta(),
+                    new Random(random.nextLong())));
+        }
+    }
+
+    private List<Ant> simulateAnts(CancellationToken token) throws IOException {
+        List<Ant> completed = new ArrayList<>();
+        for (Ant ant : ants) {
+            if (token.isCancelled()) break;
+            if (ant.constructSolution()) {
+                completed.add(ant);
+            }
+        }
+        return completed;
+    }
+
+    private void updatePheromones(double shortestLength) {
+        evaporatePheromones(shortestLength);
+
+        for (Ant ant : ants) {
+            depositPheromones(ant.getTour(), ant.getTourLength());
+        }
+    }
+
+    private void depositPheromones(List<Integer> tour, double tourLength) {
+        for (int i = 0; i < tour.size() - 1; i++) {
+            int from = tour.get(i);
+            int to = tour.get(i + 1);
+            pheromones.deposit(from, to, 1.0 / tourLength);
+            pheromones.deposit(to, from, 1.0 / tourLength);
+        }
+    }
+
+    private void evaporatePheromones(double shortestLength) {
+        double rate = parameters.getEvaporationRate();
+        double minLevel = rate > 0 && shortestLength > 0
+                ? 1.0 / (2.0 * distances.size() * rate * shortestLength)
+                : 0.0;
+        pheromones.evaporate(rate, minLevel);
+    }
+
+    private Ant findBestAnt() {
+        Ant best = ants.get(0);
+        for (Ant ant : ants) {
+            if (ant.getTourLength() < best.getTourLength()) {
+                best = ant;
+            }
+        }
+        return best;
+    }
+}
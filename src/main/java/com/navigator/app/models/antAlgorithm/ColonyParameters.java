@@ -0,0 +1,22 @@
+package com.navigator.app.models.antAlgorithm;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Tuning parameters of a single ant colony.
+ * <p>
+ * Default values match the defaults of {@link AntColonyOptimization}.
+ */
+@Getter
+@Builder
+public class ColonyParameters {
+    @Builder.Default
+    private final int numAnts = 10;
+    @Builder.Default
+    private final double evaporationRate = 0.5;
+    @Builder.Default
+    private final double alpha = 1.0;
+    @Builder.Default
+    private final double beta = 2.0;
+}
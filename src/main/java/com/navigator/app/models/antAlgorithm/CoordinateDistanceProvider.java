@@ -0,0 +1,155 @@
+package com.navigator.app.models.antAlgorithm;
+
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.s21_graph.TsplibInstance;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Distances between points in the plane, computed on the fly from their coordinates.
+ * <p>
+ * Memory is {@code 2 * n} doubles however many points there are, so instances far too large for a distance
+ * matrix can be solved, combined with {@link CandidateLists}. Optionally, whole rows of distances are kept in a
+ * bounded direct-mapped cache: row {@code i} lives in slot {@code i % cachedRows}, replacing the row that was
+ * there. That only pays off when the metric is costly or the same rows are scanned repeatedly, so it is off
+ * by default. Safe to share between threads.
+ */
+public class CoordinateDistanceProvider implements DistanceProvider {
+    /**
+     * How the Euclidean distance is turned into a distance.
+     */
+    public enum Metric {
+        /** The exact Euclidean distance. */
+        EUCLIDEAN,
+        /** Rounded to the nearest integer, as TSPLIB {@code EUC_2D}. */
+        EUC_2D,
+        /** Rounded up, as TSPLIB {@code CEIL_2D}. */
+        CEIL_2D
+    }
+
+    private final double[] x;
+    private final double[] y;
+    private final Metric metric;
+    private final AtomicReferenceArray<CachedRow> rows;
+
+    /**
+     * Exact Euclidean distances without a row cache.
+     *
+     * @param x The x coordinates; not copied.
+     * @param y The y coordinates, aligned with x; not copied.
+     */
+    public CoordinateDistanceProvider(double[] x, double[] y) {
+        this(x, y, Metric.EUCLIDEAN, 0);
+    }
+
+    /**
+     * @param x          The x coordinates; not copied.
+     * @param y          The y coordinates, aligned with x; not copied.
+     * @param metric     How distances are derived from the Euclidean distance.
+     * @param cachedRows Number of distance rows to cache, 0 to compute every distance.
+     */
+    public CoordinateDistanceProvider(double[] x, double[] y, @NotNull Metric metric, int cachedRows) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Coordinate arrays must have the same length");
+        }
+        if (cachedRows < 0) {
+            throw new IllegalArgumentException("Number of cached rows must not be negative");
+        }
+        this.x = x;
+        this.y = y;
+        this.metric = metric;
+        this.rows = cachedRows == 0 ? null : new AtomicReferenceArray<>(Math.min(cachedRows, Math.max(1, x.length)));
+    }
+
+    /**
+     * Takes the coordinates and rounding of a TSPLIB {@code EUC_2D} or {@code CEIL_2D} instance.
+     *
+     * @param instance   The instance.
+     * @param cachedRows Number of distance rows to cache, 0 to compute every distance.
+     * @return The distances of the instance.
+     * @throws IOException If the instance has explicit weights instead of coordinates.
+     */
+    public static CoordinateDistanceProvider fromTsplib(@NotNull TsplibInstance instance, int cachedRows) throws IOException {
+        if (!instance.hasCoordinates()) {
+            throw new IOException("Instance has no coordinates");
+        }
+        int size = instance.getNumVertices();
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = instance.getX(i);
+            y[i] = instance.getY(i);
+        }
+        Metric metric = instance.getEdgeWeightType().equals("CEIL_2D") ? Metric.CEIL_2D : Metric.EUC_2D;
+        return new CoordinateDistanceProvider(x, y, metric, cachedRows);
+    }
+
+    @Override
+    public int size() {
+        return x.length;
+    }
+
+    @Override
+    public double distance(int from, int to) {
+        if (rows == null) return compute(from, to);
+        return row(from)[to];
+    }
+
+    /**
+     * Returns all distances from one point, from the cache if enabled.
+     *
+     * @param from The point.
+     * @return The distances to every point; must not be modified.
+     */
+    public double[] row(int from) {
+        if (rows != null) {
+            int slot = from % rows.length();
+            CachedRow cached = rows.get(slot);
+            if (cached != null && cached.from == from) {
+                Metrics.increment("cache.distanceRows.hits");
+                return cached.distances;
+            }
+            Metrics.increment("cache.distanceRows.misses");
+        }
+
+        double[] distances = new double[x.length];
+        for (int to = 0; to < x.length; to++) {
+            distances[to] = compute(from, to);
+        }
+        if (rows != null) {
+            rows.set(from % rows.length(), new CachedRow(from, distances));
+        }
+        return distances;
+    }
+
+    public double getX(int point) {
+        return x[point];
+    }
+
+    public double getY(int point) {
+        return y[point];
+    }
+
+    private double compute(int from, int to) {
+        double dx = x[from] - x[to];
+        double dy = y[from] - y[to];
+        double euclidean = Math.sqrt(dx * dx + dy * dy);
+        return switch (metric) {
+            case EUCLIDEAN -> euclidean;
+            case EUC_2D -> (int) (euclidean + 0.5);
+            case CEIL_2D -> Math.ceil(euclidean);
+        };
+    }
+
+    private static class CachedRow {
+        private final int from;
+        private final double[] distances;
+
+        CachedRow(int from, double[] distances) {
+            this.from = from;
+            this.distances = distances;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.navigator.app.models.antAlgorithm;
+
+import java.util.Arrays;
+
+/**
+ * Pheromone levels of every edge in an {@code n x n} matrix.
+ */
+class DensePheromoneTrails implements PheromoneTrails {
+    private final double[][] levels;
+
+    DensePheromoneTrails(int size) {
+        levels = new double[size][size];
+        for (double[] row : levels) {
+            Arrays.fill(row, 1.0);
+        }
+    }
+
+    @Override
+    public double get(int from, int to) {
+        return levels[from][to];
+    }
+
+    @Override
+    public void evaporate(double rate, double minLevel) {
+        for (double[] row : levels) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = Math.max(row[j] * (1.0 - rate), minLevel);
+            }
+        }
+    }
+
+    @Override
+    public void deposit(int from, int to, double amount) {
+        levels[from][to] += amount;
+    }
+
+    @Override
+    public double spread() {
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (int i = 0; i < levels.length; i++) {
+            for (int j = 0; j < levels.length; j++) {
+                if (i == j) continue;
+                min = Math.min(min, levels[i][j]);
+                max = Math.max(max, levels[i][j]);
+            }
+        }
+        return max == 0 ? 1 : max / min;
+    }
+}
@@ -0,0 +1,17 @@
+package com.navigator.app.models.antAlgorithm;
+
+/**
+ * Source of pairwise distances between the {@code size()} locations of a TSP instance.
+ * A distance of zero means the locations are not connected.
+ */
+public interface DistanceProvider {
+    /**
+     * @return Number of locations.
+     */
+    int size();
+
+    /**
+     * @return Distance from one location to another.
+     */
+    double distance(int from, int to);
+}
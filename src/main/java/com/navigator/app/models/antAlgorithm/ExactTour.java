@@ -0,0 +1,61 @@
+package com.navigator.app.models.antAlgorithm;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Held-Karp dynamic programme for the length of the shortest tour, in {@code O(2^n * n^2)} time. Used to get the
+ * optimum of small instances the ant colony is measured against.
+ */
+final class ExactTour {
+    static final int MAX_VERTICES = 16;
+
+    private ExactTour() {
+    }
+
+    /**
+     * @param distances At most {@link #MAX_VERTICES} locations; 0 between two distinct locations marks no edge.
+     * @return The length of the shortest tour through every location, starting and ending at location 0.
+     * @throws IOException If there are no locations, too many, or no tour at all.
+     */
+    static double optimalLength(@NotNull DistanceProvider distances) throws IOException {
+        int size = distances.size();
+        if (size == 0) throw new IOException("Graph is empty");
+        if (size > MAX_VERTICES) throw new IOException("Graph is too large for an exact tour");
+        if (size == 1) return 0;
+
+        // Location 0 is fixed as the start, so subsets only range over the other size - 1 locations.
+        int others = size - 1;
+        double[] lengths = new double[(1 << others) * others];
+        Arrays.fill(lengths, Double.POSITIVE_INFINITY);
+        for (int last = 0; last < others; last++) {
+            lengths[(1 << last) * others + last] = edge(distances, 0, last + 1);
+        }
+        for (int subset = 1; subset < 1 << others; subset++) {
+            for (int last = 0; last < others; last++) {
+                double length = lengths[subset * others + last];
+                if ((subset & (1 << last)) == 0 || length == Double.POSITIVE_INFINITY) continue;
+                for (int next = 0; next < others; next++) {
+                    if ((subset & (1 << next)) != 0) continue;
+                    int extended = (subset | (1 << next)) * others + next;
+                    lengths[extended] = Math.min(lengths[extended], length + edge(distances, last + 1, next + 1));
+                }
+            }
+        }
+
+        double best = Double.POSITIVE_INFINITY;
+        int all = (1 << others) - 1;
+        for (int last = 0; last < others; last++) {
+            best = Math.min(best, lengths[all * others + last] + edge(distances, last + 1, 0));
+        }
+        if (best == Double.POSITIVE_INFINITY) throw new IOException("Incorrect data");
+        return best;
+    }
+
+    private static double edge(DistanceProvider distances, int from, int to) {
+        double distance = distances.distance(from, to);
+        return distance == 0 ? Double.POSITIVE_INFINITY : distance;
+    }
+}
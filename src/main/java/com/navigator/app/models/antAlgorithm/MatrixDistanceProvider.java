@@ -0,0 +1,81 @@
+package com.navigator.app.models.antAlgorithm;
+
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.Graph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Distances held in a flat row-major {@code int[]} matrix.
+ */
+public class MatrixDistanceProvider implements DistanceProvider {
+    private final int size;
+    private final int[] distances;
+
+    /**
+     * @param size      Number of locations.
+     * @param distances Row-major {@code size x size} distances; not copied.
+     */
+    public MatrixDistanceProvider(int size, int[] distances) {
+        if (distances.length != size * size) {
+            throw new IllegalArgumentException("Distance matrix must have size * size entries");
+        }
+        this.size = size;
+        this.distances = distances;
+    }
+
+    /**
+     * Copies the adjacency matrix of a graph into primitive form; a graph attached to a shared file is copied from
+     * its CSR form instead.
+     *
+     * @param graph A non-empty graph.
+     * @return The distances between the graph's vertices.
+     * @throws IOException If the graph is empty or too large for a distance matrix.
+     */
+    public static MatrixDistanceProvider fromGraph(@NotNull Graph graph) throws IOException {
+        if (graph.isShared()) return fromGraph(CompactGraph.fromGraph(graph));
+        ArrayList<ArrayList<Integer>> matrix = graph.requireAdjacencyMatrix();
+        int size = graph.getNumVertices();
+        int[] distances = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            ArrayList<Integer> row = matrix.get(i);
+            for (int j = 0; j < size; j++) {
+                distances[i * size + j] = row.get(j);
+            }
+        }
+        return new MatrixDistanceProvider(size, distances);
+    }
+
+    /**
+     * Expands a CSR graph into primitive form; missing edges become zero distances.
+     *
+     * @param graph The graph.
+     * @return The distances between the graph's vertices.
+     * @throws IOException If the graph is too large for a distance matrix.
+     */
+    public static MatrixDistanceProvider fromGraph(@NotNull CompactGraph graph) throws IOException {
+        int size = graph.getNumVertices();
+        if ((long) size * size > Integer.MAX_VALUE) {
+            throw new IOException("Graph too large for a distance matrix");
+        }
+        int[] distances = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int edge = graph.edgeStart(i); edge < graph.edgeEnd(i); edge++) {
+                distances[i * size + graph.target(edge)] = graph.weight(edge);
+            }
+        }
+        return new MatrixDistanceProvider(size, distances);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double distance(int from, int to) {
+        return distances[from * size + to];
+    }
+}
@@ -0,0 +1,23 @@
+package com.navigator.app.models.antAlgorithm;
+
+/**
+ * Pheromone levels of the edges a colony's ants choose from, starting at 1 everywhere.
+ */
+interface PheromoneTrails {
+    double get(int from, int to);
+
+    /**
+     * Multiplies every level by {@code 1 - rate}, without letting any drop below {@code minLevel}.
+     */
+    void evaporate(double rate, double minLevel);
+
+    /**
+     * Adds pheromone to the directed edge {@code from -> to}.
+     */
+    void deposit(int from, int to, double amount);
+
+    /**
+     * @return The largest level divided by the smallest, over all edges between distinct locations.
+     */
+    double spread();
+}
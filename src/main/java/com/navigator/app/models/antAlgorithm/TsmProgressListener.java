@@ -0,0 +1,15 @@
+package com.navigator.app.models.antAlgorithm;
+
+/**
+ * Receives the best tour found so far while the Ant Colony Optimization is running.
+ */
+@FunctionalInterface
+public interface TsmProgressListener {
+    /**
+     * Called every time the best known tour improves.
+     *
+     * @param iteration The iteration (zero-based) in which the improvement was found.
+     * @param best      The best tour found so far.
+     */
+    void onImprovement(int iteration, TsmResult best);
+}
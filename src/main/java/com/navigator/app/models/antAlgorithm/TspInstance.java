@@ -0,0 +1,94 @@
+package com.navigator.app.models.antAlgorithm;
+
+import com.navigator.app.s21_graph.TsplibInstance;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph_generators.GraphModel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+
+/**
+ * A Traveling Salesman instance with a known optimal tour length, solved by {@link TspRegressionHarness}.
+ * Optima are computed exactly for instances of at most 16 locations.
+ */
+@Getter
+@AllArgsConstructor
+public class TspInstance {
+    private final String name;
+    private final DistanceProvider distances;
+    private final double optimum;
+
+    /**
+     * Reads a TSPLIB file whose optimum is known.
+     *
+     * @param filename The TSPLIB file; the instance is named after it, without extension.
+     * @param optimum  The optimal tour length.
+     */
+    public static TspInstance tsplib(@NotNull String filename, double optimum) throws IOException {
+        return fromTsplib(TsplibInstance.read(filename), Paths.get(filename).getFileName().toString(), optimum);
+    }
+
+    /**
+     * Reads a TSPLIB classpath resource whose optimum is known.
+     *
+     * @param resource The absolute resource name; the instance is named after its file, without extension.
+     * @param optimum  The optimal tour length.
+     * @throws IOException If the resource is missing or malformed.
+     */
+    public static TspInstance tsplibResource(@NotNull String resource, double optimum) throws IOException {
+        InputStream input = TspInstance.class.getResourceAsStream(resource);
+        if (input == null) throw new IOException("File not found");
+        return fromTsplib(TsplibInstance.read(input), resource.substring(resource.lastIndexOf('/') + 1), optimum);
+    }
+
+    private static TspInstance fromTsplib(TsplibInstance instance, String name, double optimum) {
+        int size = instance.getNumVertices();
+        int[] distances = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                distances[i * size + j] = instance.distance(i, j);
+            }
+        }
+        int extension = name.lastIndexOf('.');
+        return new TspInstance(extension > 0 ? name.substring(0, extension) : name,
+                new MatrixDistanceProvider(size, distances), optimum);
+    }
+
+    /**
+     * Reads a small TSPLIB file and computes its optimum.
+     *
+     * @throws IOException If the file has more than 16 locations, or no tour.
+     */
+    public static TspInstance tsplib(@NotNull String filename) throws IOException {
+        TspInstance instance = tsplib(filename, 0);
+        return new TspInstance(instance.name, instance.distances, ExactTour.optimalLength(instance.distances));
+    }
+
+    /**
+     * Generates a complete random geometric instance and computes its optimum.
+     *
+     * @param numVertices At most 16 locations.
+     * @param seed        Seed of the generator.
+     */
+    public static TspInstance generated(int numVertices, long seed) throws IOException {
+        if (numVertices > ExactTour.MAX_VERTICES) throw new IOException("Graph is too large for an exact tour");
+        int[][] matrix = GraphGenerator.builder()
+                .model(GraphModel.RANDOM_GEOMETRIC)
+                .numVertices(numVertices)
+                .averageDegree(numVertices - 1)
+                .seed(seed)
+                .numThreads(1)
+                .build()
+                .matrix();
+        int[] distances = new int[numVertices * numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            System.arraycopy(matrix[i], 0, distances, i * numVertices, numVertices);
+        }
+        DistanceProvider provider = new MatrixDistanceProvider(numVertices, distances);
+        return new TspInstance("geometric" + numVertices + "-" + seed, provider, ExactTour.optimalLength(provider));
+    }
+}
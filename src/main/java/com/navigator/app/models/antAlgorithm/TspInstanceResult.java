@@ -0,0 +1,24 @@
+package com.navigator.app.models.antAlgorithm;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The runs of {@link TspRegressionHarness} on one instance, summarised. The median time to target is over the
+ * runs that reached the target, {@code NaN} if none did; the speed is the median over all runs.
+ */
+@Getter
+@AllArgsConstructor
+public class TspInstanceResult {
+    private final String name;
+    private final int numVertices;
+    private final double optimum;
+    private final double meanGap;
+    private final double worstGap;
+    private final double targetHitRate;
+    private final double medianTimeToTargetMillis;
+    private final double iterationsPerSecond;
+    private final List<TspRunResult> runs;
+}
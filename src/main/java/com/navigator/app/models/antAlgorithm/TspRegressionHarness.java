@@ -0,0 +1,240 @@
+package com.navigator.app.models.antAlgorithm;
+
+import lombok.Builder;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the Ant Colony Optimization over a fixed set of instances with known optima and seeded runs, and checks
+ * tour quality and speed against absolute thresholds and, optionally, a stored report.
+ * <p>
+ * Run {@code i} of every instance uses seed {@code seed + i}, so the tours, and hence the gaps, are the same on
+ * every machine; only the timings vary. Each instance gets {@code warmupRuns} unrecorded runs first, so the speed
+ * of the first instance is not that of the interpreter.
+ * <p>
+ * Measured per run:
+ * <ul>
+ * <li>gap: {@code length / optimum - 1}. A negative gap means the stored optimum is wrong and fails the run.</li>
+ * <li>time to target: milliseconds until the best tour was within {@code targetGap} of the optimum.</li>
+ * <li>iterations per second: {@code maxIterations} over the duration of the run.</li>
+ * </ul>
+ * Default values:
+ * <ul>
+ * <li>instances: The instances to solve. Required.</li>
+ * <li>runs: Number of recorded runs per instance. Default is 3.</li>
+ * <li>warmupRuns: Number of unrecorded runs per instance. Default is 1.</li>
+ * <li>seed: Seed of the first run. Default is 1.</li>
+ * <li>numAnts, maxIterations, candidateListSize: Passed to the solver. Defaults are 10, 100 and 0.</li>
+ * <li>targetGap: Gap counted as reaching the target. Default is 0.05.</li>
+ * <li>maxMeanGap, maxWorstGap: Largest allowed mean and worst gap of an instance. Defaults are 0.1 and 0.2.</li>
+ * <li>minIterationsPerSecond: Smallest allowed median speed of an instance. Default is 0, no check.</li>
+ * <li>baseline: The instances of a stored report, see {@link TspRegressionReport#readInstances}; instances missing from it are only checked against the thresholds.
+ * Default is none.</li>
+ * <li>gapTolerance: Increase of the mean gap over the baseline that is allowed. Default is 0.02.</li>
+ * <li>speedTolerance: Fraction of the baseline speed that may be lost. Default is 0.5, as timings are noisy.</li>
+ * </ul>
+ */
+@Builder
+public class TspRegressionHarness {
+    private static final String STORED_RESOURCES = "/tsplib/";
+    private static final String[] STORED_FILES = {
+            "circle12.tsp", "random14.tsp", "explicit10.tsp", "explicit10_upper.tsp", "asym8.atsp"};
+    private static final double[] STORED_OPTIMA = {624, 3196, 275, 275, 107};
+
+    private final List<TspInstance> instances;
+    @Builder.Default
+    private final int runs = 3;
+    @Builder.Default
+    private final int warmupRuns = 1;
+    @Builder.Default
+    private final long seed = 1;
+    @Builder.Default
+    private final int numAnts = 10;
+    @Builder.Default
+    private final int maxIterations = 100;
+    @Builder.Default
+    private final int candidateListSize = 0;
+    @Builder.Default
+    private final double targetGap = 0.05;
+    @Builder.Default
+    private final double maxMeanGap = 0.1;
+    @Builder.Default
+    private final double maxWorstGap = 0.2;
+    @Builder.Default
+    private final double minIterationsPerSecond = 0;
+    private final Map<String, TspInstanceResult> baseline;
+    @Builder.Default
+    private final double gapTolerance = 0.02;
+    @Builder.Default
+    private final double speedTolerance = 0.5;
+
+    /**
+     * The default suite: the stored TSPLIB instances followed by the generated ones.
+     *
+     * @throws IOException If a stored instance is missing or malformed.
+     */
+    public static List<TspInstance> defaultInstances() throws IOException {
+        List<TspInstance> instances = storedInstances();
+        instances.addAll(generatedInstances());
+        return instances;
+    }
+
+    /**
+     * The default suite with the stored TSPLIB instances read from a directory instead of the classpath.
+     *
+     * @param directory The directory holding the stored instances under their usual file names.
+     * @throws IOException If a stored instance is missing or malformed.
+     */
+    public static List<TspInstance> defaultInstances(@NotNull Path directory) throws IOException {
+        List<TspInstance> instances = storedInstances(directory);
+        instances.addAll(generatedInstances());
+        return instances;
+    }
+
+    /**
+     * The TSPLIB instances shipped as classpath resources under {@code /tsplib}, with their known optima.
+     *
+     * @throws IOException If an instance is missing or malformed.
+     */
+    public static List<TspInstance> storedInstances() throws IOException {
+        List<TspInstance> instances = new ArrayList<>();
+        for (int i = 0; i < STORED_FILES.length; i++) {
+            instances.add(TspInstance.tsplibResource(STORED_RESOURCES + STORED_FILES[i], STORED_OPTIMA[i]));
+        }
+        return instances;
+    }
+
+    /**
+     * The stored TSPLIB instances read from a directory, with their known optima.
+     *
+     * @param directory The directory holding them.
+     * @throws IOException If an instance is missing or malformed.
+     */
+    public static List<TspInstance> storedInstances(@NotNull Path directory) throws IOException {
+        List<TspInstance> instances = new ArrayList<>();
+        for (int i = 0; i < STORED_FILES.length; i++) {
+            instances.add(TspInstance.tsplib(directory.resolve(STORED_FILES[i]).toString(), STORED_OPTIMA[i]));
+        }
+        return instances;
+    }
+
+    /**
+     * Generated geometric instances of 8 to 16 locations, with optima computed exactly.
+     */
+    public static List<TspInstance> generatedInstances() throws IOException {
+        List<TspInstance> instances = new ArrayList<>();
+        for (int numVertices = 8; numVertices <= ExactTour.MAX_VERTICES; numVertices += 4) {
+            instances.add(TspInstance.generated(numVertices, numVertices));
+        }
+        return instances;
+    }
+
+    /**
+     * Solves every instance and checks the results.
+     *
+     * @return The report; see {@link TspRegressionReport#isPassed()}.
+     * @throws IOException If there are no instances, or the solver fails.
+     */
+    public TspRegressionReport run() throws IOException {
+        if (instances == null || instances.isEmpty()) throw new IOException("Graph is empty");
+        if (runs < 1 || maxIterations < 1) throw new IOException("Incorrect data");
+
+        List<TspInstanceResult> results = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (TspInstance instance : instances) {
+            for (int i = 0; i < warmupRuns; i++) {
+                solve(instance, seed - 1 - i);
+            }
+            List<TspRunResult> runResults = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                runResults.add(solve(instance, seed + i));
+            }
+            TspInstanceResult result = summarise(instance, runResults);
+            results.add(result);
+            check(result, failures);
+        }
+        return new TspRegressionReport(seed, runs, maxIterations, targetGap, results, failures);
+    }
+
+    private TspRunResult solve(TspInstance instance, long runSeed) throws IOException {
+        double target = instance.getOptimum() * (1 + targetGap);
+        long[] timeToTarget = {-1};
+        long start = System.nanoTime();
+        TsmResult best = AntColonyOptimization.builder()
+                .distances(instance.getDistances())
+                .numAnts(numAnts)
+                .maxIterations(maxIterations)
+                .candidateListSize(candidateListSize)
+                .seed(runSeed)
+                .progressListener((iteration, tour) -> {
+                    if (timeToTarget[0] < 0 && tour.getDistance() <= target) {
+                        timeToTarget[0] = System.nanoTime() - start;
+                    }
+                })
+                .build()
+                .findOptimalTour();
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        double length = best.getDistance();
+        double gap = instance.getOptimum() == 0 ? 0 : length / instance.getOptimum() - 1;
+        return new TspRunResult(runSeed, length, gap,
+                timeToTarget[0] < 0 ? Double.NaN : timeToTarget[0] / 1e6, maxIterations * 1e9 / elapsed);
+    }
+
+    private static TspInstanceResult summarise(TspInstance instance, List<TspRunResult> runs) {
+        double gapSum = 0;
+        double worstGap = Double.NEGATIVE_INFINITY;
+        List<Double> timesToTarget = new ArrayList<>();
+        double[] speeds = new double[runs.size()];
+        for (int i = 0; i < runs.size(); i++) {
+            TspRunResult run = runs.get(i);
+            gapSum += run.getGap();
+            worstGap = Math.max(worstGap, run.getGap());
+            if (!Double.isNaN(run.getTimeToTargetMillis())) timesToTarget.add(run.getTimeToTargetMillis());
+            speeds[i] = run.getIterationsPerSecond();
+        }
+        Collections.sort(timesToTarget);
+        Arrays.sort(speeds);
+        return new TspInstanceResult(instance.getName(), instance.getDistances().size(),
+                instance.getOptimum(), gapSum / runs.size(), worstGap, (double) timesToTarget.size() / runs.size(),
+                timesToTarget.isEmpty() ? Double.NaN : timesToTarget.get(timesToTarget.size() / 2),
+                speeds[speeds.length / 2], runs);
+    }
+
+    private void check(TspInstanceResult result, List<String> failures) {
+        String name = result.getName();
+        for (TspRunResult run : result.getRuns()) {
+            if (run.getGap() < -1e-9) {
+                failures.add(name + ": seed " + run.getSeed() + " found a tour of " + run.getLength()
+                        + ", shorter than the optimum " + result.getOptimum());
+            }
+        }
+        if (result.getMeanGap() > maxMeanGap) {
+            failures.add(name + ": mean gap " + result.getMeanGap() + " above " + maxMeanGap);
+        }
+        if (result.getWorstGap() > maxWorstGap) {
+            failures.add(name + ": worst gap " + result.getWorstGap() + " above " + maxWorstGap);
+        }
+        if (result.getIterationsPerSecond() < minIterationsPerSecond) {
+            failures.add(name + ": " + result.getIterationsPerSecond() + " iterations per second, below "
+                    + minIterationsPerSecond);
+        }
+
+        TspInstanceResult previous = baseline == null ? null : baseline.get(name);
+        if (previous == null) return;
+        if (result.getMeanGap() > previous.getMeanGap() + gapTolerance) {
+            failures.add(name + ": mean gap " + result.getMeanGap() + " regressed from " + previous.getMeanGap());
+        }
+        if (result.getIterationsPerSecond() < previous.getIterationsPerSecond() * (1 - speedTolerance)) {
+            failures.add(name + ": " + result.getIterationsPerSecond() + " iterations per second regressed from "
+                    + previous.getIterationsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.navigator.app.models.antAlgorithm;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The outcome of a {@link TspRegressionHarness} run: tour quality and speed per instance, and the checks that
+ * failed. Written as JSON with one instance per line, so a stored report can be read back as a baseline.
+ */
+@Getter
+public class TspRegressionReport {
+    private static final String NAME_KEY = "\"name\":\"";
+
+    private final long seed;
+    private final int runs;
+    private final int maxIterations;
+    private final double targetGap;
+    private final List<TspInstanceResult> instances;
+    private final List<String> failures;
+
+    public TspRegressionReport(long seed, int runs, int maxIterations, double targetGap,
+                               @NotNull List<TspInstanceResult> instances, @NotNull List<String> failures) {
+        this.seed = seed;
+        this.runs = runs;
+        this.maxIterations = maxIterations;
+        this.targetGap = targetGap;
+        this.instances = Collections.unmodifiableList(instances);
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * @return Whether every quality and speed check held.
+     */
+    public boolean isPassed() {
+        return failures.isEmpty();
+    }
+
+    public Optional<TspInstanceResult> find(String name) {
+        return instances.stream().filter(instance -> instance.getName().equals(name)).findFirst();
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"seed\":").append(seed)
+                .append(",\"runs\":").append(runs)
+                .append(",\"maxIterations\":").append(maxIterations)
+                .append(",\"targetGap\":").append(targetGap)
+                .append(",\"passed\":").append(isPassed())
+                .append(",\"instances\":[\n");
+        for (int i = 0; i < instances.size(); i++) {
+            appendInstance(json, instances.get(i));
+            json.append(i + 1 < instances.size() ? ",\n" : "\n");
+        }
+        json.append("],\"failures\":[");
+        for (int i = 0; i < failures.size(); i++) {
+            if (i > 0) json.append(',');
+            json.append(quote(failures.get(i)));
+        }
+        return json.append("]}\n").toString();
+    }
+
+    public void write(@NotNull Path file) throws IOException {
+        Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the instance summaries of a report written by {@link #write}, without their runs.
+     *
+     * @param file The stored report.
+     * @return The summaries, by instance name.
+     * @throws IOException If the file does not exist or holds no instance.
+     */
+    public static Map<String, TspInstanceResult> readInstances(@NotNull Path file) throws IOException {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            throw new IOException("File not found");
+        }
+        Map<String, TspInstanceResult> instances = new HashMap<>();
+        for (String line : lines) {
+            int start = line.indexOf(NAME_KEY);
+            if (start < 0) continue;
+            start += NAME_KEY.length();
+            String name = line.substring(start, line.indexOf('"', start));
+            instances.put(name, new TspInstanceResult(name, (int) field(line, "vertices"), field(line, "optimum"),
+                    field(line, "meanGap"), field(line, "worstGap"), field(line, "targetHitRate"),
+                    field(line, "medianTimeToTargetMs"), field(line, "iterationsPerSecond"), new ArrayList<>()));
+        }
+        if (instances.isEmpty()) throw new IOException("File wrong format");
+        return instances;
+    }
+
+    private static void appendInstance(StringBuilder json, TspInstanceResult instance) {
+        json.append('{').append(NAME_KEY).append(escape(instance.getName())).append('"')
+                .append(",\"vertices\":").append(instance.getNumVertices())
+                .append(",\"optimum\":").append(instance.getOptimum())
+                .append(",\"meanGap\":").append(instance.getMeanGap())
+                .append(",\"worstGap\":").append(instance.getWorstGap())
+                .append(",\"targetHitRate\":").append(instance.getTargetHitRate())
+                .append(",\"medianTimeToTargetMs\":").append(number(instance.getMedianTimeToTargetMillis()))
+                .append(",\"iterationsPerSecond\":").append(instance.getIterationsPerSecond())
+                .append(",\"runs\":[");
+        for (int i = 0; i < instance.getRuns().size(); i++) {
+            TspRunResult run = instance.getRuns().get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"seed\":").append(run.getSeed())
+                    .append(",\"length\":").append(run.getLength())
+                    .append(",\"gap\":").append(run.getGap())
+                    .append(",\"timeToTargetMs\":").append(number(run.getTimeToTargetMillis()))
+                    .append(",\"iterationsPerSecond\":").append(run.getIterationsPerSecond())
+                    .append('}');
+        }
+        json.append("]}");
+    }
+
+    /**
+     * Reads the first number after a key of an instance line; {@code null} reads as {@code NaN}.
+     */
+    private static double field(String line, String key) throws IOException {
+        String prefix = "\"" + key + "\":";
+        int start = line.indexOf(prefix);
+        if (start < 0) throw new IOException("File wrong format");
+        start += prefix.length();
+        int end = start;
+        while (end < line.length() && (Character.isLetterOrDigit(line.charAt(end))
+                || line.charAt(end) == '.' || line.charAt(end) == '-')) {
+            end++;
+        }
+        String value = line.substring(start, end);
+        try {
+            return value.equals("null") ? Double.NaN : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("File wrong format");
+        }
+    }
+
+    private static String quote(String text) {
+        return '"' + escape(text) + '"';
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String number(double value) {
+        return Double.isNaN(value) ? "null" : Double.toString(value);
+    }
+}
@@ -0,0 +1,19 @@
+package com.navigator.app.models.antAlgorithm;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One seeded run of the Ant Colony Optimization on a {@link TspInstance}, as measured by
+ * {@link TspRegressionHarness}. The gap is relative to the optimum, so 0.05 is a tour 5% too long; the time to
+ * target is {@code NaN} if the run never got within the target gap.
+ */
+@Getter
+@AllArgsConstructor
+public class TspRunResult {
+    private final long seed;
+    private final double length;
+    private final double gap;
+    private final double timeToTargetMillis;
+    private final double iterationsPerSecond;
+}
@@ -0,0 +1,79 @@
+package com.navigator.app.models.cancellation;
+
+import java.time.Duration;
+
+/**
+ * Cooperative cancellation signal with an optional deadline, polled by long-running graph algorithms.
+ * <p>
+ * A token is cancelled either explicitly through {@link #cancel()} or implicitly once its deadline passes.
+ * Checking a token is a volatile read plus, when a deadline is set, a single {@link System#nanoTime()} call.
+ */
+public class CancellationToken {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    private CancellationToken(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a token without a deadline that is cancelled only through {@link #cancel()}.
+     *
+     * @return A new token.
+     */
+    public static CancellationToken none() {
+        return new CancellationToken(NO_DEADLINE);
+    }
+
+    /**
+     * Creates a token that expires once the given time budget has elapsed.
+     *
+     * @param timeout The time budget, measured from now.
+     * @return A new token.
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        return new CancellationToken(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Cancels the token. Algorithms polling it stop at their next check.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return True if the token was cancelled or its deadline has passed.
+     */
+    public boolean isCancelled() {
+        return cancelled || isDeadlineExceeded();
+    }
+
+    /**
+     * @return True if the token has a deadline and it has passed.
+     */
+    public boolean isDeadlineExceeded() {
+        return deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * @return Nanoseconds left until the deadline, or {@link Long#MAX_VALUE} if the token has no deadline.
+     */
+    public long remainingNanos() {
+        if (deadlineNanos == NO_DEADLINE) return Long.MAX_VALUE;
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * Throws if the token is cancelled.
+     *
+     * @throws OperationCancelledException If the token was cancelled or its deadline has passed.
+     */
+    public void throwIfCancelled() throws OperationCancelledException {
+        if (isCancelled()) {
+            throw new OperationCancelledException(isDeadlineExceeded() ? "Deadline exceeded" : "Operation cancelled");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.navigator.app.models.cancellation;
+
+import java.io.IOException;
+
+/**
+ * Thrown when an algorithm stops early because its {@link CancellationToken} was cancelled or expired.
+ */
+public class OperationCancelledException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public OperationCancelledException(String message) {
+        super(message);
+    }
+}
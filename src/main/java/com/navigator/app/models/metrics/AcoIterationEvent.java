@@ -0,0 +1,58 @@
+package com.navigator.app.models.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one iteration of one ant colony.
+ * <p>
+ * The pheromone spread is only computed when the event will be committed, as it needs a pass over
+ * the pheromone matrix; check {@link #shouldCommit()} after {@link #end()} before setting it.
+ */
+@Name("com.navigator.app.AcoIteration")
+@Label("ACO Iteration")
+@Category({"Navigator", "Ant Colony"})
+@Description("One iteration of an ant colony: every ant builds a tour and the pheromones are updated")
+@StackTrace(false)
+public class AcoIterationEvent extends Event {
+    @Label("Colony")
+    private int colony;
+
+    @Label("Iteration")
+    private int iteration;
+
+    @Label("Completed Ants")
+    private int ants;
+
+    @Label("Best Length")
+    @Description("Length of the best tour of the colony after the iteration")
+    private double bestLength;
+
+    @Label("Pheromone Spread")
+    @Description("Largest divided by smallest pheromone level; grows as the colony converges")
+    private double pheromoneSpread;
+
+    public void setColony(int colony) {
+        this.colony = colony;
+    }
+
+    public void setIteration(int iteration) {
+        this.iteration = iteration;
+    }
+
+    public void setAnts(int ants) {
+        this.ants = ants;
+    }
+
+    public void setBestLength(double bestLength) {
+        this.bestLength = bestLength;
+    }
+
+    public void setPheromoneSpread(double pheromoneSpread) {
+        this.pheromoneSpread = pheromoneSpread;
+    }
+}
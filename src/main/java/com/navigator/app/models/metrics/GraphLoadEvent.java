@@ -0,0 +1,41 @@
+package com.navigator.app.models.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one {@code Graph.loadGraphFromFile} call.
+ */
+@Name("com.navigator.app.GraphLoad")
+@Label("Graph Load")
+@Category({"Navigator", "Graph"})
+@Description("Loading a graph from an adjacency matrix file")
+@StackTrace(false)
+public class GraphLoadEvent extends Event {
+    @Label("File")
+    private String file;
+
+    @Label("Vertices")
+    private int vertices;
+
+    @Label("Size")
+    @DataAmount
+    private long bytes;
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public void setVertices(int vertices) {
+        this.vertices = vertices;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
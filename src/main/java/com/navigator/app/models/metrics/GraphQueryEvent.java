@@ -0,0 +1,70 @@
+package com.navigator.app.models.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one {@code GraphAlgorithms} call.
+ * <p>
+ * Use {@link #start(String)} at the top of the call and {@link #finish()} in its {@code finally} block; the
+ * setters in between are cheap field writes, and nothing is committed unless a recording enables the event
+ * and the call exceeds its threshold.
+ */
+@Name("com.navigator.app.GraphQuery")
+@Label("Graph Query")
+@Category({"Navigator", "Graph"})
+@Description("One call of a graph algorithm")
+@StackTrace(false)
+public class GraphQueryEvent extends Event {
+    @Label("Algorithm")
+    private String algorithm;
+
+    @Label("Variant")
+    @Description("Implementation that answered the call")
+    private String variant;
+
+    @Label("Vertices")
+    private int vertices;
+
+    @Label("Settled Vertices")
+    @Description("Vertices visited, settled or processed; 0 if not tracked by the variant")
+    private long settled;
+
+    /**
+     * Creates the event and starts its clock.
+     *
+     * @param algorithm The name of the {@code GraphAlgorithms} method.
+     */
+    public static GraphQueryEvent start(String algorithm) {
+        GraphQueryEvent event = new GraphQueryEvent();
+        event.algorithm = algorithm;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops the clock and commits the event if the recording wants it.
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+
+    public void setVariant(String variant) {
+        this.variant = variant;
+    }
+
+    public void setVertices(int vertices) {
+        this.vertices = vertices;
+    }
+
+    public void setSettled(long settled) {
+        this.settled = settled;
+    }
+}
@@ -0,0 +1,232 @@
+package com.navigator.app.models.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide metrics: latency histograms, counters and the progress of the ant colony search.
+ * <p>
+ * Off by default; enable with {@link #enable()} or {@code -Dnavigator.metrics=true}. While disabled every
+ * recording method returns after reading one volatile flag, and {@link #startTimer()} does not even read the
+ * clock. Hot loops are expected to count locally and call {@link #add(String, long)} once per operation.
+ * Enabling also registers the {@link MetricsMXBean}; {@link #dump()} renders everything as plain text.
+ */
+public final class Metrics {
+    /** Returned by {@link #startTimer()} while disabled. */
+    public static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private static final String MBEAN_NAME = "com.navigator.app:type=Metrics";
+    private static final int ACO_HISTORY = 256;
+    private static final int ACO_HISTORY_DUMPED = 20;
+
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final long[] acoBestNanos = new long[ACO_HISTORY];
+    private static final int[] acoBestIterations = new int[ACO_HISTORY];
+    private static final double[] acoBestLengths = new double[ACO_HISTORY];
+    private static long acoBestCount;
+    private static volatile boolean enabled;
+    private static volatile long startNanos = System.nanoTime();
+
+    static {
+        if (Boolean.getBoolean("navigator.metrics")) {
+            enable();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts recording and registers the MBean, if not done yet.
+     */
+    public static void enable() {
+        enabled = true;
+        registerMBean();
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Clears every metric and restarts the clock of the ant colony history.
+     */
+    public static void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+        synchronized (acoBestNanos) {
+            acoBestCount = 0;
+        }
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * @return The current time to pass to {@link #stopTimer(String, long)}, or {@link #NOT_STARTED} if disabled.
+     */
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Records the time elapsed since {@link #startTimer()} in the named latency histogram.
+     */
+    public static void stopTimer(String name, long start) {
+        if (start == NOT_STARTED || !enabled) return;
+        histogram(name).record(System.nanoTime() - start);
+    }
+
+    public static void increment(String name) {
+        if (!enabled) return;
+        counter(name).increment();
+    }
+
+    public static void add(String name, long delta) {
+        if (!enabled) return;
+        counter(name).add(delta);
+    }
+
+    /**
+     * Records an improvement of the best tour of the ant colony search.
+     */
+    public static void recordAcoBest(int iteration, double length) {
+        if (!enabled) return;
+        synchronized (acoBestNanos) {
+            int slot = (int) (acoBestCount++ % ACO_HISTORY);
+            acoBestNanos[slot] = System.nanoTime() - startNanos;
+            acoBestIterations[slot] = iteration;
+            acoBestLengths[slot] = length;
+        }
+    }
+
+    /**
+     * @return The named histogram, created empty if needed.
+     */
+    public static LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * @return The value of the named counter, 0 if it was never touched.
+     */
+    public static long getCounter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Renders all metrics, one per line, sorted by name:
+     * counters, hit ratios of {@code *.hits}/{@code *.misses} counter pairs, loader throughput,
+     * latency summaries in microseconds and the latest ant colony improvements.
+     */
+    public static String dump() {
+        StringBuilder text = new StringBuilder();
+        Map<String, Long> counterValues = getCounters();
+        counterValues.forEach((name, value) -> text.append("counter ").append(name).append(' ').append(value).append('\n'));
+
+        counterValues.forEach((name, hits) -> {
+            if (!name.endsWith(".hits")) return;
+            String prefix = name.substring(0, name.length() - ".hits".length());
+            long total = hits + counterValues.getOrDefault(prefix + ".misses", 0L);
+            if (total > 0) {
+                text.append("ratio ").append(prefix).append(".hitRatio ")
+                        .append(String.format(Locale.ROOT, "%.4f", (double) hits / total)).append('\n');
+            }
+        });
+
+        LatencyHistogram load = histograms.get("Graph.loadGraphFromFile");
+        long loadedBytes = getCounter("graph.load.bytes");
+        if (load != null && load.getSum() > 0) {
+            text.append("rate graph.load.bytesPerSecond ")
+                    .append(String.format(Locale.ROOT, "%.0f", loadedBytes * 1e9 / load.getSum())).append('\n');
+        }
+
+        getLatencies().forEach((name, summary) -> text.append("latency ").append(name).append(' ').append(summary).append('\n'));
+
+        synchronized (acoBestNanos) {
+            for (long i = Math.max(0, acoBestCount - ACO_HISTORY_DUMPED); i < acoBestCount; i++) {
+                int slot = (int) (i % ACO_HISTORY);
+                text.append("aco.best elapsedMs=").append(acoBestNanos[slot] / 1_000_000)
+                        .append(" iteration=").append(acoBestIterations[slot])
+                        .append(" length=").append(acoBestLengths[slot]).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    static Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    static Map<String, String> getLatencies() {
+        Map<String, String> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> {
+            if (histogram.getCount() == 0) return;
+            values.put(name, String.format(Locale.ROOT, "count=%d meanUs=%.1f p50Us=%.1f p99Us=%.1f maxUs=%.1f",
+                    histogram.getCount(), histogram.getMean() / 1e3,
+                    histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(99) / 1e3,
+                    histogram.getMax() / 1e3));
+        });
+        return values;
+    }
+
+    private static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    private static synchronized void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBeanImpl(), new ObjectName(MBEAN_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // registered by an earlier enable()
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics MBean", e);
+        }
+    }
+
+    private static class MetricsMBeanImpl implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            if (enabled) Metrics.enable();
+            else Metrics.disable();
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return Metrics.getCounters();
+        }
+
+        @Override
+        public Map<String, String> getLatencies() {
+            return Metrics.getLatencies();
+        }
+
+        @Override
+        public String dump() {
+            return Metrics.dump();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.navigator.app.models.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link Metrics}, registered as {@code com.navigator.app:type=Metrics}.
+ */
+public interface MetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return Every counter by name.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * @return Count, mean, p50, p99 and max of every latency histogram by name, in microseconds.
+     */
+    Map<String, String> getLatencies();
+
+    /**
+     * @return The plain-text dump of all metrics.
+     */
+    String dump();
+
+    void reset();
+}
@@ -0,0 +1,60 @@
+package com.navigator.app.models.shortestPath;
+
+import com.navigator.app.models.antAlgorithm.MatrixDistanceProvider;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Shortest distances from every source to every target, stored row-major in a primitive array.
+ * Unreachable pairs hold {@link Integer#MAX_VALUE}.
+ */
+@Getter
+@AllArgsConstructor
+public class DistanceTable {
+    private final int[] sources;
+    private final int[] targets;
+    private final int[] distances;
+
+    /**
+     * @return Distance from the source at row {@code sourceIndex} to the target at column {@code targetIndex}.
+     */
+    public int get(int sourceIndex, int targetIndex) {
+        return distances[sourceIndex * targets.length + targetIndex];
+    }
+
+    /**
+     * Exposes a table over one set of locations as TSP input for
+     * {@link com.navigator.app.models.antAlgorithm.AntColonyOptimization}. Tour positions are table indices;
+     * {@code getSources()[i]} maps them back to graph vertices.
+     * <p>
+     * The solver reads 0 between distinct locations as a missing edge and has no notion of an unreachable pair,
+     * so repeated locations and unreachable pairs are rejected rather than passed on.
+     *
+     * @return The table as a distance provider.
+     * @throws IOException If the sources and targets differ, a location appears twice, or a location cannot reach
+     *                     another.
+     */
+    public MatrixDistanceProvider toDistanceProvider() throws IOException {
+        if (!Arrays.equals(sources, targets)) {
+            throw new IOException("Distance table must have the same sources and targets");
+        }
+        int[] sorted = sources.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IOException("Distance table has duplicate locations");
+            }
+        }
+        for (int i = 0; i < sources.length; i++) {
+            for (int j = 0; j < sources.length; j++) {
+                if (i != j && get(i, j) == Integer.MAX_VALUE) {
+                    throw new IOException("Graph is not connected");
+                }
+            }
+        }
+        return new MatrixDistanceProvider(sources.length, distances);
+    }
+}
@@ -0,0 +1,46 @@
+package com.navigator.app.models.shortestPath;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shortest distances and parents from one source to every vertex.
+ * Unreachable vertices have distance {@link Integer#MAX_VALUE} and parent {@code -1}, as does the source's parent.
+ */
+@Getter
+@AllArgsConstructor
+public class ShortestPathTree {
+    private final int source;
+    private final int[] distances;
+    private final int[] parents;
+
+    public int distance(int target) {
+        return distances[target];
+    }
+
+    /**
+     * Walks the parents back from the target, in time proportional to the path length.
+     *
+     * @return The vertices from the source to the target, or an empty list if the target is unreachable.
+     */
+    public List<Integer> path(int target) {
+        if (distances[target] == Integer.MAX_VALUE) return Collections.emptyList();
+        List<Integer> path = new ArrayList<>();
+        for (int vertex = target; vertex != -1; vertex = parents[vertex]) {
+            path.add(vertex);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * @return Approximate heap footprint of the tree.
+     */
+    public long sizeInBytes() {
+        return 64 + 4L * distances.length + 4L * parents.length;
+    }
+}
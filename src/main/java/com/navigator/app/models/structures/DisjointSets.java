@@ -0,0 +1,73 @@
+package com.navigator.app.models.structures;
+
+/**
+ * Union-find over the elements {@code 0..n-1} with union by size and path halving.
+ * <p>
+ * Both operations run in near-constant amortized time without recursion, so arbitrarily deep trees cannot
+ * overflow the stack. Not thread-safe.
+ */
+public class DisjointSets {
+    private final int[] parent;
+    private final int[] size;
+    private int count;
+
+    /**
+     * Starts with every element in a set of its own.
+     *
+     * @param numElements Number of elements.
+     */
+    public DisjointSets(int numElements) {
+        parent = new int[numElements];
+        size = new int[numElements];
+        for (int i = 0; i < numElements; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        count = numElements;
+    }
+
+    /**
+     * @return The representative of the set containing the element.
+     */
+    public int find(int element) {
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Merges the sets of two elements.
+     *
+     * @return True if they were in different sets.
+     */
+    public boolean union(int first, int second) {
+        int a = find(first);
+        int b = find(second);
+        if (a == b) return false;
+        if (size[a] < size[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        parent[b] = a;
+        size[a] += size[b];
+        count--;
+        return true;
+    }
+
+    /**
+     * @return Number of elements in the set containing the element.
+     */
+    public int sizeOf(int element) {
+        return size[find(element)];
+    }
+
+    /**
+     * @return Number of disjoint sets.
+     */
+    public int count() {
+        return count;
+    }
+}
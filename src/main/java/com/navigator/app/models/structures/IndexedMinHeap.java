@@ -0,0 +1,118 @@
+package com.navigator.app.models.structures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of vertex ids {@code 0..capacity-1} keyed by int priorities, with decrease-key.
+ * <p>
+ * Every vertex is in the heap at most once; {@link #pushOrDecrease(int, int)} either inserts it or lowers its key
+ * in place, so Dijkstra needs no lazy deletion and allocates nothing per relaxation. {@link #clear()} costs
+ * {@code O(size)}, which keeps a heap reusable across many searches on the same graph.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;       // heap slot -> vertex
+    private final int[] keys;       // heap slot -> key
+    private final int[] position;   // vertex -> heap slot, or -1
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.keys = new int[capacity];
+        this.position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Inserts the vertex, or lowers its key if it is already queued with a larger one.
+     *
+     * @return False if the vertex is already queued with a key not larger than the given one.
+     */
+    public boolean pushOrDecrease(int vertex, int key) {
+        int slot = position[vertex];
+        if (slot < 0) {
+            slot = size++;
+        } else if (keys[slot] <= key) {
+            return false;
+        }
+        siftUp(slot, vertex, key);
+        return true;
+    }
+
+    /**
+     * Removes the vertex with the smallest key.
+     *
+     * @return The removed vertex.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public int pop() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            siftDown(0, heap[size], keys[size]);
+        }
+        return top;
+    }
+
+    /**
+     * @return The smallest key.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public int topKey() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return keys[0];
+    }
+
+    public boolean contains(int vertex) {
+        return position[vertex] >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot, int vertex, int key) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            place(slot, heap[parent], keys[parent]);
+            slot = parent;
+        }
+        place(slot, vertex, key);
+    }
+
+    private void siftDown(int slot, int vertex, int key) {
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+            if (keys[child] >= key) break;
+            place(slot, heap[child], keys[child]);
+            slot = child;
+        }
+        place(slot, vertex, key);
+    }
+
+    private void place(int slot, int vertex, int key) {
+        heap[slot] = vertex;
+        keys[slot] = key;
+        position[vertex] = slot;
+    }
+}
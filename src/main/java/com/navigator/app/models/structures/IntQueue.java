@@ -0,0 +1,106 @@
+package com.navigator.app.models.structures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Array-backed FIFO queue of primitive ints stored in a ring buffer.
+ * <p>
+ * The queue grows by doubling unless it was created with {@link #fixed(int)}, in which case pushing into a
+ * full queue throws. {@link #clear()} keeps the backing array so the queue can be reused without allocating.
+ */
+public class IntQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] values;
+    private int head;
+    private int size;
+    private final boolean growable;
+
+    public IntQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntQueue(int initialCapacity) {
+        this(initialCapacity, true);
+    }
+
+    private IntQueue(int capacity, boolean growable) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.values = new int[capacity];
+        this.growable = growable;
+    }
+
+    /**
+     * Creates a queue that never reallocates and rejects pushes beyond the given capacity.
+     *
+     * @param capacity Maximum number of elements.
+     * @return A new fixed-capacity queue.
+     */
+    public static IntQueue fixed(int capacity) {
+        return new IntQueue(capacity, false);
+    }
+
+    public void push(int value) throws IllegalStateException {
+        if (size == values.length) {
+            grow();
+        }
+        values[index(size)] = value;
+        size++;
+    }
+
+    public int pop() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        int value = values[head];
+        head = index(1);
+        size--;
+        return value;
+    }
+
+    public int front() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        return values[head];
+    }
+
+    public int back() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        return values[index(size - 1)];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private int index(int offset) {
+        int index = head + offset;
+        return index >= values.length ? index - values.length : index;
+    }
+
+    private void grow() {
+        if (!growable) {
+            throw new IllegalStateException("Queue is full");
+        }
+        int[] grown = new int[values.length * 2];
+        int firstPart = Math.min(size, values.length - head);
+        System.arraycopy(values, head, grown, 0, firstPart);
+        System.arraycopy(values, 0, grown, firstPart, size - firstPart);
+        values = grown;
+        head = 0;
+    }
+}
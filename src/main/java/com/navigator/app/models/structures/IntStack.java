@@ -0,0 +1,84 @@
+package com.navigator.app.models.structures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Array-backed stack of primitive ints.
+ * <p>
+ * The stack grows by doubling unless it was created with {@link #fixed(int)}, in which case pushing onto a
+ * full stack throws. {@link #clear()} keeps the backing array so the stack can be reused without allocating.
+ */
+public class IntStack {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] values;
+    private int size;
+    private final boolean growable;
+
+    public IntStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntStack(int initialCapacity) {
+        this(initialCapacity, true);
+    }
+
+    private IntStack(int capacity, boolean growable) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.values = new int[capacity];
+        this.growable = growable;
+    }
+
+    /**
+     * Creates a stack that never reallocates and rejects pushes beyond the given capacity.
+     *
+     * @param capacity Maximum number of elements.
+     * @return A new fixed-capacity stack.
+     */
+    public static IntStack fixed(int capacity) {
+        return new IntStack(capacity, false);
+    }
+
+    public void push(int value) throws IllegalStateException {
+        if (size == values.length) {
+            grow();
+        }
+        values[size++] = value;
+    }
+
+    public int pop() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("Stack is empty");
+        }
+        return values[--size];
+    }
+
+    public int top() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("Stack is empty");
+        }
+        return values[size - 1];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private void grow() {
+        if (!growable) {
+            throw new IllegalStateException("Stack is full");
+        }
+        values = Arrays.copyOf(values, values.length * 2);
+    }
+}
@@ -0,0 +1,206 @@
+package com.navigator.app.models.structures;
+
+/**
+ * Link-cut tree (Sleator and Tarjan) over nodes {@code 0..capacity-1}, each carrying an int value, with
+ * path-maximum queries.
+ * <p>
+ * Maintains a forest under {@link #link(int, int)} and {@link #cut(int, int)} and answers connectivity and
+ * "node of largest value on the path between two nodes" queries, all in {@code O(log n)} amortized time. Every
+ * preferred path is a splay tree stored in flat arrays; the reversal flag lets any node be made the root of its
+ * tree. To query maxima over edges, represent every edge by its own node linked between its two endpoints and
+ * give the endpoint nodes {@link Integer#MIN_VALUE}.
+ */
+public class LinkCutTree {
+    private final int[] left;
+    private final int[] right;
+    private final int[] parent;     // splay parent, or path-parent if this node is a splay root
+    private final int[] value;
+    private final int[] maxNode;    // node of largest value in the splay subtree
+    private final boolean[] reversed;
+
+    public LinkCutTree(int capacity) {
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.parent = new int[capacity];
+        this.value = new int[capacity];
+        this.maxNode = new int[capacity];
+        this.reversed = new boolean[capacity];
+        for (int node = 0; node < capacity; node++) {
+            left[node] = right[node] = parent[node] = -1;
+            value[node] = Integer.MIN_VALUE;
+            maxNode[node] = node;
+        }
+    }
+
+    public int getValue(int node) {
+        return value[node];
+    }
+
+    /**
+     * Changes the value of a node, which may be linked.
+     */
+    public void setValue(int node, int newValue) {
+        access(node);
+        value[node] = newValue;
+        pull(node);
+    }
+
+    /**
+     * Makes {@code child} a tree neighbour of {@code other}.
+     *
+     * @throws IllegalStateException If the nodes are already connected.
+     */
+    public void link(int child, int other) throws IllegalStateException {
+        makeRoot(child);
+        if (findRoot(other) == child) {
+            throw new IllegalStateException("Nodes are already connected");
+        }
+        parent[child] = other;
+    }
+
+    /**
+     * Removes the tree edge between two neighbouring nodes.
+     *
+     * @throws IllegalStateException If the nodes are not neighbours.
+     */
+    public void cut(int first, int second) throws IllegalStateException {
+        makeRoot(first);
+        access(second);
+        if (left[second] == first) {
+            push(first);
+        }
+        if (left[second] != first || right[first] != -1) {
+            throw new IllegalStateException("Nodes are not neighbours");
+        }
+        left[second] = -1;
+        parent[first] = -1;
+        pull(second);
+    }
+
+    public boolean connected(int first, int second) {
+        return first == second || findRoot(first) == findRoot(second);
+    }
+
+    /**
+     * @return The node of largest value on the tree path between two connected nodes, both included.
+     * @throws IllegalStateException If the nodes are not connected.
+     */
+    public int pathMax(int first, int second) throws IllegalStateException {
+        if (!connected(first, second)) {
+            throw new IllegalStateException("Nodes are not connected");
+        }
+        makeRoot(first);
+        access(second);
+        return maxNode[second];
+    }
+
+    /**
+     * Makes the path from the root of the node's tree to the node preferred, leaving the node at the root of
+     * its splay tree with no right child.
+     */
+    private void access(int node) {
+        int previous = -1;
+        for (int current = node; current != -1; current = parent[current]) {
+            splay(current);
+            right[current] = previous;
+            pull(current);
+            previous = current;
+        }
+        splay(node);
+    }
+
+    private void makeRoot(int node) {
+        access(node);
+        reversed[node] ^= true;
+    }
+
+    private int findRoot(int node) {
+        access(node);
+        int root = node;
+        push(root);
+        while (left[root] != -1) {
+            root = left[root];
+            push(root);
+        }
+        splay(root);
+        return root;
+    }
+
+    private boolean isSplayRoot(int node) {
+        int up = parent[node];
+        return up == -1 || (left[up] != node && right[up] != node);
+    }
+
+    private void splay(int node) {
+        pushFromSplayRoot(node);
+        while (!isSplayRoot(node)) {
+            int up = parent[node];
+            if (!isSplayRoot(up)) {
+                int grand = parent[up];
+                boolean zigZig = (left[grand] == up) == (left[up] == node);
+                rotate(zigZig ? up : node);
+            }
+            rotate(node);
+        }
+    }
+
+    private void rotate(int node) {
+        int up = parent[node];
+        int grand = parent[up];
+        if (!isSplayRoot(up)) {
+            if (left[grand] == up) left[grand] = node;
+            else right[grand] = node;
+        }
+        parent[node] = grand;
+
+        if (left[up] == node) {
+            left[up] = right[node];
+            if (right[node] != -1) parent[right[node]] = up;
+            right[node] = up;
+        } else {
+            right[up] = left[node];
+            if (left[node] != -1) parent[left[node]] = up;
+            left[node] = up;
+        }
+        parent[up] = node;
+        pull(up);
+        pull(node);
+    }
+
+    /**
+     * Pushes pending reversals down the splay path from the splay root to the node, top first.
+     */
+    private void pushFromSplayRoot(int node) {
+        int depth = 0;
+        for (int current = node; ; current = parent[current]) {
+            depth++;
+            if (isSplayRoot(current)) break;
+        }
+        int[] path = new int[depth];
+        int current = node;
+        for (int i = depth - 1; i >= 0; i--) {
+            path[i] = current;
+            current = parent[current];
+        }
+        for (int pathNode : path) {
+            push(pathNode);
+        }
+    }
+
+    private void push(int node) {
+        if (!reversed[node]) return;
+        int swap = left[node];
+        left[node] = right[node];
+        right[node] = swap;
+        if (left[node] != -1) reversed[left[node]] ^= true;
+        if (right[node] != -1) reversed[right[node]] ^= true;
+        reversed[node] = false;
+    }
+
+    private void pull(int node) {
+        int best = node;
+        if (left[node] != -1 && value[maxNode[left[node]]] > value[best]) best = maxNode[left[node]];
+        if (right[node] != -1 && value[maxNode[right[node]]] > value[best]) best = maxNode[right[node]];
+        maxNode[node] = best;
+    }
+}
@@ -0,0 +1,95 @@
+package com.navigator.app.models.structures;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free FIFO queue of primitive ints for exactly one producer thread and one consumer thread.
+ * <p>
+ * The capacity is rounded up to a power of two. The producer only writes {@code tail} and the consumer only
+ * writes {@code head}; each side publishes its index with a release store and keeps a cached copy of the
+ * other side's index, so the shared indices are re-read only when the queue looks full or empty.
+ */
+public class SpscIntQueue {
+    private final int[] values;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private long cachedHead;    // producer's view of head
+    private long cachedTail;    // consumer's view of tail
+
+    public SpscIntQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.values = new int[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Appends a value. Must only be called from the producer thread.
+     *
+     * @param value The value to append.
+     * @return False if the queue is full.
+     */
+    public boolean offer(int value) {
+        long currentTail = tail.get();
+        if (currentTail - cachedHead == values.length) {
+            cachedHead = head.get();
+            if (currentTail - cachedHead == values.length) return false;
+        }
+        values[(int) currentTail & mask] = value;
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest value. Must only be called from the consumer thread.
+     *
+     * @return The oldest value.
+     * @throws NoSuchElementException If the queue is empty.
+     */
+    public int poll() throws NoSuchElementException {
+        long currentHead = head.get();
+        if (currentHead == cachedTail) {
+            cachedTail = tail.get();
+            if (currentHead == cachedTail) throw new NoSuchElementException("Queue is empty");
+        }
+        int value = values[(int) currentHead & mask];
+        head.lazySet(currentHead + 1);
+        return value;
+    }
+
+    /**
+     * Returns the oldest value without removing it. Must only be called from the consumer thread.
+     *
+     * @return The oldest value.
+     * @throws NoSuchElementException If the queue is empty.
+     */
+    public int front() throws NoSuchElementException {
+        long currentHead = head.get();
+        if (currentHead == cachedTail) {
+            cachedTail = tail.get();
+            if (currentHead == cachedTail) throw new NoSuchElementException("Queue is empty");
+        }
+        return values[(int) currentHead & mask];
+    }
+
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * @return Approximate number of queued values; exact when both threads are quiescent.
+     */
+    public int size() {
+        long currentHead = head.get();
+        return (int) (tail.get() - currentHead);
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+}
@@ -0,0 +1,18 @@
+package com.navigator.app.models.traversal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of a breadth-first search: hop count and BFS-tree parent of every vertex, and optionally the visit order.
+ * Unreachable vertices have level and parent {@code -1}; the source is its own parent.
+ */
+@Getter
+@AllArgsConstructor
+public class BfsResult {
+    private final int source;
+    private final int[] levels;
+    private final int[] parents;
+    private final int[] order;   // null unless requested
+    private final int reachedCount;
+}
@@ -0,0 +1,73 @@
+package com.navigator.app.models.traversal;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Partition of the vertices into components: the component of every vertex and the size of every component.
+ * Components are numbered {@code 0..count-1} in the order of their smallest vertex, so results of different
+ * algorithms on the same graph are directly comparable.
+ */
+@Getter
+public class ComponentsResult {
+    private final int[] labels;
+    private final int[] sizes;
+
+    /**
+     * @param labels Component of every vertex, numbered in the order of their smallest vertex; not copied.
+     * @param sizes  Number of vertices in every component; not copied.
+     */
+    public ComponentsResult(int[] labels, int[] sizes) {
+        this.labels = labels;
+        this.sizes = sizes;
+    }
+
+    /**
+     * Renumbers arbitrary component labels, such as representatives, in the order of their smallest vertex.
+     *
+     * @param rawLabels A label per vertex; vertices share a label exactly if they share a component.
+     *                  Labels must lie in {@code 0..rawLabels.length-1}. Overwritten.
+     * @return The normalized result.
+     */
+    public static ComponentsResult normalize(int[] rawLabels) {
+        int numVertices = rawLabels.length;
+        int[] renumbered = new int[numVertices];
+        Arrays.fill(renumbered, -1);
+        int[] sizes = new int[numVertices];
+        int count = 0;
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            int raw = rawLabels[vertex];
+            if (renumbered[raw] < 0) renumbered[raw] = count++;
+            rawLabels[vertex] = renumbered[raw];
+            sizes[rawLabels[vertex]]++;
+        }
+        return new ComponentsResult(rawLabels, Arrays.copyOf(sizes, count));
+    }
+
+    /**
+     * @return Number of components.
+     */
+    public int getCount() {
+        return sizes.length;
+    }
+
+    public int componentOf(int vertex) {
+        return labels[vertex];
+    }
+
+    public boolean sameComponent(int first, int second) {
+        return labels[first] == labels[second];
+    }
+
+    /**
+     * @return The component with the most vertices, the first one on ties.
+     */
+    public int largest() {
+        int largest = 0;
+        for (int component = 1; component < sizes.length; component++) {
+            if (sizes[component] > sizes[largest]) largest = component;
+        }
+        return largest;
+    }
+}
@@ -0,0 +1,382 @@
+package com.navigator.app.s21_graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable directed graph in compressed sparse row (CSR) form.
+ * <p>
+ * The outgoing edges of vertex {@code v} occupy positions {@code [edgeStart(v), edgeEnd(v))}, sorted by target;
+ * {@link #target(int)} and {@link #weight(int)} read the edge at a position. Memory is {@code O(V + E)} primitive
+ * ints, which makes it the representation of choice for graphs too large for an adjacency matrix. The arrays
+ * live on the heap, or in a read-only file mapping shared between processes, see {@link SharedGraphFile}.
+ */
+public class CompactGraph {
+    private final int numVertices;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    CompactGraph(int numVertices, int[] offsets, int[] targets, int[] weights) {
+        this.numVertices = numVertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Converts an adjacency-matrix graph; every non-zero cell becomes an edge. A graph attached to a
+     * {@link SharedGraphFile} returns its mapped CSR form without copying.
+     *
+     * @param graph The graph to convert.
+     * @return The CSR form of the graph.
+     * @throws IOException If the graph is empty.
+     */
+    public static CompactGraph fromGraph(@NotNull Graph graph) throws IOException {
+        CompactGraph shared = graph.sharedGraph();
+        if (shared != null) return shared;
+        if (graph.getAdjacencyMatrix() == null || graph.getAdjacencyMatrix().isEmpty()) {
+            throw new IOException("Graph is empty");
+        }
+        int numVertices = graph.getNumVertices();
+        int[] offsets = new int[numVertices + 1];
+        for (int i = 0; i < numVertices; i++) {
+            int degree = 0;
+            for (int weight : graph.getAdjacencyMatrix().get(i)) {
+                if (weight != 0) degree++;
+            }
+            offsets[i + 1] = offsets[i] + degree;
+        }
+
+        int[] targets = new int[offsets[numVertices]];
+        int[] weights = new int[offsets[numVertices]];
+        for (int i = 0; i < numVertices; i++) {
+            ArrayList<Integer> row = graph.getAdjacencyMatrix().get(i);
+            int edge = offsets[i];
+            for (int j = 0; j < numVertices; j++) {
+                int weight = row.get(j);
+                if (weight != 0) {
+                    targets[edge] = j;
+                    weights[edge++] = weight;
+                }
+            }
+        }
+        return new CompactGraph(numVertices, offsets, targets, weights);
+    }
+
+    /**
+     * Starts collecting edges for a graph with a fixed number of vertices.
+     *
+     * @param numVertices Number of vertices.
+     * @return A new builder.
+     */
+    public static Builder builder(int numVertices) {
+        return new Builder(numVertices, false);
+    }
+
+    /**
+     * Starts collecting edges for a graph whose number of vertices is not known up front;
+     * it grows to cover the largest vertex any added edge touches.
+     *
+     * @return A new builder.
+     */
+    public static Builder builder() {
+        return new Builder(0, true);
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    public int getNumEdges() {
+        return offsets[numVertices];
+    }
+
+    public int edgeStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    public int edgeEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    public int weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Builds the graph with every edge reversed, i.e. the incoming edges of each vertex.
+     *
+     * @return The transposed graph.
+     */
+    public CompactGraph transpose() {
+        int numEdges = getNumEdges();
+        int[] reversedOffsets = new int[numVertices + 1];
+        for (int edge = 0; edge < numEdges; edge++) {
+            reversedOffsets[target(edge) + 1]++;
+        }
+        for (int i = 0; i < numVertices; i++) {
+            reversedOffsets[i + 1] += reversedOffsets[i];
+        }
+
+        int[] position = Arrays.copyOf(reversedOffsets, numVertices);
+        int[] reversedTargets = new int[numEdges];
+        int[] reversedWeights = new int[numEdges];
+        for (int from = 0; from < numVertices; from++) {
+            for (int edge = edgeStart(from); edge < edgeEnd(from); edge++) {
+                int slot = position[target(edge)]++;
+                reversedTargets[slot] = from;
+                reversedWeights[slot] = weight(edge);
+            }
+        }
+        return new CompactGraph(numVertices, reversedOffsets, reversedTargets, reversedWeights);
+    }
+
+    /**
+     * Applies edge changes to a copy of the graph. Only the rows of vertices whose outgoing edges changed are
+     * rewritten; the rows in between are copied in blocks, so the cost is {@code O(V + E)} array copying plus
+     * {@code O(C log C)} for the changes instead of a scan of an adjacency matrix.
+     *
+     * @param changes Changes in the order they were applied; the last change of an edge wins.
+     * @return The changed graph, or this graph if there are no changes.
+     * @throws IllegalArgumentException If a change refers to a vertex out of range.
+     */
+    public CompactGraph withChanges(@NotNull List<EdgeChange> changes) {
+        if (changes.isEmpty()) return this;
+        HashMap<Long, Integer> latest = new HashMap<>();
+        for (EdgeChange change : changes) {
+            if (change.getFrom() < 0 || change.getFrom() >= numVertices
+                    || change.getTo() < 0 || change.getTo() >= numVertices) {
+                throw new IllegalArgumentException("Vertex not found");
+            }
+            latest.put((long) change.getFrom() * numVertices + change.getTo(), change.getNewWeight());
+        }
+        long[] keys = new long[latest.size()];
+        int numEdges = getNumEdges();
+        int count = 0;
+        for (Map.Entry<Long, Integer> entry : latest.entrySet()) {
+            long key = entry.getKey();
+            boolean present = find((int) (key / numVertices), (int) (key % numVertices)) != -1;
+            boolean kept = entry.getValue() != 0;
+            if (present != kept) numEdges += kept ? 1 : -1;
+            keys[count++] = key;
+        }
+        Arrays.sort(keys);
+
+        int[] newOffsets = new int[numVertices + 1];
+        int[] newTargets = new int[numEdges];
+        int[] newWeights = new int[numEdges];
+        int out = 0;
+        int next = 0;
+        int row = 0;
+        while (row < numVertices) {
+            int changedRow = next < keys.length ? (int) (keys[next] / numVertices) : numVertices;
+            int blockStart = edgeStart(row);
+            int blockLength = (changedRow < numVertices ? edgeStart(changedRow) : getNumEdges()) - blockStart;
+            copyEdges(blockStart, blockLength, newTargets, newWeights, out);
+            int shift = out - blockStart;
+            for (int vertex = row; vertex < changedRow; vertex++) {
+                newOffsets[vertex + 1] = edgeEnd(vertex) + shift;
+            }
+            out += blockLength;
+            if (changedRow == numVertices) break;
+
+            int edge = edgeStart(changedRow);
+            int end = edgeEnd(changedRow);
+            for (; next < keys.length && keys[next] / numVertices == changedRow; next++) {
+                int to = (int) (keys[next] % numVertices);
+                int weight = latest.get(keys[next]);
+                for (; edge < end && target(edge) < to; edge++) {
+                    newTargets[out] = target(edge);
+                    newWeights[out++] = weight(edge);
+                }
+                if (edge < end && target(edge) == to) edge++;
+                if (weight != 0) {
+                    newTargets[out] = to;
+                    newWeights[out++] = weight;
+                }
+            }
+            copyEdges(edge, end - edge, newTargets, newWeights, out);
+            out += end - edge;
+            newOffsets[changedRow + 1] = out;
+            row = changedRow + 1;
+        }
+        return new CompactGraph(numVertices, newOffsets, newTargets, newWeights);
+    }
+
+    /**
+     * @return The position of the edge {@code from -> to}, or -1 if there is none.
+     */
+    int find(int from, int to) {
+        int low = edgeStart(from);
+        int high = edgeEnd(from) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int target = target(middle);
+            if (target < to) {
+                low = middle + 1;
+            } else if (target > to) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the edges at {@code [start, start + length)} into the arrays at the given position.
+     */
+    void copyEdges(int start, int length, int[] toTargets, int[] toWeights, int position) {
+        System.arraycopy(targets, start, toTargets, position, length);
+        System.arraycopy(weights, start, toWeights, position, length);
+    }
+
+    /**
+     * Accumulates edges in primitive arrays and sorts them into CSR form with a counting sort. Parallel edges are
+     * merged into one with the smallest weight, which is the only one a shortest path or spanning tree can use.
+     */
+    public static class Builder {
+        private final boolean growable;
+        private int numVertices;
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private int[] weight = new int[16];
+        private int size;
+
+        private Builder(int numVertices, boolean growable) {
+            if (numVertices < 1 && !growable) {
+                throw new IllegalArgumentException("Number of vertices must be positive");
+            }
+            this.numVertices = numVertices;
+            this.growable = growable;
+        }
+
+        /**
+         * Reserves room for the given total number of edges, avoiding repeated growth when it is known up front.
+         */
+        public Builder ensureCapacity(int edges) {
+            if (edges > from.length) {
+                from = Arrays.copyOf(from, edges);
+                to = Arrays.copyOf(to, edges);
+                weight = Arrays.copyOf(weight, edges);
+            }
+            return this;
+        }
+
+        /**
+         * Makes sure the graph has at least the given number of vertices, for builders without a fixed count.
+         */
+        public Builder ensureVertices(int numVertices) {
+            if (!growable) {
+                throw new IllegalStateException("Number of vertices is fixed");
+            }
+            this.numVertices = Math.max(this.numVertices, numVertices);
+            return this;
+        }
+
+        /**
+         * Adds a directed edge.
+         *
+         * @throws IllegalArgumentException If a vertex is out of range or the weight is not positive.
+         */
+        public Builder addEdge(int from, int to, int weight) {
+            if (growable && from >= 0 && to >= 0) {
+                numVertices = Math.max(numVertices, Math.max(from, to) + 1);
+            }
+            if (from < 0 || from >= numVertices || to < 0 || to >= numVertices) {
+                throw new IllegalArgumentException("Vertex not found");
+            }
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Edge weight must be positive");
+            }
+            if (size == this.from.length) {
+                int capacity = Math.max(16, size * 2);
+                this.from = Arrays.copyOf(this.from, capacity);
+                this.to = Arrays.copyOf(this.to, capacity);
+                this.weight = Arrays.copyOf(this.weight, capacity);
+            }
+            this.from[size] = from;
+            this.to[size] = to;
+            this.weight[size] = weight;
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds an edge in both directions.
+         */
+        public Builder addUndirectedEdge(int first, int second, int weight) {
+            addEdge(first, second, weight);
+            return addEdge(second, first, weight);
+        }
+
+        /**
+         * Sorts the collected edges by source and then target with two stable counting sorts, keeping the lightest
+         * of parallel edges.
+         *
+         * @return The CSR graph.
+         * @throws IllegalStateException If no vertex was added to a builder without a fixed count.
+         */
+        public CompactGraph build() {
+            if (numVertices < 1) {
+                throw new IllegalStateException("Graph is empty");
+            }
+            int[] byTarget = countingSortOrder(to, null);
+            int[] order = countingSortOrder(from, byTarget);
+
+            int[] offsets = new int[numVertices + 1];
+            int[] targets = new int[size];
+            int[] weights = new int[size];
+            int edges = 0;
+            for (int i = 0; i < size; i++) {
+                int edge = order[i];
+                if (i > 0 && from[order[i - 1]] == from[edge] && to[order[i - 1]] == to[edge]) {
+                    weights[edges - 1] = Math.min(weights[edges - 1], weight[edge]);
+                    continue;
+                }
+                offsets[from[edge] + 1]++;
+                targets[edges] = to[edge];
+                weights[edges++] = weight[edge];
+            }
+            for (int i = 0; i < numVertices; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            if (edges < size) {
+                targets = Arrays.copyOf(targets, edges);
+                weights = Arrays.copyOf(weights, edges);
+            }
+            return new CompactGraph(numVertices, offsets, targets, weights);
+        }
+
+        private int[] countingSortOrder(int[] keys, int[] input) {
+            int[] counts = new int[numVertices + 1];
+            for (int i = 0; i < size; i++) {
+                counts[keys[i] + 1]++;
+            }
+            for (int i = 0; i < numVertices; i++) {
+                counts[i + 1] += counts[i];
+            }
+            int[] output = new int[size];
+            for (int i = 0; i < size; i++) {
+                int edge = input == null ? i : input[i];
+                output[counts[keys[edge]]++] = edge;
+            }
+            return output;
+        }
+    }
+}
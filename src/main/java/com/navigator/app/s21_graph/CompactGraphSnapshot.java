@@ -0,0 +1,21 @@
+package com.navigator.app.s21_graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The CSR form of a graph together with its version and the edge changes that led to it from an older version,
+ * all taken at once by {@link Graph#compactSince(long, CompactGraph)}.
+ */
+@Getter
+@AllArgsConstructor
+public class CompactGraphSnapshot {
+    private final long version;
+    /**
+     * The changes since the requested version, or null if derived data has to be rebuilt.
+     */
+    private final List<EdgeChange> changes;
+    private final CompactGraph graph;
+}
@@ -0,0 +1,32 @@
+package com.navigator.app.s21_graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An applied change of the directed edge {@code from -> to}, recorded in the graph's change journal.
+ * A weight of 0 means the edge is absent.
+ */
+@Getter
+@AllArgsConstructor
+public class EdgeChange {
+    private final long version;
+    private final int from;
+    private final int to;
+    private final int oldWeight;
+    private final int newWeight;
+
+    /**
+     * @return True if the edge was removed or got heavier, which can lengthen shortest paths.
+     */
+    public boolean isRemovalOrIncrease() {
+        return oldWeight != 0 && (newWeight == 0 || newWeight > oldWeight);
+    }
+
+    /**
+     * @return True if the edge was inserted or got lighter, which can shorten shortest paths.
+     */
+    public boolean isInsertionOrDecrease() {
+        return newWeight != 0 && (oldWeight == 0 || newWeight < oldWeight);
+    }
+}
@@ -0,0 +1,15 @@
+package com.navigator.app.s21_graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A requested new weight of the directed edge {@code from -> to}; a weight of 0 removes the edge.
+ */
+@Getter
+@AllArgsConstructor
+public class EdgeUpdate {
+    private final int from;
+    private final int to;
+    private final int weight;
+}
@@ -4,39 +4,219 @@ import java.io.*;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import com.navigator.app.models.metrics.GraphLoadEvent;
+import com.navigator.app.models.metrics.Metrics;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents a graph using an adjacency matrix.
+ * <p>
+ * The version increases every time the graph is loaded or an edge update is applied, so derived data such as
+ * cached shortest-path trees or memoized all-pairs results can tell whether it is stale. Edge updates are also
+ * recorded in a bounded change journal, which lets derived data repair itself instead of being rebuilt; a reload
+ * clears the journal. Changes made directly to the list returned by {@link #getAdjacencyMatrix()} are not tracked.
+ * <p>
+ * A graph attached to a {@link SharedGraphFile} is read-only and backed by the mapped file instead of a matrix;
+ * a {@link #permute permuted} copy is read-only and backed by CSR arrays on the heap. A graph loaded from a sparse
+ * format is kept in CSR form too, and only expanded into a matrix by its first edge update.
+ * A {@link GraphSnapshot} is an immutable copy that can be queried from many threads while a {@link GraphHolder}
+ * loads its replacement.
  */
 @Getter
 public class Graph {
+    private static final int MAX_JOURNAL_SIZE = 1 << 16;
+    /**
+     * Largest graph a shared graph expands into an adjacency matrix for.
+     */
+    public static final int MAX_MATRIX_VERTICES = 1 << 14;
 
+    @Getter(AccessLevel.NONE)
     private ArrayList<ArrayList<Integer>> adjacencyMatrix;
     private int numVertices;
+    private volatile long version;
+    private String sourceFile;
+    @Getter(AccessLevel.NONE)
+    private final ArrayList<EdgeChange> journal = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private long journalBaseVersion;
+    @Getter(AccessLevel.NONE)
+    private CompactGraph shared;
+    @Getter(AccessLevel.NONE)
+    private boolean expandOnUpdate;
+
+    public Graph() {
+    }
 
     /**
-     * Loads a graph from a file in adjacency matrix format.
+     * Creates a graph with the content, version and source file of another one and an empty journal.
+     *
+     * @param source     The graph to copy.
+     * @param copyMatrix Whether to copy the adjacency matrix or share it, when the source is no longer used.
+     */
+    Graph(@NotNull Graph source, boolean copyMatrix) {
+        synchronized (source) {
+            shared = source.shared;
+            expandOnUpdate = source.expandOnUpdate;
+            if (shared == null && source.adjacencyMatrix != null) {
+                adjacencyMatrix = copyMatrix ? copyOf(source.adjacencyMatrix) : source.adjacencyMatrix;
+            }
+            numVertices = source.numVertices;
+            sourceFile = source.sourceFile;
+            version = source.version;
+            journalBaseVersion = version;
+        }
+    }
+
+    private static ArrayList<ArrayList<Integer>> copyOf(ArrayList<ArrayList<Integer>> matrix) {
+        ArrayList<ArrayList<Integer>> copy = new ArrayList<>(matrix.size());
+        for (ArrayList<Integer> row : matrix) {
+            copy.add(new ArrayList<>(row));
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a read-only graph over a mapped {@link SharedGraphFile}.
+     */
+    static Graph shared(CompactGraph graph, String sourceFile) {
+        Graph shared = new Graph();
+        shared.shared = graph;
+        shared.numVertices = graph.getNumVertices();
+        shared.sourceFile = sourceFile;
+        shared.version = 1;
+        shared.journalBaseVersion = 1;
+        return shared;
+    }
+
+    /**
+     * Wraps a CSR graph as a read-only graph, which {@code GraphAlgorithms} runs on without building a matrix.
+     *
+     * @param graph The graph to wrap; not copied.
+     * @return The read-only graph, at version 1.
+     */
+    public static Graph readOnly(@NotNull CompactGraph graph) {
+        return shared(graph, null);
+    }
+
+    /**
+     * The adjacency matrix. A graph attached to a {@link SharedGraphFile} has none until it is first asked for,
+     * and then builds a private copy from the mapping; algorithms should use {@link #requireAdjacencyMatrix()},
+     * or the CSR form of a shared graph, instead.
+     *
+     * @return The matrix, or null if no graph was loaded.
+     * @throws IllegalStateException If a shared graph is too large for an adjacency matrix.
+     */
+    public ArrayList<ArrayList<Integer>> getAdjacencyMatrix() {
+        try {
+            return shared == null ? adjacencyMatrix : requireAdjacencyMatrix();
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    /**
+     * The adjacency matrix, for the algorithms that cannot do without one. A shared graph builds its private
+     * copy on the first call, in {@code O(V^2)} boxed cells.
+     *
+     * @return The non-empty matrix.
+     * @throws IOException If no graph was loaded, or a shared graph is too large for an adjacency matrix.
+     */
+    public ArrayList<ArrayList<Integer>> requireAdjacencyMatrix() throws IOException {
+        if (shared != null) {
+            synchronized (this) {
+                if (adjacencyMatrix == null) {
+                    adjacencyMatrix = toAdjacencyMatrix(shared);
+                }
+            }
+        }
+        ArrayList<ArrayList<Integer>> matrix = adjacencyMatrix;
+        if (matrix == null || matrix.isEmpty()) throw new IOException("Graph is empty");
+        return matrix;
+    }
+
+    /**
+     * @return True if the graph is held in CSR form: attached to a {@link SharedGraphFile}, permuted, or loaded from
+     * a sparse format and not updated since.
+     */
+    public boolean isShared() {
+        return shared != null;
+    }
+
+    CompactGraph sharedGraph() {
+        return shared;
+    }
+
+    /**
+     * Loads a graph from a file in any of the {@link GraphFormat}s, detected from the file.
+     * <p>
+     * Edge-list, DIMACS and TSPLIB files are streamed through {@link GraphReader} into a {@link CompactGraph}, which
+     * the graph keeps instead of an adjacency matrix, so they load in {@code O(V + E)} memory at any size. The
+     * first edge update expands such a graph into a matrix.
      *
      * @param filename The name of the file containing the graph data.
      * @throws IOException           If an I/O error occurs while reading the file.
      * @throws NumberFormatException If the format of the data in the file is incorrect.
      */
     public void loadGraphFromFile(String filename) throws IOException {
+        long start = Metrics.startTimer();
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+        GraphFormat format;
+        try {
+            format = GraphFormat.detect(filename);
+        } catch (IOException e) {
+            throw new IOException("File not found");
+        }
+
+        ArrayList<ArrayList<Integer>> matrix = null;
+        CompactGraph compact = null;
+        if (format == GraphFormat.ADJACENCY_MATRIX) matrix = readAdjacencyMatrix(filename);
+        else compact = GraphReader.read(filename, format);
+        synchronized (this) {
+            adjacencyMatrix = matrix;
+            shared = compact;
+            expandOnUpdate = compact != null;
+            if (compact != null) numVertices = compact.getNumVertices();
+            else numVertices = matrix.isEmpty() ? 0 : matrix.get(0).size();
+            sourceFile = filename;
+            version++;
+            journal.clear();
+            journalBaseVersion = version;
+        }
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.add("graph.load.bytes", new File(filename).length());
+            Metrics.stopTimer("Graph.loadGraphFromFile", start);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.setFile(filename);
+            event.setVertices(numVertices);
+            event.setBytes(new File(filename).length());
+            event.commit();
+        }
+    }
+
+    private static ArrayList<ArrayList<Integer>> readAdjacencyMatrix(String filename) throws IOException {
         try (BufferedReader bufferedReader = new BufferedReader(new FileReader(filename))) {
             int size = Integer.parseInt(bufferedReader.readLine().trim());
-            adjacencyMatrix = new ArrayList<>();
+            ArrayList<ArrayList<Integer>> matrix = new ArrayList<>();
             String line;
             while ((line = bufferedReader.readLine()) != null) {
                 String[] values = line.trim().split("\\s+");
                 ArrayList<Integer> row = new ArrayList<>();
                 for (int col = 0; col < size; col++) {
-                    row.add(Integer.parseInt(values[col]));
+                    int weight = Integer.parseInt(values[col]);
+                    if (weight < 0) throw new NumberFormatException("Negative edge weight");
+                    row.add(weight);
                 }
-                adjacencyMatrix.add(row);
+                matrix.add(row);
             }
-            numVertices = size;
+            return matrix;
         } catch (IOException e) {
             throw new IOException("File not found");
         } catch (NumberFormatException e) {
@@ -44,6 +224,151 @@ public class Graph {
         }
     }
 
+    private static ArrayList<ArrayList<Integer>> toAdjacencyMatrix(CompactGraph graph) throws IOException {
+        int size = graph.getNumVertices();
+        if (size > MAX_MATRIX_VERTICES) throw new IOException("Graph too large for an adjacency matrix");
+        ArrayList<ArrayList<Integer>> matrix = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ArrayList<Integer> row = new ArrayList<>(Collections.nCopies(size, 0));
+            for (int edge = graph.edgeStart(i); edge < graph.edgeEnd(i); edge++) {
+                row.set(graph.target(edge), graph.weight(edge));
+            }
+            matrix.add(row);
+        }
+        return matrix;
+    }
+
+    /**
+     * Sets the weight of the directed edge {@code from -> to}, adding or removing it as needed.
+     *
+     * @param weight The new weight, 0 to remove the edge.
+     * @throws IOException If the graph is empty, a vertex does not exist, or the weight is negative.
+     */
+    public void setEdgeWeight(int from, int to, int weight) throws IOException {
+        applyUpdates(Collections.singletonList(new EdgeUpdate(from, to, weight)));
+    }
+
+    /**
+     * Adds the directed edge {@code from -> to}.
+     *
+     * @throws IOException If the graph is empty, a vertex does not exist, the weight is not positive,
+     *                     or the edge already exists.
+     */
+    public synchronized void addEdge(int from, int to, int weight) throws IOException {
+        checkUpdate(from, to, weight);
+        if (weight == 0) throw new IOException("Wrong edge weight");
+        if (adjacencyMatrix.get(from).get(to) != 0) throw new IOException("Edge already exists");
+        applyUpdates(Collections.singletonList(new EdgeUpdate(from, to, weight)));
+    }
+
+    /**
+     * Removes the directed edge {@code from -> to}.
+     *
+     * @throws IOException If the graph is empty, a vertex does not exist, or the edge does not exist.
+     */
+    public synchronized void removeEdge(int from, int to) throws IOException {
+        checkUpdate(from, to, 0);
+        if (adjacencyMatrix.get(from).get(to) == 0) throw new IOException("Edge not found");
+        applyUpdates(Collections.singletonList(new EdgeUpdate(from, to, 0)));
+    }
+
+    /**
+     * Applies a batch of edge updates in order as one change: either all of them are applied under a single
+     * version increment, or none is if any of them is invalid.
+     *
+     * @param updates The updates to apply.
+     * @throws IOException If the graph is empty or read-only, a vertex does not exist, a weight is negative, or a
+     *                     graph loaded from a sparse format is too large to expand into a matrix.
+     */
+    public synchronized void applyUpdates(@NotNull List<EdgeUpdate> updates) throws IOException {
+        for (EdgeUpdate update : updates) {
+            checkUpdate(update.getFrom(), update.getTo(), update.getWeight());
+        }
+        if (updates.isEmpty()) return;
+
+        long newVersion = version + 1;
+        for (EdgeUpdate update : updates) {
+            ArrayList<Integer> row = adjacencyMatrix.get(update.getFrom());
+            int oldWeight = row.set(update.getTo(), update.getWeight());
+            if (oldWeight != update.getWeight()) {
+                journal.add(new EdgeChange(newVersion, update.getFrom(), update.getTo(), oldWeight, update.getWeight()));
+            }
+        }
+        if (journal.size() > MAX_JOURNAL_SIZE) {
+            int dropped = journal.size() - MAX_JOURNAL_SIZE / 2;
+            journalBaseVersion = journal.get(dropped - 1).getVersion();
+            journal.subList(0, dropped).clear();
+        }
+        version = newVersion;
+    }
+
+    /**
+     * Returns the edge changes applied after the given version, oldest first.
+     *
+     * @param sinceVersion A version previously read from {@link #getVersion()}.
+     * @return The changes, or null if the graph was reloaded since or the journal no longer reaches back that far,
+     * in which case derived data has to be rebuilt.
+     */
+    public synchronized List<EdgeChange> changesSince(long sinceVersion) {
+        if (sinceVersion < journalBaseVersion || sinceVersion > version) return null;
+        int first = journal.size();
+        while (first > 0 && journal.get(first - 1).getVersion() > sinceVersion) {
+            first--;
+        }
+        return new ArrayList<>(journal.subList(first, journal.size()));
+    }
+
+    /**
+     * Takes the version, the changes since an older version and the CSR form of the graph under the graph's lock,
+     * so that an update applied concurrently is either in all three or in none of them.
+     * <p>
+     * If the CSR form at the older version is given, the changes are applied to it with
+     * {@link CompactGraph#withChanges}, which rewrites only the touched rows; otherwise the graph is converted with
+     * {@link CompactGraph#fromGraph}.
+     *
+     * @param sinceVersion The version derived data was built from, or -1 if there is none.
+     * @param base         The CSR form of the graph at that version, or null.
+     * @return The snapshot; its changes are null if the version is -1 or {@link #changesSince} would return null.
+     * @throws IOException If the graph is empty.
+     */
+    public synchronized CompactGraphSnapshot compactSince(long sinceVersion, CompactGraph base) throws IOException {
+        List<EdgeChange> changes = sinceVersion == -1 ? null : changesSince(sinceVersion);
+        CompactGraph compact;
+        if (changes != null && base != null && base.getNumVertices() == numVertices) {
+            compact = base.withChanges(changes);
+        } else {
+            compact = CompactGraph.fromGraph(this);
+        }
+        return new CompactGraphSnapshot(version, changes, compact);
+    }
+
+    private void checkUpdate(int from, int to, int weight) throws IOException {
+        if (shared != null && !expandOnUpdate) throw new IOException("Graph is read-only");
+        if (shared != null) {
+            adjacencyMatrix = requireAdjacencyMatrix();
+            shared = null;
+            expandOnUpdate = false;
+        }
+        if (adjacencyMatrix == null || adjacencyMatrix.isEmpty()) throw new IOException("Graph is empty");
+        if (from < 0 || from >= numVertices || to < 0 || to >= numVertices) throw new IOException("Vertex not found");
+        if (weight < 0) throw new IOException("Wrong edge weight");
+    }
+
+    /**
+     * Creates a copy of the graph with its vertices renumbered: edge {@code u -> v} becomes
+     * {@code toNew(u) -> toNew(v)}. The copy is read-only and kept in CSR form, so algorithms walk the renumbered
+     * edge arrays instead of a boxed matrix; it starts at version 1 with an empty journal.
+     *
+     * @param permutation The renumbering, sized for this graph.
+     * @return The permuted graph.
+     * @throws IOException If the graph is empty, or the permutation is sized for another graph.
+     */
+    public Graph permute(@NotNull VertexPermutation permutation) throws IOException {
+        CompactGraph graph = CompactGraph.fromGraph(this);
+        if (permutation.size() != numVertices) throw new IOException("Incorrect data");
+        return shared(permutation.apply(graph), sourceFile);
+    }
+
     /**
      * Exports the graph to a file in DOT format.
      *
@@ -51,7 +376,11 @@ public class Graph {
      * @throws IOException If an I/O error occurs while writing to the file.
      */
     public void exportGraphToDot(String filename) throws IOException {
-        if (adjacencyMatrix == null || adjacencyMatrix.isEmpty()) throw new IOException("Graph is empty");
+        if (shared != null) {
+            exportGraphToDot(shared, filename);
+            return;
+        }
+        ArrayList<ArrayList<Integer>> adjacencyMatrix = requireAdjacencyMatrix();
 
         Path filePath = Paths.get(filename);
         BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(filePath.toFile()));
@@ -71,4 +400,25 @@ public class Graph {
         bufferedWriter.write("}");
         bufferedWriter.close();
     }
+
+    /**
+     * Writes a shared graph from its CSR form, in the same order as the matrix scan.
+     */
+    private static void exportGraphToDot(CompactGraph graph, String filename) throws IOException {
+        try (BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(Paths.get(filename).toFile()))) {
+            bufferedWriter.write("graph " + filename + "{\n");
+            for (int i = 1; i <= graph.getNumVertices(); i++) {
+                bufferedWriter.write("\t" + i + ";\n");
+            }
+            for (int i = 0; i < graph.getNumVertices(); i++) {
+                for (int edge = graph.edgeStart(i); edge < graph.edgeEnd(i); edge++) {
+                    if (graph.target(edge) > i) {
+                        bufferedWriter.write("\t" + i + " -- " + graph.target(edge)
+                                + " [label=\"" + graph.weight(edge) + "\"];\n");
+                    }
+                }
+            }
+            bufferedWriter.write("}");
+        }
+    }
 }
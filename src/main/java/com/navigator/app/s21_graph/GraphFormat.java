@@ -0,0 +1,61 @@
+package com.navigator.app.s21_graph;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Text formats a graph can be read from; see {@link GraphReader}.
+ */
+public enum GraphFormat {
+    /**
+     * The vertex count on the first line, followed by one row of the adjacency matrix per line.
+     */
+    ADJACENCY_MATRIX,
+    /**
+     * One directed edge {@code from to [weight]} per line, 0-based vertices, weight 1 if omitted.
+     * Lines starting with {@code #} or {@code %} are comments.
+     */
+    EDGE_LIST,
+    /**
+     * DIMACS shortest-path format: {@code p sp <vertices> <arcs>}, then {@code a <from> <to> <weight>}
+     * per arc with 1-based vertices; lines starting with {@code c} are comments.
+     */
+    DIMACS,
+    /**
+     * TSPLIB {@code TSP} or {@code ATSP} instance with {@code EUC_2D} coordinates or an explicit weight section.
+     */
+    TSPLIB;
+
+    /**
+     * Detects the format from the file extension ({@code .gr}, {@code .tsp}, {@code .atsp}) or, failing that,
+     * from the first line that is neither blank nor a comment. Anything unrecognised is taken for
+     * {@link #ADJACENCY_MATRIX}, the original format.
+     *
+     * @param filename The file to inspect.
+     * @return The detected format.
+     * @throws IOException If the file cannot be read.
+     */
+    public static GraphFormat detect(String filename) throws IOException {
+        String lowerCase = filename.toLowerCase(Locale.ROOT);
+        if (lowerCase.endsWith(".gr")) return DIMACS;
+        if (lowerCase.endsWith(".tsp") || lowerCase.endsWith(".atsp")) return TSPLIB;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("%")) continue;
+                if (line.equals("c") || line.startsWith("c ") || line.startsWith("p ")) return DIMACS;
+                if (line.contains(":") || line.startsWith("NAME")) return TSPLIB;
+                int tokens = line.split("\\s+").length;
+                return tokens == 2 || tokens == 3 ? EDGE_LIST : ADJACENCY_MATRIX;
+            }
+        } catch (FileNotFoundException e) {
+            throw new IOException("File not found");
+        }
+        return ADJACENCY_MATRIX;
+    }
+}
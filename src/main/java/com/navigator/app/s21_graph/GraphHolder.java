@@ -0,0 +1,111 @@
+package com.navigator.app.s21_graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link GraphSnapshot} of a graph that is refreshed while it is being queried.
+ * <p>
+ * A query reads {@link #current()} once and runs on that snapshot to the end. A reload builds the new snapshot
+ * off to the side and swaps it in atomically, so queries never wait for a load and never see a half-loaded graph:
+ * the ones already running finish on the old snapshot, the next ones start on the new one, and the old snapshot
+ * is collected once the last query using it is done. A failed load leaves the current snapshot in place. When
+ * loads overlap, the one requested last wins: each load is numbered when it is requested, and a load that
+ * finishes after a later one has been swapped in is dropped, so a slow load never replaces a newer graph.
+ */
+public class GraphHolder {
+    private final AtomicReference<GraphSnapshot> current;
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private long swappedRequest;
+
+    /**
+     * Starts with an empty graph, on which every query fails until the first load.
+     */
+    public GraphHolder() {
+        this(GraphSnapshot.of(new Graph()));
+    }
+
+    public GraphHolder(@NotNull GraphSnapshot initial) {
+        this.current = new AtomicReference<>(initial);
+    }
+
+    /**
+     * @return The snapshot queries should run on now.
+     */
+    public GraphSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Makes a snapshot the current one.
+     *
+     * @return The snapshot it replaced.
+     */
+    public synchronized GraphSnapshot replace(@NotNull GraphSnapshot snapshot) {
+        swappedRequest = requests.incrementAndGet();
+        reloads.incrementAndGet();
+        return current.getAndSet(snapshot);
+    }
+
+    /**
+     * Loads a graph file on the calling thread and swaps it in, unless a load requested later has been swapped in
+     * while it was loading.
+     *
+     * @param filename The graph file, in any {@link GraphFormat} or a shared graph file.
+     * @return The snapshot current after the load: the new one, or the newer one that superseded it.
+     * @throws IOException If the file cannot be read or has a wrong format; the current snapshot is kept.
+     */
+    public GraphSnapshot reload(@NotNull String filename) throws IOException {
+        return load(requests.incrementAndGet(), filename);
+    }
+
+    /**
+     * Loads a graph file in the background and swaps it in when it is loaded, unless a load requested after this
+     * call has been swapped in first.
+     *
+     * @param filename The graph file, in any {@link GraphFormat} or a shared graph file.
+     * @param executor Runs the load.
+     * @return The snapshot current after the load: the new one, or the newer one that superseded it; completes
+     * with an {@link IOException} if the load fails, in which case the current snapshot is kept.
+     */
+    public CompletableFuture<GraphSnapshot> reloadAsync(@NotNull String filename, @NotNull Executor executor) {
+        CompletableFuture<GraphSnapshot> result = new CompletableFuture<>();
+        long request = requests.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(load(request, filename));
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private GraphSnapshot load(long request, String filename) throws IOException {
+        GraphSnapshot snapshot = GraphSnapshot.load(filename);
+        synchronized (this) {
+            if (request < swappedRequest) return current.get();
+            swappedRequest = request;
+            reloads.incrementAndGet();
+            current.set(snapshot);
+            return snapshot;
+        }
+    }
+
+    /**
+     * @return Number of snapshots swapped in since the holder was created.
+     */
+    public long getReloads() {
+        return reloads.get();
+    }
+}
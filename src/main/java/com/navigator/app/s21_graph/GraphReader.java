@@ -0,0 +1,105 @@
+package com.navigator.app.s21_graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * Streaming loaders for the formats of {@link GraphFormat}.
+ * <p>
+ * Every loader reads the file line by line and adds edges straight to a {@link CompactGraph.Builder}, so a
+ * sparse graph costs {@code O(V + E)} memory however many vertices it has; only TSPLIB instances with an
+ * explicit weight section go through a full matrix, because that is how they are stored.
+ */
+public final class GraphReader {
+    private GraphReader() {
+    }
+
+    /**
+     * Reads a graph, detecting its format with {@link GraphFormat#detect(String)}.
+     *
+     * @param filename The file to read.
+     * @return The CSR graph.
+     * @throws IOException If the file cannot be read or is malformed.
+     */
+    public static CompactGraph read(String filename) throws IOException {
+        return read(filename, GraphFormat.detect(filename));
+    }
+
+    /**
+     * Reads a graph in the given format.
+     *
+     * @param filename The file to read.
+     * @param format   The format of the file.
+     * @return The CSR graph.
+     * @throws IOException If the file cannot be read or is malformed.
+     */
+    public static CompactGraph read(String filename, @NotNull GraphFormat format) throws IOException {
+        if (format == GraphFormat.TSPLIB) {
+            return TsplibInstance.read(filename).toCompactGraph();
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename), 1 << 16)) {
+            LineTokenizer tokens = new LineTokenizer(reader);
+            return switch (format) {
+                case ADJACENCY_MATRIX -> readAdjacencyMatrix(tokens);
+                case EDGE_LIST -> readEdgeList(tokens);
+                case DIMACS -> readDimacs(tokens);
+                default -> throw new IllegalStateException(format.name());
+            };
+        } catch (FileNotFoundException e) {
+            throw new IOException("File not found");
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IOException("File wrong format");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("File wrong format: " + e.getMessage());
+        }
+    }
+
+    private static CompactGraph readAdjacencyMatrix(LineTokenizer tokens) throws IOException {
+        if (!tokens.nextLine() || tokens.count() != 1) throw new IOException("File wrong format");
+        int size = tokens.intAt(0);
+        CompactGraph.Builder builder = CompactGraph.builder(size);
+        for (int row = 0; row < size; row++) {
+            if (!tokens.nextLine() || tokens.count() < size) throw new IOException("File wrong format");
+            for (int column = 0; column < size; column++) {
+                int weight = tokens.intAt(column);
+                if (weight != 0) builder.addEdge(row, column, weight);
+            }
+        }
+        return builder.build();
+    }
+
+    private static CompactGraph readEdgeList(LineTokenizer tokens) throws IOException {
+        CompactGraph.Builder builder = CompactGraph.builder();
+        while (tokens.nextLine()) {
+            if (tokens.count() == 0 || tokens.tokenStartsWith(0, '#') || tokens.tokenStartsWith(0, '%')) continue;
+            if (tokens.count() != 2 && tokens.count() != 3) throw new IOException("File wrong format");
+            int weight = tokens.count() == 3 ? tokens.intAt(2) : 1;
+            builder.addEdge(tokens.intAt(0), tokens.intAt(1), weight);
+        }
+        return builder.build();
+    }
+
+    private static CompactGraph readDimacs(LineTokenizer tokens) throws IOException {
+        CompactGraph.Builder builder = null;
+        while (tokens.nextLine()) {
+            if (tokens.count() == 0) continue;
+            String kind = tokens.token(0);
+            if (kind.equals("c")) continue;
+            if (kind.equals("p")) {
+                if (builder != null || tokens.count() != 4) throw new IOException("File wrong format");
+                builder = CompactGraph.builder(tokens.intAt(2)).ensureCapacity(tokens.intAt(3));
+            } else if (kind.equals("a")) {
+                if (builder == null || tokens.count() != 4) throw new IOException("File wrong format");
+                builder.addEdge(tokens.intAt(1) - 1, tokens.intAt(2) - 1, tokens.intAt(3));
+            } else {
+                throw new IOException("File wrong format");
+            }
+        }
+        if (builder == null) throw new IOException("File wrong format");
+        return builder.build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.navigator.app.s21_graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * An immutable graph: every load and edge update fails, so any number of threads can query it without locking
+ * and see the same graph from the first query to the last.
+ * <p>
+ * The adjacency matrix is still a plain list and must not be modified by callers. A snapshot of a graph attached
+ * to a {@link SharedGraphFile} keeps reading the mapping.
+ */
+public final class GraphSnapshot extends Graph {
+    private GraphSnapshot(@NotNull Graph source, boolean copyMatrix) {
+        super(source, copyMatrix);
+    }
+
+    /**
+     * Copies the current content of a graph; later changes to the graph are not seen.
+     *
+     * @param graph The graph to copy.
+     * @return The snapshot, with the version of the graph.
+     */
+    public static GraphSnapshot of(@NotNull Graph graph) {
+        if (graph instanceof GraphSnapshot) return (GraphSnapshot) graph;
+        return new GraphSnapshot(graph, true);
+    }
+
+    /**
+     * Loads a graph from a file, or attaches it if it is a {@link SharedGraphFile}.
+     *
+     * @param filename The graph file, in any {@link GraphFormat} or a shared graph file.
+     * @return The snapshot.
+     * @throws IOException If the file cannot be read or has a wrong format.
+     */
+    public static GraphSnapshot load(@NotNull String filename) throws IOException {
+        Path file = Paths.get(filename);
+        Graph graph;
+        if (SharedGraphFile.isSharedGraphFile(file)) {
+            graph = SharedGraphFile.attach(file);
+        } else {
+            graph = new Graph();
+            graph.loadGraphFromFile(filename);
+        }
+        return new GraphSnapshot(graph, false);
+    }
+
+    /**
+     * @throws IOException Always, a snapshot is never reloaded; load a new one instead.
+     */
+    @Override
+    public void loadGraphFromFile(String filename) throws IOException {
+        throw new IOException("Graph is read-only");
+    }
+
+    /**
+     * @throws IOException Always, a snapshot is never updated.
+     */
+    @Override
+    public void applyUpdates(@NotNull List<EdgeUpdate> updates) throws IOException {
+        throw new IOException("Graph is read-only");
+    }
+
+    @Override
+    public void addEdge(int from, int to, int weight) throws IOException {
+        throw new IOException("Graph is read-only");
+    }
+
+    @Override
+    public void removeEdge(int from, int to) throws IOException {
+        throw new IOException("Graph is read-only");
+    }
+}
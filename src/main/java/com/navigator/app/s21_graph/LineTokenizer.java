@@ -0,0 +1,101 @@
+package com.navigator.app.s21_graph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Splits the lines of a reader into whitespace-separated tokens without regular expressions or per-token
+ * strings; integers are parsed straight from the line. Used by the streaming loaders of {@link GraphReader}.
+ */
+class LineTokenizer {
+    private final BufferedReader reader;
+    private String line;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int count;
+    private long lineNumber;
+
+    LineTokenizer(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Advances to the next line.
+     *
+     * @return False at the end of the input.
+     */
+    boolean nextLine() throws IOException {
+        line = reader.readLine();
+        count = 0;
+        if (line == null) return false;
+        lineNumber++;
+
+        int length = line.length();
+        int position = 0;
+        while (position < length) {
+            while (position < length && Character.isWhitespace(line.charAt(position))) position++;
+            if (position == length) break;
+            int start = position;
+            while (position < length && !Character.isWhitespace(line.charAt(position))) position++;
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count++] = position;
+        }
+        return true;
+    }
+
+    /**
+     * @return The current line, untrimmed.
+     */
+    String line() {
+        return line;
+    }
+
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    int count() {
+        return count;
+    }
+
+    String token(int index) {
+        return line.substring(starts[index], ends[index]);
+    }
+
+    boolean tokenStartsWith(int index, char character) {
+        return line.charAt(starts[index]) == character;
+    }
+
+    /**
+     * Parses a token as a decimal {@code int}.
+     *
+     * @throws NumberFormatException If the token is not an integer or overflows.
+     */
+    int intAt(int index) {
+        int position = starts[index];
+        int end = ends[index];
+        boolean negative = line.charAt(position) == '-';
+        if (negative || line.charAt(position) == '+') position++;
+        if (position == end) throw new NumberFormatException(token(index));
+
+        long value = 0;
+        for (; position < end; position++) {
+            int digit = line.charAt(position) - '0';
+            if (digit < 0 || digit > 9) throw new NumberFormatException(token(index));
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) throw new NumberFormatException(token(index));
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) throw new NumberFormatException(token(index));
+        return (int) value;
+    }
+
+    double doubleAt(int index) {
+        return Double.parseDouble(token(index));
+    }
+}
@@ -0,0 +1,57 @@
+package com.navigator.app.s21_graph;
+
+import java.nio.IntBuffer;
+
+/**
+ * CSR graph reading its arrays from read-only memory-mapped buffers instead of heap arrays.
+ */
+class MappedCompactGraph extends CompactGraph {
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+
+    MappedCompactGraph(int numVertices, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        super(numVertices, null, null, null);
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    @Override
+    public int getNumEdges() {
+        return targets.limit();
+    }
+
+    @Override
+    public int edgeStart(int vertex) {
+        return offsets.get(vertex);
+    }
+
+    @Override
+    public int edgeEnd(int vertex) {
+        return offsets.get(vertex + 1);
+    }
+
+    @Override
+    public int degree(int vertex) {
+        return offsets.get(vertex + 1) - offsets.get(vertex);
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    @Override
+    public int weight(int edge) {
+        return weights.get(edge);
+    }
+
+    @Override
+    void copyEdges(int start, int length, int[] toTargets, int[] toWeights, int position) {
+        for (int i = 0; i < length; i++) {
+            toTargets[position + i] = targets.get(start + i);
+            toWeights[position + i] = weights.get(start + i);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.navigator.app.s21_graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A graph in CSR form stored in a file that processes map read-only, so several JVMs on a host share one copy
+ * through the page cache and start without parsing anything.
+ * <p>
+ * One process publishes the graph with {@link #publish(Graph, Path)}; the file is written next to its destination
+ * and moved into place atomically, so a process attaching concurrently sees either the old or the new graph, never
+ * a partial one. Other processes call {@link #attach(Path)} to get a read-only {@link Graph} over the mapping.
+ * <p>
+ * Layout, big-endian ints: magic, format version, number of vertices, number of edges, then the CSR offsets
+ * ({@code V + 1}), targets ({@code E}) and weights ({@code E}). Each array is mapped separately and has to stay
+ * below 2 GB.
+ */
+public final class SharedGraphFile {
+    private static final int FILE_MAGIC = 0x53324753;   // "S2GS"
+    private static final int FILE_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private SharedGraphFile() {
+    }
+
+    /**
+     * Writes the edges of a graph straight into the mapped edge arrays of a new shared file, for graphs that are
+     * never held in memory as a whole.
+     */
+    @FunctionalInterface
+    public interface EdgeFiller {
+        /**
+         * Stores the targets and weights of every vertex at the positions given by the offsets, in any order and
+         * from any number of threads, each using its own {@link IntBuffer#duplicate() duplicate} of the buffers.
+         *
+         * @param targets The target array, mapped read-write.
+         * @param weights The weight array, mapped read-write.
+         */
+        void fill(IntBuffer targets, IntBuffer weights) throws IOException;
+    }
+
+    /**
+     * Writes the graph to a shared file, replacing it atomically.
+     *
+     * @param graph The graph to publish.
+     * @param file  The shared file.
+     * @throws IOException If the graph is empty, too large, or the file cannot be written.
+     */
+    public static void publish(@NotNull Graph graph, @NotNull Path file) throws IOException {
+        publish(CompactGraph.fromGraph(graph), file);
+    }
+
+    /**
+     * Writes a CSR graph to a shared file, replacing it atomically.
+     *
+     * @param graph The graph to publish.
+     * @param file  The shared file.
+     * @throws IOException If the graph is too large, or the file cannot be written.
+     */
+    public static void publish(@NotNull CompactGraph graph, @NotNull Path file) throws IOException {
+        int numVertices = graph.getNumVertices();
+        int numEdges = graph.getNumEdges();
+        if (4L * (numVertices + 1) > Integer.MAX_VALUE || 4L * numEdges > Integer.MAX_VALUE) {
+            throw new IOException("Graph too large for a shared file");
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(numVertices);
+                out.writeInt(numEdges);
+                for (int vertex = 0; vertex < numVertices; vertex++) {
+                    out.writeInt(graph.edgeStart(vertex));
+                }
+                out.writeInt(numEdges);
+                for (int edge = 0; edge < numEdges; edge++) {
+                    out.writeInt(graph.target(edge));
+                }
+                for (int edge = 0; edge < numEdges; edge++) {
+                    out.writeInt(graph.weight(edge));
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Writes a shared file whose edges are filled in place, replacing it atomically. The header and the offsets
+     * are written first, then the edge arrays are mapped read-write and handed to the filler.
+     *
+     * @param offsets The CSR offsets, {@code V + 1} of them, starting at 0 and ending at the number of edges.
+     * @param file    The shared file.
+     * @param filler  Stores the edges.
+     * @throws IOException If the offsets are invalid, the graph is too large, or the file cannot be written.
+     */
+    public static void publish(@NotNull int[] offsets, @NotNull Path file, @NotNull EdgeFiller filler)
+            throws IOException {
+        int numVertices = offsets.length - 1;
+        if (numVertices < 1 || offsets[0] != 0) throw new IOException("Incorrect data");
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            if (offsets[vertex + 1] < offsets[vertex]) throw new IOException("Incorrect data");
+        }
+        int numEdges = offsets[numVertices];
+        if (4L * (numVertices + 1) > Integer.MAX_VALUE || 4L * numEdges > Integer.MAX_VALUE) {
+            throw new IOException("Graph too large for a shared file");
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(numVertices);
+                out.writeInt(numEdges);
+                for (int offset : offsets) {
+                    out.writeInt(offset);
+                }
+            }
+            long edgeStart = HEADER_BYTES + 4L * (numVertices + 1);
+            long edgeBytes = 4L * numEdges;
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                MappedByteBuffer targets = channel.map(FileChannel.MapMode.READ_WRITE, edgeStart, edgeBytes);
+                MappedByteBuffer weights = channel.map(FileChannel.MapMode.READ_WRITE, edgeStart + edgeBytes,
+                        edgeBytes);
+                filler.fill(targets.asIntBuffer(), weights.asIntBuffer());
+                targets.force();
+                weights.force();
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps a shared file as a read-only graph. Queries read the mapping directly; only the algorithms that need
+     * a full adjacency matrix (all-pairs shortest paths, spanning tree, TSP) build a private copy.
+     *
+     * @param file The shared file.
+     * @return The graph, whose updates all fail.
+     * @throws IOException If the file cannot be read or is not a shared graph file.
+     */
+    public static Graph attach(@NotNull Path file) throws IOException {
+        return Graph.shared(map(file), file.toString());
+    }
+
+    /**
+     * Maps a shared file as a CSR graph.
+     *
+     * @param file The shared file.
+     * @return The graph over the mapping.
+     * @throws IOException If the file cannot be read or is not a shared graph file.
+     */
+    public static CompactGraph map(@NotNull Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) throw new IOException("Incorrect data");
+            IntBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).asIntBuffer();
+            int numVertices = header.get(2);
+            int numEdges = header.get(3);
+            long offsetBytes = 4L * (numVertices + 1);
+            long edgeBytes = 4L * numEdges;
+            if (header.get(0) != FILE_MAGIC || header.get(1) != FILE_VERSION || numVertices < 1 || numEdges < 0
+                    || size != HEADER_BYTES + offsetBytes + 2 * edgeBytes) {
+                throw new IOException("Incorrect data");
+            }
+
+            IntBuffer offsets = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, offsetBytes).asIntBuffer();
+            IntBuffer targets = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offsetBytes, edgeBytes)
+                    .asIntBuffer();
+            IntBuffer weights = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offsetBytes + edgeBytes,
+                    edgeBytes).asIntBuffer();
+            if (offsets.get(0) != 0 || offsets.get(numVertices) != numEdges) {
+                throw new IOException("Incorrect data");
+            }
+            return new MappedCompactGraph(numVertices, offsets, targets, weights);
+        } catch (IOException e) {
+            if (!Files.exists(file)) throw new IOException("File not found");
+            throw e;
+        }
+    }
+
+    /**
+     * @return True if the file starts like a shared graph file.
+     */
+    public static boolean isSharedGraphFile(@NotNull Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new DataInputStream(in).readInt() == FILE_MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
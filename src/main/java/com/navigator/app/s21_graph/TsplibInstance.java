@@ -0,0 +1,266 @@
+package com.navigator.app.s21_graph;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * A TSPLIB {@code TSP} or {@code ATSP} instance.
+ * <p>
+ * {@code EUC_2D} and {@code CEIL_2D} instances keep only their coordinates, {@code 2 * V} doubles, and compute
+ * distances on demand with the TSPLIB rounding. {@code EXPLICIT} instances expand the full matrix or any of the
+ * triangular row and column formats of their weight section into a full matrix.
+ */
+public class TsplibInstance {
+    @Getter
+    private final String name;
+    @Getter
+    private final String type;
+    @Getter
+    private final String edgeWeightType;
+    private final int dimension;
+    private final double[] x;
+    private final double[] y;
+    private final int[] weights;
+
+    private TsplibInstance(String name, String type, String edgeWeightType, int dimension,
+                           double[] x, double[] y, int[] weights) {
+        this.name = name;
+        this.type = type;
+        this.edgeWeightType = edgeWeightType;
+        this.dimension = dimension;
+        this.x = x;
+        this.y = y;
+        this.weights = weights;
+    }
+
+    /**
+     * Reads an instance from a TSPLIB file.
+     *
+     * @param filename The file to read.
+     * @return The instance.
+     * @throws IOException If the file cannot be read, is malformed, or uses an unsupported edge weight type.
+     */
+    public static TsplibInstance read(String filename) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+            return read(new LineTokenizer(reader));
+        } catch (FileNotFoundException e) {
+            throw new IOException("File not found");
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IOException("File wrong format");
+        }
+    }
+
+    /**
+     * Reads an instance from a TSPLIB stream, such as a classpath resource.
+     *
+     * @param input The stream to read; closed when done.
+     * @return The instance.
+     * @throws IOException If the stream cannot be read, is malformed, or uses an unsupported edge weight type.
+     */
+    public static TsplibInstance read(@NotNull InputStream input) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return read(new LineTokenizer(reader));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IOException("File wrong format");
+        }
+    }
+
+    static TsplibInstance read(@NotNull LineTokenizer tokens) throws IOException {
+        String name = "";
+        String type = "TSP";
+        String edgeWeightType = null;
+        String edgeWeightFormat = "FULL_MATRIX";
+        int dimension = -1;
+        double[] x = null;
+        double[] y = null;
+        int[] weights = null;
+
+        while (tokens.nextLine()) {
+            String line = tokens.line().trim();
+            if (line.isEmpty()) continue;
+            int colon = line.indexOf(':');
+            String key = (colon < 0 ? line : line.substring(0, colon)).trim().toUpperCase(Locale.ROOT);
+            String value = colon < 0 ? "" : line.substring(colon + 1).trim();
+
+            switch (key) {
+                case "NAME" -> name = value;
+                case "TYPE" -> type = value.toUpperCase(Locale.ROOT);
+                case "DIMENSION" -> dimension = Integer.parseInt(value);
+                case "EDGE_WEIGHT_TYPE" -> edgeWeightType = value.toUpperCase(Locale.ROOT);
+                case "EDGE_WEIGHT_FORMAT" -> edgeWeightFormat = value.toUpperCase(Locale.ROOT);
+                case "NODE_COORD_SECTION" -> {
+                    checkDimension(dimension);
+                    x = new double[dimension];
+                    y = new double[dimension];
+                    for (int i = 0; i < dimension; i++) {
+                        if (!nextDataLine(tokens) || tokens.count() < 3) throw new IOException("File wrong format");
+                        int vertex = tokens.intAt(0) - 1;
+                        x[vertex] = tokens.doubleAt(1);
+                        y[vertex] = tokens.doubleAt(2);
+                    }
+                }
+                case "EDGE_WEIGHT_SECTION" -> {
+                    checkDimension(dimension);
+                    weights = readWeights(tokens, dimension, edgeWeightFormat);
+                }
+                case "EOF" -> {
+                    return build(name, type, edgeWeightType, dimension, x, y, weights);
+                }
+                default -> {
+                    // COMMENT, DISPLAY_DATA_TYPE and other keys that do not affect distances
+                    if (key.endsWith("_SECTION")) skipSection(tokens);
+                }
+            }
+        }
+        return build(name, type, edgeWeightType, dimension, x, y, weights);
+    }
+
+    private static TsplibInstance build(String name, String type, String edgeWeightType, int dimension,
+                                        double[] x, double[] y, int[] weights) throws IOException {
+        checkDimension(dimension);
+        if (!type.equals("TSP") && !type.equals("ATSP")) {
+            throw new IOException("Unsupported TSPLIB type " + type);
+        }
+        if ("EXPLICIT".equals(edgeWeightType)) {
+            if (weights == null) throw new IOException("File wrong format");
+            return new TsplibInstance(name, type, edgeWeightType, dimension, null, null, weights);
+        }
+        if ("EUC_2D".equals(edgeWeightType) || "CEIL_2D".equals(edgeWeightType)) {
+            if (x == null) throw new IOException("File wrong format");
+            return new TsplibInstance(name, type, edgeWeightType, dimension, x, y, null);
+        }
+        throw new IOException("Unsupported edge weight type " + edgeWeightType);
+    }
+
+    private static int[] readWeights(LineTokenizer tokens, int dimension, String format) throws IOException {
+        // a symmetric matrix stored by columns is the same sequence as the opposite triangle stored by rows
+        String byRows = switch (format) {
+            case "UPPER_COL" -> "LOWER_ROW";
+            case "LOWER_COL" -> "UPPER_ROW";
+            case "UPPER_DIAG_COL" -> "LOWER_DIAG_ROW";
+            case "LOWER_DIAG_COL" -> "UPPER_DIAG_ROW";
+            default -> format;
+        };
+        long total = switch (byRows) {
+            case "FULL_MATRIX" -> (long) dimension * dimension;
+            case "UPPER_ROW", "LOWER_ROW" -> (long) dimension * (dimension - 1) / 2;
+            case "UPPER_DIAG_ROW", "LOWER_DIAG_ROW" -> (long) dimension * (dimension + 1) / 2;
+            default -> throw new IOException("Unsupported edge weight format " + format);
+        };
+
+        long cells = (long) dimension * dimension;
+        if (cells > Integer.MAX_VALUE) throw new IOException("Instance is too large for a weight matrix");
+
+        int[] values = new int[(int) total];
+        int read = 0;
+        while (read < total) {
+            if (!nextDataLine(tokens)) throw new IOException("File wrong format");
+            for (int i = 0; i < tokens.count() && read < total; i++) {
+                values[read++] = tokens.intAt(i);
+            }
+        }
+
+        int[] weights = new int[(int) cells];
+        int next = 0;
+        for (int row = 0; row < dimension; row++) {
+            int first = switch (byRows) {
+                case "UPPER_ROW" -> row + 1;
+                case "UPPER_DIAG_ROW" -> row;
+                default -> 0;
+            };
+            int last = switch (byRows) {
+                case "LOWER_ROW" -> row - 1;
+                case "LOWER_DIAG_ROW" -> row;
+                default -> dimension - 1;
+            };
+            for (int column = first; column <= last; column++) {
+                int weight = values[next++];
+                weights[row * dimension + column] = weight;
+                if (!byRows.equals("FULL_MATRIX")) weights[column * dimension + row] = weight;
+            }
+        }
+        return weights;
+    }
+
+    private static boolean nextDataLine(LineTokenizer tokens) throws IOException {
+        while (tokens.nextLine()) {
+            if (tokens.count() > 0) return true;
+        }
+        return false;
+    }
+
+    private static void skipSection(LineTokenizer tokens) throws IOException {
+        // data sections not needed for distances hold numbers only; stop at the next keyword
+        while (tokens.nextLine()) {
+            if (tokens.count() > 0 && !isNumber(tokens.token(0))) return;
+        }
+    }
+
+    private static boolean isNumber(String token) {
+        char first = token.charAt(0);
+        return Character.isDigit(first) || first == '-' || first == '+' || first == '.';
+    }
+
+    private static void checkDimension(int dimension) throws IOException {
+        if (dimension < 1) throw new IOException("File wrong format");
+    }
+
+    public int getNumVertices() {
+        return dimension;
+    }
+
+    /**
+     * @return Whether the instance has coordinates rather than an explicit weight matrix.
+     */
+    public boolean hasCoordinates() {
+        return x != null;
+    }
+
+    public double getX(int vertex) {
+        return x[vertex];
+    }
+
+    public double getY(int vertex) {
+        return y[vertex];
+    }
+
+    /**
+     * Computes the TSPLIB distance between two vertices: the Euclidean distance rounded to the nearest
+     * integer for {@code EUC_2D}, rounded up for {@code CEIL_2D}, and the matrix entry for {@code EXPLICIT}.
+     */
+    public int distance(int from, int to) {
+        if (weights != null) return weights[from * dimension + to];
+        double dx = x[from] - x[to];
+        double dy = y[from] - y[to];
+        double euclidean = Math.sqrt(dx * dx + dy * dy);
+        return edgeWeightType.equals("CEIL_2D") ? (int) Math.ceil(euclidean) : (int) (euclidean + 0.5);
+    }
+
+    /**
+     * Builds the complete graph of the instance, streaming edges into a CSR builder without a matrix.
+     * Pairs at distance 0 get no edge, as 0 marks a missing edge throughout the graph model.
+     *
+     * @return The CSR graph.
+     */
+    public CompactGraph toCompactGraph() {
+        CompactGraph.Builder builder = CompactGraph.builder(dimension)
+                .ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, (long) dimension * (dimension - 1)));
+        for (int from = 0; from < dimension; from++) {
+            for (int to = 0; to < dimension; to++) {
+                if (from == to) continue;
+                int weight = distance(from, to);
+                if (weight != 0) builder.addEdge(from, to, weight);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.navigator.app.s21_graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A renumbering of the vertices {@code 0..n-1}, kept in both directions.
+ * <p>
+ * "Old" ids are the ones of the original graph, "new" ids the ones of the permuted graph. Queries run on the
+ * permuted graph with new ids; the {@code restore} methods translate their results back to old ids.
+ */
+public class VertexPermutation {
+    private final int[] newToOld;
+    private final int[] oldToNew;
+
+    /**
+     * @param order The old id of every new id: vertex {@code order[i]} becomes vertex {@code i}. Not copied.
+     * @throws IllegalArgumentException If the order is not a permutation.
+     */
+    public VertexPermutation(int[] order) {
+        int[] inverse = new int[order.length];
+        Arrays.fill(inverse, -1);
+        for (int newId = 0; newId < order.length; newId++) {
+            int oldId = order[newId];
+            if (oldId < 0 || oldId >= order.length || inverse[oldId] >= 0) {
+                throw new IllegalArgumentException("Order is not a permutation");
+            }
+            inverse[oldId] = newId;
+        }
+        this.newToOld = order;
+        this.oldToNew = inverse;
+    }
+
+    public static VertexPermutation identity(int numVertices) {
+        int[] order = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            order[i] = i;
+        }
+        return new VertexPermutation(order);
+    }
+
+    /**
+     * A uniformly random permutation, for simulating the arbitrary ids of an input file.
+     */
+    public static VertexPermutation random(int numVertices, long seed) {
+        int[] order = identity(numVertices).newToOld;
+        Random random = new Random(seed);
+        for (int i = numVertices - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return new VertexPermutation(order);
+    }
+
+    public int size() {
+        return newToOld.length;
+    }
+
+    public int toNew(int oldId) {
+        return oldToNew[oldId];
+    }
+
+    public int toOld(int newId) {
+        return newToOld[newId];
+    }
+
+    /**
+     * @return The permutation translating the other way round.
+     */
+    public VertexPermutation inverse() {
+        return new VertexPermutation(oldToNew.clone());
+    }
+
+    /**
+     * Builds the permuted graph: edge {@code u -> v} becomes {@code toNew(u) -> toNew(v)}.
+     */
+    public CompactGraph apply(@NotNull CompactGraph graph) {
+        checkSize(graph.getNumVertices());
+        CompactGraph.Builder builder = CompactGraph.builder(graph.getNumVertices()).ensureCapacity(graph.getNumEdges());
+        for (int newId = 0; newId < newToOld.length; newId++) {
+            int oldId = newToOld[newId];
+            for (int edge = graph.edgeStart(oldId); edge < graph.edgeEnd(oldId); edge++) {
+                builder.addEdge(newId, oldToNew[graph.target(edge)], graph.weight(edge));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Translates a list of new ids, such as a path, a traversal order or a tour, to old ids.
+     */
+    public ArrayList<Integer> restore(@NotNull List<Integer> vertices) {
+        ArrayList<Integer> restored = new ArrayList<>(vertices.size());
+        for (int vertex : vertices) {
+            restored.add(newToOld[vertex]);
+        }
+        return restored;
+    }
+
+    /**
+     * Moves per-vertex values indexed by new id to their old ids; the values themselves are kept.
+     */
+    public int[] restoreValues(int @NotNull [] values) {
+        checkSize(values.length);
+        int[] restored = new int[values.length];
+        for (int newId = 0; newId < values.length; newId++) {
+            restored[newToOld[newId]] = values[newId];
+        }
+        return restored;
+    }
+
+    /**
+     * Moves the rows and columns of a vertex-by-vertex matrix indexed by new ids to their old ids.
+     */
+    public ArrayList<ArrayList<Integer>> restoreMatrix(@NotNull List<? extends List<Integer>> matrix) {
+        checkSize(matrix.size());
+        int size = matrix.size();
+        ArrayList<ArrayList<Integer>> restored = new ArrayList<>(size);
+        for (int oldRow = 0; oldRow < size; oldRow++) {
+            List<Integer> row = matrix.get(oldToNew[oldRow]);
+            ArrayList<Integer> restoredRow = new ArrayList<>(size);
+            for (int oldColumn = 0; oldColumn < size; oldColumn++) {
+                restoredRow.add(row.get(oldToNew[oldColumn]));
+            }
+            restored.add(restoredRow);
+        }
+        return restored;
+    }
+
+    private void checkSize(int numVertices) {
+        if (numVertices != newToOld.length) {
+            throw new IllegalArgumentException(
+                    "Permutation is for " + newToOld.length + " vertices, not " + numVertices);
+        }
+    }
+}
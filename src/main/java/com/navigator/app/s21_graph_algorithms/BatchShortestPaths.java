@@ -0,0 +1,151 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.s21_graph.CompactGraph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers many (source, target) shortest-path queries at once.
+ * <p>
+ * Queries are grouped by source, and every distinct source gets a single one-to-many Dijkstra that stops as soon as
+ * all targets of that source are settled. Groups are handed out to workers through a shared counter, and each
+ * worker reuses one {@link DijkstraSearch} workspace for all the groups it takes.
+ */
+public class BatchShortestPaths {
+    private final CompactGraph graph;
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    public BatchShortestPaths(@NotNull CompactGraph graph) {
+        this(graph, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * @param graph       The graph to query.
+     * @param executor    The pool running the workers.
+     * @param parallelism Maximum number of workers used per batch.
+     */
+    public BatchShortestPaths(@NotNull CompactGraph graph, @NotNull ExecutorService executor, int parallelism) {
+        this.graph = graph;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Computes the shortest distance of every query.
+     *
+     * @param sources Source vertex of every query.
+     * @param targets Target vertex of every query, aligned with the sources.
+     * @param token   The cancellation token polled by every search.
+     * @return Distances aligned with the queries, {@link DijkstraSearch#UNREACHABLE} where no path exists.
+     * @throws IOException If the arrays differ in length, a vertex does not exist, or the batch was cancelled.
+     */
+    public int[] distances(int[] sources, int[] targets, @NotNull CancellationToken token) throws IOException {
+        if (sources.length != targets.length) {
+            throw new IOException("Sources and targets differ in length");
+        }
+        for (int i = 0; i < sources.length; i++) {
+            checkVertex(sources[i]);
+            checkVertex(targets[i]);
+        }
+
+        int[] queryOrder = groupBySource(sources);
+        int[] sortedTargets = new int[queryOrder.length];
+        for (int i = 0; i < queryOrder.length; i++) {
+            sortedTargets[i] = targets[queryOrder[i]];
+        }
+        int[] groupStarts = groupStarts(sources, queryOrder);
+
+        int[] result = new int[sources.length];
+        int groups = groupStarts.length - 1;
+        AtomicInteger nextGroup = new AtomicInteger();
+        int workers = Math.min(parallelism, groups);
+
+        if (workers <= 1) {
+            runWorker(sources, queryOrder, sortedTargets, groupStarts, nextGroup, result, token);
+            return result;
+        }
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(() -> {
+                runWorker(sources, queryOrder, sortedTargets, groupStarts, nextGroup, result, token);
+                return null;
+            }));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Batch query failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        }
+        return result;
+    }
+
+    private void runWorker(int[] sources, int[] queryOrder, int[] sortedTargets, int[] groupStarts,
+                           AtomicInteger nextGroup, int[] result, CancellationToken token) throws IOException {
+        DijkstraSearch search = new DijkstraSearch(graph);
+        int groups = groupStarts.length - 1;
+        for (int group = nextGroup.getAndIncrement(); group < groups; group = nextGroup.getAndIncrement()) {
+            token.throwIfCancelled();
+            int from = groupStarts[group];
+            int to = groupStarts[group + 1];
+            search.search(sources[queryOrder[from]], sortedTargets, from, to, token);
+            for (int i = from; i < to; i++) {
+                result[queryOrder[i]] = search.distance(sortedTargets[i]);
+            }
+        }
+    }
+
+    /**
+     * @return Query indices sorted by source, stable within a source.
+     */
+    private static int[] groupBySource(int[] sources) {
+        long[] keys = new long[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            keys[i] = ((long) sources[i] << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+        int[] order = new int[sources.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * @return Start index of every source group in the sorted order, followed by the total count.
+     */
+    private static int[] groupStarts(int[] sources, int[] queryOrder) {
+        int[] starts = new int[queryOrder.length + 1];
+        int groups = 0;
+        for (int i = 0; i < queryOrder.length; i++) {
+            if (i == 0 || sources[queryOrder[i]] != sources[queryOrder[i - 1]]) {
+                starts[groups++] = i;
+            }
+        }
+        starts[groups] = queryOrder.length;
+        return Arrays.copyOf(starts, groups + 1);
+    }
+
+    private void checkVertex(int vertex) throws IOException {
+        if (vertex < 0 || vertex >= graph.getNumVertices()) {
+            throw new IOException("Vertex not found");
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.Graph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Depth-first and breadth-first traversal engine over a bitset adjacency matrix.
+ * <p>
+ * Each adjacency row is packed into {@code ceil(V / 64)} words, the visited set is a {@code long[]} bitset and
+ * the frontier lives in a plain {@code int[]} stack or ring buffer. Unvisited neighbours are found a word at a
+ * time with {@code row & ~visited}, so a traversal touches {@code V * V / 64} words instead of {@code V * V}
+ * boxed integers. The engine is built once per graph and can be reused for any number of traversals;
+ * the visit order is identical to {@link GraphAlgorithms#DepthFirstSearch} and
+ * {@link GraphAlgorithms#BreadthFirstSearch}.
+ */
+public class BitsetTraversal {
+    private final int numVertices;
+    private final int words;
+    private final long[] adjacency;
+
+    /**
+     * Packs the adjacency matrix of the graph into bitset rows; a graph attached to a shared file is packed from its
+     * CSR form.
+     *
+     * @param graph The graph to traverse.
+     * @throws IOException If the graph is empty or too large for bitset rows.
+     */
+    public BitsetTraversal(@NotNull Graph graph) throws IOException {
+        if (graph.getNumVertices() == 0) {
+            throw new IOException("Graph is empty");
+        }
+        this.numVertices = graph.getNumVertices();
+        this.words = wordsFor(numVertices);
+        if ((long) numVertices * words > Integer.MAX_VALUE) {
+            throw new IOException("Graph too large for an adjacency matrix");
+        }
+        this.adjacency = new long[numVertices * words];
+
+        if (graph.isShared()) {
+            CompactGraph compact = CompactGraph.fromGraph(graph);
+            for (int i = 0; i < numVertices; i++) {
+                for (int edge = compact.edgeStart(i); edge < compact.edgeEnd(i); edge++) {
+                    adjacency[i * words + (compact.target(edge) >>> 6)] |= 1L << compact.target(edge);
+                }
+            }
+            return;
+        }
+        ArrayList<ArrayList<Integer>> matrix = graph.requireAdjacencyMatrix();
+        for (int i = 0; i < numVertices; i++) {
+            ArrayList<Integer> row = matrix.get(i);
+            int base = i * words;
+            for (int j = 0; j < numVertices; j++) {
+                if (row.get(j) != 0) {
+                    adjacency[base + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs a depth-first search (DFS) starting from the specified vertex.
+     *
+     * @param startVertex The starting vertex for the DFS traversal.
+     * @return The visited vertices in visit order.
+     * @throws IOException If the vertex does not exist.
+     */
+    public int[] depthFirstSearch(int startVertex) throws IOException {
+        return depthFirstSearch(startVertex, CancellationToken.none());
+    }
+
+    /**
+     * Performs a depth-first search (DFS) that stops when the cancellation token fires.
+     * <p>
+     * Every stack frame keeps the word of its adjacency row it has scanned up to, so each row is scanned
+     * once in total over the whole traversal.
+     *
+     * @param startVertex The starting vertex for the DFS traversal.
+     * @param token       The cancellation token polled once per visited vertex.
+     * @return The visited vertices in visit order.
+     * @throws IOException If the vertex does not exist, or the search was cancelled.
+     */
+    public int[] depthFirstSearch(int startVertex, @NotNull CancellationToken token) throws IOException {
+        checkVertex(startVertex);
+
+        long[] visited = new long[words];
+        int[] order = new int[numVertices];
+        int[] stack = new int[numVertices];
+        int[] cursor = new int[numVertices];
+        int visitedCount = 0;
+        int depth = 0;
+
+        visited[startVertex >>> 6] |= 1L << startVertex;
+        order[visitedCount++] = startVertex;
+        stack[depth++] = startVertex;
+
+        while (depth > 0) {
+            int base = stack[depth - 1] * words;
+            int word = cursor[depth - 1];
+            long candidates = 0;
+            while (word < words && (candidates = adjacency[base + word] & ~visited[word]) == 0) {
+                word++;
+            }
+            cursor[depth - 1] = word;
+
+            if (candidates == 0) {
+                depth--;
+                continue;
+            }
+
+            token.throwIfCancelled();
+            int next = (word << 6) + Long.numberOfTrailingZeros(candidates);
+            visited[word] |= candidates & -candidates;
+            order[visitedCount++] = next;
+            stack[depth] = next;
+            cursor[depth] = 0;
+            depth++;
+        }
+        return trim(order, visitedCount);
+    }
+
+    /**
+     * Performs a breadth-first search (BFS) starting from the specified vertex.
+     *
+     * @param startVertex The starting vertex for the BFS traversal.
+     * @return The visited vertices in visit order.
+     * @throws IOException If the vertex does not exist.
+     */
+    public int[] breadthFirstSearch(int startVertex) throws IOException {
+        return breadthFirstSearch(startVertex, CancellationToken.none());
+    }
+
+    /**
+     * Performs a breadth-first search (BFS) that stops when the cancellation token fires.
+     * <p>
+     * All unvisited neighbours in a word are claimed with a single {@code visited |= bits} and appended to the
+     * queue in ascending order. Every vertex is enqueued at most once, so the queue array doubles as the
+     * visit order.
+     *
+     * @param startVertex The starting vertex for the BFS traversal.
+     * @param token       The cancellation token polled once per visited vertex.
+     * @return The visited vertices in visit order.
+     * @throws IOException If the vertex does not exist, or the search was cancelled.
+     */
+    public int[] breadthFirstSearch(int startVertex, @NotNull CancellationToken token) throws IOException {
+        checkVertex(startVertex);
+
+        long[] visited = new long[words];
+        int[] queue = new int[numVertices];
+        int head = 0;
+        int tail = 0;
+
+        visited[startVertex >>> 6] |= 1L << startVertex;
+        queue[tail++] = startVertex;
+
+        while (head < tail) {
+            token.throwIfCancelled();
+            int base = queue[head++] * words;
+            for (int word = 0; word < words; word++) {
+                long candidates = adjacency[base + word] & ~visited[word];
+                if (candidates == 0) continue;
+                visited[word] |= candidates;
+                int offset = word << 6;
+                while (candidates != 0) {
+                    queue[tail++] = offset + Long.numberOfTrailingZeros(candidates);
+                    candidates &= candidates - 1;
+                }
+            }
+        }
+        return trim(queue, tail);
+    }
+
+    /**
+     * @return Number of vertices of the traversed graph.
+     */
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    private static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static int[] trim(int[] values, int length) {
+        if (length == values.length) return values;
+        int[] result = new int[length];
+        System.arraycopy(values, 0, result, 0, length);
+        return result;
+    }
+
+    private void checkVertex(int vertex) throws IOException {
+        if (vertex < 0 || vertex >= numVertices) {
+            throw new IOException("Vertex not found");
+        }
+    }
+}
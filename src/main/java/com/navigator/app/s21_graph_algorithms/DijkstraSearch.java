@@ -0,0 +1,182 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.models.shortestPath.ShortestPathTree;
+import com.navigator.app.models.structures.IndexedMinHeap;
+import com.navigator.app.s21_graph.CompactGraph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reusable one-to-many Dijkstra workspace over a {@link CompactGraph}.
+ * <p>
+ * All per-vertex state is held in primitive arrays allocated once. Instead of clearing them between searches,
+ * each search bumps a stamp and a vertex's entries count only if its stamp matches, so a search costs time
+ * proportional to the part of the graph it explores. Not thread-safe: use one instance per thread.
+ */
+public class DijkstraSearch {
+    /** Distance reported for vertices the last search did not settle. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int CANCELLATION_CHECK_MASK = 0xFF;
+
+    private final CompactGraph graph;
+    private final int[] distances;
+    private final int[] parents;
+    private final int[] reachedStamp;
+    private final int[] settledStamp;
+    private final int[] targetStamp;
+    private final IndexedMinHeap heap;
+    private int stamp;
+    private int settledCount;
+    private int source = -1;
+
+    public DijkstraSearch(@NotNull CompactGraph graph) {
+        int numVertices = graph.getNumVertices();
+        this.graph = graph;
+        this.distances = new int[numVertices];
+        this.parents = new int[numVertices];
+        this.reachedStamp = new int[numVertices];
+        this.settledStamp = new int[numVertices];
+        this.targetStamp = new int[numVertices];
+        this.heap = new IndexedMinHeap(numVertices);
+    }
+
+    /**
+     * Settles every vertex reachable from the source.
+     *
+     * @param source The source vertex.
+     * @param token  The cancellation token polled every 256 settled vertices.
+     * @throws IOException If the source does not exist, or the search was cancelled.
+     */
+    public void search(int source, @NotNull CancellationToken token) throws IOException {
+        search(source, null, 0, 0, token);
+    }
+
+    /**
+     * Runs Dijkstra from the source until every listed target is settled.
+     *
+     * @param source  The source vertex.
+     * @param targets Array holding the targets, or null to settle the whole reachable graph.
+     * @param from    First index of the targets in the array, inclusive.
+     * @param to      Last index of the targets in the array, exclusive.
+     * @param token   The cancellation token polled every 256 settled vertices.
+     * @throws IOException If a vertex does not exist, or the search was cancelled.
+     */
+    public void search(int source, int[] targets, int from, int to, @NotNull CancellationToken token) throws IOException {
+        checkVertex(source);
+        nextStamp();
+        this.source = source;
+
+        int remainingTargets = Integer.MAX_VALUE;
+        if (targets != null) {
+            remainingTargets = 0;
+            for (int i = from; i < to; i++) {
+                checkVertex(targets[i]);
+                if (targetStamp[targets[i]] != stamp) {
+                    targetStamp[targets[i]] = stamp;
+                    remainingTargets++;
+                }
+            }
+        }
+
+        distances[source] = 0;
+        parents[source] = -1;
+        reachedStamp[source] = stamp;
+        heap.pushOrDecrease(source, 0);
+        int relaxed = 0;
+
+        try {
+            while (!heap.isEmpty() && remainingTargets > 0) {
+                int vertex = heap.pop();
+                settledStamp[vertex] = stamp;
+                if ((++settledCount & CANCELLATION_CHECK_MASK) == 0) {
+                    token.throwIfCancelled();
+                }
+                if (targetStamp[vertex] == stamp && --remainingTargets == 0) break;
+
+                int distance = distances[vertex];
+                for (int edge = graph.edgeStart(vertex); edge < graph.edgeEnd(vertex); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (settledStamp[neighbor] == stamp) continue;
+                    int newDistance = distance + graph.weight(edge);
+                    if (reachedStamp[neighbor] != stamp || newDistance < distances[neighbor]) {
+                        reachedStamp[neighbor] = stamp;
+                        distances[neighbor] = newDistance;
+                        parents[neighbor] = vertex;
+                        relaxed++;
+                        heap.pushOrDecrease(neighbor, newDistance);
+                    }
+                }
+            }
+        } finally {
+            heap.clear();
+            Metrics.add("dijkstra.verticesSettled", settledCount);
+            Metrics.add("dijkstra.edgesRelaxed", relaxed);
+        }
+    }
+
+    /**
+     * @return The shortest distance found by the last search, or {@link #UNREACHABLE} if it did not settle the vertex.
+     */
+    public int distance(int vertex) {
+        return settledStamp[vertex] == stamp ? distances[vertex] : UNREACHABLE;
+    }
+
+    /**
+     * @return The predecessor on the shortest path of the last search, or -1 for the source and unsettled vertices.
+     */
+    public int parent(int vertex) {
+        return settledStamp[vertex] == stamp ? parents[vertex] : -1;
+    }
+
+    /**
+     * Copies the result of the last search, which must have settled the whole reachable graph.
+     *
+     * @return The shortest-path tree of the last search.
+     */
+    public ShortestPathTree toTree() {
+        int numVertices = graph.getNumVertices();
+        int[] treeDistances = new int[numVertices];
+        int[] treeParents = new int[numVertices];
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            treeDistances[vertex] = distance(vertex);
+            treeParents[vertex] = parent(vertex);
+        }
+        return new ShortestPathTree(source, treeDistances, treeParents);
+    }
+
+    public boolean isSettled(int vertex) {
+        return settledStamp[vertex] == stamp;
+    }
+
+    /**
+     * @return Number of vertices settled by the last search.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    private void nextStamp() {
+        settledCount = 0;
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(reachedStamp, 0);
+            Arrays.fill(settledStamp, 0);
+            Arrays.fill(targetStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    private void checkVertex(int vertex) throws IOException {
+        if (vertex < 0 || vertex >= graph.getNumVertices()) {
+            throw new IOException("Vertex not found");
+        }
+    }
+}
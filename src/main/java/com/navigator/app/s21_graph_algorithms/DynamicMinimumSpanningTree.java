@@ -0,0 +1,368 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.models.structures.DisjointSets;
+import com.navigator.app.models.structures.IntStack;
+import com.navigator.app.models.structures.LinkCutTree;
+import com.navigator.app.s21_graph.EdgeChange;
+import com.navigator.app.s21_graph.Graph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Minimum spanning forest of a graph, kept up to date under edge updates instead of being recomputed.
+ * <p>
+ * The graph is treated as undirected: the weight of the edge {@code {u, v}} is the smaller non-zero weight of
+ * {@code u -> v} and {@code v -> u}. The forest lives in a {@link LinkCutTree} in which every tree edge is a node
+ * of its own, so the heaviest edge on any tree path is found in {@code O(log V)} amortized time:
+ * <ul>
+ * <li>An inserted or lighter non-tree edge replaces the heaviest edge of the cycle it closes, if that is heavier.
+ * A lighter tree edge stays in the tree.</li>
+ * <li>A removed or heavier tree edge is cut, and the lightest non-tree edge reconnecting the two halves takes
+ * its place; a heavier edge is itself a candidate. Non-tree edges are kept sorted by weight and probed in
+ * ascending order with an {@code O(log V)} connectivity check each.</li>
+ * <li>Changes of other non-tree edges only reorder the sorted set.</li>
+ * </ul>
+ * Insertions and weight decreases take {@code O(log V)} amortized time, but deletions and increases of tree
+ * edges are not polylogarithmic: every lighter non-tree edge may lie on one side of the cut, and how many there
+ * are depends on the density of the graph, not on the update rate, so the probe costs {@code O(E log V)} in the
+ * worst case. Once it has made {@code V + E / log V} probes it gives up and relinks the whole forest with
+ * Kruskal's algorithm over the already sorted edges and a union-find, which takes {@code O(E + V log V)}; that
+ * bounds every update by {@code O(E + V log V)}. Counted in the {@code mst.relinks} metric.
+ * {@link #update()} pulls the changes recorded in the graph's journal since the last call; after a reload the
+ * forest is rebuilt.
+ */
+public class DynamicMinimumSpanningTree {
+    private final Graph graph;
+    private int numVertices;
+    private long graphVersion;
+    private LinkCutTree tree;
+    private HashMap<Long, Integer> edgeIds;
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] edgeWeight;
+    private int[] edgeSlot;         // tree slot of the edge, or -1 for non-tree edges
+    private int edgeCount;
+    private IntStack freeEdges;
+    private int[] slotEdge;         // tree slot -> edge
+    private IntStack freeSlots;
+    private TreeSet<Long> nonTreeEdges;   // (weight << 32) | edge
+    private long totalWeight;
+    private int numTreeEdges;
+
+    /**
+     * Builds the minimum spanning forest of the graph with Kruskal's algorithm.
+     *
+     * @param graph The graph whose forest is maintained.
+     * @throws IOException If the graph is empty or too large for an adjacency matrix.
+     */
+    public DynamicMinimumSpanningTree(@NotNull Graph graph) throws IOException {
+        this.graph = graph;
+        rebuild();
+    }
+
+    /**
+     * Applies the edge updates made to the graph since the last call.
+     *
+     * @throws IOException If the graph was reloaded and is now empty.
+     */
+    public synchronized void update() throws IOException {
+        long version = graph.getVersion();
+        if (version == graphVersion) return;
+
+        List<EdgeChange> changes = graph.changesSince(graphVersion);
+        if (changes == null || graph.getNumVertices() != numVertices) {
+            rebuild();
+            return;
+        }
+        for (EdgeChange change : changes) {
+            int from = Math.min(change.getFrom(), change.getTo());
+            int to = Math.max(change.getFrom(), change.getTo());
+            if (from != to) {
+                setWeight(from, to, undirectedWeight(from, to));
+            }
+        }
+        graphVersion = version;
+    }
+
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public synchronized int getNumTreeEdges() {
+        return numTreeEdges;
+    }
+
+    /**
+     * @return True if the undirected edge between the vertices is in the forest.
+     */
+    public synchronized boolean isTreeEdge(int first, int second) {
+        Integer edge = edgeIds.get(key(Math.min(first, second), Math.max(first, second)));
+        return edge != null && edgeSlot[edge] != -1;
+    }
+
+    /**
+     * @return A symmetric adjacency matrix of the forest, in the format of {@link GraphAlgorithms#GetLeastSpanningTree}.
+     */
+    public synchronized ArrayList<ArrayList<Integer>> toAdjacencyMatrix() {
+        int[][] matrix = new int[numVertices][numVertices];
+        for (int slot = 0; slot < slotEdge.length; slot++) {
+            int edge = slotEdge[slot];
+            if (edge == -1) continue;
+            matrix[edgeFrom[edge]][edgeTo[edge]] = edgeWeight[edge];
+            matrix[edgeTo[edge]][edgeFrom[edge]] = edgeWeight[edge];
+        }
+        ArrayList<ArrayList<Integer>> result = new ArrayList<>(numVertices);
+        for (int[] values : matrix) {
+            ArrayList<Integer> row = new ArrayList<>(numVertices);
+            for (int value : values) {
+                row.add(value);
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    private void rebuild() throws IOException {
+        graph.requireAdjacencyMatrix();
+        graphVersion = graph.getVersion();
+        numVertices = graph.getNumVertices();
+        tree = new LinkCutTree(2 * numVertices);
+        edgeIds = new HashMap<>();
+        edgeFrom = new int[16];
+        edgeTo = new int[16];
+        edgeWeight = new int[16];
+        edgeSlot = new int[16];
+        edgeCount = 0;
+        freeEdges = new IntStack();
+        slotEdge = new int[numVertices];
+        Arrays.fill(slotEdge, -1);
+        freeSlots = IntStack.fixed(numVertices);
+        for (int slot = numVertices - 1; slot >= 0; slot--) {
+            freeSlots.push(slot);
+        }
+        nonTreeEdges = new TreeSet<>();
+        totalWeight = 0;
+        numTreeEdges = 0;
+
+        for (int from = 0; from < numVertices; from++) {
+            for (int to = from + 1; to < numVertices; to++) {
+                int weight = undirectedWeight(from, to);
+                if (weight != 0) {
+                    newEdge(from, to, weight);
+                }
+            }
+        }
+        long[] byWeight = new long[edgeCount];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            byWeight[edge] = order(edge);
+        }
+        Arrays.sort(byWeight);
+        for (long ordered : byWeight) {
+            int edge = (int) ordered;
+            if (tree.connected(edgeFrom[edge], edgeTo[edge])) {
+                nonTreeEdges.add(ordered);
+            } else {
+                linkTree(edge);
+            }
+        }
+    }
+
+    private void setWeight(int from, int to, int weight) {
+        Integer edge = edgeIds.get(key(from, to));
+        if (edge == null) {
+            if (weight != 0) insert(newEdge(from, to, weight));
+            return;
+        }
+        int oldWeight = edgeWeight[edge];
+        if (weight == oldWeight) return;
+
+        boolean inTree = edgeSlot[edge] != -1;
+        if (!inTree) {
+            nonTreeEdges.remove(order(edge));
+        }
+        if (weight == 0) {
+            edgeIds.remove(key(from, to));
+            freeEdges.push(edge);
+            if (inTree) {
+                cutTree(edge);
+                reconnect();
+            }
+        } else if (inTree && weight < oldWeight) {
+            tree.setValue(numVertices + edgeSlot[edge], weight);
+            totalWeight += weight - oldWeight;
+            edgeWeight[edge] = weight;
+        } else if (inTree) {
+            cutTree(edge);
+            edgeWeight[edge] = weight;
+            nonTreeEdges.add(order(edge));
+            reconnect();
+        } else {
+            edgeWeight[edge] = weight;
+            if (weight < oldWeight) {
+                insert(edge);
+            } else {
+                nonTreeEdges.add(order(edge));
+            }
+        }
+    }
+
+    /**
+     * Adds an edge that is in neither the forest nor the non-tree set.
+     */
+    private void insert(int edge) {
+        int from = edgeFrom[edge];
+        int to = edgeTo[edge];
+        if (!tree.connected(from, to)) {
+            linkTree(edge);
+            return;
+        }
+        int heaviest = slotEdge[tree.pathMax(from, to) - numVertices];
+        if (edgeWeight[heaviest] > edgeWeight[edge]) {
+            cutTree(heaviest);
+            nonTreeEdges.add(order(heaviest));
+            linkTree(edge);
+        } else {
+            nonTreeEdges.add(order(edge));
+        }
+    }
+
+    /**
+     * Links the lightest non-tree edge whose endpoints a cut has separated, falling back to {@link #relink()} when
+     * the probe grows longer than the relink would take.
+     */
+    private void reconnect() {
+        int probeLimit = numVertices + nonTreeEdges.size() / (32 - Integer.numberOfLeadingZeros(numVertices));
+        int probes = 0;
+        Iterator<Long> candidates = nonTreeEdges.iterator();
+        while (candidates.hasNext()) {
+            if (++probes > probeLimit) {
+                relink();
+                return;
+            }
+            int edge = (int) (long) candidates.next();
+            if (!tree.connected(edgeFrom[edge], edgeTo[edge])) {
+                candidates.remove();
+                linkTree(edge);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the forest with Kruskal's algorithm, merging the sorted tree edges into the sorted non-tree set.
+     */
+    private void relink() {
+        Metrics.increment("mst.relinks");
+        long[] oldTreeEdges = new long[numTreeEdges];
+        int count = 0;
+        for (int edge : slotEdge) {
+            if (edge != -1) {
+                oldTreeEdges[count++] = order(edge);
+                edgeSlot[edge] = -1;
+            }
+        }
+        Arrays.sort(oldTreeEdges);
+        tree = new LinkCutTree(2 * numVertices);
+        Arrays.fill(slotEdge, -1);
+        freeSlots.clear();
+        for (int slot = numVertices - 1; slot >= 0; slot--) {
+            freeSlots.push(slot);
+        }
+        totalWeight = 0;
+        numTreeEdges = 0;
+
+        DisjointSets components = new DisjointSets(numVertices);
+        IntStack dropped = new IntStack();
+        Iterator<Long> candidates = nonTreeEdges.iterator();
+        long next = candidates.hasNext() ? candidates.next() : Long.MAX_VALUE;
+        int treeIndex = 0;
+        while (treeIndex < oldTreeEdges.length || next != Long.MAX_VALUE) {
+            boolean fromTree = treeIndex < oldTreeEdges.length && oldTreeEdges[treeIndex] < next;
+            int edge = (int) (fromTree ? oldTreeEdges[treeIndex++] : next);
+            if (components.union(edgeFrom[edge], edgeTo[edge])) {
+                linkTree(edge);
+                if (!fromTree) candidates.remove();
+            } else if (fromTree) {
+                dropped.push(edge);
+            }
+            if (!fromTree) next = candidates.hasNext() ? candidates.next() : Long.MAX_VALUE;
+            if (numTreeEdges == numVertices - 1) break;
+        }
+        while (treeIndex < oldTreeEdges.length) {
+            dropped.push((int) oldTreeEdges[treeIndex++]);
+        }
+        while (!dropped.isEmpty()) {
+            nonTreeEdges.add(order(dropped.pop()));
+        }
+    }
+
+    private int newEdge(int from, int to, int weight) {
+        int edge;
+        if (!freeEdges.isEmpty()) {
+            edge = freeEdges.pop();
+        } else {
+            if (edgeCount == edgeFrom.length) {
+                int capacity = edgeCount * 2;
+                edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+                edgeTo = Arrays.copyOf(edgeTo, capacity);
+                edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+                edgeSlot = Arrays.copyOf(edgeSlot, capacity);
+            }
+            edge = edgeCount++;
+        }
+        edgeFrom[edge] = from;
+        edgeTo[edge] = to;
+        edgeWeight[edge] = weight;
+        edgeSlot[edge] = -1;
+        edgeIds.put(key(from, to), edge);
+        return edge;
+    }
+
+    private void linkTree(int edge) {
+        int slot = freeSlots.pop();
+        int node = numVertices + slot;
+        edgeSlot[edge] = slot;
+        slotEdge[slot] = edge;
+        tree.setValue(node, edgeWeight[edge]);
+        tree.link(node, edgeFrom[edge]);
+        tree.link(edgeTo[edge], node);
+        totalWeight += edgeWeight[edge];
+        numTreeEdges++;
+    }
+
+    private void cutTree(int edge) {
+        int slot = edgeSlot[edge];
+        int node = numVertices + slot;
+        tree.cut(node, edgeFrom[edge]);
+        tree.cut(node, edgeTo[edge]);
+        edgeSlot[edge] = -1;
+        slotEdge[slot] = -1;
+        freeSlots.push(slot);
+        totalWeight -= edgeWeight[edge];
+        numTreeEdges--;
+    }
+
+    private int undirectedWeight(int from, int to) {
+        int forward = graph.getAdjacencyMatrix().get(from).get(to);
+        int backward = graph.getAdjacencyMatrix().get(to).get(from);
+        if (forward == 0) return backward;
+        if (backward == 0) return forward;
+        return Math.min(forward, backward);
+    }
+
+    private long order(int edge) {
+        return ((long) edgeWeight[edge] << 32) | edge;
+    }
+
+    private long key(int from, int to) {
+        return (long) from * numVertices + to;
+    }
+}
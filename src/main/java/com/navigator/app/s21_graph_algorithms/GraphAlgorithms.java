@@ -1,9 +1,16 @@
 package com.navigator.app.s21_graph_algorithms;
 
+import com.navigator.app.models.antAlgorithm.TsmProgressListener;
 import com.navigator.app.models.antAlgorithm.TsmResult;
-import com.navigator.app.models.structures.Queue;
-import com.navigator.app.models.structures.Stack;
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.metrics.GraphQueryEvent;
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.models.shortestPath.DistanceTable;
+import com.navigator.app.models.structures.IntQueue;
+import com.navigator.app.models.structures.IntStack;
+import com.navigator.app.models.traversal.ComponentsResult;
 import com.navigator.app.models.antAlgorithm.AntColonyOptimization;
+import com.navigator.app.s21_graph.CompactGraph;
 import com.navigator.app.s21_graph.Graph;
 import org.jetbrains.annotations.NotNull;
 
@@ -12,8 +19,36 @@ import java.util.*;
 
 /**
  * This class provides methods to find shortest paths in a graph.
+ * <p>
+ * Every entry point has an overload taking a {@link CancellationToken}; the long-running loops poll it
+ * and stop with an {@link com.navigator.app.models.cancellation.OperationCancelledException} once it fires.
+ * With {@link Metrics} enabled, every call is timed in a histogram named after the method; every call also emits
+ * a {@link GraphQueryEvent} to JDK Flight Recorder when a recording enables it.
  */
 public class GraphAlgorithms {
+    private volatile ShortestPathTreeCache shortestPathCache;
+    private volatile LandmarkIndex landmarkIndex;
+    private final ThreadLocal<LandmarkSearch> landmarkSearches = new ThreadLocal<>();
+
+    /**
+     * Routes {@link #GetShortestPathBetweenVertices} queries on the cache's graph through the cache.
+     *
+     * @param cache The cache to use, or null to always run a fresh search.
+     */
+    public void setShortestPathCache(ShortestPathTreeCache cache) {
+        this.shortestPathCache = cache;
+    }
+
+    /**
+     * Routes {@link #GetShortestPathBetweenVertices} queries on the index's graph through an A* search guided by
+     * the landmarks, unless a shortest path cache for the graph is set.
+     *
+     * @param index The landmark index to use, or null to always run Dijkstra's algorithm.
+     */
+    public void setLandmarkIndex(LandmarkIndex index) {
+        this.landmarkIndex = index;
+    }
+
     /**
      * Performs a depth-first search (DFS) starting from the specified vertex in the graph.
      *
@@ -23,29 +58,60 @@ public class GraphAlgorithms {
      * @throws IOException If an I/O error occurs while reading the graph data.
      */
     public ArrayList<Integer> DepthFirstSearch(@NotNull Graph graph, int startVertex) throws IOException {
-        checkGraph(graph);
-        checkVertex(graph, startVertex);
-
-        ArrayList<Integer> result = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>();
-        Stack stack = new Stack();
+        return DepthFirstSearch(graph, startVertex, CancellationToken.none());
+    }
 
-        stack.push(startVertex);
-        while (!stack.isEmpty()) {
-            int currentVertex = stack.pop();
-            if (!visited.contains(currentVertex)) {
-                visited.add(currentVertex);
-                result.add(currentVertex);
+    /**
+     * Performs a depth-first search (DFS) that stops when the cancellation token fires.
+     *
+     * @param graph       The graph object on which DFS is performed.
+     * @param startVertex The starting vertex for the DFS traversal.
+     * @param token       The cancellation token polled once per visited vertex.
+     * @return An ArrayList of integers representing the order of visited vertices.
+     * @throws IOException If the graph or vertex is invalid, or the search was cancelled.
+     */
+    public ArrayList<Integer> DepthFirstSearch(@NotNull Graph graph, int startVertex,
+                                               @NotNull CancellationToken token) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("DepthFirstSearch");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+            checkVertex(graph, startVertex);
+            if (graph.isShared()) {
+                ArrayList<Integer> result = depthFirst(CompactGraph.fromGraph(graph), startVertex, token);
+                event.setVariant("shared");
+                event.setSettled(result.size());
+                return result;
+            }
 
-                ArrayList<Integer> neighbors = graph.getAdjacencyMatrix().get(currentVertex);
-                for (int i = neighbors.size() - 1; i >= 0; i--) {
-                    if (neighbors.get(i) != 0 && !visited.contains(i)) {
-                        stack.push(i);
+            ArrayList<Integer> result = new ArrayList<>();
+            long[] visited = new long[(graph.getNumVertices() + 63) >>> 6];
+            IntStack stack = new IntStack(graph.getNumVertices());
+
+            stack.push(startVertex);
+            while (!stack.isEmpty()) {
+                int currentVertex = stack.pop();
+                if (!isVisited(visited, currentVertex)) {
+                    token.throwIfCancelled();
+                    markVisited(visited, currentVertex);
+                    result.add(currentVertex);
+
+                    ArrayList<Integer> neighbors = graph.getAdjacencyMatrix().get(currentVertex);
+                    for (int i = neighbors.size() - 1; i >= 0; i--) {
+                        if (neighbors.get(i) != 0 && !isVisited(visited, i)) {
+                            stack.push(i);
+                        }
                     }
                 }
             }
+            event.setVariant("matrix");
+            event.setSettled(result.size());
+            return result;
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.DepthFirstSearch", start);
+            event.finish();
         }
-        return result;
     }
 
 
@@ -58,29 +124,60 @@ public class GraphAlgorithms {
      * @throws IOException If an I/O error occurs while reading the graph data.
      */
     public ArrayList<Integer> BreadthFirstSearch(@NotNull Graph graph, int startVertex) throws IOException {
-        checkGraph(graph);
-        checkVertex(graph, startVertex);
+        return BreadthFirstSearch(graph, startVertex, CancellationToken.none());
+    }
 
-        ArrayList<Integer> result = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>();
-        Queue queue = new Queue();
+    /**
+     * Performs a breadth-first search (BFS) that stops when the cancellation token fires.
+     *
+     * @param graph       The graph object on which BFS is performed.
+     * @param startVertex The starting vertex for the BFS traversal.
+     * @param token       The cancellation token polled once per visited vertex.
+     * @return An ArrayList of integers representing the order of visited vertices.
+     * @throws IOException If the graph or vertex is invalid, or the search was cancelled.
+     */
+    public ArrayList<Integer> BreadthFirstSearch(@NotNull Graph graph, int startVertex,
+                                                 @NotNull CancellationToken token) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("BreadthFirstSearch");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+            checkVertex(graph, startVertex);
+            if (graph.isShared()) {
+                ArrayList<Integer> result = breadthFirst(CompactGraph.fromGraph(graph), startVertex, token);
+                event.setVariant("shared");
+                event.setSettled(result.size());
+                return result;
+            }
 
-        queue.push(startVertex);
-        visited.add(startVertex);
+            ArrayList<Integer> result = new ArrayList<>();
+            long[] visited = new long[(graph.getNumVertices() + 63) >>> 6];
+            IntQueue queue = IntQueue.fixed(graph.getNumVertices());
 
-        while (!queue.isEmpty()) {
-            int currentVertex = queue.pop();
-            result.add(currentVertex);
+            queue.push(startVertex);
+            markVisited(visited, startVertex);
+
+            while (!queue.isEmpty()) {
+                token.throwIfCancelled();
+                int currentVertex = queue.pop();
+                result.add(currentVertex);
 
-            ArrayList<Integer> neighbors = graph.getAdjacencyMatrix().get(currentVertex);
-            for (int i = 0; i < neighbors.size(); i++) {
-                if (neighbors.get(i) != 0 && !visited.contains(i)) {
-                    queue.push(i);
-                    visited.add(i);
+                ArrayList<Integer> neighbors = graph.getAdjacencyMatrix().get(currentVertex);
+                for (int i = 0; i < neighbors.size(); i++) {
+                    if (neighbors.get(i) != 0 && !isVisited(visited, i)) {
+                        queue.push(i);
+                        markVisited(visited, i);
+                    }
                 }
             }
+            event.setVariant("matrix");
+            event.setSettled(result.size());
+            return result;
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.BreadthFirstSearch", start);
+            event.finish();
         }
-        return result;
     }
 
 
@@ -93,40 +190,175 @@ public class GraphAlgorithms {
      * @return The shortest distance between the two vertices.
      */
     public int GetShortestPathBetweenVertices(@NotNull Graph graph, int vertex1, int vertex2) throws IOException {
-        checkGraph(graph);
-        checkVertex(graph, vertex1);
-        checkVertex(graph, vertex2);
-
-        int numVertices = graph.getNumVertices();
-        int[] distances = new int[numVertices];
-        Arrays.fill(distances, Integer.MAX_VALUE);
-        distances[vertex1] = 0;
-
-        PriorityQueue<VertexDistance> priorityQueue = new PriorityQueue<>(Comparator.comparingInt(v -> v.distance));
-        priorityQueue.add(new VertexDistance(vertex1, 0));
-
-        boolean[] visited = new boolean[numVertices];
-
-        while (!priorityQueue.isEmpty()) {
-            VertexDistance current = priorityQueue.poll();
-            int currentVertex = current.vertex;
-
-            if (visited[currentVertex]) continue;
-            visited[currentVertex] = true;
-
-            ArrayList<Integer> neighbors = graph.getAdjacencyMatrix().get(currentVertex);
-            for (int i = 0; i < neighbors.size(); i++) {
-                if (neighbors.get(i) != 0 && !visited[i]) {
-                    int newDist = distances[currentVertex] + neighbors.get(i);
-                    if (newDist < distances[i]) {
-                        distances[i] = newDist;
-                        priorityQueue.add(new VertexDistance(i, newDist));
+        return GetShortestPathBetweenVertices(graph, vertex1, vertex2, CancellationToken.none());
+    }
+
+    /**
+     * Finds the shortest path between two vertices using Dijkstra's algorithm, stopping when the token fires.
+     *
+     * @param graph   The graph object on which the algorithm is applied.
+     * @param vertex1 The index of the first vertex.
+     * @param vertex2 The index of the second vertex.
+     * @param token   The cancellation token polled once per settled vertex.
+     * @return The shortest distance between the two vertices.
+     */
+    public int GetShortestPathBetweenVertices(@NotNull Graph graph, int vertex1, int vertex2,
+                                              @NotNull CancellationToken token) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("GetShortestPathBetweenVertices");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+            checkVertex(graph, vertex1);
+            checkVertex(graph, vertex2);
+
+            ShortestPathTreeCache cache = shortestPathCache;
+            if (cache != null && cache.isFor(graph)) {
+                event.setVariant("tree-cache");
+                return cache.distance(vertex1, vertex2, token);
+            }
+            LandmarkIndex index = landmarkIndex;
+            if (index != null && index.isFor(graph)) {
+                LandmarkSearch search = landmarkSearches.get();
+                if (search == null || search.getIndex() != index) {
+                    search = new LandmarkSearch(index);
+                    landmarkSearches.set(search);
+                }
+                event.setVariant("alt");
+                int distance = search.distance(vertex1, vertex2, token);
+                event.setSettled(search.getSettledCount());
+                return distance;
+            }
+            if (graph.isShared()) {
+                DijkstraSearch search = new DijkstraSearch(CompactGraph.fromGraph(graph));
+                search.search(vertex1, new int[]{vertex2}, 0, 1, token);
+                event.setVariant("shared");
+                event.setSettled(search.getSettledCount());
+                return search.distance(vertex2);
+            }
+
+            int numVertices = graph.getNumVertices();
+            int[] distances = new int[numVertices];
+            Arrays.fill(distances, Integer.MAX_VALUE);
+            distances[vertex1] = 0;
+
+            PriorityQueue<VertexDistance> priorityQueue = new PriorityQueue<>(Comparator.comparingInt(v -> v.distance));
+            priorityQueue.add(new VertexDistance(vertex1, 0));
+
+            boolean[] visited = new boolean[numVertices];
+            int settled = 0;
+            int relaxed = 0;
+
+            while (!priorityQueue.isEmpty()) {
+                VertexDistance current = priorityQueue.poll();
+                int currentVertex = current.vertex;
+
+                if (visited[currentVertex]) continue;
+                visited[currentVertex] = true;
+                settled++;
+                token.throwIfCancelled();
+
+                ArrayList<Integer> neighbors = graph.getAdjacencyMatrix().get(currentVertex);
+                for (int i = 0; i < neighbors.size(); i++) {
+                    if (neighbors.get(i) != 0 && !visited[i]) {
+                        int newDist = distances[currentVertex] + neighbors.get(i);
+                        if (newDist < distances[i]) {
+                            distances[i] = newDist;
+                            relaxed++;
+                            priorityQueue.add(new VertexDistance(i, newDist));
+                        }
                     }
                 }
             }
+
+            Metrics.add("shortestPath.verticesSettled", settled);
+            Metrics.add("shortestPath.edgesRelaxed", relaxed);
+            event.setVariant("dijkstra");
+            event.setSettled(settled);
+            return distances[vertex2];
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.GetShortestPathBetweenVertices", start);
+            event.finish();
         }
+    }
 
-        return distances[vertex2];
+    /**
+     * Finds the shortest distances of many (source, target) pairs in one batch.
+     * <p>
+     * Runs one early-stopping Dijkstra per distinct source, spread across the common fork-join pool.
+     * For repeated batches on the same graph, build a {@link BatchShortestPaths} once instead.
+     *
+     * @param graph   The graph object on which the algorithm is applied.
+     * @param sources Source vertex of every query.
+     * @param targets Target vertex of every query, aligned with the sources.
+     * @return Distances aligned with the queries, Integer.MAX_VALUE where no path exists.
+     */
+    public int[] GetShortestPathsBetweenVertexPairs(@NotNull Graph graph, int[] sources, int[] targets) throws IOException {
+        return GetShortestPathsBetweenVertexPairs(graph, sources, targets, CancellationToken.none());
+    }
+
+    /**
+     * Finds the shortest distances of many (source, target) pairs in one batch, stopping when the token fires.
+     *
+     * @param graph   The graph object on which the algorithm is applied.
+     * @param sources Source vertex of every query.
+     * @param targets Target vertex of every query, aligned with the sources.
+     * @param token   The cancellation token polled by every search.
+     * @return Distances aligned with the queries, Integer.MAX_VALUE where no path exists.
+     */
+    public int[] GetShortestPathsBetweenVertexPairs(@NotNull Graph graph, int[] sources, int[] targets,
+                                                    @NotNull CancellationToken token) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("GetShortestPathsBetweenVertexPairs");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+            event.setVariant("batch-dijkstra");
+            return new BatchShortestPaths(CompactGraph.fromGraph(graph)).distances(sources, targets, token);
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.GetShortestPathsBetweenVertexPairs", start);
+            event.finish();
+        }
+    }
+
+    /**
+     * Computes the shortest distances from every source to every target.
+     * <p>
+     * A table over one set of locations can be passed to the TSP solver through
+     * {@link DistanceTable#toDistanceProvider()} without building a graph of those locations.
+     * For repeated tables on the same graph, build a {@link ManyToManyDistances} once instead.
+     *
+     * @param graph   The graph object on which the algorithm is applied.
+     * @param sources The source vertices, one table row each.
+     * @param targets The target vertices, one table column each.
+     * @return The distance table, Integer.MAX_VALUE where no path exists.
+     */
+    public DistanceTable GetDistanceTable(@NotNull Graph graph, int[] sources, int[] targets) throws IOException {
+        return GetDistanceTable(graph, sources, targets, CancellationToken.none());
+    }
+
+    /**
+     * Computes the shortest distances from every source to every target, stopping when the token fires.
+     *
+     * @param graph   The graph object on which the algorithm is applied.
+     * @param sources The source vertices, one table row each.
+     * @param targets The target vertices, one table column each.
+     * @param token   The cancellation token polled by every search.
+     * @return The distance table, Integer.MAX_VALUE where no path exists.
+     */
+    public DistanceTable GetDistanceTable(@NotNull Graph graph, int[] sources, int[] targets,
+                                          @NotNull CancellationToken token) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("GetDistanceTable");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+            event.setVariant("many-to-many");
+            return new ManyToManyDistances(CompactGraph.fromGraph(graph)).manyToMany(sources, targets, token);
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.GetDistanceTable", start);
+            event.finish();
+        }
     }
 
     /**
@@ -136,82 +368,275 @@ public class GraphAlgorithms {
      * @return A 2D ArrayList representing the shortest paths between all vertices.
      */
     public ArrayList<ArrayList<Integer>> GetShortestPathsBetweenAllVertices(@NotNull Graph graph) throws IOException {
-        checkGraph(graph);
-
-        int numVertices = graph.getNumVertices();
-        ArrayList<ArrayList<Integer>> distances = new ArrayList<>(graph.getAdjacencyMatrix());
+        return GetShortestPathsBetweenAllVertices(graph, CancellationToken.none());
+    }
 
-        for (int i = 0; i < numVertices; i++) {
-            for (int j = 0; j < numVertices; j++) {
-                if (i != j && distances.get(i).get(j) == 0) {
-                    distances.get(i).set(j, Integer.MAX_VALUE / 2);
-                }
+    /**
+     * Finds the shortest paths between all pairs of vertices using Floyd-Warshall, stopping when the token fires.
+     *
+     * @param graph The graph object on which the algorithm is applied.
+     * @param token The cancellation token polled once per row of every relaxation round.
+     * @return A 2D ArrayList representing the shortest paths between all vertices.
+     * @throws IOException If the graph is empty or too large for an adjacency matrix.
+     */
+    public ArrayList<ArrayList<Integer>> GetShortestPathsBetweenAllVertices(@NotNull Graph graph,
+                                                                            @NotNull CancellationToken token) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("GetShortestPathsBetweenAllVertices");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+
+            int numVertices = graph.getNumVertices();
+            ArrayList<ArrayList<Integer>> distances = new ArrayList<>();
+            for (ArrayList<Integer> row : graph.requireAdjacencyMatrix()) {
+                distances.add(new ArrayList<>(row));
             }
-        }
 
-        for (int k = 0; k < numVertices; k++) {
             for (int i = 0; i < numVertices; i++) {
                 for (int j = 0; j < numVertices; j++) {
-                    if (distances.get(i).get(j) > distances.get(i).get(k) + distances.get(k).get(j)) {
-                        distances.get(i).set(j, distances.get(i).get(k) + distances.get(k).get(j));
+                    if (i != j && distances.get(i).get(j) == 0) {
+                        distances.get(i).set(j, Integer.MAX_VALUE / 2);
+                    }
+                }
+            }
+
+            for (int k = 0; k < numVertices; k++) {
+                for (int i = 0; i < numVertices; i++) {
+                    token.throwIfCancelled();
+                    for (int j = 0; j < numVertices; j++) {
+                        if (distances.get(i).get(j) > distances.get(i).get(k) + distances.get(k).get(j)) {
+                            distances.get(i).set(j, distances.get(i).get(k) + distances.get(k).get(j));
+                        }
                     }
                 }
             }
+
+            event.setVariant("floyd-warshall");
+            event.setSettled(numVertices);
+            return distances;
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.GetShortestPathsBetweenAllVertices", start);
+            event.finish();
         }
+    }
+
+    /**
+     * Finds the connected components of the graph, ignoring edge directions.
+     *
+     * @param graph The graph object on which the algorithm is applied.
+     * @return The component of every vertex, numbered in the order of their smallest vertex.
+     * @throws IOException If the graph is empty.
+     */
+    public ComponentsResult GetConnectedComponents(@NotNull Graph graph) throws IOException {
+        return GetConnectedComponents(graph, CancellationToken.none());
+    }
 
-        return distances;
+    /**
+     * Finds the connected components with union-find, stopping when the token fires.
+     *
+     * @param graph The graph object on which the algorithm is applied.
+     * @param token The cancellation token polled every 4096 vertices.
+     * @return The component of every vertex, numbered in the order of their smallest vertex.
+     * @throws IOException If the graph is empty, or the search was cancelled.
+     */
+    public ComponentsResult GetConnectedComponents(@NotNull Graph graph,
+                                                   @NotNull CancellationToken token) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("GetConnectedComponents");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+            event.setVariant("union-find");
+            return new GraphComponents(CompactGraph.fromGraph(graph)).connected(token);
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.GetConnectedComponents", start);
+            event.finish();
+        }
+    }
+
+    /**
+     * Finds the strongly connected components of the graph.
+     *
+     * @param graph The graph object on which the algorithm is applied.
+     * @return The component of every vertex, numbered in the order of their smallest vertex.
+     * @throws IOException If the graph is empty.
+     */
+    public ComponentsResult GetStronglyConnectedComponents(@NotNull Graph graph) throws IOException {
+        return GetStronglyConnectedComponents(graph, CancellationToken.none());
+    }
+
+    /**
+     * Finds the strongly connected components with Tarjan's algorithm, stopping when the token fires.
+     *
+     * @param graph The graph object on which the algorithm is applied.
+     * @param token The cancellation token polled every 4096 discovered vertices.
+     * @return The component of every vertex, numbered in the order of their smallest vertex.
+     * @throws IOException If the graph is empty, or the search was cancelled.
+     */
+    public ComponentsResult GetStronglyConnectedComponents(@NotNull Graph graph,
+                                                           @NotNull CancellationToken token) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("GetStronglyConnectedComponents");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+            event.setVariant("tarjan");
+            return new GraphComponents(CompactGraph.fromGraph(graph)).stronglyConnected(token);
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.GetStronglyConnectedComponents", start);
+            event.finish();
+        }
     }
 
     /**
      * Finds the minimum spanning tree (MST) in the graph using Prim's algorithm.
+     * On a disconnected graph, the result is the minimum spanning forest: one tree per connected component.
      *
      * @param graph The graph object on which the algorithm is applied.
      * @return A 2D ArrayList representing the adjacency matrix of the minimum spanning tree.
      */
     public ArrayList<ArrayList<Integer>> GetLeastSpanningTree(@NotNull Graph graph) throws IOException {
-        checkGraph(graph);
-        int numVertices = graph.getNumVertices();
-        ArrayList<ArrayList<Integer>> adjacencyMatrix = graph.getAdjacencyMatrix();
+        return GetLeastSpanningTree(graph, CancellationToken.none());
+    }
 
-        ArrayList<ArrayList<Integer>> result = new ArrayList<>();
-        for (int i = 0; i < numVertices; i++) {
-            result.add(new ArrayList<>());
-            for (int j = 0; j < numVertices; j++) {
-                result.get(i).add(0);
+    /**
+     * Finds the minimum spanning tree (MST) using Prim's algorithm, stopping when the token fires.
+     * A graph attached to a shared file is read from its CSR form; only the tree is built as a matrix.
+     *
+     * @param graph The graph object on which the algorithm is applied.
+     * @param token The cancellation token polled once per added tree vertex.
+     * @return A 2D ArrayList representing the adjacency matrix of the minimum spanning tree.
+     * @throws IOException If the graph is empty, or the tree is too large for an adjacency matrix.
+     */
+    public ArrayList<ArrayList<Integer>> GetLeastSpanningTree(@NotNull Graph graph,
+                                                              @NotNull CancellationToken token) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("GetLeastSpanningTree");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+            int numVertices = graph.getNumVertices();
+            if (graph.isShared() && numVertices > Graph.MAX_MATRIX_VERTICES) {
+                throw new IOException("Graph too large for an adjacency matrix");
             }
-        }
+            CompactGraph compact = graph.isShared() ? CompactGraph.fromGraph(graph) : null;
+            ArrayList<ArrayList<Integer>> adjacencyMatrix = compact == null ? graph.requireAdjacencyMatrix() : null;
 
-        boolean[] visited = new boolean[numVertices];
-        int[] minWeight = new int[numVertices];
-        int[] parent = new int[numVertices];
-        for (int i = 0; i < numVertices; i++) {
-            minWeight[i] = Integer.MAX_VALUE;
-            parent[i] = -1;
-        }
-        minWeight[0] = 0;
-        parent[0] = -1;
-
-        for (int i = 0; i < numVertices - 1; i++) {
-            int minVertex = findMinVertex(numVertices, visited, minWeight);
-            visited[minVertex] = true;
-
-            for (int v = 0; v < numVertices; v++) {
-                if (!visited[v] && adjacencyMatrix.get(minVertex).get(v) != 0 &&
-                        adjacencyMatrix.get(minVertex).get(v) < minWeight[v]) {
-                    parent[v] = minVertex;
-                    minWeight[v] = adjacencyMatrix.get(minVertex).get(v);
+            ArrayList<ArrayList<Integer>> result = new ArrayList<>();
+            for (int i = 0; i < numVertices; i++) {
+                result.add(new ArrayList<>());
+                for (int j = 0; j < numVertices; j++) {
+                    result.get(i).add(0);
+                }
+            }
+
+            boolean[] visited = new boolean[numVertices];
+            int[] minWeight = new int[numVertices];
+            int[] parent = new int[numVertices];
+            for (int i = 0; i < numVertices; i++) {
+                minWeight[i] = Integer.MAX_VALUE;
+                parent[i] = -1;
+            }
+            minWeight[0] = 0;
+            parent[0] = -1;
+
+            for (int i = 0; i < numVertices - 1; i++) {
+                token.throwIfCancelled();
+                int minVertex = findMinVertex(numVertices, visited, minWeight);
+                visited[minVertex] = true;
+                if (minWeight[minVertex] == Integer.MAX_VALUE) {
+                    minWeight[minVertex] = 0;   // no edge to the tree so far: start the next component's tree
+                }
+
+                if (compact != null) {
+                    for (int edge = compact.edgeStart(minVertex); edge < compact.edgeEnd(minVertex); edge++) {
+                        int v = compact.target(edge);
+                        if (!visited[v] && compact.weight(edge) < minWeight[v]) {
+                            parent[v] = minVertex;
+                            minWeight[v] = compact.weight(edge);
+                        }
+                    }
+                    continue;
+                }
+                for (int v = 0; v < numVertices; v++) {
+                    if (!visited[v] && adjacencyMatrix.get(minVertex).get(v) != 0 &&
+                            adjacencyMatrix.get(minVertex).get(v) < minWeight[v]) {
+                        parent[v] = minVertex;
+                        minWeight[v] = adjacencyMatrix.get(minVertex).get(v);
+                    }
                 }
             }
+
+            for (int i = 1; i < numVertices; i++) {
+                if (parent[i] < 0) continue;   // first vertex of another component
+                result.get(i).set(parent[i], minWeight[i]);
+                result.get(parent[i]).set(i, minWeight[i]);
+            }
+
+            event.setVariant("prim");
+            event.setSettled(numVertices);
+            return result;
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.GetLeastSpanningTree", start);
+            event.finish();
         }
+    }
 
-        for (int i = 1; i < numVertices; i++) {
-            result.get(i).set(parent[i], minWeight[i]);
-            result.get(parent[i]).set(i, minWeight[i]);
+    /**
+     * DFS over CSR edges, which are sorted by target, so the order matches the matrix scan.
+     */
+    private static ArrayList<Integer> depthFirst(CompactGraph graph, int startVertex,
+                                                 CancellationToken token) throws IOException {
+        ArrayList<Integer> result = new ArrayList<>();
+        long[] visited = new long[(graph.getNumVertices() + 63) >>> 6];
+        IntStack stack = new IntStack(graph.getNumVertices());
+        stack.push(startVertex);
+        while (!stack.isEmpty()) {
+            int currentVertex = stack.pop();
+            if (isVisited(visited, currentVertex)) continue;
+            token.throwIfCancelled();
+            markVisited(visited, currentVertex);
+            result.add(currentVertex);
+            for (int edge = graph.edgeEnd(currentVertex) - 1; edge >= graph.edgeStart(currentVertex); edge--) {
+                if (!isVisited(visited, graph.target(edge))) {
+                    stack.push(graph.target(edge));
+                }
+            }
         }
+        return result;
+    }
 
+    private static ArrayList<Integer> breadthFirst(CompactGraph graph, int startVertex,
+                                                   CancellationToken token) throws IOException {
+        ArrayList<Integer> result = new ArrayList<>();
+        long[] visited = new long[(graph.getNumVertices() + 63) >>> 6];
+        IntQueue queue = IntQueue.fixed(graph.getNumVertices());
+        queue.push(startVertex);
+        markVisited(visited, startVertex);
+        while (!queue.isEmpty()) {
+            token.throwIfCancelled();
+            int currentVertex = queue.pop();
+            result.add(currentVertex);
+            for (int edge = graph.edgeStart(currentVertex); edge < graph.edgeEnd(currentVertex); edge++) {
+                int neighbor = graph.target(edge);
+                if (!isVisited(visited, neighbor)) {
+                    queue.push(neighbor);
+                    markVisited(visited, neighbor);
+                }
+            }
+        }
         return result;
     }
 
+    private static boolean isVisited(long[] visited, int vertex) {
+        return (visited[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    private static void markVisited(long[] visited, int vertex) {
+        visited[vertex >>> 6] |= 1L << vertex;
+    }
+
     private int findMinVertex(int numVertices, boolean[] visited, int[] minWeight) {
         int minVertex = -1;
         for (int i = 0; i < numVertices; i++) {
@@ -229,15 +654,48 @@ public class GraphAlgorithms {
      * @return An instance of TsmResult representing the optimal route and distance.
      */
     public TsmResult SolveTravelingSalesmanProblem(@NotNull Graph graph) throws IOException {
-        checkGraph(graph);
+        return SolveTravelingSalesmanProblem(graph, CancellationToken.none(), null);
+    }
 
-        AntColonyOptimization aco = AntColonyOptimization.builder().graph(graph).build();
-        return aco.findOptimalTour();
+    /**
+     * Solves the Traveling Salesman Problem (TSP) using ACO as an anytime algorithm.
+     * <p>
+     * When the token fires, the best tour found so far is returned instead of an error.
+     *
+     * @param graph            The graph object on which the algorithm is applied.
+     * @param token            The cancellation token polled once per ant.
+     * @param progressListener Notified whenever the best tour improves, or null.
+     * @return An instance of TsmResult representing the best route and distance found.
+     * @throws IOException If the graph is invalid, the token fired before any tour was built, or no ant found a
+     *                     tour along edges of the graph ("Incorrect data").
+     */
+    public TsmResult SolveTravelingSalesmanProblem(@NotNull Graph graph, @NotNull CancellationToken token,
+                                                   TsmProgressListener progressListener) throws IOException {
+        long start = Metrics.startTimer();
+        GraphQueryEvent event = GraphQueryEvent.start("SolveTravelingSalesmanProblem");
+        try {
+            checkGraph(graph);
+            event.setVertices(graph.getNumVertices());
+            if (new GraphComponents(CompactGraph.fromGraph(graph)).stronglyConnected(token).getCount() > 1) {
+                throw new IOException("Graph is not connected");
+            }
+
+            AntColonyOptimization aco = AntColonyOptimization.builder()
+                    .graph(graph)
+                    .cancellationToken(token)
+                    .progressListener(progressListener)
+                    .build();
+            event.setVariant("aco");
+            return aco.findOptimalTour();
+        } finally {
+            Metrics.stopTimer("GraphAlgorithms.SolveTravelingSalesmanProblem", start);
+            event.finish();
+        }
     }
 
 
     private void checkGraph(@NotNull Graph graph) throws IOException {
-        if (graph.getAdjacencyMatrix() == null || graph.getAdjacencyMatrix().isEmpty()) {
+        if (graph.getNumVertices() == 0) {
             throw new IOException("Graph is empty");
         }
     }
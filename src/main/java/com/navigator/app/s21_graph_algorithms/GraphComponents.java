@@ -0,0 +1,211 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.structures.DisjointSets;
+import com.navigator.app.models.traversal.ComponentsResult;
+import com.navigator.app.s21_graph.CompactGraph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Connected and strongly connected components of a {@link CompactGraph}.
+ * <p>
+ * Connected components ignore edge directions, so they are the weakly connected components of a directed graph.
+ * They are found either sequentially with union-find over the edge list, or with parallel min-label propagation
+ * for very large graphs. Strongly connected components use Tarjan's algorithm. Every algorithm keeps its state
+ * in primitive arrays and none recurses, so deep graphs such as long paths cannot overflow the stack.
+ */
+public class GraphComponents {
+    private static final int GRAIN = 4096;   // vertices per label propagation task
+    private static final int CANCELLATION_CHECK_MASK = 0xFFF;
+
+    private final CompactGraph graph;
+    private final ForkJoinPool pool;
+
+    public GraphComponents(@NotNull CompactGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param graph The graph to analyse.
+     * @param pool  The pool running label propagation rounds.
+     */
+    public GraphComponents(@NotNull CompactGraph graph, @NotNull ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the connected components by uniting the endpoints of every edge.
+     *
+     * @param token The cancellation token polled every 4096 vertices.
+     * @return The components.
+     * @throws IOException If the search was cancelled.
+     */
+    public ComponentsResult connected(@NotNull CancellationToken token) throws IOException {
+        int numVertices = graph.getNumVertices();
+        DisjointSets sets = new DisjointSets(numVertices);
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            if ((vertex & CANCELLATION_CHECK_MASK) == 0) {
+                token.throwIfCancelled();
+            }
+            for (int edge = graph.edgeStart(vertex); edge < graph.edgeEnd(vertex); edge++) {
+                sets.union(vertex, graph.target(edge));
+            }
+        }
+
+        int[] labels = new int[numVertices];
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            labels[vertex] = sets.find(vertex);
+        }
+        return ComponentsResult.normalize(labels);
+    }
+
+    /**
+     * Finds the connected components by label propagation: every vertex starts with its own id as label and
+     * repeatedly takes the smallest label among its neighbours in either direction, until a round changes nothing.
+     * After each round, labels are shortcut to the label of their label, which lets a small label travel many
+     * hops per round. Rounds are split across the pool; a graph of diameter {@code d} needs at most {@code d}
+     * rounds, usually far fewer.
+     *
+     * @param token The cancellation token polled once per round and task.
+     * @return The components, identical to {@link #connected(CancellationToken)}.
+     * @throws IOException If the search was cancelled.
+     */
+    public ComponentsResult connectedByLabelPropagation(@NotNull CancellationToken token) throws IOException {
+        int numVertices = graph.getNumVertices();
+        CompactGraph reversed = graph.transpose();
+        AtomicIntegerArray labels = new AtomicIntegerArray(numVertices);
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            labels.set(vertex, vertex);
+        }
+
+        int tasks = (numVertices + GRAIN - 1) / GRAIN;
+        boolean[] changed = new boolean[tasks];
+        boolean anyChanged = true;
+        while (anyChanged) {
+            token.throwIfCancelled();
+            RangeTask.parallelFor(pool, tasks, task -> {
+                if (token.isCancelled()) return;
+                boolean taskChanged = false;
+                int end = Math.min(numVertices, (task + 1) * GRAIN);
+                for (int vertex = task * GRAIN; vertex < end; vertex++) {
+                    taskChanged |= propagate(graph, vertex, labels);
+                    taskChanged |= propagate(reversed, vertex, labels);
+                }
+                changed[task] = taskChanged;
+            });
+            token.throwIfCancelled();
+
+            RangeTask.parallelFor(pool, tasks, task -> {
+                int end = Math.min(numVertices, (task + 1) * GRAIN);
+                for (int vertex = task * GRAIN; vertex < end; vertex++) {
+                    int label = labels.get(vertex);
+                    int jumped = labels.get(label);
+                    if (jumped < label) lowerTo(labels, vertex, jumped);
+                }
+            });
+
+            anyChanged = false;
+            for (boolean taskChanged : changed) {
+                anyChanged |= taskChanged;
+            }
+        }
+
+        int[] result = new int[numVertices];
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            result[vertex] = labels.get(vertex);
+        }
+        return ComponentsResult.normalize(result);
+    }
+
+    /**
+     * Finds the strongly connected components with Tarjan's algorithm, driving the depth-first search with an
+     * explicit stack of (vertex, next edge) frames instead of recursion.
+     *
+     * @param token The cancellation token polled every 4096 discovered vertices.
+     * @return The components.
+     * @throws IOException If the search was cancelled.
+     */
+    public ComponentsResult stronglyConnected(@NotNull CancellationToken token) throws IOException {
+        int numVertices = graph.getNumVertices();
+        int[] index = new int[numVertices];
+        int[] low = new int[numVertices];
+        int[] labels = new int[numVertices];
+        long[] onStack = new long[(numVertices + 63) >>> 6];
+        int[] componentStack = new int[numVertices];
+        int[] frameVertex = new int[numVertices];
+        int[] frameEdge = new int[numVertices];
+        Arrays.fill(index, -1);
+        int counter = 0;
+        int stackSize = 0;
+
+        for (int root = 0; root < numVertices; root++) {
+            if (index[root] >= 0) continue;
+            int depth = 0;
+            frameVertex[depth] = root;
+            frameEdge[depth++] = graph.edgeStart(root);
+            index[root] = low[root] = counter++;
+            componentStack[stackSize++] = root;
+            onStack[root >>> 6] |= 1L << root;
+
+            while (depth > 0) {
+                int vertex = frameVertex[depth - 1];
+                int edge = frameEdge[depth - 1];
+                if (edge < graph.edgeEnd(vertex)) {
+                    frameEdge[depth - 1] = edge + 1;
+                    int neighbor = graph.target(edge);
+                    if (index[neighbor] < 0) {
+                        if ((counter & CANCELLATION_CHECK_MASK) == 0) {
+                            token.throwIfCancelled();
+                        }
+                        index[neighbor] = low[neighbor] = counter++;
+                        componentStack[stackSize++] = neighbor;
+                        onStack[neighbor >>> 6] |= 1L << neighbor;
+                        frameVertex[depth] = neighbor;
+                        frameEdge[depth++] = graph.edgeStart(neighbor);
+                    } else if ((onStack[neighbor >>> 6] & (1L << neighbor)) != 0) {
+                        low[vertex] = Math.min(low[vertex], index[neighbor]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (low[vertex] == index[vertex]) {
+                    int member;
+                    do {
+                        member = componentStack[--stackSize];
+                        onStack[member >>> 6] &= ~(1L << member);
+                        labels[member] = vertex;
+                    } while (member != vertex);
+                }
+                if (depth > 0) {
+                    int caller = frameVertex[depth - 1];
+                    low[caller] = Math.min(low[caller], low[vertex]);
+                }
+            }
+        }
+        return ComponentsResult.normalize(labels);
+    }
+
+    private static boolean propagate(CompactGraph edges, int vertex, AtomicIntegerArray labels) {
+        int smallest = labels.get(vertex);
+        for (int edge = edges.edgeStart(vertex); edge < edges.edgeEnd(vertex); edge++) {
+            smallest = Math.min(smallest, labels.get(edges.target(edge)));
+        }
+        return lowerTo(labels, vertex, smallest);
+    }
+
+    private static boolean lowerTo(AtomicIntegerArray labels, int vertex, int label) {
+        int current = labels.get(vertex);
+        while (label < current) {
+            if (labels.compareAndSet(vertex, current, label)) return true;
+            current = labels.get(vertex);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,472 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.Graph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Landmark distances for A*-with-landmarks (ALT) point-to-point queries, see {@link LandmarkSearch}.
+ * <p>
+ * For every landmark {@code L} the index stores {@code d(L, v)} and {@code d(v, L)} for all vertices; by the triangle
+ * inequality {@code d(v, t) >= d(L, t) - d(L, v)} and {@code d(v, t) >= d(v, L) - d(t, L)}, which gives A* a lower
+ * bound that steers the search towards the target. Both tables are vertex-major {@code int} arrays, so the bounds
+ * of one vertex are {@code 2 * k} adjacent ints. An index built in memory lives on the heap; an index loaded with
+ * {@link #load(Path, Graph)} reads its tables straight from the memory-mapped file, so a restarted service pays
+ * neither the preprocessing nor a copy.
+ * <p>
+ * The index is immutable and safe to share between threads; it belongs to the graph content it was built from.
+ */
+public class LandmarkIndex {
+    /**
+     * How landmarks are chosen.
+     */
+    public enum Selection {
+        /**
+         * Each new landmark is the vertex farthest from all landmarks chosen so far.
+         */
+        FARTHEST,
+        /**
+         * Goldberg and Werneck's avoid strategy: grow a shortest-path tree from a random root, weigh every vertex by
+         * how poorly the current landmarks bound its distance from the root, and descend to the heaviest leaf whose
+         * branch holds no landmark yet. Gives tighter bounds than {@link #FARTHEST} on road-like graphs.
+         */
+        AVOID
+    }
+
+    private static final int FILE_MAGIC = 0x53324c4d;   // "S2LM"
+    private static final int FILE_VERSION = 1;
+    private static final int HEADER_INTS = 6;           // magic, version, fingerprint (2 ints), vertices, landmarks
+    private static final long SELECTION_SEED = 0x5eedL;
+
+    private final CompactGraph graph;
+    private final int numVertices;
+    private final int[] landmarks;
+    private final IntBuffer fromLandmark;   // [vertex * k + i] = d(landmarks[i], vertex)
+    private final IntBuffer toLandmark;     // [vertex * k + i] = d(vertex, landmarks[i])
+    private final long fingerprint;
+    private Graph source;
+    private long sourceVersion;
+
+    private LandmarkIndex(CompactGraph graph, int[] landmarks, IntBuffer fromLandmark, IntBuffer toLandmark,
+                          long fingerprint) {
+        this.graph = graph;
+        this.numVertices = graph.getNumVertices();
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Selects landmarks on the current content of a graph and computes their distance tables on the common pool.
+     *
+     * @param graph        The graph.
+     * @param numLandmarks Number of landmarks, capped at the number of vertices.
+     * @param selection    How landmarks are chosen.
+     * @param token        The cancellation token polled by every search.
+     * @return The index, which serves queries on the graph until its version changes.
+     * @throws IOException If the graph is empty, or the preprocessing was cancelled.
+     */
+    public static LandmarkIndex build(@NotNull Graph graph, int numLandmarks, @NotNull Selection selection,
+                                      @NotNull CancellationToken token) throws IOException {
+        long version = graph.getVersion();
+        LandmarkIndex index = build(CompactGraph.fromGraph(graph), numLandmarks, selection,
+                ForkJoinPool.commonPool(), token);
+        index.attach(graph, version);
+        return index;
+    }
+
+    /**
+     * Selects landmarks and computes their distance tables. The forward search from a new landmark and the
+     * backward search to it run in parallel; the avoid strategy additionally needs one tree search per landmark.
+     *
+     * @param graph        The graph.
+     * @param numLandmarks Number of landmarks, capped at the number of vertices.
+     * @param selection    How landmarks are chosen.
+     * @param executor     The executor running the searches.
+     * @param token        The cancellation token polled by every search.
+     * @return The index.
+     * @throws IOException If the number of landmarks is not positive, or the preprocessing was cancelled.
+     */
+    public static LandmarkIndex build(@NotNull CompactGraph graph, int numLandmarks, @NotNull Selection selection,
+                                      @NotNull ExecutorService executor,
+                                      @NotNull CancellationToken token) throws IOException {
+        if (numLandmarks < 1) {
+            throw new IOException("Number of landmarks must be positive");
+        }
+        int numVertices = graph.getNumVertices();
+        int k = Math.min(numLandmarks, numVertices);
+        CompactGraph reversed = graph.transpose();
+        int[] landmarks = new int[k];
+        int[][] forward = new int[k][];
+        int[][] backward = new int[k][];
+        Random random = new Random(SELECTION_SEED);
+        DijkstraSearch rootSearch = new DijkstraSearch(graph);
+
+        for (int i = 0; i < k; i++) {
+            token.throwIfCancelled();
+            int root = random.nextInt(numVertices);
+            int landmark = selection == Selection.AVOID
+                    ? avoid(rootSearch, root, landmarks, forward, backward, i, token)
+                    : -1;
+            if (landmark < 0) {
+                landmark = farthest(rootSearch, root, landmarks, forward, i, token);
+            }
+            landmarks[i] = landmark;
+
+            int chosen = landmark;
+            Future<int[]> forwardDistances = executor.submit(() -> fullDistances(graph, chosen, token));
+            Future<int[]> backwardDistances = executor.submit(() -> fullDistances(reversed, chosen, token));
+            forward[i] = await(forwardDistances);
+            backward[i] = await(backwardDistances);
+        }
+
+        int[] fromLandmark = new int[numVertices * k];
+        int[] toLandmark = new int[numVertices * k];
+        for (int i = 0; i < k; i++) {
+            for (int vertex = 0; vertex < numVertices; vertex++) {
+                fromLandmark[vertex * k + i] = forward[i][vertex];
+                toLandmark[vertex * k + i] = backward[i][vertex];
+            }
+        }
+        return new LandmarkIndex(graph, landmarks, IntBuffer.wrap(fromLandmark), IntBuffer.wrap(toLandmark),
+                fingerprint(graph));
+    }
+
+    /**
+     * Maps an index file written by {@link #save(Path)}; the tables stay in the file and are paged in on demand.
+     *
+     * @param file  The index file.
+     * @param graph The graph the index was built for.
+     * @return The index, which serves queries on the graph until its version changes.
+     * @throws IOException If the file cannot be read, or was built for a graph with different content.
+     */
+    public static LandmarkIndex load(@NotNull Path file, @NotNull Graph graph) throws IOException {
+        long version = graph.getVersion();
+        LandmarkIndex index = load(file, CompactGraph.fromGraph(graph));
+        index.attach(graph, version);
+        return index;
+    }
+
+    /**
+     * Maps an index file written by {@link #save(Path)}.
+     *
+     * @param file  The index file.
+     * @param graph The graph the index was built for.
+     * @return The index.
+     * @throws IOException If the file cannot be read, or was built for a graph with different content.
+     */
+    public static LandmarkIndex load(@NotNull Path file, @NotNull CompactGraph graph) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        IntBuffer ints = buffer.asIntBuffer();
+        if (ints.limit() < HEADER_INTS || ints.get(0) != FILE_MAGIC || ints.get(1) != FILE_VERSION) {
+            throw new IOException("Incorrect data");
+        }
+        long storedFingerprint = ((long) ints.get(2) << 32) | (ints.get(3) & 0xffffffffL);
+        int numVertices = ints.get(4);
+        int k = ints.get(5);
+        if (numVertices != graph.getNumVertices() || storedFingerprint != fingerprint(graph)) {
+            throw new IOException("Landmarks were built for a different graph");
+        }
+        long tableInts = (long) numVertices * k;
+        if (k < 1 || k > numVertices || ints.limit() != HEADER_INTS + k + 2 * tableInts) {
+            throw new IOException("Incorrect data");
+        }
+
+        int[] landmarks = new int[k];
+        ints.get(HEADER_INTS, landmarks);
+        IntBuffer fromLandmark = ints.slice(HEADER_INTS + k, (int) tableInts);
+        IntBuffer toLandmark = ints.slice(HEADER_INTS + k + (int) tableInts, (int) tableInts);
+        return new LandmarkIndex(graph, landmarks, fromLandmark, toLandmark, storedFingerprint);
+    }
+
+    /**
+     * Builds an index, reusing the one saved in the file when it still matches the graph and has the requested
+     * number of landmarks, and saving a freshly built one otherwise.
+     *
+     * @return The index.
+     * @throws IOException If the graph is empty, or the preprocessing was cancelled.
+     */
+    public static LandmarkIndex loadOrBuild(@NotNull Path file, @NotNull Graph graph, int numLandmarks,
+                                            @NotNull Selection selection,
+                                            @NotNull CancellationToken token) throws IOException {
+        if (Files.isRegularFile(file)) {
+            try {
+                LandmarkIndex index = load(file, graph);
+                if (index.getNumLandmarks() == Math.min(numLandmarks, graph.getNumVertices())) return index;
+            } catch (IOException e) {
+                // a stale or damaged index file is rebuilt
+            }
+        }
+        LandmarkIndex index = build(graph, numLandmarks, selection, token);
+        index.save(file);
+        return index;
+    }
+
+    /**
+     * Writes the index to a file, replacing it atomically.
+     *
+     * @param file The index file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(@NotNull Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                int k = landmarks.length;
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeLong(fingerprint);
+                out.writeInt(numVertices);
+                out.writeInt(k);
+                for (int landmark : landmarks) {
+                    out.writeInt(landmark);
+                }
+                for (int i = 0; i < numVertices * k; i++) {
+                    out.writeInt(fromLandmark.get(i));
+                }
+                for (int i = 0; i < numVertices * k; i++) {
+                    out.writeInt(toLandmark.get(i));
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @return True if the index was built or loaded for this graph and the graph has not changed since.
+     */
+    public boolean isFor(Graph graph) {
+        return source == graph && graph.getVersion() == sourceVersion;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public int getNumLandmarks() {
+        return landmarks.length;
+    }
+
+    /**
+     * @return The landmark vertices, in selection order.
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * @return {@code d(landmarks[index], vertex)}, Integer.MAX_VALUE if unreachable.
+     */
+    public int distanceFromLandmark(int index, int vertex) {
+        return fromLandmark.get(vertex * landmarks.length + index);
+    }
+
+    /**
+     * @return {@code d(vertex, landmarks[index])}, Integer.MAX_VALUE if unreachable.
+     */
+    public int distanceToLandmark(int index, int vertex) {
+        return toLandmark.get(vertex * landmarks.length + index);
+    }
+
+    /**
+     * Lower bound on {@code d(vertex, target)} from a single landmark.
+     *
+     * @return The bound, 0 if the landmark gives none, or Integer.MAX_VALUE if the landmark proves that the target
+     * cannot be reached from the vertex.
+     */
+    public int lowerBound(int index, int vertex, int target) {
+        int k = landmarks.length;
+        long bound = 0;
+        int fromToVertex = fromLandmark.get(vertex * k + index);
+        int fromToTarget = fromLandmark.get(target * k + index);
+        if (fromToVertex != Integer.MAX_VALUE) {
+            // the landmark reaches the vertex but not the target, so the vertex cannot reach the target either
+            if (fromToTarget == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+            bound = Math.max(bound, (long) fromToTarget - fromToVertex);
+        }
+        int vertexToLandmark = toLandmark.get(vertex * k + index);
+        int targetToLandmark = toLandmark.get(target * k + index);
+        if (targetToLandmark != Integer.MAX_VALUE) {
+            // the target reaches the landmark but the vertex does not, so the vertex cannot reach the target
+            if (vertexToLandmark == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+            bound = Math.max(bound, (long) vertexToLandmark - targetToLandmark);
+        }
+        return (int) bound;
+    }
+
+    void attach(Graph graph, long version) {
+        this.source = graph;
+        this.sourceVersion = version;
+    }
+
+    private static int[] fullDistances(CompactGraph graph, int source, CancellationToken token) throws IOException {
+        DijkstraSearch search = new DijkstraSearch(graph);
+        search.search(source, token);
+        int[] distances = new int[graph.getNumVertices()];
+        for (int vertex = 0; vertex < distances.length; vertex++) {
+            distances[vertex] = search.distance(vertex);
+        }
+        return distances;
+    }
+
+    private static int[] await(Future<int[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Landmark preprocessing failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        }
+    }
+
+    /**
+     * Picks the vertex whose distance from the nearest chosen landmark is largest; vertices no landmark reaches
+     * count as infinitely far, so every component gets a landmark. The first landmark is the vertex farthest
+     * from the root.
+     */
+    private static int farthest(DijkstraSearch search, int root, int[] landmarks, int[][] forward, int chosen,
+                                CancellationToken token) throws IOException {
+        if (chosen == 0) {
+            search.search(root, token);
+        }
+        int best = -1;
+        long bestDistance = -1;
+        for (int vertex = 0; vertex < search.getGraph().getNumVertices(); vertex++) {
+            if (contains(landmarks, chosen, vertex)) continue;
+            long nearest = chosen == 0 ? search.distance(vertex) : Long.MAX_VALUE;
+            if (chosen == 0 && nearest == DijkstraSearch.UNREACHABLE) continue;
+            for (int i = 0; i < chosen; i++) {
+                nearest = Math.min(nearest, forward[i][vertex]);
+            }
+            if (nearest > bestDistance) {
+                best = vertex;
+                bestDistance = nearest;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Avoid strategy: returns the new landmark, or -1 if every branch of the tree already holds one.
+     */
+    private static int avoid(DijkstraSearch search, int root, int[] landmarks, int[][] forward, int[][] backward,
+                             int chosen, CancellationToken token) throws IOException {
+        int numVertices = search.getGraph().getNumVertices();
+        search.search(root, token);
+
+        // vertices of the tree, deepest first, so every vertex is folded into its parent after all its children
+        int reached = 0;
+        long[] byDistance = new long[search.getSettledCount()];
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            if (search.isSettled(vertex)) {
+                byDistance[reached++] = ((long) search.distance(vertex) << 32) | vertex;
+            }
+        }
+        Arrays.sort(byDistance, 0, reached);
+
+        long[] size = new long[numVertices];
+        boolean[] covered = new boolean[numVertices];
+        int[] childCount = new int[numVertices + 1];
+        for (int i = reached - 1; i >= 0; i--) {
+            int vertex = (int) byDistance[i];
+            covered[vertex] |= contains(landmarks, chosen, vertex);
+            size[vertex] = covered[vertex]
+                    ? 0
+                    : size[vertex] + weight(search.distance(vertex), root, vertex, forward, backward, chosen);
+            int parent = search.parent(vertex);
+            if (parent >= 0) {
+                covered[parent] |= covered[vertex];
+                size[parent] += size[vertex];
+                childCount[parent + 1]++;
+            }
+        }
+        if (size[root] == 0) return -1;
+
+        // children of every tree vertex, to descend from the root along the heaviest uncovered branch
+        int[] childStart = childCount;
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            childStart[vertex + 1] += childStart[vertex];
+        }
+        int[] children = new int[childStart[numVertices]];
+        int[] fill = Arrays.copyOf(childStart, numVertices);
+        for (int i = 0; i < reached; i++) {
+            int vertex = (int) byDistance[i];
+            int parent = search.parent(vertex);
+            if (parent >= 0) children[fill[parent]++] = vertex;
+        }
+
+        int vertex = root;
+        while (true) {
+            int heaviest = -1;
+            for (int i = childStart[vertex]; i < childStart[vertex + 1]; i++) {
+                int child = children[i];
+                if (size[child] > 0 && (heaviest < 0 || size[child] > size[heaviest])) heaviest = child;
+            }
+            if (heaviest < 0) return vertex;
+            vertex = heaviest;
+        }
+    }
+
+    /**
+     * How much the distance from the root to the vertex exceeds its best landmark lower bound.
+     */
+    private static long weight(int distance, int root, int vertex, int[][] forward, int[][] backward, int chosen) {
+        long bound = 0;
+        for (int i = 0; i < chosen; i++) {
+            if (forward[i][root] != Integer.MAX_VALUE && forward[i][vertex] != Integer.MAX_VALUE) {
+                bound = Math.max(bound, (long) forward[i][vertex] - forward[i][root]);
+            }
+            if (backward[i][root] != Integer.MAX_VALUE && backward[i][vertex] != Integer.MAX_VALUE) {
+                bound = Math.max(bound, (long) backward[i][root] - backward[i][vertex]);
+            }
+        }
+        return Math.max(0, distance - bound);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private static long fingerprint(CompactGraph graph) {
+        long hash = 0xcbf29ce484222325L ^ graph.getNumVertices();
+        for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+            hash = (hash ^ graph.degree(vertex)) * 0x100000001b3L;
+            for (int edge = graph.edgeStart(vertex); edge < graph.edgeEnd(vertex); edge++) {
+                hash = (hash ^ graph.target(edge)) * 0x100000001b3L;
+                hash = (hash ^ graph.weight(edge)) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,189 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.models.structures.IndexedMinHeap;
+import com.navigator.app.s21_graph.CompactGraph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reusable point-to-point A* workspace guided by the lower bounds of a {@link LandmarkIndex} (ALT).
+ * <p>
+ * Each query picks the {@code activeLandmarks} landmarks with the best bound between source and target and uses
+ * the largest of their bounds as the A* potential. The potential is consistent, so every vertex is settled once
+ * and the result is exact; a vertex a landmark proves unable to reach the target is never queued. Per-vertex state
+ * is stamped like in {@link DijkstraSearch}. Not thread-safe: use one instance per thread.
+ */
+public class LandmarkSearch {
+    /** Number of landmarks consulted per query by default. */
+    public static final int DEFAULT_ACTIVE_LANDMARKS = 4;
+
+    private static final int CANCELLATION_CHECK_MASK = 0xFF;
+
+    private final LandmarkIndex index;
+    private final CompactGraph graph;
+    private final int[] active;
+    private final int[] distances;
+    private final int[] parents;
+    private final int[] potentials;
+    private final int[] reachedStamp;
+    private final int[] settledStamp;
+    private final IndexedMinHeap heap;
+    private int activeCount;
+    private int stamp;
+    private int settledCount;
+    private int target = -1;
+
+    public LandmarkSearch(@NotNull LandmarkIndex index) {
+        this(index, DEFAULT_ACTIVE_LANDMARKS);
+    }
+
+    /**
+     * @param index           The landmark index of the graph to search.
+     * @param activeLandmarks Number of landmarks consulted per query, capped at the number of landmarks.
+     */
+    public LandmarkSearch(@NotNull LandmarkIndex index, int activeLandmarks) {
+        int numVertices = index.getGraph().getNumVertices();
+        this.index = index;
+        this.graph = index.getGraph();
+        this.active = new int[Math.max(1, Math.min(activeLandmarks, index.getNumLandmarks()))];
+        this.distances = new int[numVertices];
+        this.parents = new int[numVertices];
+        this.potentials = new int[numVertices];
+        this.reachedStamp = new int[numVertices];
+        this.settledStamp = new int[numVertices];
+        this.heap = new IndexedMinHeap(numVertices);
+    }
+
+    /**
+     * Finds the shortest distance from the source to the target.
+     *
+     * @param source The source vertex.
+     * @param target The target vertex.
+     * @param token  The cancellation token polled every 256 settled vertices.
+     * @return The shortest distance, Integer.MAX_VALUE if no path exists.
+     * @throws IOException If a vertex does not exist, or the search was cancelled.
+     */
+    public int distance(int source, int target, @NotNull CancellationToken token) throws IOException {
+        checkVertex(source);
+        checkVertex(target);
+        nextStamp();
+        this.target = target;
+        selectActiveLandmarks(source, target);
+
+        int sourcePotential = potential(source);
+        if (sourcePotential == Integer.MAX_VALUE) return DijkstraSearch.UNREACHABLE;
+        distances[source] = 0;
+        parents[source] = -1;
+        potentials[source] = sourcePotential;
+        reachedStamp[source] = stamp;
+        heap.pushOrDecrease(source, sourcePotential);
+
+        try {
+            while (!heap.isEmpty()) {
+                int vertex = heap.pop();
+                settledStamp[vertex] = stamp;
+                if ((++settledCount & CANCELLATION_CHECK_MASK) == 0) {
+                    token.throwIfCancelled();
+                }
+                if (vertex == target) return distances[target];
+
+                int distance = distances[vertex];
+                for (int edge = graph.edgeStart(vertex); edge < graph.edgeEnd(vertex); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (settledStamp[neighbor] == stamp) continue;
+                    int newDistance = distance + graph.weight(edge);
+                    if (reachedStamp[neighbor] != stamp) {
+                        int neighborPotential = potential(neighbor);
+                        if (neighborPotential == Integer.MAX_VALUE) continue;
+                        potentials[neighbor] = neighborPotential;
+                    } else if (newDistance >= distances[neighbor]) {
+                        continue;
+                    }
+                    reachedStamp[neighbor] = stamp;
+                    distances[neighbor] = newDistance;
+                    parents[neighbor] = vertex;
+                    heap.pushOrDecrease(neighbor, (int) Math.min(Integer.MAX_VALUE - 1L,
+                            (long) newDistance + potentials[neighbor]));
+                }
+            }
+            return DijkstraSearch.UNREACHABLE;
+        } finally {
+            heap.clear();
+            Metrics.add("alt.verticesSettled", settledCount);
+        }
+    }
+
+    /**
+     * @return The vertices on the shortest path found by the last query, empty if there is none.
+     */
+    public List<Integer> path() {
+        if (target < 0 || settledStamp[target] != stamp) return Collections.emptyList();
+        List<Integer> path = new ArrayList<>();
+        for (int vertex = target; vertex != -1; vertex = parents[vertex]) {
+            path.add(vertex);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public LandmarkIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Number of vertices settled by the last query.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    private int potential(int vertex) {
+        int best = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int bound = index.lowerBound(active[i], vertex, target);
+            if (bound == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+            best = Math.max(best, bound);
+        }
+        return best;
+    }
+
+    /**
+     * Keeps the landmarks giving the largest bound on {@code d(source, target)}, the standard heuristic for
+     * the ones that will also bound the vertices in between well.
+     */
+    private void selectActiveLandmarks(int source, int target) {
+        int numLandmarks = index.getNumLandmarks();
+        long[] ranked = new long[numLandmarks];
+        for (int i = 0; i < numLandmarks; i++) {
+            long bound = index.lowerBound(i, source, target);
+            ranked[i] = (bound << 32) | (0x7fffffffL - i);
+        }
+        Arrays.sort(ranked);
+        activeCount = active.length;
+        for (int i = 0; i < activeCount; i++) {
+            active[i] = 0x7fffffff - (int) ranked[numLandmarks - 1 - i];
+        }
+    }
+
+    private void nextStamp() {
+        settledCount = 0;
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(reachedStamp, 0);
+            Arrays.fill(settledStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    private void checkVertex(int vertex) throws IOException {
+        if (vertex < 0 || vertex >= graph.getNumVertices()) {
+            throw new IOException("Vertex not found");
+        }
+    }
+}
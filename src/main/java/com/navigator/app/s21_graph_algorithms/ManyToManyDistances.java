@@ -0,0 +1,132 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.shortestPath.DistanceTable;
+import com.navigator.app.s21_graph.CompactGraph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes sources x targets distance tables.
+ * <p>
+ * The table is filled one line at a time from its shorter side: with fewer sources than targets every source runs
+ * a forward one-to-many Dijkstra that stops once all targets are settled; with fewer targets every target runs the
+ * same search backwards over the transposed graph and fills a column. Lines are spread across a worker pool,
+ * each worker reusing one {@link DijkstraSearch} workspace.
+ */
+public class ManyToManyDistances {
+    private final CompactGraph graph;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private CompactGraph reversed;
+
+    public ManyToManyDistances(@NotNull CompactGraph graph) {
+        this(graph, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * @param graph       The graph to query.
+     * @param executor    The pool running the workers.
+     * @param parallelism Maximum number of workers used per table.
+     */
+    public ManyToManyDistances(@NotNull CompactGraph graph, @NotNull ExecutorService executor, int parallelism) {
+        this.graph = graph;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Computes the distances from one source to every target.
+     *
+     * @param source  The source vertex.
+     * @param targets The target vertices.
+     * @param token   The cancellation token polled by the search.
+     * @return Distances aligned with the targets, Integer.MAX_VALUE where no path exists.
+     * @throws IOException If a vertex does not exist, or the search was cancelled.
+     */
+    public int[] oneToMany(int source, int[] targets, @NotNull CancellationToken token) throws IOException {
+        return manyToMany(new int[]{source}, targets, token).getDistances();
+    }
+
+    /**
+     * Computes the distance from every source to every target.
+     *
+     * @param sources The source vertices, one table row each.
+     * @param targets The target vertices, one table column each.
+     * @param token   The cancellation token polled by every search.
+     * @return The distance table.
+     * @throws IOException If a vertex does not exist, or the computation was cancelled.
+     */
+    public DistanceTable manyToMany(int[] sources, int[] targets, @NotNull CancellationToken token) throws IOException {
+        for (int vertex : sources) checkVertex(vertex);
+        for (int vertex : targets) checkVertex(vertex);
+
+        int[] distances = new int[sources.length * targets.length];
+        boolean forward = sources.length <= targets.length;
+        CompactGraph searchGraph = forward ? graph : reversedGraph();
+        int[] lineStarts = forward ? sources : targets;
+        int[] lineEnds = forward ? targets : sources;
+
+        AtomicInteger nextLine = new AtomicInteger();
+        int workers = Math.min(parallelism, lineStarts.length);
+        if (workers <= 1) {
+            fillLines(searchGraph, forward, lineStarts, lineEnds, distances, nextLine, token);
+            return new DistanceTable(sources.clone(), targets.clone(), distances);
+        }
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(() -> {
+                fillLines(searchGraph, forward, lineStarts, lineEnds, distances, nextLine, token);
+                return null;
+            }));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Distance table failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        }
+        return new DistanceTable(sources.clone(), targets.clone(), distances);
+    }
+
+    private void fillLines(CompactGraph searchGraph, boolean forward, int[] lineStarts, int[] lineEnds,
+                           int[] distances, AtomicInteger nextLine, CancellationToken token) throws IOException {
+        DijkstraSearch search = new DijkstraSearch(searchGraph);
+        int columns = forward ? lineEnds.length : lineStarts.length;
+        for (int line = nextLine.getAndIncrement(); line < lineStarts.length; line = nextLine.getAndIncrement()) {
+            token.throwIfCancelled();
+            search.search(lineStarts[line], lineEnds, 0, lineEnds.length, token);
+            for (int i = 0; i < lineEnds.length; i++) {
+                int cell = forward ? line * columns + i : i * columns + line;
+                distances[cell] = search.distance(lineEnds[i]);
+            }
+        }
+    }
+
+    private synchronized CompactGraph reversedGraph() {
+        if (reversed == null) {
+            reversed = graph.transpose();
+        }
+        return reversed;
+    }
+
+    private void checkVertex(int vertex) throws IOException {
+        if (vertex < 0 || vertex >= graph.getNumVertices()) {
+            throw new IOException("Vertex not found");
+        }
+    }
+}
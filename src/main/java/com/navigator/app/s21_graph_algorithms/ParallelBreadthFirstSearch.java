@@ -0,0 +1,272 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.traversal.BfsResult;
+import com.navigator.app.s21_graph.CompactGraph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Level-synchronous parallel breadth-first search with direction optimization (Beamer et al.).
+ * <p>
+ * Small frontiers are expanded top-down: frontier vertices are split across workers, which claim unvisited
+ * neighbours with a CAS on an atomic visited bitset. Once the edges leaving the frontier outnumber the edges
+ * of the still unexplored part by {@link #ALPHA}, the search switches to bottom-up: every unvisited vertex scans
+ * its incoming edges for a parent in the frontier bitset and stops at the first hit. It switches back when the
+ * frontier shrinks below {@code V / }{@link #BETA}.
+ * <p>
+ * Levels are exact. Parents are valid BFS-tree parents but, for top-down levels, depend on thread timing
+ * unless the visit order is requested, in which case they are rewritten to the parents sequential
+ * {@link GraphAlgorithms#BreadthFirstSearch} would pick and the order matches it exactly.
+ */
+public class ParallelBreadthFirstSearch {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int GRAIN = 1024;   // vertices per task, a multiple of 64
+
+    private final CompactGraph graph;
+    private final CompactGraph incoming;
+    private final ForkJoinPool pool;
+
+    public ParallelBreadthFirstSearch(@NotNull CompactGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param graph The graph to search.
+     * @param pool  The pool running the per-level tasks.
+     */
+    public ParallelBreadthFirstSearch(@NotNull CompactGraph graph, @NotNull ForkJoinPool pool) {
+        this.graph = graph;
+        this.incoming = graph.transpose();
+        this.pool = pool;
+    }
+
+    /**
+     * Computes BFS levels and parents from the source vertex.
+     *
+     * @param source The starting vertex.
+     * @return Levels and parents; the order is not computed.
+     * @throws IOException If the vertex does not exist.
+     */
+    public BfsResult search(int source) throws IOException {
+        return search(source, false, CancellationToken.none());
+    }
+
+    /**
+     * Computes BFS levels and parents from the source vertex.
+     *
+     * @param source    The starting vertex.
+     * @param withOrder Whether to also compute the sequential BFS visit order.
+     * @param token     The cancellation token polled once per level and task.
+     * @return Levels, parents and, if requested, the visit order.
+     * @throws IOException If the vertex does not exist, or the search was cancelled.
+     */
+    public BfsResult search(int source, boolean withOrder, @NotNull CancellationToken token) throws IOException {
+        int numVertices = graph.getNumVertices();
+        if (source < 0 || source >= numVertices) {
+            throw new IOException("Vertex not found");
+        }
+
+        int[] levels = new int[numVertices];
+        int[] parents = new int[numVertices];
+        Arrays.fill(levels, -1);
+        Arrays.fill(parents, -1);
+        AtomicLongArray visited = new AtomicLongArray((numVertices + 63) >>> 6);
+        long[] frontierBits = new long[(numVertices + 63) >>> 6];
+
+        levels[source] = 0;
+        parents[source] = source;
+        visited.set(source >>> 6, 1L << source);
+        int[] frontier = {source};
+        List<int[]> levelVertices = new ArrayList<>();
+        levelVertices.add(frontier);
+        int reached = 1;
+
+        long frontierEdges = graph.degree(source);
+        long unexploredEdges = graph.getNumEdges() - frontierEdges;
+        boolean bottomUp = false;
+
+        for (int depth = 0; frontier.length > 0; depth++) {
+            token.throwIfCancelled();
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontier.length < numVertices / BETA) {
+                bottomUp = false;
+            }
+
+            frontier = bottomUp
+                    ? bottomUpStep(frontier, frontierBits, depth, levels, parents, visited, token)
+                    : topDownStep(frontier, depth, levels, parents, visited, token);
+            reached += frontier.length;
+            if (withOrder && frontier.length > 0) {
+                levelVertices.add(frontier);
+            }
+
+            frontierEdges = 0;
+            for (int vertex : frontier) {
+                frontierEdges += graph.degree(vertex);
+            }
+            unexploredEdges -= frontierEdges;
+        }
+
+        token.throwIfCancelled();
+        int[] order = withOrder ? sequentialOrder(levelVertices, levels, parents, reached, token) : null;
+        return new BfsResult(source, levels, parents, order, reached);
+    }
+
+    private int[] topDownStep(int[] frontier, int depth, int[] levels, int[] parents,
+                              AtomicLongArray visited, CancellationToken token) {
+        int tasks = (frontier.length + GRAIN - 1) / GRAIN;
+        int[][] found = new int[tasks][];
+        int[] foundCount = new int[tasks];
+
+        parallelFor(tasks, task -> {
+            if (token.isCancelled()) return;
+            int[] local = new int[64];
+            int count = 0;
+            int end = Math.min(frontier.length, (task + 1) * GRAIN);
+            for (int i = task * GRAIN; i < end; i++) {
+                int vertex = frontier[i];
+                for (int edge = graph.edgeStart(vertex); edge < graph.edgeEnd(vertex); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (claim(visited, neighbor)) {
+                        parents[neighbor] = vertex;
+                        levels[neighbor] = depth + 1;
+                        if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                        local[count++] = neighbor;
+                    }
+                }
+            }
+            found[task] = local;
+            foundCount[task] = count;
+        });
+        return concat(found, foundCount);
+    }
+
+    private int[] bottomUpStep(int[] frontier, long[] frontierBits, int depth, int[] levels, int[] parents,
+                               AtomicLongArray visited, CancellationToken token) {
+        Arrays.fill(frontierBits, 0);
+        for (int vertex : frontier) {
+            frontierBits[vertex >>> 6] |= 1L << vertex;
+        }
+
+        int numVertices = graph.getNumVertices();
+        int tasks = (numVertices + GRAIN - 1) / GRAIN;
+        int[][] found = new int[tasks][];
+        int[] foundCount = new int[tasks];
+
+        parallelFor(tasks, task -> {
+            if (token.isCancelled()) return;
+            int[] local = new int[64];
+            int count = 0;
+            int end = Math.min(numVertices, (task + 1) * GRAIN);
+            // tasks cover whole words, so each visited word is written by exactly one task in this step
+            for (int wordStart = task * GRAIN; wordStart < end; wordStart += 64) {
+                int word = wordStart >>> 6;
+                long visitedWord = visited.get(word);
+                long claimed = 0;
+                for (int vertex = wordStart; vertex < Math.min(end, wordStart + 64); vertex++) {
+                    if ((visitedWord & (1L << vertex)) != 0) continue;
+                    for (int edge = incoming.edgeStart(vertex); edge < incoming.edgeEnd(vertex); edge++) {
+                        int candidate = incoming.target(edge);
+                        if ((frontierBits[candidate >>> 6] & (1L << candidate)) != 0) {
+                            parents[vertex] = candidate;
+                            levels[vertex] = depth + 1;
+                            claimed |= 1L << vertex;
+                            if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                            local[count++] = vertex;
+                            break;
+                        }
+                    }
+                }
+                if (claimed != 0) {
+                    visited.set(word, visitedWord | claimed);
+                }
+            }
+            found[task] = local;
+            foundCount[task] = count;
+        });
+        return concat(found, foundCount);
+    }
+
+    /**
+     * Sorts every level by the position of its first parent in the previous level, then by vertex,
+     * which is the order sequential BFS with ascending neighbour scans produces.
+     */
+    private int[] sequentialOrder(List<int[]> levelVertices, int[] levels, int[] parents, int reached,
+                                  CancellationToken token) throws IOException {
+        int[] position = new int[graph.getNumVertices()];
+        int[] order = new int[reached];
+        order[0] = levelVertices.get(0)[0];
+        int cursor = 1;
+
+        for (int depth = 1; depth < levelVertices.size(); depth++) {
+            token.throwIfCancelled();
+            int[] vertices = levelVertices.get(depth);
+            long[] keys = new long[vertices.length];
+            int previousLevel = depth - 1;
+            int tasks = (vertices.length + GRAIN - 1) / GRAIN;
+
+            parallelFor(tasks, task -> {
+                int end = Math.min(vertices.length, (task + 1) * GRAIN);
+                for (int i = task * GRAIN; i < end; i++) {
+                    int vertex = vertices[i];
+                    int firstParent = -1;
+                    for (int edge = incoming.edgeStart(vertex); edge < incoming.edgeEnd(vertex); edge++) {
+                        int candidate = incoming.target(edge);
+                        if (levels[candidate] == previousLevel
+                                && (firstParent == -1 || position[candidate] < position[firstParent])) {
+                            firstParent = candidate;
+                        }
+                    }
+                    parents[vertex] = firstParent;
+                    keys[i] = ((long) position[firstParent] << 32) | vertex;
+                }
+            });
+
+            Arrays.parallelSort(keys);
+            for (long key : keys) {
+                int vertex = (int) key;
+                position[vertex] = cursor;
+                order[cursor++] = vertex;
+            }
+        }
+        return order;
+    }
+
+    private static boolean claim(AtomicLongArray visited, int vertex) {
+        int word = vertex >>> 6;
+        long bit = 1L << vertex;
+        long current = visited.get(word);
+        while ((current & bit) == 0) {
+            if (visited.compareAndSet(word, current, current | bit)) return true;
+            current = visited.get(word);
+        }
+        return false;
+    }
+
+    private static int[] concat(int[][] parts, int[] counts) {
+        int total = 0;
+        for (int count : counts) total += count;
+        int[] result = new int[total];
+        int offset = 0;
+        for (int i = 0; i < parts.length; i++) {
+            if (counts[i] == 0) continue;
+            System.arraycopy(parts[i], 0, result, offset, counts[i]);
+            offset += counts[i];
+        }
+        return result;
+    }
+
+    private void parallelFor(int tasks, IntConsumer body) {
+        RangeTask.parallelFor(pool, tasks, body);
+    }
+}
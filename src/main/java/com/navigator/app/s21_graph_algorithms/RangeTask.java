@@ -0,0 +1,43 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs a body once per task index, splitting the index range in halves until single tasks remain.
+ */
+class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final transient IntConsumer body;
+
+    RangeTask(int from, int to, IntConsumer body) {
+        this.from = from;
+        this.to = to;
+        this.body = body;
+    }
+
+    /**
+     * Runs {@code body} for the indices {@code 0..tasks-1}, inline when there is a single task.
+     */
+    static void parallelFor(ForkJoinPool pool, int tasks, IntConsumer body) {
+        if (tasks == 1) {
+            body.accept(0);
+        } else if (tasks > 1) {
+            pool.invoke(new RangeTask(0, tasks, body));
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from == 1) {
+            body.accept(from);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new RangeTask(from, middle, body), new RangeTask(middle, to, body));
+    }
+}
@@ -0,0 +1,128 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.antAlgorithm.TsmProgressListener;
+import com.navigator.app.models.antAlgorithm.TsmResult;
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.shortestPath.DistanceTable;
+import com.navigator.app.models.traversal.ComponentsResult;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph.VertexPermutation;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Runs {@link GraphAlgorithms} on a copy of a graph with its vertices reordered for cache locality, translating
+ * vertex ids in both directions: arguments are ids of the original graph and so are all results. The copy is a
+ * read-only CSR graph, so the searches walk the renumbered edge arrays; only the all-pairs distances and the
+ * spanning tree, whose results are matrices, expand it into one.
+ * <p>
+ * Distances, spanning trees and components are the same as on the original graph. Traversal orders and tours
+ * are valid for the original graph too, but ties between neighbours are broken in the reordered numbering, so
+ * DFS and BFS may visit equally near vertices in a different order.
+ */
+@Getter
+public class ReorderedGraphAlgorithms {
+    private final Graph graph;
+    private final VertexPermutation permutation;
+    private final GraphAlgorithms algorithms;
+
+    /**
+     * Reorders a snapshot of the graph; later changes to the original are not seen.
+     *
+     * @param original   The graph to reorder.
+     * @param strategy   How to order the vertices.
+     * @param algorithms The algorithms to run on the reordered graph.
+     * @throws IOException If the graph is empty.
+     */
+    public ReorderedGraphAlgorithms(@NotNull Graph original, @NotNull VertexOrdering.Strategy strategy,
+                                    @NotNull GraphAlgorithms algorithms) throws IOException {
+        CompactGraph compact = CompactGraph.fromGraph(original);
+        this.permutation = VertexOrdering.compute(compact, strategy);
+        this.graph = Graph.readOnly(permutation.apply(compact));
+        this.algorithms = algorithms;
+    }
+
+    public ArrayList<Integer> DepthFirstSearch(int startVertex, @NotNull CancellationToken token) throws IOException {
+        return permutation.restore(algorithms.DepthFirstSearch(graph, toNew(startVertex), token));
+    }
+
+    public ArrayList<Integer> BreadthFirstSearch(int startVertex, @NotNull CancellationToken token) throws IOException {
+        return permutation.restore(algorithms.BreadthFirstSearch(graph, toNew(startVertex), token));
+    }
+
+    public int GetShortestPathBetweenVertices(int vertex1, int vertex2,
+                                              @NotNull CancellationToken token) throws IOException {
+        return algorithms.GetShortestPathBetweenVertices(graph, toNew(vertex1), toNew(vertex2), token);
+    }
+
+    public int[] GetShortestPathsBetweenVertexPairs(int[] sources, int[] targets,
+                                                    @NotNull CancellationToken token) throws IOException {
+        return algorithms.GetShortestPathsBetweenVertexPairs(graph, toNew(sources), toNew(targets), token);
+    }
+
+    /**
+     * The table is indexed like the arguments and lists their original ids as sources and targets.
+     */
+    public DistanceTable GetDistanceTable(int[] sources, int[] targets,
+                                          @NotNull CancellationToken token) throws IOException {
+        DistanceTable table = algorithms.GetDistanceTable(graph, toNew(sources), toNew(targets), token);
+        return new DistanceTable(sources.clone(), targets.clone(), table.getDistances());
+    }
+
+    public ArrayList<ArrayList<Integer>> GetShortestPathsBetweenAllVertices(
+            @NotNull CancellationToken token) throws IOException {
+        return permutation.restoreMatrix(algorithms.GetShortestPathsBetweenAllVertices(graph, token));
+    }
+
+    public ArrayList<ArrayList<Integer>> GetLeastSpanningTree(@NotNull CancellationToken token) throws IOException {
+        return permutation.restoreMatrix(algorithms.GetLeastSpanningTree(graph, token));
+    }
+
+    public ComponentsResult GetConnectedComponents(@NotNull CancellationToken token) throws IOException {
+        return restore(algorithms.GetConnectedComponents(graph, token));
+    }
+
+    public ComponentsResult GetStronglyConnectedComponents(@NotNull CancellationToken token) throws IOException {
+        return restore(algorithms.GetStronglyConnectedComponents(graph, token));
+    }
+
+    /**
+     * Solves the TSP on the reordered graph; the tour and every reported improvement use original ids.
+     */
+    public TsmResult SolveTravelingSalesmanProblem(@NotNull CancellationToken token,
+                                                   TsmProgressListener progressListener) throws IOException {
+        TsmProgressListener restoringListener = progressListener == null ? null
+                : (iteration, best) -> progressListener.onImprovement(iteration, restore(best));
+        return restore(algorithms.SolveTravelingSalesmanProblem(graph, token, restoringListener));
+    }
+
+    private TsmResult restore(TsmResult result) {
+        return new TsmResult(permutation.restore(result.getVertices()), result.getDistance());
+    }
+
+    /**
+     * Components are renumbered by their smallest original vertex, as on the original graph.
+     */
+    private ComponentsResult restore(ComponentsResult result) {
+        return ComponentsResult.normalize(permutation.restoreValues(result.getLabels()));
+    }
+
+    private int[] toNew(int[] vertices) throws IOException {
+        int[] translated = new int[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            translated[i] = toNew(vertices[i]);
+        }
+        return translated;
+    }
+
+    private int toNew(int vertex) throws IOException {
+        if (vertex < 0 || vertex >= permutation.size()) {
+            throw new IOException("Vertex not found");
+        }
+        return permutation.toNew(vertex);
+    }
+}
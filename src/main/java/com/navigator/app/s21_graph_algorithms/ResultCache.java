@@ -0,0 +1,311 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.s21_graph.EdgeChange;
+import com.navigator.app.s21_graph.Graph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memoizes the matrix results of the expensive whole-graph algorithms of one graph.
+ * <p>
+ * Results are keyed by algorithm and the graph's version, so they are returned instantly until the graph is
+ * reloaded or updated. If the only updates since are inserted or lighter edges, the all-pairs matrix is repaired
+ * in place: for an edge {@code a -> b} only the rows whose distance to {@code b} improves through it are
+ * rescanned, in {@code O(V)} each. With persistence enabled the results are also written to {@code <graph file>.results} next to the
+ * graph file and reused by later runs, as long as the content fingerprint stored in the file still matches the
+ * graph. Persistence is best-effort: an unreadable or unwritable results file only costs a recomputation.
+ * Callers get their own copy of every result.
+ */
+public class ResultCache {
+    private static final int FILE_MAGIC = 0x53325243;   // "S2RC"
+    private static final String FILE_SUFFIX = ".results";
+
+    /**
+     * The algorithms whose results are memoized.
+     */
+    public enum Algorithm {
+        ALL_PAIRS_SHORTEST_PATHS,
+        LEAST_SPANNING_TREE
+    }
+
+    private final Graph graph;
+    private final GraphAlgorithms graphAlgorithms;
+    private final boolean persistent;
+    private final Map<Algorithm, int[][]> results = new EnumMap<>(Algorithm.class);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong repairs = new AtomicLong();
+    private long graphVersion = -1;
+    private long fingerprint;
+    private boolean diskChecked;
+
+    public ResultCache(@NotNull Graph graph, @NotNull GraphAlgorithms graphAlgorithms) {
+        this(graph, graphAlgorithms, false);
+    }
+
+    /**
+     * @param graph           The graph whose results are cached.
+     * @param graphAlgorithms The algorithms computing the results on a miss.
+     * @param persistent      Whether to keep the results in a file next to the graph file.
+     */
+    public ResultCache(@NotNull Graph graph, @NotNull GraphAlgorithms graphAlgorithms, boolean persistent) {
+        this.graph = graph;
+        this.graphAlgorithms = graphAlgorithms;
+        this.persistent = persistent;
+    }
+
+    /**
+     * @return The memoized result of {@link GraphAlgorithms#GetShortestPathsBetweenAllVertices}.
+     * @throws IOException If the graph is empty or too large for an adjacency matrix, or the computation was
+     *                     cancelled.
+     */
+    public ArrayList<ArrayList<Integer>> getShortestPathsBetweenAllVertices(@NotNull CancellationToken token) throws IOException {
+        return get(Algorithm.ALL_PAIRS_SHORTEST_PATHS, token);
+    }
+
+    /**
+     * @return The memoized result of {@link GraphAlgorithms#GetLeastSpanningTree}.
+     * @throws IOException If the graph is empty or too large for an adjacency matrix, or the computation was
+     *                     cancelled.
+     */
+    public ArrayList<ArrayList<Integer>> getLeastSpanningTree(@NotNull CancellationToken token) throws IOException {
+        return get(Algorithm.LEAST_SPANNING_TREE, token);
+    }
+
+    /**
+     * Returns the result of the algorithm for the current graph version, computing it on a miss.
+     *
+     * @throws IOException If the graph is empty or too large for an adjacency matrix, or the computation was
+     *                     cancelled.
+     */
+    public synchronized ArrayList<ArrayList<Integer>> get(@NotNull Algorithm algorithm,
+                                                          @NotNull CancellationToken token) throws IOException {
+        refreshIfStale();
+        int[][] result = results.get(algorithm);
+        if (result != null) {
+            hits.incrementAndGet();
+            Metrics.increment("cache.results.hits");
+            return toList(result);
+        }
+
+        if (persistent && !diskChecked) {
+            diskChecked = true;
+            readResultsFile();
+            result = results.get(algorithm);
+            if (result != null) {
+                diskHits.incrementAndGet();
+                Metrics.increment("cache.results.diskHits");
+                return toList(result);
+            }
+        }
+
+        misses.incrementAndGet();
+        Metrics.increment("cache.results.misses");
+        ArrayList<ArrayList<Integer>> computed = compute(algorithm, token);
+        results.put(algorithm, toArray(computed));
+        if (persistent) {
+            writeResultsFile();
+        }
+        return computed;
+    }
+
+    /**
+     * Drops every memoized result held in memory.
+     */
+    public synchronized void invalidate() {
+        results.clear();
+        graphVersion = -1;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return Number of results read back from the results file.
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return Number of all-pairs results repaired after edge updates instead of recomputed.
+     */
+    public long getRepairs() {
+        return repairs.get();
+    }
+
+    /**
+     * @return The results file of the current graph, or null if the graph was not loaded from a file.
+     */
+    public Path getResultsFile() {
+        return graph.getSourceFile() == null ? null : Paths.get(graph.getSourceFile() + FILE_SUFFIX);
+    }
+
+    private ArrayList<ArrayList<Integer>> compute(Algorithm algorithm, CancellationToken token) throws IOException {
+        if (algorithm == Algorithm.ALL_PAIRS_SHORTEST_PATHS) {
+            return graphAlgorithms.GetShortestPathsBetweenAllVertices(graph, token);
+        }
+        return graphAlgorithms.GetLeastSpanningTree(graph, token);
+    }
+
+    private void refreshIfStale() throws IOException {
+        graph.requireAdjacencyMatrix();
+        long version = graph.getVersion();
+        if (version == graphVersion) return;
+
+        int[][] allPairs = results.get(Algorithm.ALL_PAIRS_SHORTEST_PATHS);
+        List<EdgeChange> changes = graphVersion == -1 ? null : graph.changesSince(graphVersion);
+        results.clear();
+        if (allPairs != null && changes != null && canRepairAllPairs(changes)) {
+            repairAllPairs(allPairs, changes);
+            results.put(Algorithm.ALL_PAIRS_SHORTEST_PATHS, allPairs);
+            repairs.incrementAndGet();
+        }
+        graphVersion = version;
+        fingerprint = fingerprint(graph);
+        diskChecked = false;
+    }
+
+    private static boolean canRepairAllPairs(List<EdgeChange> changes) {
+        for (EdgeChange change : changes) {
+            if (!change.isInsertionOrDecrease() || change.getFrom() == change.getTo()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Applies {@code d[i][j] = min(d[i][j], d[i][a] + w + d[b][j])} for every lighter edge {@code a -> b},
+     * skipping rows that do not reach {@code b} faster through the edge, since none of their entries can improve.
+     */
+    private static void repairAllPairs(int[][] distances, List<EdgeChange> changes) {
+        for (EdgeChange change : changes) {
+            int from = change.getFrom();
+            int to = change.getTo();
+            int[] viaRow = distances[to];
+            for (int[] row : distances) {
+                long toVia = (long) row[from] + change.getNewWeight();
+                if (toVia >= row[to]) continue;
+                for (int j = 0; j < row.length; j++) {
+                    long candidate = toVia + viaRow[j];
+                    if (candidate < row[j]) {
+                        row[j] = (int) candidate;
+                    }
+                }
+            }
+        }
+    }
+
+    private static long fingerprint(Graph graph) throws IOException {
+        long hash = 0xcbf29ce484222325L ^ graph.getNumVertices();
+        for (ArrayList<Integer> row : graph.requireAdjacencyMatrix()) {
+            for (int weight : row) {
+                hash = (hash ^ weight) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    private void readResultsFile() {
+        Path file = getResultsFile();
+        if (file == null || !Files.isRegularFile(file)) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readLong() != fingerprint) return;
+            int count = in.readInt();
+            Algorithm[] algorithms = Algorithm.values();
+            Map<Algorithm, int[][]> stored = new EnumMap<>(Algorithm.class);
+            for (int entry = 0; entry < count; entry++) {
+                int ordinal = in.readInt();
+                int size = in.readInt();
+                if (ordinal < 0 || ordinal >= algorithms.length || size != graph.getNumVertices()) return;
+                int[][] matrix = new int[size][size];
+                for (int[] row : matrix) {
+                    for (int j = 0; j < size; j++) {
+                        row[j] = in.readInt();
+                    }
+                }
+                stored.put(algorithms[ordinal], matrix);
+            }
+            stored.forEach(results::putIfAbsent);
+        } catch (IOException e) {
+            // a damaged results file is treated as absent
+        }
+    }
+
+    private void writeResultsFile() {
+        Path file = getResultsFile();
+        if (file == null) return;
+
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeLong(fingerprint);
+                out.writeInt(results.size());
+                for (Map.Entry<Algorithm, int[][]> entry : results.entrySet()) {
+                    int[][] matrix = entry.getValue();
+                    out.writeInt(entry.getKey().ordinal());
+                    out.writeInt(matrix.length);
+                    for (int[] row : matrix) {
+                        for (int value : row) {
+                            out.writeInt(value);
+                        }
+                    }
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the in-memory result stays valid; the next run recomputes
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // nothing left to clean up
+                }
+            }
+        }
+    }
+
+    private static int[][] toArray(ArrayList<ArrayList<Integer>> matrix) {
+        int[][] result = new int[matrix.size()][];
+        for (int i = 0; i < result.length; i++) {
+            ArrayList<Integer> row = matrix.get(i);
+            result[i] = new int[row.size()];
+            for (int j = 0; j < result[i].length; j++) {
+                result[i][j] = row.get(j);
+            }
+        }
+        return result;
+    }
+
+    private static ArrayList<ArrayList<Integer>> toList(int[][] matrix) {
+        ArrayList<ArrayList<Integer>> result = new ArrayList<>(matrix.length);
+        for (int[] values : matrix) {
+            ArrayList<Integer> row = new ArrayList<>(values.length);
+            for (int value : values) {
+                row.add(value);
+            }
+            result.add(row);
+        }
+        return result;
+    }
+}
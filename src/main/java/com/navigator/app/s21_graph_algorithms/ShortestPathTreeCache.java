@@ -0,0 +1,216 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.models.shortestPath.ShortestPathTree;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.CompactGraphSnapshot;
+import com.navigator.app.s21_graph.EdgeChange;
+import com.navigator.app.s21_graph.Graph;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least-recently-used cache of full shortest-path trees of one graph, keyed by source vertex.
+ * <p>
+ * A miss runs a full Dijkstra from the source and keeps its distance and parent arrays; any later query from the
+ * same source is answered from the tree, in constant time for distances and in path length for paths. Eviction
+ * keeps the total size of the cached trees under a byte budget. When the graph's version changes because of edge
+ * updates, the cached trees are repaired with {@link ShortestPathTreeRepair}; after a reload they are dropped.
+ * Safe for concurrent use; concurrent misses for the same source may each run their own search.
+ */
+public class ShortestPathTreeCache {
+    private final Graph graph;
+    private final long maxBytes;
+    private final LinkedHashMap<Integer, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong repairs = new AtomicLong();
+    private long cachedBytes;
+    private long graphVersion = -1;
+    private CompactGraph compactGraph;
+    private ThreadLocal<DijkstraSearch> searches;
+
+    /**
+     * @param graph    The graph whose shortest-path trees are cached.
+     * @param maxBytes Upper bound on the total size of the cached trees.
+     */
+    public ShortestPathTreeCache(@NotNull Graph graph, long maxBytes) {
+        this.graph = graph;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return True if this cache serves queries on the given graph.
+     */
+    public boolean isFor(Graph graph) {
+        return this.graph == graph;
+    }
+
+    /**
+     * Finds the shortest distance between two vertices.
+     *
+     * @return The shortest distance, Integer.MAX_VALUE if no path exists.
+     * @throws IOException If the graph is empty, a vertex does not exist, or the search was cancelled.
+     */
+    public int distance(int source, int target, @NotNull CancellationToken token) throws IOException {
+        return tree(source, target, token).distance(target);
+    }
+
+    /**
+     * Finds the vertices on a shortest path between two vertices.
+     *
+     * @return The path from the source to the target, empty if no path exists.
+     * @throws IOException If the graph is empty, a vertex does not exist, or the search was cancelled.
+     */
+    public List<Integer> path(int source, int target, @NotNull CancellationToken token) throws IOException {
+        return tree(source, target, token).path(target);
+    }
+
+    /**
+     * Returns the shortest-path tree of the source for a query to the target, so that the distance and the path of
+     * one query come from a single lookup.
+     *
+     * @throws IOException If the graph is empty, a vertex does not exist, or the search was cancelled.
+     */
+    public ShortestPathTree tree(int source, int target, @NotNull CancellationToken token) throws IOException {
+        ShortestPathTree tree = tree(source, token);
+        checkVertex(target, tree);
+        return tree;
+    }
+
+    /**
+     * Returns the cached shortest-path tree of the source, computing it on a miss.
+     *
+     * @throws IOException If the graph is empty, the vertex does not exist, or the search was cancelled.
+     */
+    public ShortestPathTree tree(int source, @NotNull CancellationToken token) throws IOException {
+        ThreadLocal<DijkstraSearch> currentSearches;
+        synchronized (this) {
+            refreshIfStale(token);
+            ShortestPathTree tree = trees.get(source);
+            if (tree != null) {
+                hits.incrementAndGet();
+                Metrics.increment("cache.shortestPathTree.hits");
+                return tree;
+            }
+            currentSearches = searches;
+        }
+
+        misses.incrementAndGet();
+        Metrics.increment("cache.shortestPathTree.misses");
+        DijkstraSearch search = currentSearches.get();
+        search.search(source, token);
+        ShortestPathTree tree = search.toTree();
+
+        synchronized (this) {
+            if (currentSearches == searches && !trees.containsKey(source)) {
+                put(source, tree);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Drops every cached tree.
+     */
+    public synchronized void invalidate() {
+        trees.clear();
+        cachedBytes = 0;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return Number of cached trees repaired after edge updates.
+     */
+    public long getRepairs() {
+        return repairs.get();
+    }
+
+    /**
+     * @return Fraction of lookups answered from the cache, or 0 before the first lookup.
+     */
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    public synchronized int size() {
+        return trees.size();
+    }
+
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    private void refreshIfStale(CancellationToken token) throws IOException {
+        long version = graph.getVersion();
+        if (version == graphVersion && compactGraph != null) return;
+
+        CompactGraphSnapshot snapshot = graph.compactSince(compactGraph == null ? -1 : graphVersion, compactGraph);
+        List<EdgeChange> changes = snapshot.getChanges();
+        CompactGraph rebuilt = snapshot.getGraph();
+        if (changes == null || rebuilt.getNumVertices() != compactGraph.getNumVertices()) {
+            invalidate();
+        } else {
+            repairTrees(rebuilt, changes, token);
+        }
+        compactGraph = rebuilt;
+        graphVersion = snapshot.getVersion();
+        searches = ThreadLocal.withInitial(() -> new DijkstraSearch(rebuilt));
+    }
+
+    private void repairTrees(CompactGraph rebuilt, List<EdgeChange> changes, CancellationToken token) throws IOException {
+        if (changes.isEmpty() || trees.isEmpty()) return;
+
+        ShortestPathTreeRepair repair = new ShortestPathTreeRepair(rebuilt);
+        try {
+            for (Map.Entry<Integer, ShortestPathTree> entry : trees.entrySet()) {
+                entry.setValue(repair.repair(entry.getValue(), changes, token));
+                repairs.incrementAndGet();
+            }
+        } catch (IOException e) {
+            invalidate();
+            compactGraph = null;
+            throw e;
+        }
+    }
+
+    private void put(int source, ShortestPathTree tree) {
+        long size = tree.sizeInBytes();
+        if (size > maxBytes) return;
+
+        Iterator<Map.Entry<Integer, ShortestPathTree>> eldest = trees.entrySet().iterator();
+        while (cachedBytes + size > maxBytes && eldest.hasNext()) {
+            cachedBytes -= eldest.next().getValue().sizeInBytes();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+        trees.put(source, tree);
+        cachedBytes += size;
+    }
+
+    private void checkVertex(int vertex, ShortestPathTree tree) throws IOException {
+        if (vertex < 0 || vertex >= tree.getDistances().length) {
+            throw new IOException("Vertex not found");
+        }
+    }
+}
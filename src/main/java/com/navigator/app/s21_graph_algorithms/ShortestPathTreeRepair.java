@@ -0,0 +1,181 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.shortestPath.ShortestPathTree;
+import com.navigator.app.models.structures.IndexedMinHeap;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.EdgeChange;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Repairs shortest-path trees after edge updates instead of recomputing them, in the style of
+ * Ramalingam and Reps' dynamic single-source shortest paths.
+ * <p>
+ * A removed or heavier edge only invalidates the subtree hanging below it, and only if it is a tree edge.
+ * Those vertices get a tentative distance over their incoming edges from the rest of the tree. Inserted or
+ * lighter edges are relaxed from their tails. A Dijkstra pass started from all of these candidates then
+ * settles the changed part of the tree, so the work is proportional to the vertices whose distance or parent
+ * actually changes and their edges. Weights must be non-negative. Not thread-safe: use one instance per thread.
+ */
+public class ShortestPathTreeRepair {
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int CANCELLATION_CHECK_MASK = 0xFF;
+
+    private final CompactGraph graph;
+    private final CompactGraph incoming;
+    private final IndexedMinHeap heap;
+    private final int[] affectedStamp;
+    private final int[] affected;
+    private int affectedCount;
+    private int stamp;
+
+    /**
+     * @param graph The graph after the updates.
+     */
+    public ShortestPathTreeRepair(@NotNull CompactGraph graph) {
+        this.graph = graph;
+        this.incoming = graph.transpose();
+        this.heap = new IndexedMinHeap(graph.getNumVertices());
+        this.affectedStamp = new int[graph.getNumVertices()];
+        this.affected = new int[graph.getNumVertices()];
+    }
+
+    /**
+     * Builds the shortest-path tree of the updated graph from the tree of the graph before the updates.
+     *
+     * @param tree    The tree before the updates; it is not modified.
+     * @param changes The edge changes that turned the old graph into the one this instance was built for.
+     * @param token   The cancellation token polled every 256 settled vertices.
+     * @return The repaired tree.
+     * @throws IOException If the tree does not match the graph, or the repair was cancelled.
+     */
+    public ShortestPathTree repair(@NotNull ShortestPathTree tree, @NotNull List<EdgeChange> changes,
+                                   @NotNull CancellationToken token) throws IOException {
+        int numVertices = graph.getNumVertices();
+        if (tree.getDistances().length != numVertices) {
+            throw new IOException("Graph size changed");
+        }
+        int[] distances = tree.getDistances().clone();
+        int[] parents = tree.getParents().clone();
+        nextStamp();
+
+        try {
+            markAffected(tree.getSource(), changes, parents);
+            if (affectedCount > 0) {
+                labelAffected(distances, parents);
+            }
+            for (EdgeChange change : changes) {
+                if (change.isInsertionOrDecrease() && affectedStamp[change.getFrom()] != stamp) {
+                    relaxOutgoing(change.getFrom(), distances, parents);
+                }
+            }
+
+            int settled = 0;
+            while (!heap.isEmpty()) {
+                int vertex = heap.pop();
+                if ((++settled & CANCELLATION_CHECK_MASK) == 0) {
+                    token.throwIfCancelled();
+                }
+                relaxOutgoing(vertex, distances, parents);
+            }
+        } finally {
+            heap.clear();
+        }
+        return new ShortestPathTree(tree.getSource(), distances, parents);
+    }
+
+    /**
+     * Collects the subtrees below every removed or heavier tree edge into the affected list.
+     */
+    private void markAffected(int source, List<EdgeChange> changes, int[] parents) {
+        int[] childOffsets = null;
+        int[] children = null;
+        affectedCount = 0;
+
+        for (EdgeChange change : changes) {
+            int root = change.getTo();
+            if (!change.isRemovalOrIncrease() || root == source || parents[root] != change.getFrom()
+                    || affectedStamp[root] == stamp) continue;
+
+            if (children == null) {
+                childOffsets = new int[parents.length + 1];
+                for (int parent : parents) {
+                    if (parent >= 0) childOffsets[parent + 1]++;
+                }
+                for (int i = 0; i < parents.length; i++) {
+                    childOffsets[i + 1] += childOffsets[i];
+                }
+                children = new int[childOffsets[parents.length]];
+                int[] position = childOffsets.clone();
+                for (int vertex = 0; vertex < parents.length; vertex++) {
+                    if (parents[vertex] >= 0) children[position[parents[vertex]]++] = vertex;
+                }
+            }
+
+            // walk the subtree; parents are still the old ones, so every vertex is reached once
+            int cursor = affectedCount;
+            affectedStamp[root] = stamp;
+            affected[affectedCount++] = root;
+            while (cursor < affectedCount) {
+                int vertex = affected[cursor++];
+                for (int i = childOffsets[vertex]; i < childOffsets[vertex + 1]; i++) {
+                    if (affectedStamp[children[i]] != stamp) {
+                        affectedStamp[children[i]] = stamp;
+                        affected[affectedCount++] = children[i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives every affected vertex its best distance over incoming edges from unaffected vertices.
+     */
+    private void labelAffected(int[] distances, int[] parents) {
+        for (int i = 0; i < affectedCount; i++) {
+            int vertex = affected[i];
+            distances[vertex] = UNREACHABLE;
+            parents[vertex] = -1;
+        }
+        for (int i = 0; i < affectedCount; i++) {
+            int vertex = affected[i];
+            for (int edge = incoming.edgeStart(vertex); edge < incoming.edgeEnd(vertex); edge++) {
+                int from = incoming.target(edge);
+                if (affectedStamp[from] == stamp || distances[from] == UNREACHABLE) continue;
+                int distance = distances[from] + incoming.weight(edge);
+                if (distance < distances[vertex]) {
+                    distances[vertex] = distance;
+                    parents[vertex] = from;
+                }
+            }
+            if (distances[vertex] != UNREACHABLE) {
+                heap.pushOrDecrease(vertex, distances[vertex]);
+            }
+        }
+    }
+
+    private void relaxOutgoing(int vertex, int[] distances, int[] parents) {
+        int distance = distances[vertex];
+        if (distance == UNREACHABLE) return;
+        for (int edge = graph.edgeStart(vertex); edge < graph.edgeEnd(vertex); edge++) {
+            int neighbor = graph.target(edge);
+            int newDistance = distance + graph.weight(edge);
+            if (newDistance < distances[neighbor]) {
+                distances[neighbor] = newDistance;
+                parents[neighbor] = vertex;
+                heap.pushOrDecrease(neighbor, newDistance);
+            }
+        }
+    }
+
+    private void nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(affectedStamp, 0);
+            stamp = 1;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.VertexPermutation;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Locality-improving vertex orders: neighbours get nearby ids, so traversals touch nearby array entries and
+ * CSR rows instead of jumping across memory.
+ * <p>
+ * Edge directions are ignored. Strategies:
+ * <ul>
+ * <li>BREADTH_FIRST: plain BFS order, component by component; the cheapest.</li>
+ * <li>REVERSE_CUTHILL_MCKEE: BFS from a pseudo-peripheral vertex with neighbours taken by increasing degree,
+ * reversed; minimizes the bandwidth of the adjacency matrix.</li>
+ * <li>RECURSIVE_BISECTION: splits the graph into two halves of equal size along BFS layers from a
+ * pseudo-peripheral vertex, and each half again, until parts of {@link #DEFAULT_LEAF_SIZE} vertices remain;
+ * keeps clusters together at every scale. Ranges are kept on an explicit stack, not recursion.</li>
+ * </ul>
+ */
+public final class VertexOrdering {
+    public enum Strategy {BREADTH_FIRST, REVERSE_CUTHILL_MCKEE, RECURSIVE_BISECTION}
+
+    /** Parts of at most this many vertices are not split further. */
+    public static final int DEFAULT_LEAF_SIZE = 64;
+
+    private static final int PLACED = -1;
+    private static final int PERIPHERAL_SEARCH_ROUNDS = 8;
+
+    private final CompactGraph graph;
+    private final CompactGraph reversed;
+    private final int[] part;
+    private final int[] level;
+    private final int[] mark;
+    private final int[] scratch;
+    private long[] neighbors = new long[16];
+    private int stamp;
+
+    private VertexOrdering(CompactGraph graph) {
+        int numVertices = graph.getNumVertices();
+        this.graph = graph;
+        this.reversed = graph.transpose();
+        this.part = new int[numVertices];
+        this.level = new int[numVertices];
+        this.mark = new int[numVertices];
+        this.scratch = new int[numVertices];
+    }
+
+    /**
+     * Computes a vertex order with the given strategy.
+     *
+     * @param graph    The graph to reorder.
+     * @param strategy How to order the vertices.
+     * @return The permutation mapping current ids to ordered ids; apply it with
+     * {@link VertexPermutation#apply(CompactGraph)} or {@link com.navigator.app.s21_graph.Graph#permute}.
+     */
+    public static VertexPermutation compute(@NotNull CompactGraph graph, @NotNull Strategy strategy) {
+        VertexOrdering ordering = new VertexOrdering(graph);
+        int[] order = switch (strategy) {
+            case BREADTH_FIRST -> ordering.byComponents(false);
+            case REVERSE_CUTHILL_MCKEE -> reverse(ordering.byComponents(true));
+            case RECURSIVE_BISECTION -> ordering.bisection(DEFAULT_LEAF_SIZE);
+        };
+        return new VertexPermutation(order);
+    }
+
+    /**
+     * Computes a recursive bisection order with a custom leaf size.
+     */
+    public static VertexPermutation recursiveBisection(@NotNull CompactGraph graph, int leafSize) {
+        if (leafSize < 1) throw new IllegalArgumentException("Leaf size must be positive");
+        return new VertexPermutation(new VertexOrdering(graph).bisection(leafSize));
+    }
+
+    /**
+     * Orders every component by a BFS, from its first vertex, or for Cuthill-McKee from a pseudo-peripheral
+     * vertex with neighbours by increasing degree.
+     */
+    private int[] byComponents(boolean cuthillMcKee) {
+        int numVertices = graph.getNumVertices();
+        int[] order = new int[numVertices];
+        int placed = 0;
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            if (part[vertex] == PLACED) continue;
+            int root = cuthillMcKee ? pseudoPeripheral(vertex, 0) : vertex;
+            int count = breadthFirst(root, 0, cuthillMcKee, order, placed);
+            for (int i = placed; i < placed + count; i++) {
+                part[order[i]] = PLACED;
+            }
+            placed += count;
+        }
+        return order;
+    }
+
+    /**
+     * Splits ranges of the order in halves; the vertices of range {@code [lo, hi)} have part id {@code lo}.
+     */
+    private int[] bisection(int leafSize) {
+        int numVertices = graph.getNumVertices();
+        int[] order = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[numVertices];
+        int[] ranges = new int[64];
+        int depth = 0;
+        ranges[depth++] = 0;
+        ranges[depth++] = numVertices;
+
+        while (depth > 0) {
+            int hi = ranges[--depth];
+            int lo = ranges[--depth];
+            int size = hi - lo;
+            if (size <= leafSize) continue;
+
+            int written = 0;
+            for (int i = lo; i < hi; i++) {
+                int vertex = order[i];
+                if (part[vertex] != lo) continue;
+                int count = breadthFirst(pseudoPeripheral(vertex, lo), lo, false, buffer, written);
+                for (int j = written; j < written + count; j++) {
+                    part[buffer[j]] = PLACED;
+                }
+                written += count;
+            }
+            System.arraycopy(buffer, 0, order, lo, size);
+
+            int middle = lo + size / 2;
+            for (int i = lo; i < hi; i++) {
+                part[order[i]] = i < middle ? lo : middle;
+            }
+            if (depth + 4 > ranges.length) ranges = Arrays.copyOf(ranges, ranges.length * 2);
+            ranges[depth++] = middle;
+            ranges[depth++] = hi;
+            ranges[depth++] = lo;
+            ranges[depth++] = middle;
+        }
+        return order;
+    }
+
+    /**
+     * George and Liu's heuristic: BFS repeatedly from a minimum-degree vertex of the last level while the
+     * eccentricity grows.
+     */
+    private int pseudoPeripheral(int start, int partId) {
+        int root = start;
+        int eccentricity = -1;
+        for (int round = 0; round < PERIPHERAL_SEARCH_ROUNDS; round++) {
+            int count = breadthFirst(root, partId, false, scratch, 0);
+            int lastLevel = level[scratch[count - 1]];
+            if (lastLevel <= eccentricity) break;
+            eccentricity = lastLevel;
+
+            int best = scratch[count - 1];
+            for (int i = count - 1; i >= 0 && level[scratch[i]] == lastLevel; i--) {
+                if (degree(scratch[i]) < degree(best)) best = scratch[i];
+            }
+            if (best == root) break;
+            root = best;
+        }
+        return root;
+    }
+
+    /**
+     * Writes the BFS order of the vertices in the part reachable from the root to {@code out[offset..]},
+     * which doubles as the queue, and their BFS levels to {@link #level}.
+     *
+     * @return The number of vertices written.
+     */
+    private int breadthFirst(int root, int partId, boolean byDegree, int[] out, int offset) {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+        mark[root] = stamp;
+        level[root] = 0;
+        out[offset] = root;
+        int head = offset;
+        int tail = offset + 1;
+        while (head < tail) {
+            int vertex = out[head++];
+            int found = 0;
+            found = collect(graph, vertex, partId, found);
+            found = collect(reversed, vertex, partId, found);
+            if (byDegree) Arrays.sort(neighbors, 0, found);
+            for (int i = 0; i < found; i++) {
+                int neighbor = (int) neighbors[i];
+                level[neighbor] = level[vertex] + 1;
+                out[tail++] = neighbor;
+            }
+        }
+        return tail - offset;
+    }
+
+    /**
+     * Marks the unvisited neighbours of the vertex within the part and appends them to {@link #neighbors},
+     * keyed by degree.
+     */
+    private int collect(CompactGraph edges, int vertex, int partId, int found) {
+        for (int edge = edges.edgeStart(vertex); edge < edges.edgeEnd(vertex); edge++) {
+            int neighbor = edges.target(edge);
+            if (mark[neighbor] == stamp || part[neighbor] != partId) continue;
+            mark[neighbor] = stamp;
+            if (found == neighbors.length) neighbors = Arrays.copyOf(neighbors, found * 2);
+            neighbors[found++] = ((long) degree(neighbor) << 32) | neighbor;
+        }
+        return found;
+    }
+
+    private int degree(int vertex) {
+        return graph.degree(vertex) + reversed.degree(vertex);
+    }
+
+    private static int[] reverse(int[] order) {
+        for (int i = 0, j = order.length - 1; i < j; i++, j--) {
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+}
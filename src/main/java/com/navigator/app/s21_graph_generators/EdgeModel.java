@@ -0,0 +1,22 @@
+package com.navigator.app.s21_graph_generators;
+
+/**
+ * The edges of one {@link GraphModel}, generated vertex by vertex: every undirected edge is produced once, by its
+ * lower endpoint, from that vertex's own random sequence. Models only read state built up front, so one instance
+ * is shared by all worker threads.
+ */
+interface EdgeModel {
+    /**
+     * Adds the edges from a vertex to higher vertices; a target may be added more than once.
+     *
+     * @param vertex The lower endpoint.
+     * @param random The generator, reseeded for this vertex.
+     * @param edges  Collects the edges.
+     */
+    void forwardEdges(int vertex, SeededRandom random, ForwardEdges edges);
+
+    /**
+     * @return The positive weight of the edge between two vertices.
+     */
+    int weight(int first, int second, SeededRandom random);
+}
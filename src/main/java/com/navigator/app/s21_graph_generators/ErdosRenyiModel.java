@@ -0,0 +1,41 @@
+package com.navigator.app.s21_graph_generators;
+
+/**
+ * G(n, p): every pair is joined independently with probability {@code p}. The gaps between the targets of a
+ * vertex are geometrically distributed, so a vertex costs {@code O(degree)} instead of {@code O(V)}.
+ */
+final class ErdosRenyiModel implements EdgeModel {
+    private static final int MAX_WEIGHT = 100;
+
+    private final int numVertices;
+    private final double probability;
+    private final double logComplement;
+
+    ErdosRenyiModel(int numVertices, double averageDegree) {
+        this.numVertices = numVertices;
+        this.probability = numVertices < 2 ? 0 : Math.min(1, averageDegree / (numVertices - 1));
+        this.logComplement = Math.log1p(-probability);
+    }
+
+    @Override
+    public void forwardEdges(int vertex, SeededRandom random, ForwardEdges edges) {
+        if (probability <= 0) return;
+        if (probability >= 1) {
+            for (int target = vertex + 1; target < numVertices; target++) {
+                edges.add(target, weight(vertex, target, random));
+            }
+            return;
+        }
+        long target = vertex;
+        while (true) {
+            target += 1 + (long) (Math.log1p(-random.nextDouble()) / logComplement);
+            if (target >= numVertices) return;
+            edges.add((int) target, weight(vertex, (int) target, random));
+        }
+    }
+
+    @Override
+    public int weight(int first, int second, SeededRandom random) {
+        return 1 + random.nextInt(MAX_WEIGHT);
+    }
+}
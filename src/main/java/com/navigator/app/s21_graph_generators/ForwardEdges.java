@@ -0,0 +1,63 @@
+package com.navigator.app.s21_graph_generators;
+
+import java.util.Arrays;
+
+/**
+ * The edges from one vertex to higher vertices, sorted by target without duplicates; a duplicate keeps its
+ * lightest weight. Each worker thread owns one instance with its own {@link SeededRandom} and reuses it for every
+ * vertex it generates.
+ */
+final class ForwardEdges {
+    private final EdgeModel model;
+    private final int numVertices;
+    private final long seed;
+    private final boolean connected;
+    private final SeededRandom random = new SeededRandom();
+    private long[] edges = new long[16];
+    private int size;
+
+    ForwardEdges(EdgeModel model, int numVertices, long seed, boolean connected) {
+        this.model = model;
+        this.numVertices = numVertices;
+        this.seed = seed;
+        this.connected = connected;
+    }
+
+    /**
+     * Generates the forward edges of a vertex, replacing those of the previous one.
+     */
+    void load(int vertex) {
+        size = 0;
+        random.reseed(seed, vertex);
+        model.forwardEdges(vertex, random, this);
+        if (connected && vertex + 1 < numVertices) {
+            add(vertex + 1, model.weight(vertex, vertex + 1, random));
+        }
+
+        Arrays.sort(edges, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || target(unique - 1) != (int) (edges[i] >>> 32)) {
+                edges[unique++] = edges[i];
+            }
+        }
+        size = unique;
+    }
+
+    void add(int target, int weight) {
+        if (size == edges.length) edges = Arrays.copyOf(edges, size * 2);
+        edges[size++] = ((long) target << 32) | weight;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int target(int index) {
+        return (int) (edges[index] >>> 32);
+    }
+
+    int weight(int index) {
+        return (int) edges[index];
+    }
+}
@@ -0,0 +1,86 @@
+package com.navigator.app.s21_graph_generators;
+
+import java.util.Arrays;
+
+/**
+ * Random geometric graph: uniform points in a square, joined when closer than the radius that gives the requested
+ * average degree, weighted by their Euclidean distance. An average degree of {@code V - 1} or more joins every
+ * pair. Points are bucketed into radius-sized cells, so a vertex is compared with the points of its 3x3
+ * surrounding cells only; the points and the cells take {@code O(V)} memory.
+ */
+final class GeometricModel implements EdgeModel {
+    static final double SIDE = 1000.0;
+    private static final long COORDINATE_STREAM = 0x6E5F2A4C3B1D0897L;
+
+    private final double[] x;
+    private final double[] y;
+    private final double radiusSquared;
+    private final int cells;
+    private final double cellSize;
+    private final int[] cellStart;
+    private final int[] cellVertices;
+
+    GeometricModel(int numVertices, double averageDegree, long seed) {
+        this.x = new double[numVertices];
+        this.y = new double[numVertices];
+        SeededRandom random = new SeededRandom();
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            random.reseed(seed ^ COORDINATE_STREAM, vertex);
+            x[vertex] = random.nextDouble() * SIDE;
+            y[vertex] = random.nextDouble() * SIDE;
+        }
+
+        double radius = averageDegree >= numVertices - 1
+                ? SIDE * Math.sqrt(2)
+                : SIDE * Math.sqrt(averageDegree / (Math.PI * numVertices));
+        this.radiusSquared = radius * radius;
+        this.cells = (int) Math.max(1, Math.min(Math.sqrt(numVertices) + 1, SIDE / Math.max(radius, 1e-9)));
+        this.cellSize = SIDE / cells;
+
+        this.cellStart = new int[cells * cells + 1];
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            cellStart[cellOf(vertex) + 1]++;
+        }
+        for (int cell = 0; cell < cells * cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        this.cellVertices = new int[numVertices];
+        int[] next = Arrays.copyOf(cellStart, cells * cells);
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            cellVertices[next[cellOf(vertex)]++] = vertex;
+        }
+    }
+
+    @Override
+    public void forwardEdges(int vertex, SeededRandom random, ForwardEdges edges) {
+        int cellX = cell(x[vertex]);
+        int cellY = cell(y[vertex]);
+        for (int nx = Math.max(0, cellX - 1); nx <= Math.min(cells - 1, cellX + 1); nx++) {
+            for (int ny = Math.max(0, cellY - 1); ny <= Math.min(cells - 1, cellY + 1); ny++) {
+                int cell = nx * cells + ny;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int other = cellVertices[i];
+                    if (other <= vertex) continue;
+                    double dx = x[vertex] - x[other];
+                    double dy = y[vertex] - y[other];
+                    if (dx * dx + dy * dy <= radiusSquared) {
+                        edges.add(other, weight(vertex, other, random));
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public int weight(int first, int second, SeededRandom random) {
+        return 1 + (int) Math.hypot(x[first] - x[second], y[first] - y[second]);
+    }
+
+    private int cellOf(int vertex) {
+        return cell(x[vertex]) * cells + cell(y[vertex]);
+    }
+
+    private int cell(double coordinate) {
+        return Math.min(cells - 1, (int) (coordinate / cellSize));
+    }
+}
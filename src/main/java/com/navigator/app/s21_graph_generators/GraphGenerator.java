@@ -0,0 +1,427 @@
+package com.navigator.app.s21_graph_generators;
+
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph.SharedGraphFile;
+import lombok.Builder;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Generates seeded synthetic undirected graphs on several threads and streams them to files without holding the
+ * graph in memory, for capacity tests, the test suite and the benchmarks.
+ * <p>
+ * Vertices are generated in chunks on a pool of worker threads. Every worker has its own random generator, which
+ * is reseeded from the seed and the vertex before each vertex, so the same settings give the same graph whatever
+ * the number of threads. Each edge is generated once, by its lower endpoint; finished chunks are written in vertex
+ * order with a bounded number in flight.
+ * <p>
+ * Output formats:
+ * <ul>
+ * <li>{@link #writeMatrix(Path)}: the adjacency-matrix text format of {@link Graph#loadGraphFromFile(String)}.
+ * The file itself has {@code V * V} entries; it is written in blocks of rows, so memory stays bounded, but every
+ * block generates the edges of all lower vertices again.</li>
+ * <li>{@link #writeSnapshot(Path)}: a {@link SharedGraphFile}, with rows sorted by target. Edges are generated twice,
+ * once to count the degrees and once to store them in the mapped file, so memory is {@code O(V)}.</li>
+ * <li>{@link #writeDot(Path)}: the DOT format of {@link Graph#exportGraphToDot(String)}.</li>
+ * </ul>
+ * Default values:
+ * <ul>
+ * <li>model: The random graph model. Default is {@link GraphModel#ERDOS_RENYI}.</li>
+ * <li>numVertices: Number of vertices. Required.</li>
+ * <li>averageDegree: Expected average degree; models cap it at what the vertex count allows. Default is 8.</li>
+ * <li>exponent: Exponent of the degree distribution of {@link GraphModel#POWER_LAW}. Default is 2.5.</li>
+ * <li>seed: Seed of the random generators. Default is 42.</li>
+ * <li>connected: Whether to join every vertex {@code i} to {@code i + 1} as well, so the graph is connected.
+ * Default is false.</li>
+ * <li>numThreads: Number of worker threads. Default is one per core.</li>
+ * </ul>
+ */
+@Builder
+public class GraphGenerator {
+    private static final int CHUNK_EDGES = 1 << 16;
+    private static final int CHUNK_BYTES = 1 << 20;
+    private static final int MATRIX_BLOCK_CELLS = 1 << 24;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    @Builder.Default
+    private final GraphModel model = GraphModel.ERDOS_RENYI;
+    private final int numVertices;
+    @Builder.Default
+    private final double averageDegree = 8;
+    @Builder.Default
+    private final double exponent = 2.5;
+    @Builder.Default
+    private final long seed = 42;
+    @Builder.Default
+    private final boolean connected = false;
+    @Builder.Default
+    private final int numThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Receives the edges of a generated graph.
+     */
+    @FunctionalInterface
+    public interface EdgeSink {
+        /**
+         * @param first  The lower endpoint.
+         * @param second The higher endpoint.
+         * @param weight The positive weight.
+         */
+        void accept(int first, int second, int weight) throws IOException;
+    }
+
+    /**
+     * Streams every undirected edge once, ordered by lower and then higher endpoint, on the calling thread.
+     *
+     * @param sink Receives the edges.
+     * @throws IOException If the settings are invalid, or the sink fails.
+     */
+    public void forEachEdge(@NotNull EdgeSink sink) throws IOException {
+        ThreadLocal<ForwardEdges> workers = workers();
+        ExecutorService executor = newExecutor();
+        try {
+            runChunks(executor, numVertices, verticesPerChunk(), (from, to) -> {
+                ForwardEdges edges = workers.get();
+                int[] chunk = new int[16];
+                int size = 0;
+                for (int vertex = from; vertex < to; vertex++) {
+                    edges.load(vertex);
+                    for (int i = 0; i < edges.size(); i++) {
+                        if (size + 3 > chunk.length) chunk = Arrays.copyOf(chunk, chunk.length * 2);
+                        chunk[size++] = vertex;
+                        chunk[size++] = edges.target(i);
+                        chunk[size++] = edges.weight(i);
+                    }
+                }
+                return Arrays.copyOf(chunk, size);
+            }, chunk -> {
+                for (int i = 0; i < chunk.length; i += 3) {
+                    sink.accept(chunk[i], chunk[i + 1], chunk[i + 2]);
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the graph in CSR form, both directions of every edge, in memory.
+     *
+     * @throws IOException If the settings are invalid.
+     */
+    public CompactGraph compactGraph() throws IOException {
+        check();
+        CompactGraph.Builder builder = CompactGraph.builder(numVertices);
+        forEachEdge(builder::addUndirectedEdge);
+        return builder.build();
+    }
+
+    /**
+     * Generates the weighted adjacency matrix, for graphs small enough to hold one.
+     *
+     * @throws IOException If the settings are invalid.
+     */
+    public int[][] matrix() throws IOException {
+        check();
+        int[][] matrix = new int[numVertices][numVertices];
+        forEachEdge((first, second, weight) -> {
+            matrix[first][second] = weight;
+            matrix[second][first] = weight;
+        });
+        return matrix;
+    }
+
+    /**
+     * Generates the graph and loads it through the regular file loader.
+     *
+     * @throws IOException If the settings are invalid, or the temporary file cannot be written.
+     */
+    public Graph graph() throws IOException {
+        Path file = Files.createTempFile("generatedGraph", ".txt");
+        try {
+            writeMatrix(file);
+            Graph graph = new Graph();
+            graph.loadGraphFromFile(file.toString());
+            return graph;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Writes the graph in the adjacency-matrix text format.
+     *
+     * @param file The file to write.
+     * @throws IOException If the settings are invalid, or the file cannot be written.
+     */
+    public void writeMatrix(@NotNull Path file) throws IOException {
+        check();
+        long start = Metrics.startTimer();
+        ThreadLocal<ForwardEdges> workers = workers();
+        int blockRows = Math.max(1, Math.min(numVertices, MATRIX_BLOCK_CELLS / numVertices));
+        int[][] block = new int[blockRows][numVertices];
+
+        ExecutorService executor = newExecutor();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), OUTPUT_BUFFER_SIZE)) {
+            out.write((numVertices + "\n").getBytes(StandardCharsets.US_ASCII));
+            for (int blockStart = 0; blockStart < numVertices; blockStart += blockRows) {
+                int first = blockStart;
+                int end = Math.min(numVertices, blockStart + blockRows);
+                for (int[] row : block) {
+                    Arrays.fill(row, 0);
+                }
+                runChunks(executor, end, verticesPerChunk(), (from, to) -> {
+                    ForwardEdges edges = workers.get();
+                    for (int vertex = from; vertex < to; vertex++) {
+                        edges.load(vertex);
+                        for (int i = 0; i < edges.size(); i++) {
+                            int target = edges.target(i);
+                            if (vertex >= first) block[vertex - first][target] = edges.weight(i);
+                            if (target >= first && target < end) block[target - first][vertex] = edges.weight(i);
+                        }
+                    }
+                    return null;
+                }, ignored -> {
+                });
+
+                int rowsPerChunk = Math.max(1, CHUNK_BYTES / (4 * numVertices));
+                runChunks(executor, end - first, rowsPerChunk, (from, to) -> {
+                    StringBuilder text = new StringBuilder();
+                    for (int row = from; row < to; row++) {
+                        for (int column = 0; column < numVertices; column++) {
+                            if (column > 0) text.append(' ');
+                            text.append(block[row][column]);
+                        }
+                        text.append('\n');
+                    }
+                    return text.toString().getBytes(StandardCharsets.US_ASCII);
+                }, out::write);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Metrics.stopTimer("GraphGenerator.writeMatrix", start);
+    }
+
+    /**
+     * Writes the graph as a {@link SharedGraphFile}, replacing it atomically.
+     *
+     * @param file The file to write.
+     * @throws IOException If the settings are invalid, the graph is too large for a shared file, or the file cannot
+     *                     be written.
+     */
+    public void writeSnapshot(@NotNull Path file) throws IOException {
+        check();
+        long start = Metrics.startTimer();
+        ThreadLocal<ForwardEdges> workers = workers();
+        int verticesPerChunk = verticesPerChunk();
+
+        ExecutorService executor = newExecutor();
+        try {
+            AtomicIntegerArray cursors = new AtomicIntegerArray(numVertices);
+            runChunks(executor, numVertices, verticesPerChunk, (from, to) -> {
+                ForwardEdges edges = workers.get();
+                for (int vertex = from; vertex < to; vertex++) {
+                    edges.load(vertex);
+                    cursors.addAndGet(vertex, edges.size());
+                    for (int i = 0; i < edges.size(); i++) {
+                        cursors.incrementAndGet(edges.target(i));
+                    }
+                }
+                return null;
+            }, ignored -> {
+            });
+
+            int[] offsets = new int[numVertices + 1];
+            long total = 0;
+            for (int vertex = 0; vertex < numVertices; vertex++) {
+                offsets[vertex] = (int) total;
+                total += cursors.get(vertex);
+                if (4 * total > Integer.MAX_VALUE) throw new IOException("Graph too large for a shared file");
+                cursors.set(vertex, offsets[vertex]);
+            }
+            offsets[numVertices] = (int) total;
+
+            SharedGraphFile.publish(offsets, file, (targets, weights) -> {
+                runChunks(executor, numVertices, verticesPerChunk, (from, to) -> {
+                    ForwardEdges edges = workers.get();
+                    IntBuffer targetView = targets.duplicate();
+                    IntBuffer weightView = weights.duplicate();
+                    for (int vertex = from; vertex < to; vertex++) {
+                        edges.load(vertex);
+                        for (int i = 0; i < edges.size(); i++) {
+                            int target = edges.target(i);
+                            int slot = cursors.getAndIncrement(vertex);
+                            targetView.put(slot, target);
+                            weightView.put(slot, edges.weight(i));
+                            slot = cursors.getAndIncrement(target);
+                            targetView.put(slot, vertex);
+                            weightView.put(slot, edges.weight(i));
+                        }
+                    }
+                    return null;
+                }, ignored -> {
+                });
+
+                runChunks(executor, numVertices, verticesPerChunk, (from, to) -> {
+                    IntBuffer targetView = targets.duplicate();
+                    IntBuffer weightView = weights.duplicate();
+                    long[] row = new long[16];
+                    for (int vertex = from; vertex < to; vertex++) {
+                        int degree = offsets[vertex + 1] - offsets[vertex];
+                        if (degree > row.length) row = new long[Math.max(degree, row.length * 2)];
+                        for (int i = 0; i < degree; i++) {
+                            int slot = offsets[vertex] + i;
+                            row[i] = ((long) targetView.get(slot) << 32) | weightView.get(slot);
+                        }
+                        Arrays.sort(row, 0, degree);
+                        for (int i = 0; i < degree; i++) {
+                            targetView.put(offsets[vertex] + i, (int) (row[i] >>> 32));
+                            weightView.put(offsets[vertex] + i, (int) row[i]);
+                        }
+                    }
+                    return null;
+                }, ignored -> {
+                });
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+        Metrics.stopTimer("GraphGenerator.writeSnapshot", start);
+    }
+
+    /**
+     * Writes the graph in DOT format.
+     *
+     * @param file The file to write.
+     * @throws IOException If the settings are invalid, or the file cannot be written.
+     */
+    public void writeDot(@NotNull Path file) throws IOException {
+        check();
+        long start = Metrics.startTimer();
+        ThreadLocal<ForwardEdges> workers = workers();
+
+        ExecutorService executor = newExecutor();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), OUTPUT_BUFFER_SIZE)) {
+            out.write(("graph " + file + "{\n").getBytes(StandardCharsets.US_ASCII));
+            StringBuilder vertices = new StringBuilder();
+            for (int vertex = 1; vertex <= numVertices; vertex++) {
+                vertices.append('\t').append(vertex).append(";\n");
+                if (vertices.length() >= CHUNK_BYTES) {
+                    out.write(vertices.toString().getBytes(StandardCharsets.US_ASCII));
+                    vertices.setLength(0);
+                }
+            }
+            out.write(vertices.toString().getBytes(StandardCharsets.US_ASCII));
+
+            runChunks(executor, numVertices, verticesPerChunk(), (from, to) -> {
+                ForwardEdges edges = workers.get();
+                StringBuilder text = new StringBuilder();
+                for (int vertex = from; vertex < to; vertex++) {
+                    edges.load(vertex);
+                    for (int i = 0; i < edges.size(); i++) {
+                        text.append('\t').append(vertex).append(" -- ").append(edges.target(i))
+                                .append(" [label=\"").append(edges.weight(i)).append("\"];\n");
+                    }
+                }
+                return text.toString().getBytes(StandardCharsets.US_ASCII);
+            }, out::write);
+            out.write('}');
+        } finally {
+            executor.shutdownNow();
+        }
+        Metrics.stopTimer("GraphGenerator.writeDot", start);
+    }
+
+    private void check() throws IOException {
+        if (model == null || numVertices < 1 || averageDegree < 0 || exponent <= 1 || numThreads < 1) {
+            throw new IOException("Incorrect data");
+        }
+    }
+
+    private ThreadLocal<ForwardEdges> workers() throws IOException {
+        check();
+        EdgeModel edgeModel = model.create(numVertices, averageDegree, exponent, seed);
+        return ThreadLocal.withInitial(() -> new ForwardEdges(edgeModel, numVertices, seed, connected));
+    }
+
+    private int verticesPerChunk() {
+        return (int) Math.max(1, Math.min(numVertices, CHUNK_EDGES / (1 + Math.ceil(averageDegree))));
+    }
+
+    /**
+     * Runs a task for consecutive chunks of {@code [0, count)} on the worker threads and hands the results to the
+     * consumer on the calling thread, in chunk order, with at most two chunks per thread in flight.
+     */
+    private <T> void runChunks(ExecutorService executor, int count, int chunkSize, ChunkTask<T> task,
+                               ChunkConsumer<T> consumer) throws IOException {
+        ArrayDeque<Future<T>> inFlight = new ArrayDeque<>();
+        try {
+            for (int from = 0; from < count; from += chunkSize) {
+                int chunkStart = from;
+                int chunkEnd = (int) Math.min(count, (long) from + chunkSize);
+                if (inFlight.size() == 2 * numThreads) {
+                    consumer.accept(await(inFlight.poll()));
+                }
+                inFlight.add(executor.submit(() -> task.run(chunkStart, chunkEnd)));
+            }
+            while (!inFlight.isEmpty()) {
+                consumer.accept(await(inFlight.poll()));
+            }
+        } finally {
+            for (Future<T> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Creates the worker pool of one public operation; every pass of that operation shares it.
+     */
+    private ExecutorService newExecutor() {
+        return Executors.newFixedThreadPool(numThreads, runnable -> {
+            Thread thread = new Thread(runnable, "graph-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IOException("Graph generation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask<T> {
+        T run(int from, int to) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer<T> {
+        void accept(T result) throws IOException;
+    }
+}
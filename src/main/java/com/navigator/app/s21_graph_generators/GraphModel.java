@@ -0,0 +1,46 @@
+package com.navigator.app.s21_graph_generators;
+
+/**
+ * Random graph models of {@link GraphGenerator}, all undirected with positive integer weights.
+ */
+public enum GraphModel {
+    /**
+     * Erdős–Rényi G(n, p): every pair joined with the same probability, weights 1 to 100.
+     */
+    ERDOS_RENYI {
+        @Override
+        EdgeModel create(int numVertices, double averageDegree, double exponent, long seed) {
+            return new ErdosRenyiModel(numVertices, averageDegree);
+        }
+    },
+    /**
+     * Random points in a square joined within a radius, weighted by distance; the shape of location data.
+     */
+    RANDOM_GEOMETRIC {
+        @Override
+        EdgeModel create(int numVertices, double averageDegree, double exponent, long seed) {
+            return new GeometricModel(numVertices, averageDegree, seed);
+        }
+    },
+    /**
+     * A square lattice with dropped edges or long-distance roads; the shape of a road network.
+     */
+    ROAD_GRID {
+        @Override
+        EdgeModel create(int numVertices, double averageDegree, double exponent, long seed) {
+            return new RoadGridModel(numVertices, averageDegree);
+        }
+    },
+    /**
+     * Chung-Lu graph whose degrees follow a power law, with a few hubs and many low-degree vertices,
+     * weights 1 to 100.
+     */
+    POWER_LAW {
+        @Override
+        EdgeModel create(int numVertices, double averageDegree, double exponent, long seed) {
+            return new PowerLawModel(numVertices, averageDegree, exponent);
+        }
+    };
+
+    abstract EdgeModel create(int numVertices, double averageDegree, double exponent, long seed);
+}
@@ -0,0 +1,62 @@
+package com.navigator.app.s21_graph_generators;
+
+/**
+ * Chung-Lu graph with a power-law degree distribution: vertex {@code i} has the expected degree
+ * {@code w_i ~ (i + 1)^(-1 / (exponent - 1))}, scaled to the requested average, and the pair {@code (u, v)} is
+ * joined with probability {@code min(1, w_u * w_v / sum(w))}. The expected degrees fall with the index, so the
+ * targets of a vertex are found by skipping ahead geometrically and thinning, in {@code O(degree)} per vertex
+ * (Miller and Hagberg).
+ */
+final class PowerLawModel implements EdgeModel {
+    private static final int MAX_WEIGHT = 100;
+
+    private final int numVertices;
+    private final double[] expectedDegrees;
+    private final double totalDegree;
+
+    PowerLawModel(int numVertices, double averageDegree, double exponent) {
+        this.numVertices = numVertices;
+        this.expectedDegrees = new double[numVertices];
+        double power = -1 / (exponent - 1);
+        double total = 0;
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            expectedDegrees[vertex] = Math.pow(vertex + 1, power);
+            total += expectedDegrees[vertex];
+        }
+        double scale = total == 0 ? 0 : averageDegree * numVertices / total;
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            expectedDegrees[vertex] *= scale;
+        }
+        this.totalDegree = total * scale;
+    }
+
+    @Override
+    public void forwardEdges(int vertex, SeededRandom random, ForwardEdges edges) {
+        if (totalDegree <= 0) return;
+        int target = vertex + 1;
+        double probability = target < numVertices ? probability(vertex, target) : 0;
+        while (target < numVertices && probability > 0) {
+            if (probability < 1) {
+                double skip = Math.log1p(-random.nextDouble()) / Math.log1p(-probability);
+                target = (int) Math.min(numVertices, target + (long) skip);
+            }
+            if (target < numVertices) {
+                double next = probability(vertex, target);
+                if (random.nextDouble() < next / probability) {
+                    edges.add(target, weight(vertex, target, random));
+                }
+                probability = next;
+                target++;
+            }
+        }
+    }
+
+    private double probability(int first, int second) {
+        return Math.min(1, expectedDegrees[first] * expectedDegrees[second] / totalDegree);
+    }
+
+    @Override
+    public int weight(int first, int second, SeededRandom random) {
+        return 1 + random.nextInt(MAX_WEIGHT);
+    }
+}
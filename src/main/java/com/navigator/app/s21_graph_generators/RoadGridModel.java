@@ -0,0 +1,51 @@
+package com.navigator.app.s21_graph_generators;
+
+/**
+ * Road-like grid: vertices on a square lattice numbered row by row, each joined to its right and lower
+ * neighbour, weighted 1 to 10. Below an average degree of 4 lattice edges are dropped at random, leaving dead
+ * ends; above it every vertex gets random long-distance roads to higher vertices, weighted by their Manhattan
+ * length plus 0 to 9.
+ */
+final class RoadGridModel implements EdgeModel {
+    private static final int WEIGHT_SPREAD = 10;
+    private static final double LATTICE_DEGREE = 4;
+
+    private final int numVertices;
+    private final int side;
+    private final double keepProbability;
+    private final double extraRoads;
+
+    RoadGridModel(int numVertices, double averageDegree) {
+        this.numVertices = numVertices;
+        this.side = (int) Math.ceil(Math.sqrt(numVertices));
+        this.keepProbability = Math.min(1, averageDegree / LATTICE_DEGREE);
+        this.extraRoads = Math.max(0, (averageDegree - LATTICE_DEGREE) / 2);
+    }
+
+    @Override
+    public void forwardEdges(int vertex, SeededRandom random, ForwardEdges edges) {
+        if (vertex % side + 1 < side && vertex + 1 < numVertices && keep(random)) {
+            edges.add(vertex + 1, weight(vertex, vertex + 1, random));
+        }
+        if (vertex + side < numVertices && keep(random)) {
+            edges.add(vertex + side, weight(vertex, vertex + side, random));
+        }
+        int higher = numVertices - vertex - 1;
+        if (higher <= 0) return;
+        int roads = (int) extraRoads + (random.nextDouble() < extraRoads - (int) extraRoads ? 1 : 0);
+        for (int i = 0; i < roads; i++) {
+            int target = vertex + 1 + random.nextInt(higher);
+            edges.add(target, weight(vertex, target, random));
+        }
+    }
+
+    private boolean keep(SeededRandom random) {
+        return keepProbability >= 1 || random.nextDouble() < keepProbability;
+    }
+
+    @Override
+    public int weight(int first, int second, SeededRandom random) {
+        int manhattan = Math.abs(first % side - second % side) + Math.abs(first / side - second / side);
+        return manhattan + random.nextInt(WEIGHT_SPREAD);
+    }
+}
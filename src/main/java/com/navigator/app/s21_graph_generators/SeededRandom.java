@@ -0,0 +1,43 @@
+package com.navigator.app.s21_graph_generators;
+
+/**
+ * SplitMix64 generator that is reseeded for every vertex, so a vertex gets the same edges whichever thread
+ * generates it and however the vertices are split into chunks. Each worker thread owns one instance.
+ */
+final class SeededRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Starts the sequence of one stream, such as one vertex, of a seeded graph.
+     */
+    void reseed(long seed, long stream) {
+        state = mix(seed ^ mix(stream * GOLDEN_GAMMA + GOLDEN_GAMMA));
+    }
+
+    long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * @return A value in {@code [0, 1)}.
+     */
+    double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * @return A value in {@code [0, bound)}, for a positive bound.
+     */
+    int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,80 @@
+package com.navigator.app.interfaceApp;
+
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBatchQueryRunner {
+    private Graph graph;
+
+    @BeforeEach
+    public void loadGraph() throws IOException {
+        graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+    }
+
+    @Test
+    public void testResultsInInputOrder() throws IOException {
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        Random random = new Random(9);
+        StringBuilder queries = new StringBuilder("# nightly job\n\n");
+        ArrayList<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(graph.getNumVertices());
+            int to = random.nextInt(graph.getNumVertices());
+            if (i % 2 == 0) {
+                queries.append("sp ").append(from).append(' ').append(to).append('\n');
+                expected.add("sp " + from + " " + to + "\t" + graphAlgorithms.GetShortestPathBetweenVertices(graph, from, to));
+            } else {
+                queries.append("bfs ").append(from).append('\n');
+                StringBuilder order = new StringBuilder();
+                for (int vertex : graphAlgorithms.BreadthFirstSearch(graph, from)) {
+                    if (order.length() > 0) order.append(' ');
+                    order.append(vertex);
+                }
+                expected.add("bfs " + from + "\t" + order);
+            }
+        }
+
+        StringWriter output = new StringWriter();
+        int count = new BatchQueryRunner(graph, 4).run(new BufferedReader(new StringReader(queries.toString())), output);
+
+        assertEquals(500, count);
+        assertArrayEquals(expected.toArray(), output.toString().split("\n"));
+    }
+
+    @Test
+    public void testAllQueryKinds() throws IOException {
+        String queries = "path 0 4\ndfs 0\napsp\nmst\ntsp 10\n";
+        StringWriter output = new StringWriter();
+        new BatchQueryRunner(graph, 2).run(new BufferedReader(new StringReader(queries)), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].startsWith("path 0 4\t0 "));
+        assertTrue(lines[0].endsWith(" 4"));
+        assertEquals(graph.getNumVertices(), lines[2].split("\t")[1].split(";").length);
+        assertTrue(lines[4].startsWith("tsp 10\t"));
+    }
+
+    @Test
+    public void testErrorsDoNotStopTheBatch() throws IOException {
+        String queries = "sp 0 99\nfly 1 2\nsp 0\ntsp 0\ntsp -4\nsp 0 0\n";
+        StringWriter output = new StringWriter();
+        new BatchQueryRunner(graph, 2).run(new BufferedReader(new StringReader(queries)), output);
+
+        assertArrayEquals(new Object[]{"sp 0 99\terror: Vertex not found", "fly 1 2\terror: Unknown query",
+                "sp 0\terror: Incorrect data", "tsp 0\terror: Incorrect data", "tsp -4\terror: Incorrect data",
+                "sp 0 0\t0"}, output.toString().split("\n"));
+    }
+}
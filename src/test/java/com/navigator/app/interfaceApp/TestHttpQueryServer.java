@@ -0,0 +1,148 @@
+package com.navigator.app.interfaceApp;
+
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph.GraphHolder;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHttpQueryServer {
+    private Graph graph;
+    private HttpQueryServer server;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        server = new HttpQueryServer(graph, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testShortestPath() throws IOException {
+        int distance = new GraphAlgorithms().GetShortestPathBetweenVertices(graph, 0, 10);
+        Response response = get("/shortest-path?from=0&to=10");
+
+        assertEquals(200, response.status);
+        assertTrue(response.body.startsWith("{\"from\":0,\"to\":10,\"distance\":" + distance + ",\"path\":[0,"));
+    }
+
+    @Test
+    public void testDistances() throws IOException {
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        Response response = get("/distances?sources=0,3&targets=5,5");
+
+        assertEquals(200, response.status);
+        assertEquals("{\"distances\":[" + graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, 5) + ","
+                + graphAlgorithms.GetShortestPathBetweenVertices(graph, 3, 5) + "]}", response.body);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeAndTsp() throws IOException {
+        Response mst = get("/mst");
+        assertEquals(200, mst.status);
+        assertTrue(mst.body.startsWith("{\"totalWeight\":"));
+
+        Response tsp = get("/tsp?iterations=20");
+        assertEquals(200, tsp.status);
+        assertTrue(tsp.body.contains("\"tour\":["));
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        Response response = get("/shortest-path?from=0&to=99");
+        assertEquals(400, response.status);
+        assertEquals("{\"error\":\"Vertex not found\"}", response.body);
+
+        assertEquals(400, get("/shortest-path?from=x&to=1").status);
+        assertEquals(400, get("/distances?sources=1").status);
+        assertEquals(404, get("/unknown").status);
+    }
+
+    @Test
+    public void testTspParameters() throws IOException {
+        assertEquals("{\"error\":\"Incorrect data\"}", get("/tsp?iterations=0").body);
+        assertEquals(400, get("/tsp?iterations=-3").status);
+        assertEquals(400, get("/tsp?colonies=0").status);
+
+        Response capped = get("/tsp?iterations=5&colonies=100000");
+        assertEquals(200, capped.status);
+        assertTrue(capped.body.contains("\"tour\":["));
+    }
+
+    @Test
+    public void testDisconnectCancelsQuery() throws IOException, InterruptedException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /tsp?iterations=2000000000 HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            // wait for the committed headers, then hang up
+            assertTrue(in.read() >= 0);
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (server.getCancelledQueries() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, server.getCancelledQueries());
+    }
+
+    @Test
+    public void testReloadWhileServing() throws IOException {
+        server.close();
+        GraphHolder holder = new GraphHolder();
+        server = new HttpQueryServer(holder, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        assertEquals("{\"error\":\"Graph is empty\"}", get("/shortest-path?from=0&to=10").body);
+
+        holder.reload("src/test/resources/testFiles/testGraph.txt");
+        assertEquals(200, get("/shortest-path?from=0&to=10").status);
+        assertEquals(200, get("/mst").status);
+
+        holder.reload("src/test/resources/testFiles/simpleGraph.txt");
+        assertEquals("{\"error\":\"Vertex not found\"}", get("/shortest-path?from=0&to=10").body);
+        assertTrue(get("/mst").body.startsWith("{\"totalWeight\":4,"));
+    }
+
+    private Response get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://127.0.0.1:" + server.getPort() + path).toURL()
+                .openConnection();
+        try {
+            int status = connection.getResponseCode();
+            InputStream stream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            String body = stream == null ? "" : new String(stream.readAllBytes(), StandardCharsets.UTF_8).trim();
+            return new Response(status, body);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
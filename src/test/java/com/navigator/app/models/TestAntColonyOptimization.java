@@ -0,0 +1,118 @@
+package com.navigator.app.models;
+
+import com.navigator.app.models.antAlgorithm.AntColonyOptimization;
+import com.navigator.app.models.antAlgorithm.ColonyParameters;
+import com.navigator.app.models.antAlgorithm.CoordinateDistanceProvider;
+import com.navigator.app.models.antAlgorithm.TsmResult;
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.s21_graph.Graph;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestAntColonyOptimization {
+    private static Graph graph;
+
+    @BeforeAll
+    public static void setUp() throws IOException {
+        graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+    }
+
+    @Test
+    public void testCandidateListsKeepEveryIterationAlive() throws IOException {
+        Random random = new Random(7);
+        double[] x = new double[200];
+        double[] y = new double[200];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = random.nextDouble() * 1000;
+            y[i] = random.nextDouble() * 1000;
+        }
+        Metrics.enable();
+        Metrics.reset();
+        try {
+            TsmResult result = AntColonyOptimization.builder()
+                    .distances(new CoordinateDistanceProvider(x, y))
+                    .candidateListSize(5)
+                    .numAnts(5)
+                    .maxIterations(1500)
+                    .seed(7L)
+                    .build()
+                    .findOptimalTour();
+
+            assertEquals(1500, Metrics.getCounter("aco.iterations"));
+            assertEquals(201, result.getVertices().size());
+            assertEquals(200, new HashSet<>(result.getVertices()).size());
+        } finally {
+            Metrics.disable();
+            Metrics.reset();
+        }
+    }
+
+    @Test
+    public void testIslandModelFindsValidTour() throws IOException {
+        TsmResult result = AntColonyOptimization.builder()
+                .graph(graph)
+                .numColonies(4)
+                .migrationInterval(5)
+                .build()
+                .findOptimalTour();
+
+        assertTour(result);
+        assertTrue(result.getDistance() < 256);
+    }
+
+    @Test
+    public void testIslandModelWithPerColonyParameters() throws IOException {
+        TsmResult result = AntColonyOptimization.builder()
+                .graph(graph)
+                .numColonies(3)
+                .colonyParameters(List.of(
+                        ColonyParameters.builder().alpha(1.0).beta(5.0).build(),
+                        ColonyParameters.builder().numAnts(20).evaporationRate(0.1).build()))
+                .build()
+                .findOptimalTour();
+
+        assertTour(result);
+    }
+
+    @Test
+    public void testExceptionIslandModel() {
+        IOException exception = assertThrows(IOException.class, () -> AntColonyOptimization.builder()
+                .graph(graph)
+                .numColonies(0)
+                .build()
+                .findOptimalTour());
+        assertEquals("Number of colonies must be positive", exception.getMessage());
+    }
+
+    @Test
+    public void testExceptionInvalidParameters() {
+        IOException exception = assertThrows(IOException.class, () -> AntColonyOptimization.builder()
+                .graph(graph)
+                .maxIterations(0)
+                .build()
+                .findOptimalTour());
+        assertEquals("Number of iterations must be positive", exception.getMessage());
+
+        exception = assertThrows(IOException.class, () -> AntColonyOptimization.builder()
+                .graph(graph)
+                .numAnts(0)
+                .build()
+                .findOptimalTour());
+        assertEquals("Number of ants must be positive", exception.getMessage());
+    }
+
+    private void assertTour(TsmResult result) {
+        List<Integer> vertices = result.getVertices();
+        assertEquals(graph.getNumVertices() + 1, vertices.size());
+        assertEquals(vertices.get(0), vertices.get(vertices.size() - 1));
+        assertEquals(graph.getNumVertices(), new HashSet<>(vertices).size());
+    }
+}
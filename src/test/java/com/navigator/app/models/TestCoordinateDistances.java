@@ -0,0 +1,106 @@
+package com.navigator.app.models;
+
+import com.navigator.app.models.antAlgorithm.AntColonyOptimization;
+import com.navigator.app.models.antAlgorithm.CandidateLists;
+import com.navigator.app.models.antAlgorithm.CoordinateDistanceProvider;
+import com.navigator.app.models.antAlgorithm.DistanceProvider;
+import com.navigator.app.models.antAlgorithm.TsmResult;
+import com.navigator.app.s21_graph.TsplibInstance;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCoordinateDistances {
+    private static final String FILES = "src/main/resources/tsplib/";
+
+    @Test
+    public void testDistancesMatchTsplib() throws IOException {
+        TsplibInstance instance = TsplibInstance.read(FILES + "random14.tsp");
+        CoordinateDistanceProvider distances = CoordinateDistanceProvider.fromTsplib(instance, 0);
+        CoordinateDistanceProvider cached = CoordinateDistanceProvider.fromTsplib(instance, 4);
+
+        for (int i = 0; i < instance.getNumVertices(); i++) {
+            for (int j = 0; j < instance.getNumVertices(); j++) {
+                assertEquals(instance.distance(i, j), distances.distance(i, j), 0.0);
+                assertEquals(instance.distance(i, j), cached.distance(i, j), 0.0);
+            }
+        }
+        assertSame(cached.row(3), cached.row(3));
+        assertNotSame(cached.row(3), cached.row(7 + 4));
+
+        TsplibInstance explicit = TsplibInstance.read(FILES + "explicit10.tsp");
+        IOException exception = assertThrows(IOException.class, () -> CoordinateDistanceProvider.fromTsplib(explicit, 0));
+        assertEquals("Instance has no coordinates", exception.getMessage());
+    }
+
+    @Test
+    public void testGridCandidatesMatchFullScan() {
+        CoordinateDistanceProvider distances = randomPoints(3000, 11);
+        CandidateLists grid = CandidateLists.nearest(distances, 8);
+        CandidateLists scan = CandidateLists.nearest((DistanceProvider) distances, 8);
+
+        assertEquals(8, grid.getK());
+        for (int point = 0; point < distances.size(); point++) {
+            assertEquals(scan.count(point), grid.count(point));
+            for (int i = 0; i < grid.count(point); i++) {
+                assertEquals(distances.distance(point, scan.candidate(point, i)),
+                        distances.distance(point, grid.candidate(point, i)), 1e-9);
+                if (i > 0) {
+                    assertTrue(distances.distance(point, grid.candidate(point, i - 1))
+                            <= distances.distance(point, grid.candidate(point, i)));
+                }
+            }
+            assertEquals(-1, grid.indexOf(point, point));
+        }
+    }
+
+    @Test
+    public void testCandidateColonyFindsGoodTour() throws IOException {
+        TsplibInstance instance = TsplibInstance.read(FILES + "random14.tsp");
+        TsmResult result = AntColonyOptimization.builder()
+                .distances(CoordinateDistanceProvider.fromTsplib(instance, 0))
+                .candidateListSize(5)
+                .build()
+                .findOptimalTour();
+
+        assertValidTour(result.getVertices(), 14);
+        assertTrue(result.getDistance() >= 3196);
+        assertTrue(result.getDistance() <= 3196 * 1.25, "tour length " + result.getDistance());
+    }
+
+    @Test
+    public void testLargeInstanceWithoutDistanceMatrix() throws IOException {
+        int size = 20_000;
+        TsmResult result = AntColonyOptimization.builder()
+                .distances(randomPoints(size, 5))
+                .candidateListSize(10)
+                .numAnts(1)
+                .maxIterations(1)
+                .build()
+                .findOptimalTour();
+
+        assertValidTour(result.getVertices(), size);
+    }
+
+    private static CoordinateDistanceProvider randomPoints(int size, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = random.nextDouble() * 10_000;
+            y[i] = random.nextDouble() * 10_000;
+        }
+        return new CoordinateDistanceProvider(x, y);
+    }
+
+    private static void assertValidTour(List<Integer> tour, int size) {
+        assertEquals(size + 1, tour.size());
+        assertEquals(tour.get(0), tour.get(size));
+        assertEquals(size, new HashSet<>(tour).size());
+    }
+}
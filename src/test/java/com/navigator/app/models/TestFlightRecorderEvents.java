@@ -0,0 +1,78 @@
+package com.navigator.app.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestFlightRecorderEvents {
+    private static final String PROFILE = "src/main/resources/jfr/navigator.jfc";
+
+    @Test
+    public void testShippedProfileEnablesNavigatorEvents() throws Exception {
+        Configuration configuration = Configuration.create(Paths.get(PROFILE));
+        Map<String, String> settings = configuration.getSettings();
+
+        assertEquals("true", settings.get("com.navigator.app.GraphLoad#enabled"));
+        assertEquals("1 ms", settings.get("com.navigator.app.GraphQuery#threshold"));
+        assertEquals("true", settings.get("com.navigator.app.AcoIteration#enabled"));
+    }
+
+    @Test
+    public void testEventsRecorded() throws Exception {
+        Path file = Files.createTempFile("navigator", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.navigator.app.GraphLoad");
+            recording.enable("com.navigator.app.GraphQuery").withThreshold(Duration.ZERO);
+            recording.enable("com.navigator.app.AcoIteration");
+            recording.start();
+
+            Graph graph = new Graph();
+            graph.loadGraphFromFile("src/test/resources/testFiles/simpleGraph.txt");
+            GraphAlgorithms algorithms = new GraphAlgorithms();
+            algorithms.BreadthFirstSearch(graph, 0);
+            // simpleGraph has no Hamiltonian cycle, so the tour runs on testGraph
+            Graph tourGraph = new Graph();
+            tourGraph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+            algorithms.SolveTravelingSalesmanProblem(tourGraph);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        Map<String, Integer> counts = new HashMap<>();
+        for (RecordedEvent event : events) {
+            counts.merge(event.getEventType().getName(), 1, Integer::sum);
+            if (event.getEventType().getName().equals("com.navigator.app.GraphQuery")
+                    && event.getString("algorithm").equals("BreadthFirstSearch")) {
+                assertEquals("matrix", event.getString("variant"));
+                assertEquals(5, event.getInt("vertices"));
+                assertEquals(5L, event.getLong("settled"));
+            }
+            if (event.getEventType().getName().equals("com.navigator.app.AcoIteration")) {
+                assertTrue(event.getDouble("bestLength") > 0);
+                assertTrue(event.getDouble("pheromoneSpread") >= 1);
+            }
+        }
+
+        assertEquals(2, counts.get("com.navigator.app.GraphLoad"));
+        assertEquals(2, counts.get("com.navigator.app.GraphQuery"));
+        assertEquals(100, counts.get("com.navigator.app.AcoIteration"));
+    }
+}
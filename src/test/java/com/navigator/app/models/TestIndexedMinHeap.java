@@ -0,0 +1,53 @@
+package com.navigator.app.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navigator.app.models.structures.IndexedMinHeap;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+public class TestIndexedMinHeap {
+
+    @Test
+    public void testPopInKeyOrderWithDecreaseKey() {
+        IndexedMinHeap heap = new IndexedMinHeap(6);
+        heap.pushOrDecrease(0, 50);
+        heap.pushOrDecrease(1, 10);
+        heap.pushOrDecrease(2, 30);
+        heap.pushOrDecrease(3, 40);
+
+        assertTrue(heap.pushOrDecrease(3, 5));
+        assertFalse(heap.pushOrDecrease(2, 35));
+        assertEquals(4, heap.size());
+        assertEquals(5, heap.topKey());
+
+        assertEquals(3, heap.pop());
+        assertEquals(1, heap.pop());
+        assertEquals(2, heap.pop());
+        assertEquals(0, heap.pop());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testClearAllowsReuse() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.pushOrDecrease(0, 1);
+        heap.pushOrDecrease(1, 2);
+        heap.clear();
+
+        assertFalse(heap.contains(0));
+        heap.pushOrDecrease(0, 7);
+        assertEquals(7, heap.topKey());
+    }
+
+    @Test
+    public void testEmptyHeap() {
+        IndexedMinHeap heap = new IndexedMinHeap(1);
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, heap::pop);
+        assertEquals("Heap is empty", exception.getMessage());
+    }
+}
@@ -0,0 +1,105 @@
+package com.navigator.app.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navigator.app.models.structures.IntQueue;
+import com.navigator.app.models.structures.SpscIntQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+public class TestIntQueue {
+    private IntQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        queue = new IntQueue(4);
+    }
+
+    @Test
+    public void testPushAndPopAcrossWrapAndGrowth() {
+        queue.push(0);
+        queue.push(1);
+        queue.push(2);
+        assertEquals(0, queue.pop());
+        assertEquals(1, queue.pop());
+
+        for (int i = 3; i < 20; i++) {
+            queue.push(i);
+        }
+        assertEquals(2, queue.front());
+        assertEquals(19, queue.back());
+        for (int i = 2; i < 20; i++) {
+            assertEquals(i, queue.pop());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        queue.push(1);
+        queue.push(2);
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        queue.push(3);
+        assertEquals(3, queue.front());
+        assertEquals(3, queue.back());
+        assertFalse(queue.isEmpty());
+    }
+
+    @Test
+    public void testFixedCapacity() {
+        IntQueue fixed = IntQueue.fixed(2);
+        fixed.push(1);
+        fixed.push(2);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> fixed.push(3));
+        assertEquals("Queue is full", exception.getMessage());
+        assertEquals(1, fixed.pop());
+        fixed.push(3);
+        assertEquals(3, fixed.back());
+    }
+
+    @Test
+    public void testEmptyQueue() {
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> queue.pop());
+        assertEquals("Queue is empty", exception.getMessage());
+
+        exception = assertThrows(NoSuchElementException.class, () -> queue.front());
+        assertEquals("Queue is empty", exception.getMessage());
+
+        exception = assertThrows(NoSuchElementException.class, () -> queue.back());
+        assertEquals("Queue is empty", exception.getMessage());
+    }
+
+    @Test
+    public void testSpscQueueAcrossThreads() throws InterruptedException {
+        SpscIntQueue spsc = new SpscIntQueue(6);
+        assertEquals(8, spsc.capacity());
+
+        int count = 100_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!spsc.offer(i)) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < count; i++) {
+            while (spsc.isEmpty()) {
+                Thread.onSpinWait();
+            }
+            assertEquals(i, spsc.poll());
+        }
+        producer.join();
+        assertTrue(spsc.isEmpty());
+        assertThrows(NoSuchElementException.class, spsc::poll);
+    }
+}
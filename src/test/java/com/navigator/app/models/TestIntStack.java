@@ -0,0 +1,67 @@
+package com.navigator.app.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navigator.app.models.structures.IntStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+public class TestIntStack {
+    private IntStack stack;
+
+    @BeforeEach
+    public void setUp() {
+        stack = new IntStack(2);
+    }
+
+    @Test
+    public void testPushAndPopWithGrowth() {
+        for (int i = 0; i < 100; i++) {
+            stack.push(i);
+        }
+        assertEquals(100, stack.size());
+        assertEquals(99, stack.top());
+
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        stack.push(1);
+        stack.push(2);
+        stack.clear();
+
+        assertTrue(stack.isEmpty());
+        stack.push(3);
+        assertEquals(3, stack.top());
+        assertFalse(stack.isEmpty());
+    }
+
+    @Test
+    public void testFixedCapacity() {
+        IntStack fixed = IntStack.fixed(2);
+        fixed.push(1);
+        fixed.push(2);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> fixed.push(3));
+        assertEquals("Stack is full", exception.getMessage());
+        assertEquals(2, fixed.pop());
+    }
+
+    @Test
+    public void testEmptyStack() {
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> stack.pop());
+        assertEquals("Stack is empty", exception.getMessage());
+
+        exception = assertThrows(NoSuchElementException.class, () -> stack.top());
+        assertEquals("Stack is empty", exception.getMessage());
+    }
+}
@@ -0,0 +1,111 @@
+package com.navigator.app.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navigator.app.models.structures.LinkCutTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class TestLinkCutTree {
+
+    @Test
+    public void testPathMaxOnChain() {
+        LinkCutTree tree = new LinkCutTree(5);
+        int[] values = {3, 9, 1, 7, 2};
+        for (int node = 0; node < values.length; node++) {
+            tree.setValue(node, values[node]);
+        }
+        for (int node = 1; node < values.length; node++) {
+            tree.link(node, node - 1);
+        }
+
+        assertEquals(1, tree.pathMax(0, 4));
+        assertEquals(3, tree.pathMax(2, 4));
+        assertEquals(2, tree.pathMax(2, 2));
+
+        tree.setValue(3, 20);
+        assertEquals(3, tree.pathMax(0, 4));
+    }
+
+    @Test
+    public void testLinkCutConnectivity() {
+        LinkCutTree tree = new LinkCutTree(4);
+        tree.link(0, 1);
+        tree.link(2, 1);
+        assertTrue(tree.connected(0, 2));
+        assertFalse(tree.connected(0, 3));
+        assertThrows(IllegalStateException.class, () -> tree.link(0, 2));
+
+        tree.cut(1, 0);
+        assertFalse(tree.connected(0, 2));
+        assertThrows(IllegalStateException.class, () -> tree.cut(0, 2));
+        assertThrows(IllegalStateException.class, () -> tree.pathMax(0, 3));
+    }
+
+    @Test
+    public void testRandomForestMatchesBruteForce() {
+        int size = 30;
+        Random random = new Random(3);
+        LinkCutTree tree = new LinkCutTree(size);
+        int[] values = new int[size];
+        List<int[]> edges = new ArrayList<>();
+        for (int node = 0; node < size; node++) {
+            values[node] = random.nextInt(1000);
+            tree.setValue(node, values[node]);
+        }
+
+        for (int step = 0; step < 3000; step++) {
+            int first = random.nextInt(size);
+            int second = random.nextInt(size);
+            int operation = random.nextInt(3);
+            List<Integer> path = path(edges, size, first, second);
+            if (operation == 0 && path == null) {
+                tree.link(first, second);
+                edges.add(new int[]{first, second});
+            } else if (operation == 1 && !edges.isEmpty()) {
+                int[] edge = edges.remove(random.nextInt(edges.size()));
+                tree.cut(edge[1], edge[0]);
+            } else if (path != null) {
+                assertTrue(tree.connected(first, second));
+                int expected = path.get(0);
+                for (int node : path) {
+                    if (values[node] > values[expected]) expected = node;
+                }
+                assertEquals(values[expected], values[tree.pathMax(first, second)]);
+            } else {
+                assertFalse(tree.connected(first, second));
+            }
+        }
+    }
+
+    private static List<Integer> path(List<int[]> edges, int size, int from, int to) {
+        int[] previous = new int[size];
+        Arrays.fill(previous, -2);
+        previous[from] = -1;
+        ArrayList<Integer> queue = new ArrayList<>();
+        queue.add(from);
+        for (int head = 0; head < queue.size(); head++) {
+            int node = queue.get(head);
+            for (int[] edge : edges) {
+                int next = edge[0] == node ? edge[1] : edge[1] == node ? edge[0] : -1;
+                if (next >= 0 && previous[next] == -2) {
+                    previous[next] = node;
+                    queue.add(next);
+                }
+            }
+        }
+        if (previous[to] == -2) return null;
+        List<Integer> path = new ArrayList<>();
+        for (int node = to; node != -1; node = previous[node]) {
+            path.add(node);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,87 @@
+package com.navigator.app.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navigator.app.models.metrics.LatencyHistogram;
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+public class TestMetrics {
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.disable();
+        Metrics.reset();
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500.0, histogram.getMean(), 1e-6);
+        assertEquals(5_000_000, histogram.getValueAtPercentile(50), 5_000_000 / 16.0);
+        assertEquals(9_900_000, histogram.getValueAtPercentile(99), 9_900_000 / 16.0);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testNothingRecordedWhileDisabled() {
+        Metrics.disable();
+        long start = Metrics.startTimer();
+        Metrics.increment("test.disabled");
+        Metrics.stopTimer("test.disabled", start);
+
+        assertEquals(Metrics.NOT_STARTED, start);
+        assertEquals(0, Metrics.getCounter("test.disabled"));
+        assertEquals(0, Metrics.histogram("test.disabled").getCount());
+    }
+
+    @Test
+    public void testGraphAlgorithmsInstrumented() throws Exception {
+        Metrics.enable();
+        Metrics.reset();
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/simpleGraph.txt");
+        GraphAlgorithms algorithms = new GraphAlgorithms();
+        algorithms.GetShortestPathBetweenVertices(graph, 0, graph.getNumVertices() - 1);
+
+        assertEquals(1, Metrics.histogram("GraphAlgorithms.GetShortestPathBetweenVertices").getCount());
+        assertEquals(1, Metrics.histogram("Graph.loadGraphFromFile").getCount());
+        assertTrue(Metrics.getCounter("graph.load.bytes") > 0);
+        assertTrue(Metrics.getCounter("shortestPath.verticesSettled") > 0);
+
+        String dump = Metrics.dump();
+        assertTrue(dump.contains("latency GraphAlgorithms.GetShortestPathBetweenVertices count=1"), dump);
+        assertTrue(dump.contains("rate graph.load.bytesPerSecond"), dump);
+    }
+
+    @Test
+    public void testHitRatioAndMBean() throws Exception {
+        Metrics.enable();
+        Metrics.reset();
+        Metrics.add("cache.test.hits", 3);
+        Metrics.increment("cache.test.misses");
+        Metrics.recordAcoBest(7, 42.5);
+
+        ObjectName name = new ObjectName("com.navigator.app:type=Metrics");
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        String dump = (String) ManagementFactory.getPlatformMBeanServer().invoke(name, "dump", null, null);
+        assertTrue(dump.contains("ratio cache.test.hitRatio 0.7500"), dump);
+        assertTrue(dump.contains("iteration=7 length=42.5"), dump);
+    }
+}
@@ -0,0 +1,146 @@
+package com.navigator.app.models;
+
+import com.navigator.app.models.antAlgorithm.AntColonyOptimization;
+import com.navigator.app.models.antAlgorithm.TspInstance;
+import com.navigator.app.models.antAlgorithm.TspInstanceResult;
+import com.navigator.app.models.antAlgorithm.TspRegressionHarness;
+import com.navigator.app.models.antAlgorithm.TspRegressionReport;
+import com.navigator.app.models.antAlgorithm.TsmResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTspRegression {
+    private static final String FILES = "src/main/resources/tsplib/";
+
+    @Test
+    public void testExactOptimaOfStoredInstances() throws IOException {
+        assertEquals(624.0, TspInstance.tsplib(FILES + "circle12.tsp").getOptimum(), 0.0);
+        assertEquals(3196.0, TspInstance.tsplib(FILES + "random14.tsp").getOptimum(), 0.0);
+        assertEquals(275.0, TspInstance.tsplib(FILES + "explicit10.tsp").getOptimum(), 0.0);
+        assertEquals(275.0, TspInstance.tsplib(FILES + "explicit10_upper.tsp").getOptimum(), 0.0);
+        assertEquals(107.0, TspInstance.tsplib(FILES + "asym8.atsp").getOptimum(), 0.0);
+        assertEquals("random14", TspInstance.tsplib(FILES + "random14.tsp", 3196).getName());
+
+        List<TspInstance> suite = TspRegressionHarness.defaultInstances();
+        assertEquals(8, suite.size());
+        assertEquals(suite.get(1).getName(), TspRegressionHarness.defaultInstances(Path.of(FILES)).get(1).getName());
+        for (TspInstance instance : suite.subList(0, 5)) {
+            assertEquals(TspInstance.tsplib(FILES + instance.getName()
+                    + (instance.getName().startsWith("asym") ? ".atsp" : ".tsp")).getOptimum(), instance.getOptimum(), 0.0);
+        }
+    }
+
+    @Test
+    public void testSeededRunsAreReproducible() throws IOException {
+        TspInstance instance = TspInstance.tsplib(FILES + "random14.tsp", 3196);
+        TsmResult first = solve(instance, 7);
+        TsmResult second = solve(instance, 7);
+
+        assertEquals(first.getVertices(), second.getVertices());
+        assertEquals(first.getDistance(), second.getDistance(), 0.0);
+        assertFalse(first.getVertices().equals(solve(instance, 8).getVertices())
+                && first.getVertices().equals(solve(instance, 9).getVertices()), "seeds are ignored");
+        assertEquals(TspInstance.generated(9, 3).getDistances().distance(2, 5),
+                TspInstance.generated(9, 3).getDistances().distance(2, 5), 0.0);
+    }
+
+    @Test
+    public void testHarnessReportsQualityAndSpeed() throws IOException {
+        TspRegressionReport report = TspRegressionHarness.builder()
+                .instances(storedInstances())
+                .runs(2)
+                .build()
+                .run();
+
+        assertTrue(report.isPassed(), report.getFailures().toString());
+        assertEquals(6, report.getInstances().size());
+        for (TspInstanceResult result : report.getInstances()) {
+            assertEquals(2, result.getRuns().size());
+            assertTrue(result.getMeanGap() >= 0 && result.getMeanGap() <= result.getWorstGap());
+            assertTrue(result.getIterationsPerSecond() > 0);
+            if (result.getTargetHitRate() > 0) assertTrue(result.getMedianTimeToTargetMillis() >= 0);
+        }
+
+        Path file = Files.createTempFile("tspRegression", ".json");
+        try {
+            report.write(file);
+            String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertTrue(json.startsWith("{\"seed\":1,\"runs\":2,\"maxIterations\":100,"));
+            assertTrue(json.contains("\"passed\":true"));
+
+            Map<String, TspInstanceResult> baseline = TspRegressionReport.readInstances(file);
+            assertEquals(6, baseline.size());
+            TspInstanceResult circle = report.find("circle12").orElseThrow(AssertionError::new);
+            assertEquals(circle.getMeanGap(), baseline.get("circle12").getMeanGap(), 0.0);
+            assertEquals(circle.getIterationsPerSecond(), baseline.get("circle12").getIterationsPerSecond(), 0.0);
+            assertEquals(circle.getMedianTimeToTargetMillis(), baseline.get("circle12").getMedianTimeToTargetMillis(),
+                    0.0);
+            assertEquals(624.0, baseline.get("circle12").getOptimum(), 0.0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testHarnessFailsOnRegressions() throws IOException {
+        List<TspInstance> instances = new ArrayList<>();
+        instances.add(TspInstance.tsplib(FILES + "circle12.tsp", 624));
+        TspRegressionReport baseline = TspRegressionHarness.builder().instances(instances).runs(1).build().run();
+        double speed = baseline.getInstances().get(0).getIterationsPerSecond();
+        double gap = baseline.getInstances().get(0).getMeanGap();
+
+        TspRegressionReport slower = TspRegressionHarness.builder()
+                .instances(instances)
+                .runs(1)
+                .baseline(Map.of("circle12", new TspInstanceResult("circle12", 12, 624, gap, gap, 1, 0, speed * 1000,
+                        new ArrayList<>())))
+                .build()
+                .run();
+        assertFalse(slower.isPassed());
+        assertTrue(slower.getFailures().get(0).startsWith("circle12: "));
+        assertTrue(slower.getFailures().get(0).contains("regressed"));
+
+        TspRegressionReport worse = TspRegressionHarness.builder()
+                .instances(instances)
+                .runs(1)
+                .maxMeanGap(-1)
+                .build()
+                .run();
+        assertFalse(worse.isPassed());
+
+        instances.add(new TspInstance("wrongOptimum", instances.get(0).getDistances(), 1000));
+        TspRegressionReport wrong = TspRegressionHarness.builder().instances(instances).runs(1).build().run();
+        assertEquals(1, wrong.getFailures().size());
+        assertTrue(wrong.getFailures().get(0).contains("shorter than the optimum"));
+
+        IOException exception = assertThrows(IOException.class,
+                () -> TspRegressionHarness.builder().instances(new ArrayList<>()).build().run());
+        assertEquals("Graph is empty", exception.getMessage());
+        exception = assertThrows(IOException.class, () -> TspRegressionReport.readInstances(Path.of("missing.json")));
+        assertEquals("File not found", exception.getMessage());
+    }
+
+    private static List<TspInstance> storedInstances() throws IOException {
+        List<TspInstance> instances = TspRegressionHarness.storedInstances();
+        instances.add(TspInstance.generated(12, 5));
+        return instances;
+    }
+
+    private static TsmResult solve(TspInstance instance, long seed) throws IOException {
+        return AntColonyOptimization.builder()
+                .distances(instance.getDistances())
+                .maxIterations(30)
+                .seed(seed)
+                .build()
+                .findOptimalTour();
+    }
+}
@@ -0,0 +1,104 @@
+package com.navigator.app.s21_graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCompactGraph {
+
+    @Test
+    public void testFromGraphKeepsEveryEdge() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/simpleGraph.txt");
+        CompactGraph compact = CompactGraph.fromGraph(graph);
+
+        assertEquals(graph.getNumVertices(), compact.getNumVertices());
+        int edges = 0;
+        for (int i = 0; i < graph.getNumVertices(); i++) {
+            int edge = compact.edgeStart(i);
+            for (int j = 0; j < graph.getNumVertices(); j++) {
+                int weight = graph.getAdjacencyMatrix().get(i).get(j);
+                if (weight == 0) continue;
+                assertEquals(j, compact.target(edge));
+                assertEquals(weight, compact.weight(edge));
+                edge++;
+                edges++;
+            }
+            assertEquals(compact.edgeEnd(i), edge);
+        }
+        assertEquals(edges, compact.getNumEdges());
+    }
+
+    @Test
+    public void testBuilderSortsEdgesAndTranspose() {
+        CompactGraph graph = CompactGraph.builder(4)
+                .addEdge(2, 3, 7)
+                .addEdge(0, 3, 1)
+                .addEdge(0, 1, 2)
+                .addUndirectedEdge(1, 2, 5)
+                .build();
+
+        assertEquals(5, graph.getNumEdges());
+        assertEquals(2, graph.degree(0));
+        assertEquals(1, graph.target(graph.edgeStart(0)));
+        assertEquals(3, graph.target(graph.edgeStart(0) + 1));
+        assertEquals(0, graph.degree(3));
+
+        CompactGraph reversed = graph.transpose();
+        assertEquals(2, reversed.degree(3));
+        assertEquals(0, reversed.target(reversed.edgeStart(3)));
+        assertEquals(1, reversed.weight(reversed.edgeStart(3)));
+        assertEquals(2, reversed.target(reversed.edgeStart(3) + 1));
+        assertEquals(7, reversed.weight(reversed.edgeStart(3) + 1));
+    }
+
+    @Test
+    public void testWithChangesMatchesFromGraph() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        CompactGraph compact = CompactGraph.fromGraph(graph);
+        Random random = new Random(11);
+        int numVertices = graph.getNumVertices();
+
+        for (int round = 0; round < 50; round++) {
+            long version = graph.getVersion();
+            List<EdgeUpdate> updates = new ArrayList<>();
+            for (int i = random.nextInt(6); i >= 0; i--) {
+                // a third of the updates remove the edge, and a batch may touch the same edge twice
+                int weight = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(30);
+                updates.add(new EdgeUpdate(random.nextInt(numVertices), random.nextInt(numVertices), weight));
+            }
+            graph.applyUpdates(updates);
+            compact = compact.withChanges(graph.changesSince(version));
+            assertSameEdges(CompactGraph.fromGraph(graph), compact);
+        }
+        assertSame(compact, compact.withChanges(Collections.emptyList()));
+    }
+
+    private static void assertSameEdges(CompactGraph expected, CompactGraph actual) {
+        assertEquals(expected.getNumEdges(), actual.getNumEdges());
+        for (int vertex = 0; vertex < expected.getNumVertices(); vertex++) {
+            assertEquals(expected.edgeStart(vertex), actual.edgeStart(vertex));
+            assertEquals(expected.edgeEnd(vertex), actual.edgeEnd(vertex));
+        }
+        for (int edge = 0; edge < expected.getNumEdges(); edge++) {
+            assertEquals(expected.target(edge), actual.target(edge));
+            assertEquals(expected.weight(edge), actual.weight(edge));
+        }
+    }
+
+    @Test
+    public void testExceptionCompactGraph() {
+        IOException exception = assertThrows(IOException.class, () -> CompactGraph.fromGraph(new Graph()));
+        assertEquals("Graph is empty", exception.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> CompactGraph.builder(2).addEdge(0, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> CompactGraph.builder(2).addEdge(0, 1, 0));
+    }
+}
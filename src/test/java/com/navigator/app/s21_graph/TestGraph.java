@@ -5,7 +5,9 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -79,4 +81,100 @@ public class TestGraph {
     public void testExceptionExportLoadGraphFromFile() {
         assertThrows(IOException.class, () -> graph.exportGraphToDot("incorrect/path/to/save"));
     }
+
+    @Test
+    public void testEdgeUpdatesBumpVersionAndJournal() throws IOException {
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        long loaded = graph.getVersion();
+        int oldWeight = graph.getAdjacencyMatrix().get(0).get(1);
+
+        graph.setEdgeWeight(0, 1, oldWeight + 5);
+        graph.applyUpdates(Arrays.asList(new EdgeUpdate(1, 2, 7), new EdgeUpdate(2, 1, 7)));
+        assertEquals(loaded + 2, graph.getVersion());
+        assertEquals(oldWeight + 5, graph.getAdjacencyMatrix().get(0).get(1));
+
+        List<EdgeChange> changes = graph.changesSince(loaded);
+        assertEquals(3, changes.size());
+        assertTrue(changes.get(0).isRemovalOrIncrease());
+        assertEquals(oldWeight, changes.get(0).getOldWeight());
+        assertEquals(2, graph.changesSince(loaded + 1).size());
+        assertTrue(graph.changesSince(graph.getVersion()).isEmpty());
+
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        assertNull(graph.changesSince(loaded));
+    }
+
+    @Test
+    public void testCompactSinceMatchesItsChanges() throws Exception {
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        long loaded = graph.getVersion();
+        int oldWeight = graph.getAdjacencyMatrix().get(0).get(1);
+        CompactGraph base = CompactGraph.fromGraph(graph);
+        assertNull(graph.compactSince(-1, null).getChanges());
+
+        Thread writer = new Thread(() -> {
+            try {
+                for (int weight = 1; weight <= 20000; weight++) {
+                    graph.setEdgeWeight(0, 1, weight);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.start();
+        try {
+            while (writer.isAlive()) {
+                CompactGraphSnapshot snapshot = graph.compactSince(loaded, base);
+                List<EdgeChange> changes = snapshot.getChanges();
+                int expected = changes.isEmpty() ? oldWeight : changes.get(changes.size() - 1).getNewWeight();
+                long expectedVersion = changes.isEmpty() ? loaded : changes.get(changes.size() - 1).getVersion();
+                assertEquals(expectedVersion, snapshot.getVersion());
+                assertEquals(expected, weightOf(snapshot.getGraph(), 0, 1));
+            }
+        } finally {
+            writer.join();
+        }
+        assertEquals(20000, weightOf(graph.compactSince(loaded, null).getGraph(), 0, 1));
+    }
+
+    private static int weightOf(CompactGraph graph, int from, int to) {
+        for (int edge = graph.edgeStart(from); edge < graph.edgeEnd(from); edge++) {
+            if (graph.target(edge) == to) return graph.weight(edge);
+        }
+        return 0;
+    }
+
+    @Test
+    public void testAddAndRemoveEdge() throws IOException {
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        graph.setEdgeWeight(0, 3, 0);
+
+        graph.addEdge(0, 3, 4);
+        assertEquals(4, graph.getAdjacencyMatrix().get(0).get(3));
+        IOException exception = assertThrows(IOException.class, () -> graph.addEdge(0, 3, 9));
+        assertEquals("Edge already exists", exception.getMessage());
+
+        graph.removeEdge(0, 3);
+        assertEquals(0, graph.getAdjacencyMatrix().get(0).get(3));
+        exception = assertThrows(IOException.class, () -> graph.removeEdge(0, 3));
+        assertEquals("Edge not found", exception.getMessage());
+    }
+
+    @Test
+    public void testInvalidBatchIsNotApplied() throws IOException {
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        long version = graph.getVersion();
+        int weight = graph.getAdjacencyMatrix().get(0).get(1);
+
+        IOException exception = assertThrows(IOException.class, () -> graph.applyUpdates(
+                Arrays.asList(new EdgeUpdate(0, 1, weight + 1), new EdgeUpdate(0, graph.getNumVertices(), 1))));
+        assertEquals("Vertex not found", exception.getMessage());
+        exception = assertThrows(IOException.class, () -> graph.setEdgeWeight(0, 1, -1));
+        assertEquals("Wrong edge weight", exception.getMessage());
+        assertEquals(weight, graph.getAdjacencyMatrix().get(0).get(1));
+        assertEquals(version, graph.getVersion());
+
+        exception = assertThrows(IOException.class, () -> new Graph().setEdgeWeight(0, 1, 1));
+        assertEquals("Graph is empty", exception.getMessage());
+    }
 }
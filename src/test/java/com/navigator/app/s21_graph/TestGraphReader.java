@@ -0,0 +1,188 @@
+package com.navigator.app.s21_graph;
+
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGraphReader {
+    private static final String FILES = "src/test/resources/formatFiles/";
+    private static final String TSPLIB = "src/main/resources/tsplib/";
+
+    @Test
+    public void testDetectFormats() throws IOException {
+        assertEquals(GraphFormat.DIMACS, GraphFormat.detect(FILES + "grid20.gr"));
+        assertEquals(GraphFormat.EDGE_LIST, GraphFormat.detect(FILES + "grid20.edges"));
+        assertEquals(GraphFormat.TSPLIB, GraphFormat.detect(TSPLIB + "circle12.tsp"));
+        assertEquals(GraphFormat.TSPLIB, GraphFormat.detect(TSPLIB + "asym8.atsp"));
+        assertEquals(GraphFormat.ADJACENCY_MATRIX, GraphFormat.detect("src/test/resources/testFiles/simpleGraph.txt"));
+    }
+
+    @Test
+    public void testDimacsAndEdgeListAgree() throws IOException {
+        CompactGraph dimacs = GraphReader.read(FILES + "grid20.gr");
+        CompactGraph edgeList = GraphReader.read(FILES + "grid20.edges");
+
+        assertEquals(20, dimacs.getNumVertices());
+        assertEquals(62, dimacs.getNumEdges());
+        assertEquals(dimacs.getNumVertices(), edgeList.getNumVertices());
+        assertEquals(dimacs.getNumEdges(), edgeList.getNumEdges());
+        for (int edge = 0; edge < dimacs.getNumEdges(); edge++) {
+            assertEquals(dimacs.target(edge), edgeList.target(edge));
+            assertEquals(dimacs.weight(edge), edgeList.weight(edge));
+        }
+    }
+
+    @Test
+    public void testMatrixReadMatchesFromGraph() throws IOException {
+        String file = "src/test/resources/testFiles/testGraph.txt";
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(file);
+        CompactGraph expected = CompactGraph.fromGraph(graph);
+        CompactGraph actual = GraphReader.read(file);
+
+        assertEquals(expected.getNumEdges(), actual.getNumEdges());
+        for (int edge = 0; edge < expected.getNumEdges(); edge++) {
+            assertEquals(expected.target(edge), actual.target(edge));
+            assertEquals(expected.weight(edge), actual.weight(edge));
+        }
+    }
+
+    @Test
+    public void testGraphLoadsOtherFormats() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(FILES + "grid20.gr");
+
+        assertEquals(20, graph.getNumVertices());
+        assertEquals(19, new GraphAlgorithms().GetShortestPathBetweenVertices(graph, 0, 19));
+    }
+
+    @Test
+    public void testParallelArcsKeepLightest() throws IOException {
+        Path file = Files.createTempFile("parallel", ".gr");
+        try {
+            Files.writeString(file, "p sp 3 3\na 1 2 2\na 1 2 5\na 2 3 1\n");
+            CompactGraph compact = GraphReader.read(file.toString());
+            assertEquals(2, compact.getNumEdges());
+            assertEquals(2, compact.weight(compact.edgeStart(0)));
+
+            Graph graph = new Graph();
+            graph.loadGraphFromFile(file.toString());
+            assertTrue(graph.isShared());
+            assertEquals(3, new GraphAlgorithms().GetShortestPathBetweenVertices(graph, 0, 2));
+            assertEquals(2, graph.getAdjacencyMatrix().get(0).get(1));
+
+            graph.setEdgeWeight(1, 2, 4);
+            assertFalse(graph.isShared());
+            assertEquals(6, new GraphAlgorithms().GetShortestPathBetweenVertices(graph, 0, 2));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testLargeSparseGraphStaysCompact() throws IOException {
+        int numVertices = Graph.MAX_MATRIX_VERTICES + 100;
+        Path file = Files.createTempFile("path", ".edges");
+        try {
+            StringBuilder edges = new StringBuilder();
+            for (int vertex = 0; vertex + 1 < numVertices; vertex++) {
+                edges.append(vertex).append(' ').append(vertex + 1).append(" 1\n");
+            }
+            Files.writeString(file, edges.toString());
+            Graph graph = new Graph();
+            graph.loadGraphFromFile(file.toString());
+
+            assertEquals(numVertices, graph.getNumVertices());
+            assertEquals(numVertices - 1,
+                    new GraphAlgorithms().GetShortestPathBetweenVertices(graph, 0, numVertices - 1));
+            IOException exception = assertThrows(IOException.class, () -> graph.setEdgeWeight(0, 1, 2));
+            assertEquals("Graph too large for an adjacency matrix", exception.getMessage());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testTsplibCoordinates() throws IOException {
+        TsplibInstance instance = TsplibInstance.read(TSPLIB + "circle12.tsp");
+
+        assertEquals("circle12", instance.getName());
+        assertEquals(12, instance.getNumVertices());
+        assertTrue(instance.hasCoordinates());
+        // neighbours on a circle of radius 100 split into 12 arcs are 2 * 100 * sin(15 degrees) = 51.76 apart
+        assertEquals(52, instance.distance(0, 4));
+        assertEquals(instance.distance(3, 7), instance.distance(7, 3));
+
+        CompactGraph graph = instance.toCompactGraph();
+        assertEquals(12 * 11, graph.getNumEdges());
+    }
+
+    @Test
+    public void testTsplibExplicitFormatsAgree() throws IOException {
+        TsplibInstance lower = TsplibInstance.read(TSPLIB + "explicit10.tsp");
+        TsplibInstance upper = TsplibInstance.read(TSPLIB + "explicit10_upper.tsp");
+
+        assertFalse(lower.hasCoordinates());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, lower.distance(i, i));
+            for (int j = 0; j < 10; j++) {
+                assertEquals(lower.distance(i, j), upper.distance(i, j));
+                assertEquals(lower.distance(i, j), lower.distance(j, i));
+            }
+        }
+    }
+
+    @Test
+    public void testTsplibAsymmetric() throws IOException {
+        TsplibInstance instance = TsplibInstance.read(TSPLIB + "asym8.atsp");
+
+        assertEquals("ATSP", instance.getType());
+        boolean asymmetric = false;
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                asymmetric |= instance.distance(i, j) != instance.distance(j, i);
+            }
+        }
+        assertTrue(asymmetric);
+    }
+
+    @Test
+    public void testMalformedFiles() throws IOException {
+        Path file = Files.createTempFile("graph", ".gr");
+        try {
+            Files.writeString(file, "c no problem line\na 1 2 3\n");
+            IOException exception = assertThrows(IOException.class, () -> GraphReader.read(file.toString()));
+            assertEquals("File wrong format", exception.getMessage());
+
+            Files.writeString(file, "p sp 2 1\na 1 3 4\n");
+            assertThrows(IOException.class, () -> GraphReader.read(file.toString()));
+
+            Files.writeString(file, "p sp 2 1\na 1 2 -4\n");
+            exception = assertThrows(IOException.class, () -> GraphReader.read(file.toString()));
+            assertEquals("File wrong format: Edge weight must be positive", exception.getMessage());
+        } finally {
+            Files.delete(file);
+        }
+
+        IOException exception = assertThrows(IOException.class, () -> GraphReader.read("incorrect.gr"));
+        assertEquals("File not found", exception.getMessage());
+    }
+
+    @Test
+    public void testTsplibWeightMatrixTooLarge() throws IOException {
+        Path file = Files.createTempFile("huge", ".tsp");
+        try {
+            Files.writeString(file, "NAME : huge\nTYPE : TSP\nDIMENSION : 46341\nEDGE_WEIGHT_TYPE : EXPLICIT\n"
+                    + "EDGE_WEIGHT_FORMAT : UPPER_ROW\nEDGE_WEIGHT_SECTION\n1\nEOF\n");
+            IOException exception = assertThrows(IOException.class, () -> TsplibInstance.read(file.toString()));
+            assertEquals("Instance is too large for a weight matrix", exception.getMessage());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
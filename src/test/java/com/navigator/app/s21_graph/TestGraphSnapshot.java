@@ -0,0 +1,157 @@
+package com.navigator.app.s21_graph;
+
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGraphSnapshot {
+    private static final String TEST_GRAPH = "src/test/resources/testFiles/testGraph.txt";
+    private static final String SIMPLE_GRAPH = "src/test/resources/testFiles/simpleGraph.txt";
+
+    @Test
+    public void testSnapshotIsIndependentCopy() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(TEST_GRAPH);
+        GraphSnapshot snapshot = GraphSnapshot.of(graph);
+        int weight = graph.getAdjacencyMatrix().get(0).get(1);
+
+        graph.setEdgeWeight(0, 1, weight + 5);
+        assertEquals(weight, (int) snapshot.getAdjacencyMatrix().get(0).get(1));
+        assertEquals(graph.getVersion() - 1, snapshot.getVersion());
+        assertEquals(TEST_GRAPH, snapshot.getSourceFile());
+        assertSame(snapshot, GraphSnapshot.of(snapshot));
+    }
+
+    @Test
+    public void testSnapshotIsReadOnly() throws IOException {
+        GraphSnapshot snapshot = GraphSnapshot.load(TEST_GRAPH);
+        long version = snapshot.getVersion();
+
+        IOException exception = assertThrows(IOException.class, () -> snapshot.setEdgeWeight(0, 1, 3));
+        assertEquals("Graph is read-only", exception.getMessage());
+        assertThrows(IOException.class, () -> snapshot.addEdge(0, 1, 3));
+        assertThrows(IOException.class, () -> snapshot.removeEdge(0, 1));
+        assertThrows(IOException.class, () -> snapshot.loadGraphFromFile(SIMPLE_GRAPH));
+        assertEquals(version, snapshot.getVersion());
+        assertEquals(11, snapshot.getNumVertices());
+
+        exception = assertThrows(IOException.class, () -> GraphSnapshot.load("missing.txt"));
+        assertEquals("File not found", exception.getMessage());
+    }
+
+    @Test
+    public void testSnapshotOfSharedGraph() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(TEST_GRAPH);
+        Path file = Files.createTempFile("snapshotGraph", ".bin");
+        try {
+            SharedGraphFile.publish(graph, file);
+            GraphSnapshot snapshot = GraphSnapshot.load(file.toString());
+            assertTrue(snapshot.isShared());
+            assertEquals(new GraphAlgorithms().GetShortestPathsBetweenAllVertices(graph),
+                    new GraphAlgorithms().GetShortestPathsBetweenAllVertices(snapshot));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testHolderSwapsAndKeepsSnapshotOnFailure() throws IOException, InterruptedException,
+            ExecutionException {
+        GraphHolder holder = new GraphHolder();
+        IOException exception = assertThrows(IOException.class,
+                () -> new GraphAlgorithms().DepthFirstSearch(holder.current(), 0));
+        assertEquals("Graph is empty", exception.getMessage());
+
+        GraphSnapshot first = holder.reload(TEST_GRAPH);
+        assertSame(first, holder.current());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<GraphSnapshot> failed = holder.reloadAsync("missing.txt", executor);
+            ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+            assertEquals("File not found", error.getCause().getMessage());
+            assertSame(first, holder.current());
+
+            GraphSnapshot second = holder.reloadAsync(SIMPLE_GRAPH, executor).get();
+            assertSame(second, holder.current());
+            assertEquals(5, holder.current().getNumVertices());
+            assertEquals(2, holder.getReloads());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOlderReloadFinishingLastIsDropped() throws InterruptedException, ExecutionException {
+        GraphHolder holder = new GraphHolder();
+        List<Runnable> pending = new ArrayList<>();
+        Executor deferred = pending::add;
+
+        CompletableFuture<GraphSnapshot> older = holder.reloadAsync(TEST_GRAPH, deferred);
+        CompletableFuture<GraphSnapshot> newer = holder.reloadAsync(SIMPLE_GRAPH, deferred);
+        pending.get(1).run();
+        pending.get(0).run();
+
+        assertSame(newer.get(), holder.current());
+        assertSame(newer.get(), older.get());
+        assertEquals(5, holder.current().getNumVertices());
+        assertEquals(1, holder.getReloads());
+    }
+
+    @Test
+    public void testQueriesDuringReloadsSeeWholeGraphs() throws Exception {
+        GraphHolder holder = new GraphHolder(GraphSnapshot.load(TEST_GRAPH));
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        int bigDistance = graphAlgorithms.GetShortestPathBetweenVertices(holder.current(), 0, 4);
+        int smallDistance = graphAlgorithms.GetShortestPathBetweenVertices(GraphSnapshot.load(SIMPLE_GRAPH), 0, 4);
+        AtomicBoolean reloading = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<Integer>> queries = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                queries.add(executor.submit(() -> {
+                    started.countDown();
+                    int count = 0;
+                    while (reloading.get()) {
+                        GraphSnapshot graph = holder.current();
+                        int distance = graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, 4);
+                        int expected = graph.getNumVertices() == 11 ? bigDistance : smallDistance;
+                        if (distance != expected) throw new AssertionError(distance + " != " + expected);
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            started.await();
+            for (int i = 0; i < 20; i++) {
+                holder.reloadAsync(i % 2 == 0 ? SIMPLE_GRAPH : TEST_GRAPH, executor).get();
+            }
+            reloading.set(false);
+            for (Future<Integer> query : queries) {
+                assertTrue(query.get() >= 0);
+            }
+            assertEquals(11, holder.current().getNumVertices());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.navigator.app.s21_graph;
+
+import com.navigator.app.models.antAlgorithm.MatrixDistanceProvider;
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.s21_graph_algorithms.GraphAlgorithms;
+import com.navigator.app.s21_graph_algorithms.ResultCache;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSharedGraphFile {
+    private Graph graph;
+    private Path file;
+
+    @BeforeEach
+    public void publishGraph() throws IOException {
+        graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        file = Files.createTempFile("sharedGraph", ".bin");
+        SharedGraphFile.publish(graph, file);
+    }
+
+    @AfterEach
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testMappedGraphHasSameEdges() throws IOException {
+        CompactGraph original = CompactGraph.fromGraph(graph);
+        CompactGraph mapped = SharedGraphFile.map(file);
+
+        assertEquals(original.getNumVertices(), mapped.getNumVertices());
+        assertEquals(original.getNumEdges(), mapped.getNumEdges());
+        for (int vertex = 0; vertex < original.getNumVertices(); vertex++) {
+            assertEquals(original.edgeStart(vertex), mapped.edgeStart(vertex));
+            assertEquals(original.degree(vertex), mapped.degree(vertex));
+            for (int edge = original.edgeStart(vertex); edge < original.edgeEnd(vertex); edge++) {
+                assertEquals(original.target(edge), mapped.target(edge));
+                assertEquals(original.weight(edge), mapped.weight(edge));
+            }
+        }
+        CompactGraph transposed = mapped.transpose();
+        assertEquals(original.transpose().getNumEdges(), transposed.getNumEdges());
+        assertTrue(SharedGraphFile.isSharedGraphFile(file));
+        assertFalse(SharedGraphFile.isSharedGraphFile(Paths.get("src/test/resources/testFiles/testGraph.txt")));
+    }
+
+    @Test
+    public void testGraphAlgorithmsRunOnAttachedGraph() throws IOException {
+        Graph shared = SharedGraphFile.attach(file);
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        int numVertices = graph.getNumVertices();
+
+        assertTrue(shared.isShared());
+        assertEquals(numVertices, shared.getNumVertices());
+        assertSame(CompactGraph.fromGraph(shared), CompactGraph.fromGraph(shared));
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            assertEquals(graphAlgorithms.DepthFirstSearch(graph, vertex), graphAlgorithms.DepthFirstSearch(shared, vertex));
+            assertEquals(graphAlgorithms.BreadthFirstSearch(graph, vertex),
+                    graphAlgorithms.BreadthFirstSearch(shared, vertex));
+            for (int target = 0; target < numVertices; target++) {
+                assertEquals(graphAlgorithms.GetShortestPathBetweenVertices(graph, vertex, target),
+                        graphAlgorithms.GetShortestPathBetweenVertices(shared, vertex, target));
+            }
+        }
+        assertArrayEquals(graphAlgorithms.GetStronglyConnectedComponents(graph).getLabels(),
+                graphAlgorithms.GetStronglyConnectedComponents(shared).getLabels());
+
+        assertEquals(graphAlgorithms.GetShortestPathsBetweenAllVertices(graph),
+                graphAlgorithms.GetShortestPathsBetweenAllVertices(shared));
+        assertEquals(graphAlgorithms.GetLeastSpanningTree(graph), graphAlgorithms.GetLeastSpanningTree(shared));
+        assertEquals(graph.getAdjacencyMatrix(), shared.getAdjacencyMatrix());
+        assertNotNull(graphAlgorithms.SolveTravelingSalesmanProblem(shared, CancellationToken.none(), null));
+    }
+
+    @Test
+    public void testMatrixFreeResultsOnAttachedGraph() throws IOException {
+        Graph shared = SharedGraphFile.attach(file);
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+
+        assertEquals(graphAlgorithms.GetLeastSpanningTree(graph), graphAlgorithms.GetLeastSpanningTree(shared));
+        MatrixDistanceProvider expected = MatrixDistanceProvider.fromGraph(graph);
+        MatrixDistanceProvider actual = MatrixDistanceProvider.fromGraph(shared);
+        for (int from = 0; from < graph.getNumVertices(); from++) {
+            for (int to = 0; to < graph.getNumVertices(); to++) {
+                assertEquals(expected.distance(from, to), actual.distance(from, to));
+            }
+        }
+
+        Path matrixDot = Files.createTempFile("matrixGraph", ".dot");
+        Path sharedDot = Files.createTempFile("sharedGraph", ".dot");
+        try {
+            graph.exportGraphToDot(matrixDot.toString());
+            shared.exportGraphToDot(sharedDot.toString());
+            assertEquals(Files.readString(matrixDot).replace(matrixDot.toString(), ""),
+                    Files.readString(sharedDot).replace(sharedDot.toString(), ""));
+        } finally {
+            Files.deleteIfExists(matrixDot);
+            Files.deleteIfExists(sharedDot);
+        }
+    }
+
+    @Test
+    public void testMatrixAlgorithmsRejectLargeAttachedGraph() throws IOException {
+        CompactGraph large = GraphGenerator.builder()
+                .numVertices(Graph.MAX_MATRIX_VERTICES + 1)
+                .averageDegree(2)
+                .seed(7)
+                .build()
+                .compactGraph();
+        SharedGraphFile.publish(large, file);
+        Graph shared = SharedGraphFile.attach(file);
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+
+        IOException exception = assertThrows(IOException.class, () -> graphAlgorithms.GetLeastSpanningTree(shared));
+        assertEquals("Graph too large for an adjacency matrix", exception.getMessage());
+        exception = assertThrows(IOException.class, () -> graphAlgorithms.GetShortestPathsBetweenAllVertices(shared));
+        assertEquals("Graph too large for an adjacency matrix", exception.getMessage());
+        exception = assertThrows(IOException.class, () -> new ResultCache(shared, graphAlgorithms)
+                .getLeastSpanningTree(CancellationToken.none()));
+        assertEquals("Graph too large for an adjacency matrix", exception.getMessage());
+        assertEquals(0, graphAlgorithms.BreadthFirstSearch(shared, 0).get(0));
+    }
+
+    @Test
+    public void testAttachedGraphIsReadOnly() throws IOException {
+        Graph shared = SharedGraphFile.attach(file);
+        IOException exception = assertThrows(IOException.class, () -> shared.setEdgeWeight(0, 1, 5));
+        assertEquals("Graph is read-only", exception.getMessage());
+        assertEquals(1, shared.getVersion());
+
+        shared.loadGraphFromFile("src/test/resources/testFiles/simpleGraph.txt");
+        assertFalse(shared.isShared());
+        assertDoesNotThrow(() -> shared.setEdgeWeight(0, 1, 5));
+    }
+
+    @Test
+    public void testRepublishingKeepsAttachedGraphIntact() throws IOException {
+        CompactGraph mapped = SharedGraphFile.map(file);
+        int edges = mapped.getNumEdges();
+
+        Graph other = new Graph();
+        other.loadGraphFromFile("src/test/resources/testFiles/simpleGraph.txt");
+        SharedGraphFile.publish(other, file);
+
+        assertEquals(edges, mapped.getNumEdges());
+        assertEquals(other.getNumVertices(), SharedGraphFile.map(file).getNumVertices());
+    }
+
+    @Test
+    public void testBadFiles() throws IOException {
+        Files.write(file, new byte[]{0x53, 0x32, 0x47, 0x53, 0, 0, 0, 1});
+        IOException exception = assertThrows(IOException.class, () -> SharedGraphFile.attach(file));
+        assertEquals("Incorrect data", exception.getMessage());
+
+        Files.delete(file);
+        exception = assertThrows(IOException.class, () -> SharedGraphFile.attach(file));
+        assertEquals("File not found", exception.getMessage());
+    }
+}
@@ -0,0 +1,66 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.cancellation.OperationCancelledException;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBatchShortestPaths {
+
+    @Test
+    public void testBatchMatchesFullDijkstra() throws IOException {
+        CompactGraph graph = randomGraph(2_000, 6, 3);
+        Random random = new Random(11);
+        int queries = 5_000;
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            // skewed sources so that groups have many targets
+            sources[i] = random.nextInt(random.nextBoolean() ? 10 : graph.getNumVertices());
+            targets[i] = random.nextInt(graph.getNumVertices());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            int[] distances = new BatchShortestPaths(graph, executor, 4).distances(sources, targets, CancellationToken.none());
+
+            DijkstraSearch reference = new DijkstraSearch(graph);
+            for (int i = 0; i < queries; i++) {
+                reference.search(sources[i], CancellationToken.none());
+                assertEquals(reference.distance(targets[i]), distances[i]);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnreachableTargets() throws IOException {
+        CompactGraph graph = CompactGraph.builder(3).addEdge(0, 1, 4).build();
+        int[] distances = new BatchShortestPaths(graph).distances(new int[]{0, 0, 1, 2}, new int[]{1, 2, 0, 2}, CancellationToken.none());
+
+        assertArrayEquals(new int[]{4, DijkstraSearch.UNREACHABLE, DijkstraSearch.UNREACHABLE, 0}, distances);
+    }
+
+    @Test
+    public void testCancelledBatch() throws IOException {
+        CompactGraph graph = randomGraph(100, 4, 1);
+        CancellationToken token = CancellationToken.none();
+        token.cancel();
+
+        assertThrows(OperationCancelledException.class, () -> new BatchShortestPaths(graph).distances(new int[]{0, 1}, new int[]{5, 6}, token));
+    }
+
+    private static CompactGraph randomGraph(int numVertices, int degree, long seed) throws IOException {
+        return GraphGenerator.builder().numVertices(numVertices).averageDegree(2 * degree).seed(seed).build()
+                .compactGraph();
+    }
+}
@@ -0,0 +1,80 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.cancellation.OperationCancelledException;
+import com.navigator.app.s21_graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBitsetTraversal {
+    private final GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+
+    @Test
+    public void testTraversalOrderMatchesGraphAlgorithms() throws IOException {
+        for (String name : new String[]{"testGraph.txt", "simpleGraph.txt"}) {
+            Graph graph = new Graph();
+            graph.loadGraphFromFile("src/test/resources/testFiles/" + name);
+            assertSameOrder(graph);
+        }
+    }
+
+    @Test
+    public void testTraversalOrderOnSparseDirectedGraph() throws IOException {
+        // 150 vertices span three words per row and leave some vertices unreachable
+        Random random = new Random(42);
+        int size = 150;
+        Path file = Files.createTempFile("bitsetGraph", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(size + "\n");
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    writer.write((i != j && random.nextInt(40) == 0 ? 1 + random.nextInt(9) : 0) + " ");
+                }
+                writer.write("\n");
+            }
+        }
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(file.toString());
+        Files.delete(file);
+
+        assertSameOrder(graph);
+    }
+
+    @Test
+    public void testExceptionBitsetTraversal() throws IOException {
+        IOException exception = assertThrows(IOException.class, () -> new BitsetTraversal(new Graph()));
+        assertEquals("Graph is empty", exception.getMessage());
+
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        BitsetTraversal traversal = new BitsetTraversal(graph);
+        exception = assertThrows(IOException.class, () -> traversal.depthFirstSearch(-1));
+        assertEquals("Vertex not found", exception.getMessage());
+        exception = assertThrows(IOException.class, () -> traversal.breadthFirstSearch(graph.getNumVertices()));
+        assertEquals("Vertex not found", exception.getMessage());
+
+        CancellationToken token = CancellationToken.none();
+        token.cancel();
+        assertThrows(OperationCancelledException.class, () -> traversal.breadthFirstSearch(0, token));
+    }
+
+    private void assertSameOrder(Graph graph) throws IOException {
+        BitsetTraversal traversal = new BitsetTraversal(graph);
+        for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+            assertArrayEquals(toArray(graphAlgorithms.DepthFirstSearch(graph, vertex)), traversal.depthFirstSearch(vertex));
+            assertArrayEquals(toArray(graphAlgorithms.BreadthFirstSearch(graph, vertex)), traversal.breadthFirstSearch(vertex));
+        }
+    }
+
+    private int[] toArray(ArrayList<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,148 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.metrics.Metrics;
+import com.navigator.app.s21_graph.EdgeUpdate;
+import com.navigator.app.s21_graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDynamicMinimumSpanningTree {
+    private static final String TEST_GRAPH = "src/test/resources/testFiles/testGraph.txt";
+
+    @Test
+    public void testInitialTreeMatchesPrim() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(TEST_GRAPH);
+        DynamicMinimumSpanningTree tree = new DynamicMinimumSpanningTree(graph);
+
+        assertEquals(graph.getNumVertices() - 1, tree.getNumTreeEdges());
+        assertEquals(totalWeight(new GraphAlgorithms().GetLeastSpanningTree(graph)), tree.getTotalWeight());
+        assertEquals(tree.getTotalWeight(), totalWeight(tree.toAdjacencyMatrix()));
+    }
+
+    @Test
+    public void testRandomUpdatesMatchRebuild() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(TEST_GRAPH);
+        DynamicMinimumSpanningTree tree = new DynamicMinimumSpanningTree(graph);
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        Random random = new Random(17);
+        int numVertices = graph.getNumVertices();
+
+        for (int round = 0; round < 300; round++) {
+            int from = random.nextInt(numVertices);
+            int to = random.nextInt(numVertices);
+            // a quarter of the updates remove the edge
+            int weight = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(60);
+            graph.applyUpdates(Arrays.asList(new EdgeUpdate(from, to, weight), new EdgeUpdate(to, from, weight)));
+            tree.update();
+
+            DynamicMinimumSpanningTree rebuilt = new DynamicMinimumSpanningTree(graph);
+            assertEquals(rebuilt.getTotalWeight(), tree.getTotalWeight(), "round " + round);
+            assertEquals(rebuilt.getNumTreeEdges(), tree.getNumTreeEdges(), "round " + round);
+            assertEquals(tree.getTotalWeight(), totalWeight(tree.toAdjacencyMatrix()));
+            if (tree.getNumTreeEdges() == numVertices - 1) {
+                assertEquals(totalWeight(graphAlgorithms.GetLeastSpanningTree(graph)), tree.getTotalWeight(), "round " + round);
+            }
+        }
+    }
+
+    @Test
+    public void testReplacementAfterTreeEdgeRemoval() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(TEST_GRAPH);
+        DynamicMinimumSpanningTree tree = new DynamicMinimumSpanningTree(graph);
+        int from = 0;
+        int to = 1;
+        while (!tree.isTreeEdge(from, to)) {
+            to++;
+        }
+
+        graph.applyUpdates(Arrays.asList(new EdgeUpdate(from, to, 0), new EdgeUpdate(to, from, 0)));
+        tree.update();
+        assertFalse(tree.isTreeEdge(from, to));
+        assertEquals(graph.getNumVertices() - 1, tree.getNumTreeEdges());
+        assertEquals(totalWeight(new GraphAlgorithms().GetLeastSpanningTree(graph)), tree.getTotalWeight());
+    }
+
+    @Test
+    public void testDenseDeletionFallsBackToRelink() throws IOException {
+        // a light clique on 1..59 and a heavy star around 0 whose only light edge is {0, 1}: removing it leaves
+        // every clique edge lighter than the replacement, so the probe runs out and the forest is relinked
+        int size = 60;
+        Random random = new Random(3);
+        Path file = Files.createTempFile("denseGraph", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(size + "\n");
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    int weight;
+                    if (i == j) {
+                        weight = 0;
+                    } else if (i == 0 || j == 0) {
+                        weight = i + j == 1 ? 1 : 1000 + i + j;
+                    } else {
+                        weight = 1 + random.nextInt(500);
+                    }
+                    writer.write(weight + " ");
+                }
+                writer.write("\n");
+            }
+        }
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(file.toString());
+        Files.delete(file);
+        DynamicMinimumSpanningTree tree = new DynamicMinimumSpanningTree(graph);
+
+        Metrics.enable();
+        Metrics.reset();
+        try {
+            graph.applyUpdates(Arrays.asList(new EdgeUpdate(0, 1, 0), new EdgeUpdate(1, 0, 0)));
+            tree.update();
+            assertEquals(1, Metrics.getCounter("mst.relinks"));
+            assertFalse(tree.isTreeEdge(0, 1));
+            assertEquals(new DynamicMinimumSpanningTree(graph).getTotalWeight(), tree.getTotalWeight());
+
+            for (int round = 0; round < 100; round++) {
+                int from = random.nextInt(size);
+                int to = random.nextInt(size);
+                int weight = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(2000);
+                graph.applyUpdates(Arrays.asList(new EdgeUpdate(from, to, weight), new EdgeUpdate(to, from, weight)));
+                tree.update();
+
+                DynamicMinimumSpanningTree rebuilt = new DynamicMinimumSpanningTree(graph);
+                assertEquals(rebuilt.getTotalWeight(), tree.getTotalWeight(), "round " + round);
+                assertEquals(rebuilt.getNumTreeEdges(), tree.getNumTreeEdges(), "round " + round);
+                assertEquals(tree.getTotalWeight(), totalWeight(tree.toAdjacencyMatrix()));
+            }
+        } finally {
+            Metrics.disable();
+            Metrics.reset();
+        }
+    }
+
+    @Test
+    public void testExceptionEmptyGraph() {
+        IOException exception = assertThrows(IOException.class, () -> new DynamicMinimumSpanningTree(new Graph()));
+        assertEquals("Graph is empty", exception.getMessage());
+    }
+
+    private static long totalWeight(ArrayList<ArrayList<Integer>> matrix) {
+        long total = 0;
+        for (int i = 0; i < matrix.size(); i++) {
+            for (int j = i + 1; j < matrix.size(); j++) {
+                total += matrix.get(i).get(j);
+            }
+        }
+        return total;
+    }
+}
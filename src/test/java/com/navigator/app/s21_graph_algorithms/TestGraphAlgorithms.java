@@ -1,12 +1,18 @@
 package com.navigator.app.s21_graph_algorithms;
 
+import com.navigator.app.models.antAlgorithm.AntColonyOptimization;
 import com.navigator.app.models.antAlgorithm.TsmResult;
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.cancellation.OperationCancelledException;
+import com.navigator.app.models.shortestPath.DistanceTable;
 import com.navigator.app.s21_graph.Graph;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -139,6 +145,23 @@ public class TestGraphAlgorithms {
         assertEquals(result.getDistance() < 256, true);
     }
 
+    @Test
+    public void testTspWithoutHamiltonianCycleFails() throws IOException {
+        Graph star = new Graph();
+        star.loadGraphFromFile("src/test/resources/testFiles/simpleGraph.txt");
+        for (int vertex = 2; vertex < star.getNumVertices(); vertex++) {
+            star.setEdgeWeight(1, vertex, 1);
+            star.setEdgeWeight(vertex, 1, 1);
+            for (int other = 2; other < star.getNumVertices(); other++) {
+                star.setEdgeWeight(vertex, other, 0);
+            }
+        }
+        assertEquals(1, graphAlgorithms.GetStronglyConnectedComponents(star).getCount());
+
+        IOException exception = assertThrows(IOException.class, () -> graphAlgorithms.SolveTravelingSalesmanProblem(star));
+        assertEquals("Incorrect data", exception.getMessage());
+    }
+
     @Test
     public void testExceptionGraphAlgorithmsSolveTspWithAntColonyOptimization() {
         Graph testGraph = new Graph();
@@ -146,4 +169,123 @@ public class TestGraphAlgorithms {
         assertEquals("Graph is empty", exception.getMessage());
     }
 
+    @Test
+    public void testCancelledTokenStopsGraphAlgorithms() {
+        CancellationToken token = CancellationToken.none();
+        token.cancel();
+
+        IOException exception = assertThrows(OperationCancelledException.class, () -> graphAlgorithms.DepthFirstSearch(graph, 0, token));
+        assertEquals("Operation cancelled", exception.getMessage());
+        assertThrows(OperationCancelledException.class, () -> graphAlgorithms.BreadthFirstSearch(graph, 0, token));
+        assertThrows(OperationCancelledException.class, () -> graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, 1, token));
+        assertThrows(OperationCancelledException.class, () -> graphAlgorithms.GetShortestPathsBetweenAllVertices(graph, token));
+        assertThrows(OperationCancelledException.class, () -> graphAlgorithms.GetLeastSpanningTree(graph, token));
+        assertThrows(OperationCancelledException.class, () -> graphAlgorithms.SolveTravelingSalesmanProblem(graph, token, null));
+    }
+
+    @Test
+    public void testExpiredDeadlineStopsGraphAlgorithms() {
+        CancellationToken token = CancellationToken.withTimeout(Duration.ZERO);
+
+        IOException exception = assertThrows(OperationCancelledException.class, () -> graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, 1, token));
+        assertEquals("Deadline exceeded", exception.getMessage());
+    }
+
+    @Test
+    public void testSolveTspReportsProgress() throws IOException {
+        List<TsmResult> reported = new ArrayList<>();
+        TsmResult result = graphAlgorithms.SolveTravelingSalesmanProblem(graph, CancellationToken.none(), (iteration, best) -> reported.add(best));
+
+        assertFalse(reported.isEmpty());
+        for (int i = 1; i < reported.size(); i++) {
+            assertTrue(reported.get(i).getDistance() < reported.get(i - 1).getDistance());
+        }
+        assertEquals(reported.get(reported.size() - 1).getDistance(), result.getDistance());
+    }
+
+    @Test
+    public void testSolveTspReturnsBestTourWhenCancelled() throws IOException {
+        CancellationToken token = CancellationToken.none();
+        TsmResult result = graphAlgorithms.SolveTravelingSalesmanProblem(graph, token, (iteration, best) -> token.cancel());
+
+        assertNotNull(result);
+        assertEquals(graph.getNumVertices() + 1, result.getVertices().size());
+    }
+
+    @Test
+    public void testGraphAlgorithmsGetShortestPathsBetweenVertexPairs() throws IOException {
+        int numVertices = graph.getNumVertices();
+        int[] sources = new int[numVertices * numVertices];
+        int[] targets = new int[numVertices * numVertices];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = (i * 7) % numVertices;
+            targets[i] = i / numVertices;
+        }
+
+        int[] res = graphAlgorithms.GetShortestPathsBetweenVertexPairs(graph, sources, targets);
+        for (int i = 0; i < sources.length; i++) {
+            assertEquals(graphAlgorithms.GetShortestPathBetweenVertices(graph, sources[i], targets[i]), res[i]);
+        }
+    }
+
+    @Test
+    public void testExceptionGraphAlgorithmsGetShortestPathsBetweenVertexPairs() {
+        IOException exception = assertThrows(IOException.class, () -> graphAlgorithms.GetShortestPathsBetweenVertexPairs(graph, new int[]{0, 1}, new int[]{1}));
+        assertEquals("Sources and targets differ in length", exception.getMessage());
+
+        exception = assertThrows(IOException.class, () -> graphAlgorithms.GetShortestPathsBetweenVertexPairs(graph, new int[]{0}, new int[]{graph.getNumVertices()}));
+        assertEquals("Vertex not found", exception.getMessage());
+
+        exception = assertThrows(IOException.class, () -> graphAlgorithms.GetShortestPathsBetweenVertexPairs(new Graph(), new int[]{0}, new int[]{0}));
+        assertEquals("Graph is empty", exception.getMessage());
+    }
+
+    @Test
+    public void testGraphAlgorithmsGetDistanceTable() throws IOException {
+        int[] sources = {0, 3, 10};
+        int[] targets = {1, 4, 6, 8, 10};
+        DistanceTable table = graphAlgorithms.GetDistanceTable(graph, sources, targets);
+        for (int i = 0; i < sources.length; i++) {
+            for (int j = 0; j < targets.length; j++) {
+                assertEquals(graphAlgorithms.GetShortestPathBetweenVertices(graph, sources[i], targets[j]), table.get(i, j));
+            }
+        }
+
+        DistanceTable columns = graphAlgorithms.GetDistanceTable(graph, targets, sources);
+        for (int i = 0; i < targets.length; i++) {
+            for (int j = 0; j < sources.length; j++) {
+                assertEquals(graphAlgorithms.GetShortestPathBetweenVertices(graph, targets[i], sources[j]), columns.get(i, j));
+            }
+        }
+    }
+
+    @Test
+    public void testSolveTspOnDistanceTable() throws IOException {
+        int[] locations = {1, 4, 6, 8, 10};
+        DistanceTable table = graphAlgorithms.GetDistanceTable(graph, locations, locations);
+        TsmResult result = AntColonyOptimization.builder()
+                .distances(table.toDistanceProvider())
+                .build()
+                .findOptimalTour();
+
+        assertEquals(locations.length + 1, result.getVertices().size());
+        double length = 0;
+        for (int i = 0; i + 1 < result.getVertices().size(); i++) {
+            length += table.get(result.getVertices().get(i), result.getVertices().get(i + 1));
+        }
+        assertEquals(length, result.getDistance(), 1e-9);
+
+        IOException exception = assertThrows(IOException.class, () -> graphAlgorithms.GetDistanceTable(graph, new int[]{0}, locations).toDistanceProvider());
+        assertEquals("Distance table must have the same sources and targets", exception.getMessage());
+
+        int[] repeated = {1, 4, 1};
+        exception = assertThrows(IOException.class,
+                () -> graphAlgorithms.GetDistanceTable(graph, repeated, repeated).toDistanceProvider());
+        assertEquals("Distance table has duplicate locations", exception.getMessage());
+
+        DistanceTable unreachable = new DistanceTable(new int[]{0, 1}, new int[]{0, 1},
+                new int[]{0, Integer.MAX_VALUE, 3, 0});
+        exception = assertThrows(IOException.class, unreachable::toDistanceProvider);
+        assertEquals("Graph is not connected", exception.getMessage());
+    }
 }
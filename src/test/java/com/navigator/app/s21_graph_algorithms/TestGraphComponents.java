@@ -0,0 +1,140 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.traversal.ComponentsResult;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGraphComponents {
+    private static final CancellationToken NONE = CancellationToken.none();
+
+    @Test
+    public void testConnectedComponentsMatchUndirectedReachability() throws IOException {
+        CompactGraph graph = randomGraph(2000, 1800, 3, false);
+        GraphComponents components = new GraphComponents(graph, new ForkJoinPool(4));
+        ComponentsResult unionFind = components.connected(NONE);
+        ComponentsResult propagated = components.connectedByLabelPropagation(NONE);
+
+        assertArrayEquals(unionFind.getLabels(), propagated.getLabels());
+        assertArrayEquals(unionFind.getSizes(), propagated.getSizes());
+        assertTrue(unionFind.getCount() > 1);
+        assertEquals(0, unionFind.componentOf(0));
+
+        boolean[][] reach = reachability(randomGraph(2000, 1800, 3, true));
+        for (int first = 0; first < 2000; first++) {
+            for (int second = 0; second < 2000; second++) {
+                assertEquals(reach[first][second], unionFind.sameComponent(first, second));
+            }
+        }
+    }
+
+    @Test
+    public void testStronglyConnectedComponentsMatchMutualReachability() throws IOException {
+        CompactGraph graph = randomGraph(300, 450, 7, false);
+        ComponentsResult result = new GraphComponents(graph).stronglyConnected(NONE);
+        boolean[][] reach = reachability(graph);
+
+        for (int first = 0; first < 300; first++) {
+            for (int second = 0; second < 300; second++) {
+                assertEquals(reach[first][second] && reach[second][first], result.sameComponent(first, second),
+                        first + " <-> " + second);
+            }
+        }
+    }
+
+    @Test
+    public void testKnownStronglyConnectedComponents() throws IOException {
+        CompactGraph.Builder builder = CompactGraph.builder(7);
+        builder.addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(2, 0, 1);
+        builder.addEdge(2, 3, 1).addEdge(3, 4, 1).addEdge(4, 3, 1);
+        builder.addEdge(5, 6, 1);
+        ComponentsResult strong = new GraphComponents(builder.build()).stronglyConnected(NONE);
+        ComponentsResult weak = new GraphComponents(builder.build()).connected(NONE);
+
+        assertArrayEquals(new int[]{0, 0, 0, 1, 1, 2, 3}, strong.getLabels());
+        assertArrayEquals(new int[]{3, 2, 1, 1}, strong.getSizes());
+        assertEquals(0, strong.largest());
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 1, 1}, weak.getLabels());
+    }
+
+    @Test
+    public void testLongPathDoesNotOverflowStack() throws IOException {
+        int numVertices = 500_000;
+        CompactGraph.Builder builder = CompactGraph.builder(numVertices);
+        for (int vertex = 0; vertex + 1 < numVertices; vertex++) {
+            builder.addEdge(vertex, vertex + 1, 1);
+        }
+        builder.addEdge(numVertices - 1, 0, 1);
+        GraphComponents components = new GraphComponents(builder.build());
+
+        assertEquals(1, components.stronglyConnected(NONE).getCount());
+        assertEquals(1, components.connected(NONE).getCount());
+        assertEquals(1, components.connectedByLabelPropagation(NONE).getCount());
+    }
+
+    @Test
+    public void testGraphAlgorithmsOnDisconnectedGraph() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        assertEquals(1, graphAlgorithms.GetStronglyConnectedComponents(graph).getCount());
+
+        for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+            if (vertex == 6) continue;
+            graph.setEdgeWeight(6, vertex, 0);
+            graph.setEdgeWeight(vertex, 6, 0);
+        }
+        assertEquals(2, graphAlgorithms.GetConnectedComponents(graph).getCount());
+        assertEquals(1, graphAlgorithms.GetConnectedComponents(graph).getSizes()[1]);
+
+        ArrayList<ArrayList<Integer>> forest = graphAlgorithms.GetLeastSpanningTree(graph);
+        int edgeCount = 0;
+        for (ArrayList<Integer> row : forest) {
+            for (int weight : row) {
+                if (weight != 0) edgeCount++;
+            }
+        }
+        assertEquals(2 * (graph.getNumVertices() - 2), edgeCount);
+
+        IOException exception = assertThrows(IOException.class,
+                () -> graphAlgorithms.SolveTravelingSalesmanProblem(graph));
+        assertEquals("Graph is not connected", exception.getMessage());
+    }
+
+    private static boolean[][] reachability(CompactGraph graph) throws IOException {
+        int numVertices = graph.getNumVertices();
+        boolean[][] reach = new boolean[numVertices][];
+        DijkstraSearch search = new DijkstraSearch(graph);
+        for (int source = 0; source < numVertices; source++) {
+            search.search(source, NONE);
+            reach[source] = new boolean[numVertices];
+            for (int target = 0; target < numVertices; target++) {
+                reach[source][target] = search.distance(target) != DijkstraSearch.UNREACHABLE;
+            }
+        }
+        return reach;
+    }
+
+    private static CompactGraph randomGraph(int numVertices, int numEdges, long seed, boolean undirected) {
+        Random random = new Random(seed);
+        CompactGraph.Builder builder = CompactGraph.builder(numVertices);
+        for (int i = 0; i < numEdges; i++) {
+            int from = random.nextInt(numVertices);
+            int to = random.nextInt(numVertices);
+            if (undirected) {
+                builder.addUndirectedEdge(from, to, 1);
+            } else {
+                builder.addEdge(from, to, 1);
+            }
+        }
+        return builder.build();
+    }
+}
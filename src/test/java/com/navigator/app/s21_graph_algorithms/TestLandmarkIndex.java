@@ -0,0 +1,194 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLandmarkIndex {
+    private static final CancellationToken NONE = CancellationToken.none();
+
+    @Test
+    public void testDistancesMatchDijkstra() throws IOException {
+        CompactGraph graph = randomGraph(300, 4, 3);
+        for (LandmarkIndex.Selection selection : LandmarkIndex.Selection.values()) {
+            LandmarkIndex index = LandmarkIndex.build(graph, 6, selection, ForkJoinPool.commonPool(), NONE);
+            assertEquals(6, index.getNumLandmarks());
+            assertQueriesMatchDijkstra(index, 7);
+        }
+    }
+
+    @Test
+    public void testPathWeightsSumToDistance() throws IOException {
+        CompactGraph graph = randomGraph(200, 3, 5);
+        LandmarkSearch search = new LandmarkSearch(
+                LandmarkIndex.build(graph, 4, LandmarkIndex.Selection.AVOID, ForkJoinPool.commonPool(), NONE));
+        int distance = search.distance(0, 199, NONE);
+        List<Integer> path = search.path();
+
+        assertEquals(0, (int) path.get(0));
+        assertEquals(199, (int) path.get(path.size() - 1));
+        int sum = 0;
+        for (int i = 1; i < path.size(); i++) {
+            sum += weight(graph, path.get(i - 1), path.get(i));
+        }
+        assertEquals(distance, sum);
+    }
+
+    @Test
+    public void testSettlesFewerVerticesThanDijkstra() throws IOException {
+        CompactGraph graph = grid(40);
+        LandmarkSearch search = new LandmarkSearch(
+                LandmarkIndex.build(graph, 8, LandmarkIndex.Selection.FARTHEST, ForkJoinPool.commonPool(), NONE));
+        DijkstraSearch dijkstra = new DijkstraSearch(graph);
+        int source = 20 * 40 + 3;
+        int target = 20 * 40 + 36;
+
+        dijkstra.search(source, new int[]{target}, 0, 1, NONE);
+        assertEquals(dijkstra.distance(target), search.distance(source, target, NONE));
+        assertTrue(search.getSettledCount() < dijkstra.getSettledCount(),
+                search.getSettledCount() + " >= " + dijkstra.getSettledCount());
+    }
+
+    @Test
+    public void testUnreachableTarget() throws IOException {
+        CompactGraph.Builder builder = CompactGraph.builder(6);
+        builder.addUndirectedEdge(0, 1, 2);
+        builder.addUndirectedEdge(1, 2, 2);
+        builder.addEdge(3, 4, 1);
+        builder.addEdge(4, 5, 1);
+        builder.addEdge(2, 3, 7);
+        CompactGraph graph = builder.build();
+        LandmarkIndex index = LandmarkIndex.build(graph, 3, LandmarkIndex.Selection.AVOID,
+                ForkJoinPool.commonPool(), NONE);
+        LandmarkSearch search = new LandmarkSearch(index);
+
+        assertEquals(13, search.distance(0, 5, NONE));
+        assertEquals(DijkstraSearch.UNREACHABLE, search.distance(5, 0, NONE));
+        assertTrue(search.path().isEmpty());
+        assertQueriesMatchDijkstra(index, 1);
+
+        IOException exception = assertThrows(IOException.class, () -> search.distance(0, 6, NONE));
+        assertEquals("Vertex not found", exception.getMessage());
+    }
+
+    @Test
+    public void testSavedIndexIsMappedBack() throws IOException {
+        CompactGraph graph = randomGraph(150, 3, 9);
+        LandmarkIndex built = LandmarkIndex.build(graph, 5, LandmarkIndex.Selection.AVOID,
+                ForkJoinPool.commonPool(), NONE);
+        Path file = Files.createTempFile("landmarks", ".bin");
+        try {
+            built.save(file);
+            LandmarkIndex loaded = LandmarkIndex.load(file, graph);
+
+            assertArrayEquals(built.getLandmarks(), loaded.getLandmarks());
+            for (int i = 0; i < built.getNumLandmarks(); i++) {
+                for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+                    assertEquals(built.distanceFromLandmark(i, vertex), loaded.distanceFromLandmark(i, vertex));
+                    assertEquals(built.distanceToLandmark(i, vertex), loaded.distanceToLandmark(i, vertex));
+                }
+            }
+            assertQueriesMatchDijkstra(loaded, 3);
+
+            IOException exception = assertThrows(IOException.class,
+                    () -> LandmarkIndex.load(file, randomGraph(150, 3, 10)));
+            assertEquals("Landmarks were built for a different graph", exception.getMessage());
+
+            Files.write(file, new byte[]{1, 2, 3});
+            exception = assertThrows(IOException.class, () -> LandmarkIndex.load(file, graph));
+            assertEquals("Incorrect data", exception.getMessage());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testLoadOrBuildReusesFile() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/formatFiles/grid20.gr");
+        Path file = Files.createTempFile("landmarks", ".bin");
+        Files.delete(file);
+        try {
+            LandmarkIndex built = LandmarkIndex.loadOrBuild(file, graph, 3, LandmarkIndex.Selection.FARTHEST, NONE);
+            assertTrue(Files.exists(file));
+            long modified = Files.getLastModifiedTime(file).toMillis();
+
+            LandmarkIndex loaded = LandmarkIndex.loadOrBuild(file, graph, 3, LandmarkIndex.Selection.FARTHEST, NONE);
+            assertEquals(modified, Files.getLastModifiedTime(file).toMillis());
+            assertArrayEquals(built.getLandmarks(), loaded.getLandmarks());
+            assertTrue(loaded.isFor(graph));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testGraphAlgorithmsUseIndexUntilGraphChanges() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/formatFiles/grid20.gr");
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        int expected = graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, 19);
+        assertEquals(19, expected);
+
+        LandmarkIndex index = LandmarkIndex.build(graph, 4, LandmarkIndex.Selection.AVOID, NONE);
+        graphAlgorithms.setLandmarkIndex(index);
+        assertTrue(index.isFor(graph));
+        for (int target = 0; target < graph.getNumVertices(); target++) {
+            assertEquals(new GraphAlgorithms().GetShortestPathBetweenVertices(graph, 0, target),
+                    graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, target));
+        }
+
+        graph.setEdgeWeight(0, 1, 100);
+        assertFalse(index.isFor(graph));
+        assertEquals(new GraphAlgorithms().GetShortestPathBetweenVertices(graph, 0, 19),
+                graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, 19));
+    }
+
+    private static void assertQueriesMatchDijkstra(LandmarkIndex index, int step) throws IOException {
+        CompactGraph graph = index.getGraph();
+        LandmarkSearch search = new LandmarkSearch(index);
+        DijkstraSearch dijkstra = new DijkstraSearch(graph);
+        for (int source = 0; source < graph.getNumVertices(); source += step) {
+            dijkstra.search(source, NONE);
+            for (int target = 0; target < graph.getNumVertices(); target++) {
+                assertEquals(dijkstra.distance(target), search.distance(source, target, NONE),
+                        source + " -> " + target);
+            }
+        }
+    }
+
+    private static int weight(CompactGraph graph, int from, int to) {
+        int best = Integer.MAX_VALUE;
+        for (int edge = graph.edgeStart(from); edge < graph.edgeEnd(from); edge++) {
+            if (graph.target(edge) == to) best = Math.min(best, graph.weight(edge));
+        }
+        return best;
+    }
+
+    private static CompactGraph randomGraph(int numVertices, int degree, long seed) throws IOException {
+        return GraphGenerator.builder().numVertices(numVertices).averageDegree(2 * degree).seed(seed).build()
+                .compactGraph();
+    }
+
+    private static CompactGraph grid(int side) {
+        CompactGraph.Builder builder = CompactGraph.builder(side * side);
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int vertex = row * side + column;
+                if (column + 1 < side) builder.addUndirectedEdge(vertex, vertex + 1, 1);
+                if (row + 1 < side) builder.addUndirectedEdge(vertex, vertex + side, 1);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.cancellation.OperationCancelledException;
+import com.navigator.app.models.traversal.BfsResult;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestParallelBreadthFirstSearch {
+    private final GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+
+    @Test
+    public void testOrderMatchesBreadthFirstSearch() throws IOException {
+        for (String name : new String[]{"testGraph.txt", "simpleGraph.txt"}) {
+            Graph graph = new Graph();
+            graph.loadGraphFromFile("src/test/resources/testFiles/" + name);
+            ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(CompactGraph.fromGraph(graph));
+
+            for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+                ArrayList<Integer> expected = graphAlgorithms.BreadthFirstSearch(graph, vertex);
+                BfsResult result = search.search(vertex, true, CancellationToken.none());
+                assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), result.getOrder());
+            }
+        }
+    }
+
+    @Test
+    public void testLevelsAndParentsOnLargeGraph() throws IOException {
+        // dense enough that the middle levels run bottom-up
+        int size = 100_000;
+        CompactGraph graph = GraphGenerator.builder().numVertices(size).averageDegree(8).seed(7).build().compactGraph();
+        int[] expectedLevels = sequentialLevels(graph, 0);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BfsResult result = new ParallelBreadthFirstSearch(graph, pool).search(0, true, CancellationToken.none());
+            assertArrayEquals(expectedLevels, result.getLevels());
+
+            int reached = 0;
+            for (int vertex = 0; vertex < size; vertex++) {
+                if (expectedLevels[vertex] < 0) {
+                    assertEquals(-1, result.getParents()[vertex]);
+                    continue;
+                }
+                reached++;
+                if (vertex == 0) continue;
+                int parent = result.getParents()[vertex];
+                assertEquals(expectedLevels[vertex] - 1, expectedLevels[parent]);
+            }
+            assertEquals(reached, result.getReachedCount());
+            assertEquals(reached, result.getOrder().length);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testExceptionParallelBreadthFirstSearch() {
+        CompactGraph graph = CompactGraph.builder(2).addUndirectedEdge(0, 1, 1).build();
+        ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(graph);
+
+        IOException exception = assertThrows(IOException.class, () -> search.search(2));
+        assertEquals("Vertex not found", exception.getMessage());
+
+        CancellationToken token = CancellationToken.none();
+        token.cancel();
+        assertThrows(OperationCancelledException.class, () -> search.search(0, false, token));
+    }
+
+    private int[] sequentialLevels(CompactGraph graph, int source) {
+        int[] levels = new int[graph.getNumVertices()];
+        Arrays.fill(levels, -1);
+        int[] queue = new int[graph.getNumVertices()];
+        int head = 0;
+        int tail = 0;
+        levels[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int vertex = queue[head++];
+            for (int edge = graph.edgeStart(vertex); edge < graph.edgeEnd(vertex); edge++) {
+                int neighbor = graph.target(edge);
+                if (levels[neighbor] < 0) {
+                    levels[neighbor] = levels[vertex] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,116 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.s21_graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestResultCache {
+    private static final String TEST_GRAPH = "src/test/resources/testFiles/testGraph.txt";
+    private static final String SIMPLE_GRAPH = "src/test/resources/testFiles/simpleGraph.txt";
+
+    @Test
+    public void testRepeatedQueriesHitCache() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(TEST_GRAPH);
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        ResultCache cache = new ResultCache(graph, graphAlgorithms);
+
+        ArrayList<ArrayList<Integer>> expected = graphAlgorithms.GetShortestPathsBetweenAllVertices(graph);
+        assertEquals(expected, cache.getShortestPathsBetweenAllVertices(CancellationToken.none()));
+        assertEquals(expected, cache.getShortestPathsBetweenAllVertices(CancellationToken.none()));
+        assertEquals(graphAlgorithms.GetLeastSpanningTree(graph), cache.getLeastSpanningTree(CancellationToken.none()));
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testCallerCopyDoesNotChangeCache() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(TEST_GRAPH);
+        ResultCache cache = new ResultCache(graph, new GraphAlgorithms());
+
+        cache.getLeastSpanningTree(CancellationToken.none()).get(0).set(0, -1);
+        assertEquals(0, cache.getLeastSpanningTree(CancellationToken.none()).get(0).get(0));
+    }
+
+    @Test
+    public void testReloadInvalidates() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(TEST_GRAPH);
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        ResultCache cache = new ResultCache(graph, graphAlgorithms);
+        cache.getShortestPathsBetweenAllVertices(CancellationToken.none());
+
+        graph.loadGraphFromFile(SIMPLE_GRAPH);
+        assertEquals(graphAlgorithms.GetShortestPathsBetweenAllVertices(graph),
+                cache.getShortestPathsBetweenAllVertices(CancellationToken.none()));
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testPersistedResultsReusedAcrossRuns() throws IOException {
+        Path directory = Files.createTempDirectory("resultCache");
+        Path graphFile = directory.resolve("graph.txt");
+        Files.copy(Paths.get(TEST_GRAPH), graphFile);
+        try {
+            Graph graph = new Graph();
+            graph.loadGraphFromFile(graphFile.toString());
+            ResultCache cache = new ResultCache(graph, new GraphAlgorithms(), true);
+            ArrayList<ArrayList<Integer>> expected = cache.getShortestPathsBetweenAllVertices(CancellationToken.none());
+            assertTrue(Files.exists(cache.getResultsFile()));
+
+            Graph reloaded = new Graph();
+            reloaded.loadGraphFromFile(graphFile.toString());
+            ResultCache nextRun = new ResultCache(reloaded, new GraphAlgorithms(), true);
+            assertEquals(expected, nextRun.getShortestPathsBetweenAllVertices(CancellationToken.none()));
+            assertEquals(1, nextRun.getDiskHits());
+            assertEquals(0, nextRun.getMisses());
+
+            Files.copy(Paths.get(SIMPLE_GRAPH), graphFile, StandardCopyOption.REPLACE_EXISTING);
+            Graph changed = new Graph();
+            changed.loadGraphFromFile(graphFile.toString());
+            ResultCache afterChange = new ResultCache(changed, new GraphAlgorithms(), true);
+            assertEquals(new GraphAlgorithms().GetShortestPathsBetweenAllVertices(changed),
+                    afterChange.getShortestPathsBetweenAllVertices(CancellationToken.none()));
+            assertEquals(0, afterChange.getDiskHits());
+            assertEquals(1, afterChange.getMisses());
+        } finally {
+            Files.deleteIfExists(Paths.get(graphFile + ".results"));
+            Files.deleteIfExists(graphFile);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void testAllPairsRepairedAfterDecreases() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile(TEST_GRAPH);
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        ResultCache cache = new ResultCache(graph, graphAlgorithms);
+        cache.getShortestPathsBetweenAllVertices(CancellationToken.none());
+
+        int last = graph.getNumVertices() - 1;
+        graph.setEdgeWeight(0, last, 1);
+        graph.setEdgeWeight(last, 1, 1);
+        assertEquals(graphAlgorithms.GetShortestPathsBetweenAllVertices(graph),
+                cache.getShortestPathsBetweenAllVertices(CancellationToken.none()));
+        assertEquals(1, cache.getRepairs());
+        assertEquals(1, cache.getMisses());
+
+        graph.setEdgeWeight(0, last, 0);
+        assertEquals(graphAlgorithms.GetShortestPathsBetweenAllVertices(graph),
+                cache.getShortestPathsBetweenAllVertices(CancellationToken.none()));
+        assertEquals(1, cache.getRepairs());
+        assertEquals(2, cache.getMisses());
+    }
+}
@@ -0,0 +1,115 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.shortestPath.ShortestPathTree;
+import com.navigator.app.s21_graph.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestShortestPathTreeCache {
+    private Graph graph;
+
+    @BeforeEach
+    public void loadGraph() throws IOException {
+        graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+    }
+
+    @Test
+    public void testDistancesMatchDijkstra() throws IOException {
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(graph, Long.MAX_VALUE);
+        int numVertices = graph.getNumVertices();
+        for (int source = 0; source < numVertices; source++) {
+            for (int target = 0; target < numVertices; target++) {
+                assertEquals(graphAlgorithms.GetShortestPathBetweenVertices(graph, source, target),
+                        cache.distance(source, target, CancellationToken.none()));
+            }
+        }
+        assertEquals(numVertices, cache.getMisses());
+        assertEquals((long) numVertices * (numVertices - 1), cache.getHits());
+    }
+
+    @Test
+    public void testPathWeightsSumToDistance() throws IOException {
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(graph, Long.MAX_VALUE);
+        int target = graph.getNumVertices() - 1;
+        List<Integer> path = cache.path(0, target, CancellationToken.none());
+
+        assertEquals(0, path.get(0));
+        assertEquals(target, path.get(path.size() - 1));
+        int sum = 0;
+        for (int i = 1; i < path.size(); i++) {
+            sum += graph.getAdjacencyMatrix().get(path.get(i - 1)).get(path.get(i));
+        }
+        assertEquals(cache.distance(0, target, CancellationToken.none()), sum);
+    }
+
+    @Test
+    public void testDistanceAndPathFromOneLookup() throws IOException {
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(graph, Long.MAX_VALUE);
+        int target = graph.getNumVertices() - 1;
+        ShortestPathTree tree = cache.tree(0, target, CancellationToken.none());
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.getHits());
+        assertEquals(new GraphAlgorithms().GetShortestPathBetweenVertices(graph, 0, target), tree.distance(target));
+        assertEquals(target, (int) tree.path(target).get(tree.path(target).size() - 1));
+        IOException exception = assertThrows(IOException.class, () -> cache.tree(0, 99, CancellationToken.none()));
+        assertEquals("Vertex not found", exception.getMessage());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedByBytes() throws IOException {
+        long treeBytes = new ShortestPathTreeCache(graph, Long.MAX_VALUE).tree(0, CancellationToken.none()).sizeInBytes();
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(graph, 2 * treeBytes);
+
+        cache.tree(0, CancellationToken.none());
+        cache.tree(1, CancellationToken.none());
+        cache.tree(0, CancellationToken.none());
+        cache.tree(2, CancellationToken.none());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertTrue(cache.getCachedBytes() <= 2 * treeBytes);
+
+        cache.tree(0, CancellationToken.none());
+        assertEquals(2, cache.getHits());
+        cache.tree(1, CancellationToken.none());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testReloadInvalidates() throws IOException {
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(graph, Long.MAX_VALUE);
+        cache.tree(0, CancellationToken.none());
+        assertEquals(1, cache.size());
+
+        graph.loadGraphFromFile("src/test/resources/testFiles/simpleGraph.txt");
+        cache.distance(0, graph.getNumVertices() - 1, CancellationToken.none());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getHits());
+        assertEquals(new GraphAlgorithms().GetShortestPathBetweenVertices(graph, 0, graph.getNumVertices() - 1),
+                cache.distance(0, graph.getNumVertices() - 1, CancellationToken.none()));
+        assertEquals(1.0 / 3, cache.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    public void testGraphAlgorithmsUsesCache() throws IOException {
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(graph, Long.MAX_VALUE);
+        graphAlgorithms.setShortestPathCache(cache);
+
+        graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, 3);
+        graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, 5);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+
+        IOException exception = assertThrows(IOException.class, () -> graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, -1));
+        assertEquals("Vertex not found", exception.getMessage());
+    }
+}
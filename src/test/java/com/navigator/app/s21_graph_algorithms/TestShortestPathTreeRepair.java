@@ -0,0 +1,90 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.shortestPath.ShortestPathTree;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.EdgeUpdate;
+import com.navigator.app.s21_graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestShortestPathTreeRepair {
+
+    @Test
+    public void testRepairMatchesRecomputation() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        Random random = new Random(5);
+        int numVertices = graph.getNumVertices();
+
+        for (int round = 0; round < 200; round++) {
+            ShortestPathTree before = fullTree(graph, round % numVertices);
+            long version = graph.getVersion();
+
+            List<EdgeUpdate> updates = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(4); i++) {
+                int from = random.nextInt(numVertices);
+                int to = random.nextInt(numVertices);
+                if (from == to) continue;
+                // a third of the updates remove the edge
+                updates.add(new EdgeUpdate(from, to, random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(40)));
+            }
+            graph.applyUpdates(updates);
+
+            ShortestPathTreeRepair repair = new ShortestPathTreeRepair(CompactGraph.fromGraph(graph));
+            ShortestPathTree repaired = repair.repair(before, graph.changesSince(version), CancellationToken.none());
+            ShortestPathTree expected = fullTree(graph, before.getSource());
+
+            assertArrayEquals(expected.getDistances(), repaired.getDistances(), "round " + round);
+            for (int target = 0; target < numVertices; target++) {
+                assertPathMatches(graph, repaired, target);
+            }
+        }
+    }
+
+    @Test
+    public void testCacheRepairsTreesAfterUpdates() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(graph, Long.MAX_VALUE);
+        int last = graph.getNumVertices() - 1;
+        cache.tree(0, CancellationToken.none());
+        cache.tree(last, CancellationToken.none());
+
+        graph.setEdgeWeight(0, last, 1);
+        graph.setEdgeWeight(last, 0, 0);
+
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        assertEquals(graphAlgorithms.GetShortestPathBetweenVertices(graph, 0, last),
+                cache.distance(0, last, CancellationToken.none()));
+        assertEquals(graphAlgorithms.GetShortestPathBetweenVertices(graph, last, 0),
+                cache.distance(last, 0, CancellationToken.none()));
+        assertEquals(2, cache.getRepairs());
+        assertEquals(2, cache.getMisses());
+    }
+
+    private static ShortestPathTree fullTree(Graph graph, int source) throws IOException {
+        DijkstraSearch search = new DijkstraSearch(CompactGraph.fromGraph(graph));
+        search.search(source, CancellationToken.none());
+        return search.toTree();
+    }
+
+    private static void assertPathMatches(Graph graph, ShortestPathTree tree, int target) {
+        List<Integer> path = tree.path(target);
+        if (tree.distance(target) == Integer.MAX_VALUE) {
+            assertTrue(path.isEmpty());
+            return;
+        }
+        int sum = 0;
+        for (int i = 1; i < path.size(); i++) {
+            sum += graph.getAdjacencyMatrix().get(path.get(i - 1)).get(path.get(i));
+        }
+        assertEquals(tree.distance(target), sum);
+    }
+}
@@ -0,0 +1,167 @@
+package com.navigator.app.s21_graph_algorithms;
+
+import com.navigator.app.models.antAlgorithm.TsmResult;
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.models.shortestPath.DistanceTable;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph_generators.GraphGenerator;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph.VertexPermutation;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestVertexOrdering {
+    private static final CancellationToken NONE = CancellationToken.none();
+
+    @Test
+    public void testOrderingsPreserveDistances() throws IOException {
+        CompactGraph graph = randomGraph(3000, 5, 1);
+        DijkstraSearch original = new DijkstraSearch(graph);
+        for (VertexOrdering.Strategy strategy : VertexOrdering.Strategy.values()) {
+            VertexPermutation permutation = VertexOrdering.compute(graph, strategy);
+            CompactGraph reordered = permutation.apply(graph);
+            assertEquals(graph.getNumEdges(), reordered.getNumEdges());
+
+            DijkstraSearch search = new DijkstraSearch(reordered);
+            for (int source = 0; source < 3000; source += 500) {
+                original.search(source, NONE);
+                search.search(permutation.toNew(source), NONE);
+                for (int vertex = 0; vertex < 3000; vertex++) {
+                    assertEquals(original.distance(vertex), search.distance(permutation.toNew(vertex)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOrderingsRestoreLocalityOfShuffledGrid() {
+        int side = 60;
+        CompactGraph.Builder builder = CompactGraph.builder(side * side);
+        for (int vertex = 0; vertex < side * side; vertex++) {
+            if (vertex % side + 1 < side) builder.addUndirectedEdge(vertex, vertex + 1, 1);
+            if (vertex + side < side * side) builder.addUndirectedEdge(vertex, vertex + side, 1);
+        }
+        CompactGraph shuffled = VertexPermutation.random(side * side, 3).apply(builder.build());
+        double shuffledGap = averageEdgeGap(shuffled);
+
+        for (VertexOrdering.Strategy strategy : VertexOrdering.Strategy.values()) {
+            CompactGraph reordered = VertexOrdering.compute(shuffled, strategy).apply(shuffled);
+            double gap = averageEdgeGap(reordered);
+            assertTrue(gap < shuffledGap / 10, strategy + ": " + gap + " vs " + shuffledGap);
+        }
+        assertTrue(maxEdgeGap(VertexOrdering.compute(shuffled, VertexOrdering.Strategy.REVERSE_CUTHILL_MCKEE)
+                .apply(shuffled)) <= 2 * side);
+    }
+
+    @Test
+    public void testBisectionHandlesDisconnectedParts() throws IOException {
+        CompactGraph graph = randomGraph(1000, 1, 4);
+        VertexPermutation permutation = VertexOrdering.recursiveBisection(graph, 8);
+        assertEquals(1000, permutation.size());
+        assertEquals(new GraphComponents(graph).connected(NONE).getCount(),
+                new GraphComponents(permutation.apply(graph)).connected(NONE).getCount());
+    }
+
+    @Test
+    public void testReorderedAlgorithmsReturnOriginalIds() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        GraphAlgorithms graphAlgorithms = new GraphAlgorithms();
+        ReorderedGraphAlgorithms reordered = new ReorderedGraphAlgorithms(graph,
+                VertexOrdering.Strategy.REVERSE_CUTHILL_MCKEE, new GraphAlgorithms());
+        int numVertices = graph.getNumVertices();
+
+        for (int source = 0; source < numVertices; source++) {
+            for (int target = 0; target < numVertices; target++) {
+                assertEquals(graphAlgorithms.GetShortestPathBetweenVertices(graph, source, target),
+                        reordered.GetShortestPathBetweenVertices(source, target, NONE));
+            }
+        }
+        assertEquals(graphAlgorithms.GetShortestPathsBetweenAllVertices(graph),
+                reordered.GetShortestPathsBetweenAllVertices(NONE));
+        int[] sources = {0, 3, 7, 10};
+        int[] targets = {5, 9, 1, 2};
+        assertArrayEquals(graphAlgorithms.GetShortestPathsBetweenVertexPairs(graph, sources, targets),
+                reordered.GetShortestPathsBetweenVertexPairs(sources, targets, NONE));
+        DistanceTable table = reordered.GetDistanceTable(sources, targets, NONE);
+        assertArrayEquals(sources, table.getSources());
+        assertArrayEquals(graphAlgorithms.GetDistanceTable(graph, sources, targets).getDistances(),
+                table.getDistances());
+        assertTrue(reordered.getGraph().isShared());
+        assertEquals(totalWeight(graphAlgorithms.GetLeastSpanningTree(graph)),
+                totalWeight(reordered.GetLeastSpanningTree(NONE)));
+
+        List<Integer> order = reordered.BreadthFirstSearch(3, NONE);
+        assertEquals(3, (int) order.get(0));
+        assertEquals(numVertices, new HashSet<>(order).size());
+        assertEquals(3, (int) reordered.DepthFirstSearch(3, NONE).get(0));
+
+        TsmResult tour = reordered.SolveTravelingSalesmanProblem(NONE, null);
+        int length = 0;
+        for (int i = 1; i < tour.getVertices().size(); i++) {
+            length += graph.getAdjacencyMatrix().get(tour.getVertices().get(i - 1)).get(tour.getVertices().get(i));
+        }
+        assertEquals(tour.getDistance(), length, 0.0);
+
+        IOException exception = assertThrows(IOException.class,
+                () -> reordered.GetShortestPathBetweenVertices(0, numVertices, NONE));
+        assertEquals("Vertex not found", exception.getMessage());
+        exception = assertThrows(IOException.class, () -> graph.permute(VertexPermutation.identity(3)));
+        assertEquals("Incorrect data", exception.getMessage());
+    }
+
+    @Test
+    public void testRestoredComponentsMatchOriginal() throws IOException {
+        Graph graph = new Graph();
+        graph.loadGraphFromFile("src/test/resources/testFiles/testGraph.txt");
+        for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+            if (vertex == 4) continue;
+            graph.setEdgeWeight(4, vertex, 0);
+            graph.setEdgeWeight(vertex, 4, 0);
+        }
+        ReorderedGraphAlgorithms reordered = new ReorderedGraphAlgorithms(graph,
+                VertexOrdering.Strategy.RECURSIVE_BISECTION, new GraphAlgorithms());
+
+        assertArrayEquals(new GraphAlgorithms().GetConnectedComponents(graph).getLabels(),
+                reordered.GetConnectedComponents(NONE).getLabels());
+    }
+
+    private static double averageEdgeGap(CompactGraph graph) {
+        long total = 0;
+        for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+            for (int edge = graph.edgeStart(vertex); edge < graph.edgeEnd(vertex); edge++) {
+                total += Math.abs(vertex - graph.target(edge));
+            }
+        }
+        return (double) total / graph.getNumEdges();
+    }
+
+    private static int maxEdgeGap(CompactGraph graph) {
+        int max = 0;
+        for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+            for (int edge = graph.edgeStart(vertex); edge < graph.edgeEnd(vertex); edge++) {
+                max = Math.max(max, Math.abs(vertex - graph.target(edge)));
+            }
+        }
+        return max;
+    }
+
+    private static long totalWeight(ArrayList<ArrayList<Integer>> matrix) {
+        long total = 0;
+        for (ArrayList<Integer> row : matrix) {
+            for (int weight : row) total += weight;
+        }
+        return total;
+    }
+
+    private static CompactGraph randomGraph(int numVertices, int degree, long seed) throws IOException {
+        return GraphGenerator.builder().numVertices(numVertices).averageDegree(2 * degree).seed(seed).build()
+                .compactGraph();
+    }
+}
@@ -0,0 +1,173 @@
+package com.navigator.app.s21_graph_generators;
+
+import com.navigator.app.models.cancellation.CancellationToken;
+import com.navigator.app.s21_graph.CompactGraph;
+import com.navigator.app.s21_graph.Graph;
+import com.navigator.app.s21_graph.SharedGraphFile;
+import com.navigator.app.s21_graph_algorithms.GraphComponents;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGraphGenerator {
+    @Test
+    public void testSameGraphOnAnyNumberOfThreads() throws IOException {
+        for (GraphModel model : GraphModel.values()) {
+            List<Long> single = edges(generator(model, 3000, 6).numThreads(1).build());
+            List<Long> parallel = edges(generator(model, 3000, 6).numThreads(4).build());
+            assertEquals(single, parallel, model.name());
+            assertFalse(single.equals(edges(generator(model, 3000, 6).seed(7).build())), model.name());
+        }
+    }
+
+    @Test
+    public void testEdgesAreOrderedUniqueAndWeighted() throws IOException {
+        for (GraphModel model : GraphModel.values()) {
+            long[] previous = {-1};
+            generator(model, 2000, 10).build().forEachEdge((first, second, weight) -> {
+                assertTrue(first < second);
+                assertTrue(weight > 0);
+                long key = ((long) first << 32) | second;
+                assertTrue(key > previous[0]);
+                previous[0] = key;
+            });
+        }
+    }
+
+    @Test
+    public void testAverageDegree() throws IOException {
+        for (GraphModel model : GraphModel.values()) {
+            CompactGraph graph = generator(model, 20000, 8).build().compactGraph();
+            double averageDegree = (double) graph.getNumEdges() / graph.getNumVertices();
+            assertTrue(Math.abs(averageDegree - 8) < 1, model + ": " + averageDegree);
+        }
+
+        CompactGraph powerLaw = generator(GraphModel.POWER_LAW, 20000, 8).build().compactGraph();
+        int maxDegree = 0;
+        for (int vertex = 0; vertex < powerLaw.getNumVertices(); vertex++) {
+            maxDegree = Math.max(maxDegree, powerLaw.degree(vertex));
+        }
+        assertTrue(maxDegree > 100, "max degree " + maxDegree);
+
+        int[][] complete = generator(GraphModel.RANDOM_GEOMETRIC, 50, 49).build().matrix();
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < 50; j++) {
+                assertEquals(i != j, complete[i][j] > 0);
+            }
+        }
+    }
+
+    @Test
+    public void testConnected() throws IOException {
+        for (GraphModel model : GraphModel.values()) {
+            CompactGraph graph = generator(model, 5000, 1).connected(true).build().compactGraph();
+            assertEquals(1, new GraphComponents(graph).connected(CancellationToken.none()).getCount(), model.name());
+        }
+    }
+
+    @Test
+    public void testSnapshotMatchesGeneratedGraph() throws IOException {
+        Path file = Files.createTempFile("generatedGraph", ".bin");
+        try {
+            for (GraphModel model : GraphModel.values()) {
+                GraphGenerator generator = generator(model, 5000, 8).numThreads(3).build();
+                generator.writeSnapshot(file);
+                CompactGraph expected = generator.compactGraph();
+                CompactGraph mapped = SharedGraphFile.map(file);
+
+                assertEquals(expected.getNumEdges(), mapped.getNumEdges(), model.name());
+                for (int vertex = 0; vertex < expected.getNumVertices(); vertex++) {
+                    assertEquals(expected.edgeStart(vertex), mapped.edgeStart(vertex));
+                    for (int edge = expected.edgeStart(vertex); edge < expected.edgeEnd(vertex); edge++) {
+                        assertEquals(expected.target(edge), mapped.target(edge));
+                        assertEquals(expected.weight(edge), mapped.weight(edge));
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testMatrixAndDotFiles() throws IOException {
+        Path file = Files.createTempFile("generatedGraph", ".txt");
+        try {
+            GraphGenerator generator = generator(GraphModel.ROAD_GRID, 300, 6).connected(true).build();
+            int[][] matrix = generator.matrix();
+            Graph graph = generator.graph();
+            for (int i = 0; i < 300; i++) {
+                for (int j = 0; j < 300; j++) {
+                    assertEquals(matrix[i][j], (int) graph.getAdjacencyMatrix().get(i).get(j));
+                }
+            }
+
+            graph.exportGraphToDot(file.toString());
+            String exported = Files.readString(file);
+            generator.writeDot(file);
+            assertEquals(exported, Files.readString(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testMatrixWrittenInSeveralBlocks() throws IOException {
+        Path file = Files.createTempFile("generatedGraph", ".txt");
+        try {
+            GraphGenerator generator = generator(GraphModel.ERDOS_RENYI, 4200, 4).build();
+            generator.writeMatrix(file);
+            CompactGraph graph = generator.compactGraph();
+
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                assertEquals("4200", reader.readLine());
+                for (int vertex = 0; vertex < 4200; vertex++) {
+                    String[] values = reader.readLine().split(" ");
+                    assertEquals(4200, values.length);
+                    int edge = graph.edgeStart(vertex);
+                    for (int column = 0; column < 4200; column++) {
+                        if (!values[column].equals("0")) {
+                            assertEquals(graph.target(edge), column);
+                            assertEquals(graph.weight(edge), Integer.parseInt(values[column]));
+                            edge++;
+                        }
+                    }
+                    assertEquals(graph.edgeEnd(vertex), edge);
+                }
+                assertNull(reader.readLine());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testIncorrectSettings() {
+        IOException exception = assertThrows(IOException.class,
+                () -> GraphGenerator.builder().numVertices(0).build().compactGraph());
+        assertEquals("Incorrect data", exception.getMessage());
+        assertThrows(IOException.class, () -> generator(GraphModel.ERDOS_RENYI, 10, -1).build().matrix());
+        assertThrows(IOException.class, () -> generator(GraphModel.POWER_LAW, 10, 2).exponent(1).build().matrix());
+    }
+
+    private static GraphGenerator.GraphGeneratorBuilder generator(GraphModel model, int numVertices,
+                                                                  double averageDegree) {
+        return GraphGenerator.builder().model(model).numVertices(numVertices).averageDegree(averageDegree);
+    }
+
+    private static List<Long> edges(GraphGenerator generator) throws IOException {
+        List<Long> edges = new ArrayList<>();
+        generator.forEachEdge((first, second, weight) -> {
+            edges.add(((long) first << 32) | second);
+            edges.add((long) weight);
+        });
+        return edges;
+    }
+}